@@ -0,0 +1,124 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import kotlin.coroutines.Continuation;
+import org.platformlambda.core.annotations.KernelThreadRunner;
+import org.platformlambda.core.models.KotlinLambdaFunction;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.system.Platform;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared setup for benchmarks that need the event system.
+ * <p>
+ * The functions are registered once per JVM fork.
+ */
+public class BenchmarkPlatform {
+    public static final String ECHO = "bench.echo";
+    public static final String ECHO_ZERO_COPY = "bench.echo.zero.copy";
+    public static final String ECHO_KERNEL = "bench.echo.kernel";
+    public static final String ECHO_COROUTINE = "bench.echo.coroutine";
+    private static final AtomicBoolean started = new AtomicBoolean(false);
+
+    private BenchmarkPlatform() {
+        // utility class
+    }
+
+    public static void start() throws IOException {
+        if (started.compareAndSet(false, true)) {
+            Platform platform = Platform.getInstance();
+            LambdaFunction echo = (headers, input, instance) -> input;
+            platform.registerPrivate(ECHO, echo, 10);
+            // "bench.echo.zero.copy" is listed in "zero.copy.routes" of application.properties
+            platform.registerPrivate(ECHO_ZERO_COPY, echo, 10);
+            platform.registerPrivate(ECHO_KERNEL, new KernelEcho(), 10);
+            platform.registerKotlinPrivate(ECHO_COROUTINE, new CoroutineEcho(), 10);
+        }
+    }
+
+    /**
+     * Create a list of PoJo
+     *
+     * @param size of the list
+     * @return list
+     */
+    public static List<SamplePoJo> samplePoJoList(int size) {
+        List<SamplePoJo> result = new ArrayList<>();
+        for (int i=0; i < size; i++) {
+            result.add(new SamplePoJo(i, "item "+i));
+        }
+        return result;
+    }
+
+    /**
+     * Create a payload that looks like a typical business object
+     *
+     * @param fields number of top level key-values
+     * @return map
+     */
+    public static Map<String, Object> samplePayload(int fields) {
+        Map<String, Object> result = new HashMap<>();
+        for (int i=0; i < fields; i++) {
+            switch (i % 4) {
+                case 0 -> result.put("text"+i, "hello world "+i);
+                case 1 -> result.put("number"+i, i * 1000L);
+                case 2 -> result.put("decimal"+i, i * 1.5d);
+                default -> {
+                    Map<String, Object> nested = new HashMap<>();
+                    nested.put("id", i);
+                    nested.put("name", "item "+i);
+                    List<Object> tags = new ArrayList<>();
+                    tags.add("a");
+                    tags.add("b");
+                    nested.put("tags", tags);
+                    result.put("nested"+i, nested);
+                }
+            }
+        }
+        return result;
+    }
+
+    @KernelThreadRunner
+    private static class KernelEcho implements LambdaFunction {
+
+        @Override
+        public Object handleEvent(Map<String, String> headers, Object input, int instance) {
+            return input;
+        }
+    }
+
+    /**
+     * A suspend function that returns immediately without suspension
+     */
+    private static class CoroutineEcho implements KotlinLambdaFunction<Object, Object> {
+
+        @Override
+        public Object handleEvent(Map<String, String> headers, Object input, int instance,
+                                  Continuation<? super Object> continuation) {
+            return input;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.util.MultiLevelMap;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.util.*;
+
+/**
+ * Compare two JMH result files saved with "-rf json"
+ * <p>
+ * Usage: java -cp target/benchmarks.jar org.platformlambda.benchmark.CompareResults
+ *        baseline.json current.json [threshold percent]
+ * <p>
+ * A benchmark is flagged as a regression when its score is worse than the baseline
+ * by more than the threshold (default 10 percent). The program exits with status 1
+ * when there is any regression so that it can be used in a build pipeline.
+ */
+public class CompareResults {
+    private static final String THROUGHPUT = "thrpt";
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: CompareResults baseline.json current.json [threshold percent]");
+            System.exit(-1);
+        }
+        double threshold = args.length > 2 ? Utility.getInstance().str2double(args[2]) : 10.0;
+        Map<String, Score> baseline = load(new File(args[0]));
+        Map<String, Score> current = load(new File(args[1]));
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (var entry : current.entrySet()) {
+            String name = entry.getKey();
+            Score now = entry.getValue();
+            Score before = baseline.get(name);
+            if (before == null || before.score == 0) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", name, "-", now.score, "new");
+            } else {
+                double change = (now.score - before.score) * 100.0 / before.score;
+                // higher is better for throughput and lower is better for the time modes
+                boolean worse = THROUGHPUT.equals(now.mode) ? -change > threshold : change > threshold;
+                if (worse) {
+                    regressions++;
+                }
+                System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", name, before.score, now.score, change,
+                        now.unit, worse ? " REGRESSION" : "");
+            }
+        }
+        System.out.println(regressions == 0? "No regression" : regressions + " regression(s) beyond " +
+                threshold + "%");
+        System.exit(regressions == 0? 0 : 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Score> load(File file) {
+        Utility util = Utility.getInstance();
+        if (!file.exists()) {
+            throw new IllegalArgumentException(file + " not found");
+        }
+        List<Object> results = SimpleMapper.getInstance().getMapper().readValue(util.file2str(file), List.class);
+        Map<String, Score> scores = new TreeMap<>();
+        for (Object o : results) {
+            if (o instanceof Map) {
+                MultiLevelMap result = new MultiLevelMap((Map<String, Object>) o);
+                StringBuilder sb = new StringBuilder(String.valueOf(result.getElement("benchmark")));
+                if (result.getElement("params") instanceof Map<?, ?> params) {
+                    // parameters are sorted so that the names are comparable across result files
+                    for (Object k : new TreeSet<>(params.keySet())) {
+                        sb.append(':').append(k).append('=').append(params.get(k));
+                    }
+                }
+                String mode = String.valueOf(result.getElement("mode"));
+                sb.append(" (").append(mode).append(')');
+                double score = util.str2double(String.valueOf(result.getElement("primaryMetric.score")));
+                String unit = String.valueOf(result.getElement("primaryMetric.scoreUnit"));
+                scores.put(sb.toString(), new Score(mode, score, unit));
+            }
+        }
+        return scores;
+    }
+
+    private record Score(String mode, double score, String unit) { }
+}
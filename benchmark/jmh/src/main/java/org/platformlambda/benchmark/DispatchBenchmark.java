@@ -0,0 +1,82 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of events from a service manager to its workers
+ * <p>
+ * Each operation sends a burst of events to a function and waits until all of them are processed.
+ * When the burst is larger than the number of instances, the backlog is held in the elastic queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final int BURST = 100;
+
+    @Param({"1", "10", "500"})
+    public int instances;
+
+    private final Semaphore done = new Semaphore(0);
+    private EventEnvelope event;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        String route = "bench.dispatch." + instances;
+        LambdaFunction f = (headers, input, instance) -> {
+            done.release();
+            return null;
+        };
+        Platform.getInstance().registerPrivate(route, f, instances);
+        event = new EventEnvelope().setTo(route).setBody(BenchmarkPlatform.samplePayload(5));
+    }
+
+    /**
+     * Send a burst of events and wait for completion
+     *
+     * @throws IOException in case of routing error
+     * @throws InterruptedException in case the thread is interrupted
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void burst() throws IOException, InterruptedException {
+        EventEmitter po = EventEmitter.getInstance();
+        for (int i=0; i < BURST; i++) {
+            po.send(event);
+        }
+        if (!done.tryAcquire(BURST, 10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Events not processed in time");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.util.ElasticQueue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the overflow stores of the elastic queue when a consumer falls behind.
+ * <p>
+ * Each operation writes a backlog of events that overflows the memory buffer and reads them back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ElasticQueueBenchmark {
+
+    @Param({"mapped", "berkeley"})
+    public String store;
+
+    @Param({"1000"})
+    public int backlog;
+
+    private ElasticQueue queue;
+    private byte[] event;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        queue = new ElasticQueue("bench.elastic.queue", store);
+        event = new EventEnvelope().setTo(BenchmarkPlatform.ECHO)
+                        .setBody(BenchmarkPlatform.samplePayload(20)).toBytes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        queue.destroy();
+    }
+
+    /**
+     * Write a backlog of events and read them back
+     *
+     * @return number of bytes read
+     */
+    @Benchmark
+    public long overflow() {
+        for (int i = 0; i < backlog; i++) {
+            queue.write(event);
+        }
+        long n = 0;
+        for (int i = 0; i < backlog; i++) {
+            n += queue.read().length;
+        }
+        // close the queue for the next operation
+        queue.read();
+        return n;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import com.accenture.automation.CompileFlows;
+import com.accenture.automation.EventScriptManager;
+import com.accenture.automation.TaskExecutor;
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execute an event script with one task that has about 30 input and output data mapping entries.
+ * <p>
+ * Run this benchmark against two releases to compare the cost of data mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowMappingBenchmark {
+    private static final String FLOW_ID = "mapping-benchmark";
+
+    private EventEnvelope request;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        Platform platform = Platform.getInstance();
+        platform.registerPrivate(EventScriptManager.SERVICE_NAME, new EventScriptManager(), 50);
+        platform.registerPrivate(TaskExecutor.SERVICE_NAME, new TaskExecutor(), 50);
+        // load "flows/mapping-benchmark.yml"
+        new CompileFlows().start(new String[0]);
+        request = new EventEnvelope().setTo(EventScriptManager.SERVICE_NAME)
+                        .setHeader("flow_id", FLOW_ID).setHeader("user-agent", "jmh")
+                        .setBody(BenchmarkPlatform.samplePayload(20));
+    }
+
+    /**
+     * End-to-end execution of the event script
+     *
+     * @return response event
+     * @throws IOException in case of routing error
+     * @throws ExecutionException in case of timeout
+     * @throws InterruptedException in case the thread is interrupted
+     */
+    @Benchmark
+    public EventEnvelope flow() throws IOException, ExecutionException, InterruptedException {
+        return EventEmitter.getInstance().request(request, 5000).get();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.util.IdGenerator;
+import org.platformlambda.core.util.RandomIdGenerator;
+import org.platformlambda.core.util.TimeOrderedIdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDs per second from the random UUID and time-ordered ID generators when called from 8 threads
+ * <p>
+ * Run with "-prof gc" to report allocation per ID ("gc.alloc.rate.norm").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+    private final IdGenerator uuid = new RandomIdGenerator();
+    private final IdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    @Threads(8)
+    public String randomUuid() {
+        return uuid.getId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timeOrderedId() {
+        return timeOrdered.getId();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RPC timeout bookkeeping with a Vert.x timer per request vs. the shared hashed timing wheel
+ * <p>
+ * Each operation is the life cycle of a request timer, i.e. schedule and cancel, while a number of
+ * other requests are in flight. The sample time mode reports the p99 latency of the operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InboxTimerBenchmark {
+    private static final long IN_FLIGHT_TIMEOUT = 10 * 60 * 1000L;
+    private static final long REQUEST_TIMEOUT = 30 * 1000L;
+
+    @Param({"vertx", "wheel"})
+    public String timer;
+
+    @Param({"1000", "50000"})
+    public int inflight;
+
+    private final List<Long> vertxTimers = new ArrayList<>();
+    private final List<TimingWheel.Timeout> wheelTimers = new ArrayList<>();
+    private Vertx vertx;
+    private TimingWheel wheel;
+
+    @Setup
+    public void setup() {
+        BenchmarkPlatform.start();
+        vertx = Platform.getInstance().getVertx();
+        wheel = new TimingWheel("bench.timer", 10, 512);
+        for (int i=0; i < inflight; i++) {
+            if ("wheel".equals(timer)) {
+                wheelTimers.add(wheel.schedule(IN_FLIGHT_TIMEOUT, () -> {}));
+            } else {
+                vertxTimers.add(vertx.setTimer(IN_FLIGHT_TIMEOUT, t -> {}));
+            }
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        vertxTimers.forEach(vertx::cancelTimer);
+        wheelTimers.forEach(TimingWheel.Timeout::cancel);
+        vertxTimers.clear();
+        wheelTimers.clear();
+        wheel.stop();
+    }
+
+    /**
+     * Schedule and cancel a request timeout
+     *
+     * @return true if cancelled
+     */
+    @Benchmark
+    @Threads(4)
+    public boolean scheduleAndCancel() {
+        if ("wheel".equals(timer)) {
+            return wheel.schedule(REQUEST_TIMEOUT, () -> {}).cancel();
+        } else {
+            return vertx.cancelTimer(vertx.setTimer(REQUEST_TIMEOUT, t -> {}));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.serializers.SimpleObjectMapper;
+import org.platformlambda.core.util.ByteChunkInputStream;
+import org.platformlambda.core.util.Utility;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a JSON response body that is received as a list of blocks
+ * <p>
+ * "decodeWithString" reproduces the earlier decoding that joins the blocks, converts them into a string
+ * and trims it before parsing. "decodeFromChunks" parses the blocks directly.
+ * <p>
+ * Run with "-prof gc" to report allocation per operation ("gc.alloc.rate.norm").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDecodeBenchmark {
+    private static final int BLOCK_SIZE = 16 * 1024;
+    private final SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+
+    // approximate size of the JSON body in bytes (1 KB, 1 MB and 50 MB)
+    @Param({"1024", "1048576", "52428800"})
+    public int bytes;
+
+    private List<byte[]> blocks;
+
+    @Setup
+    public void setup() {
+        List<Object> items = new ArrayList<>();
+        Map<String, Object> body = new HashMap<>();
+        body.put("items", items);
+        byte[] item = mapper.writeValueAsBytes(BenchmarkPlatform.samplePayload(8));
+        int n = Math.max(1, bytes / (item.length + 1));
+        for (int i=0; i < n; i++) {
+            items.add(BenchmarkPlatform.samplePayload(8));
+        }
+        byte[] json = mapper.writeValueAsBytes(body);
+        blocks = new ArrayList<>();
+        for (int i=0; i < json.length; i += BLOCK_SIZE) {
+            blocks.add(Arrays.copyOfRange(json, i, Math.min(json.length, i + BLOCK_SIZE)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Map<String, Object> decodeWithString() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] b: blocks) {
+            out.write(b, 0, b.length);
+        }
+        String text = Utility.getInstance().getUTF(out.toByteArray()).trim();
+        return mapper.readValue(text, Map.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Benchmark
+    public Map<String, Object> decodeFromChunks() {
+        return mapper.readValue(new ByteChunkInputStream(blocks), Map.class);
+    }
+}
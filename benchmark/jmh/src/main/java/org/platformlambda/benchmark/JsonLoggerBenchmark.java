@@ -0,0 +1,74 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.logging.CompactAppender;
+import org.platformlambda.core.logging.JsonLogger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Log records per second through the JSON logger with the bounded ring buffer and batched writer
+ * <p>
+ * Standard output is redirected to a null stream so that the console does not limit the result.
+ * Run with "-prof gc" to report allocation per record ("gc.alloc.rate.norm") of the logging threads.
+ * The written and dropped counters are printed to standard error at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonLoggerBenchmark {
+    private PrintStream stdout;
+    private CompactAppender appender;
+    private LogEvent event;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkPlatform.start();
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        appender = CompactAppender.createAppender("bench", null, null, null);
+        event = Log4jLogEvent.newBuilder().setLoggerName("bench").setLevel(Level.INFO)
+                    .setMessage(new ParameterizedMessage("Event {} delivered to {} in {} ms",
+                                                            "100", "bench.echo", 0.25)).build();
+    }
+
+    @TearDown
+    public void teardown() {
+        System.setOut(stdout);
+        System.err.printf("JSON logger - written %d, dropped %d%n",
+                            JsonLogger.getWrittenCount(), JsonLogger.getDroppedCount());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void append() {
+        appender.append(event);
+    }
+}
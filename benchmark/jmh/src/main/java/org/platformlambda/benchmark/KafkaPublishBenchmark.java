@@ -0,0 +1,84 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.kafka.services.PubSubManager;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synchronous vs. asynchronous batched publishing to Kafka
+ * <p>
+ * This benchmark requires a Kafka broker. Start the kafka-standalone application
+ * (an embedded broker at 127.0.0.1:9092) before running this benchmark or set the
+ * system property "kafka.benchmark.servers" to the bootstrap servers of another broker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KafkaPublishBenchmark {
+    private static final String TOPIC = "benchmark.publish";
+
+    @Param({"false", "true"})
+    public String async;
+
+    @Param({"none", "lz4"})
+    public String compression;
+
+    private PubSubManager manager;
+    private Map<String, Object> payload;
+    private final Map<String, String> headers = new HashMap<>();
+
+    @Setup
+    public void setup() throws IOException {
+        // a system property overrides the same key in application.properties
+        System.setProperty("kafka.producer.async", async);
+        System.setProperty("kafka.producer.compression", compression);
+        BenchmarkPlatform.start();
+        Properties properties = new Properties();
+        properties.setProperty("bootstrap.servers",
+                                System.getProperty("kafka.benchmark.servers", "127.0.0.1:9092"));
+        manager = new PubSubManager("benchmark", properties, "benchmark.cloud.manager");
+        if (!manager.exists(TOPIC)) {
+            manager.createTopic(TOPIC, 1);
+        }
+        payload = BenchmarkPlatform.samplePayload(20);
+        headers.put("type", "benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        // closing the producer sends the pending records
+        manager.cleanup();
+    }
+
+    @Benchmark
+    public void publish() throws IOException {
+        manager.publish(TOPIC, 0, headers, payload);
+    }
+}
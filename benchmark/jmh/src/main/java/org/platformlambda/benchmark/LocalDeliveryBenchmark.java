@@ -0,0 +1,81 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare serialized delivery with zero-copy delivery to a function in the same application instance.
+ * <p>
+ * Run with "-prof gc" to report allocation per event ("gc.alloc.rate.norm").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LocalDeliveryBenchmark {
+
+    @Param({"false", "true"})
+    public boolean zeroCopy;
+
+    private EventEnvelope event;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        String target = zeroCopy? BenchmarkPlatform.ECHO_ZERO_COPY : BenchmarkPlatform.ECHO;
+        event = new EventEnvelope().setTo(target).setBody(BenchmarkPlatform.samplePayload(20));
+    }
+
+    /**
+     * Cost of handing over one event to a worker
+     *
+     * @return event received by the worker
+     * @throws IOException in case of serialization error
+     */
+    @Benchmark
+    public EventEnvelope handOver() throws IOException {
+        if (zeroCopy) {
+            return event.isolatedCopy();
+        } else {
+            return new EventEnvelope(event.toBytes());
+        }
+    }
+
+    /**
+     * End-to-end request-response through the ServiceQueue and WorkerQueue
+     *
+     * @return response event
+     * @throws IOException in case of routing error
+     * @throws ExecutionException in case of timeout
+     * @throws InterruptedException in case the thread is interrupted
+     */
+    @Benchmark
+    public EventEnvelope rpc() throws IOException, ExecutionException, InterruptedException {
+        return EventEmitter.getInstance().request(event, 5000).get();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.util.MapPath;
+import org.platformlambda.core.util.MultiLevelMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retrieve and set elements of a multi-level map using composite paths and compiled paths.
+ * <p>
+ * Run with "-prof gc" to confirm that retrieval with a compiled path does not allocate memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiLevelMapBenchmark {
+    private static final String SHALLOW = "body.name";
+    private static final String DEEP = "body.orders[2].items[1].sku";
+    private static final MapPath SHALLOW_PATH = new MapPath(SHALLOW);
+    private static final MapPath DEEP_PATH = new MapPath(DEEP);
+
+    private MultiLevelMap map;
+
+    @Setup
+    public void setup() {
+        map = new MultiLevelMap();
+        map.setElement(SHALLOW, "hello");
+        map.setElement(DEEP, "ABC-123");
+    }
+
+    @Benchmark
+    public Object getShallow() {
+        return map.getElement(SHALLOW);
+    }
+
+    @Benchmark
+    public Object getShallowCompiled() {
+        return map.getElement(SHALLOW_PATH);
+    }
+
+    @Benchmark
+    public Object getDeep() {
+        return map.getElement(DEEP);
+    }
+
+    @Benchmark
+    public Object getDeepCompiled() {
+        return map.getElement(DEEP_PATH);
+    }
+
+    @Benchmark
+    public MultiLevelMap setDeep() {
+        return map.setElement(DEEP, "XYZ-789");
+    }
+
+    @Benchmark
+    public MultiLevelMap setDeepCompiled() {
+        return map.setElement(DEEP_PATH, "XYZ-789");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.PostOffice;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end request-response latency through the ServiceQueue and WorkerQueue
+ * for a virtual thread function, a kernel thread function and a suspend function.
+ * <p>
+ * The sample mode reports latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PostOfficeBenchmark {
+
+    @Param({"virtual", "kernel", "coroutine"})
+    public String function;
+
+    private PostOffice po;
+    private EventEnvelope event;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        String target = switch (function) {
+            case "kernel" -> BenchmarkPlatform.ECHO_KERNEL;
+            case "coroutine" -> BenchmarkPlatform.ECHO_COROUTINE;
+            default -> BenchmarkPlatform.ECHO;
+        };
+        po = new PostOffice("bench.client", null, null);
+        event = new EventEnvelope().setTo(target).setBody(BenchmarkPlatform.samplePayload(10));
+    }
+
+    /**
+     * Send a request and wait for the response
+     *
+     * @return response event
+     * @throws IOException in case of routing error
+     * @throws ExecutionException in case of timeout
+     * @throws InterruptedException in case the thread is interrupted
+     */
+    @Benchmark
+    public EventEnvelope request() throws IOException, ExecutionException, InterruptedException {
+        return po.request(event, 5000).get();
+    }
+}
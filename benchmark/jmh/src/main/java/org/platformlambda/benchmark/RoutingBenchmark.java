@@ -0,0 +1,104 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.automation.config.RoutingEntry;
+import org.platformlambda.automation.models.AssignedRoute;
+import org.platformlambda.core.util.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure URL routing with a large REST endpoint table.
+ * <p>
+ * The table contains exact URLs, URLs with path parameters and URLs with wildcards.
+ * Run with "-prof gc" to confirm that matching does not allocate beyond the assigned route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RoutingBenchmark {
+
+    @Param({"500"})
+    public int endpoints;
+
+    private RoutingEntry router;
+    private String exactUrl;
+    private String parameterUrl;
+    private String wildcardUrl;
+
+    @Setup
+    public void setup() {
+        List<Object> rest = new ArrayList<>();
+        for (int i=0; i < endpoints; i++) {
+            String url = switch (i % 3) {
+                case 0 -> "/api/v1/resource" + i;
+                case 1 -> "/api/v1/resource" + i + "/{id}/items/{item}";
+                default -> "/api/v2/module" + i + "/*";
+            };
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("service", "bench.echo");
+            entry.put("methods", List.of("GET", "POST"));
+            entry.put("url", url);
+            rest.add(entry);
+        }
+        Map<String, Object> config = new HashMap<>();
+        config.put("rest", rest);
+        router = RoutingEntry.getInstance();
+        router.load(new ConfigReader().load(config));
+        // pick URLs from the end of the table to show the cost of a linear search
+        int last = endpoints - endpoints % 3 - 3;
+        exactUrl = "/api/v1/resource" + last;
+        parameterUrl = "/api/v1/resource" + (last + 1) + "/100/items/200";
+        wildcardUrl = "/api/v2/module" + (last + 2) + "/a/b/c";
+    }
+
+    @Benchmark
+    public AssignedRoute exact() {
+        return router.getRouteInfo("GET", exactUrl);
+    }
+
+    @Benchmark
+    public AssignedRoute parameters() {
+        return router.getRouteInfo("GET", parameterUrl);
+    }
+
+    @Benchmark
+    public AssignedRoute wildcard() {
+        return router.getRouteInfo("POST", wildcardUrl);
+    }
+
+    @Benchmark
+    public AssignedRoute methodNotAllowed() {
+        return router.getRouteInfo("DELETE", parameterUrl);
+    }
+
+    @Benchmark
+    public AssignedRoute notFound() {
+        return router.getRouteInfo("GET", "/api/v3/nothing/here");
+    }
+}
@@ -0,0 +1,106 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A typical business object for serialization benchmarks
+ */
+public class SamplePoJo {
+    private int number;
+    private String name;
+    private String address;
+    private double amount;
+    private boolean active;
+    private Date created;
+    private List<String> tags;
+
+    public SamplePoJo() {
+        // default constructor for deserialization
+    }
+
+    public SamplePoJo(int number, String name) {
+        this.number = number;
+        this.name = name;
+        this.address = "100 World Blvd, Planet Earth";
+        this.amount = number * 1.25d;
+        this.active = number % 2 == 0;
+        this.created = new Date();
+        this.tags = List.of("alpha", "beta", "gamma");
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public void setNumber(int number) {
+        this.number = number;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public void setAmount(double amount) {
+        this.amount = amount;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
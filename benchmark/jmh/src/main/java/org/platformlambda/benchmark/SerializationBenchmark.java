@@ -0,0 +1,124 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.TypedPayload;
+import org.platformlambda.core.serializers.MsgPack;
+import org.platformlambda.core.serializers.PayloadMapper;
+import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.serializers.SimpleObjectMapper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of events and payloads
+ * <p>
+ * The "WithMap" and "WithGson" benchmarks reproduce the earlier encoding that converts an event or
+ * a PoJo into an intermediate map so that they can be compared with the direct encoding.
+ * <p>
+ * Run with "-prof gc" to report allocation per operation ("gc.alloc.rate.norm").
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private final MsgPack msgPack = new MsgPack();
+    private final PayloadMapper payloadMapper = PayloadMapper.getInstance();
+    private final SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+
+    // number of key-values in the payload or number of PoJo in a list
+    @Param({"5", "50"})
+    public int size;
+
+    private Map<String, Object> payload;
+    private SamplePoJo pojo;
+    private List<SamplePoJo> pojoList;
+    private EventEnvelope event;
+    private byte[] eventBytes;
+    private byte[] packed;
+
+    @Setup
+    public void setup() throws IOException {
+        payload = BenchmarkPlatform.samplePayload(size);
+        pojo = new SamplePoJo(size, "sample");
+        pojoList = BenchmarkPlatform.samplePoJoList(size);
+        event = new EventEnvelope().setTo(BenchmarkPlatform.ECHO).setHeader("x-user", "demo")
+                    .setCorrelationId("100").setBody(payload);
+        eventBytes = event.toBytes();
+        packed = msgPack.pack(payload);
+    }
+
+    @Benchmark
+    public byte[] eventToBytes() throws IOException {
+        return event.toBytes();
+    }
+
+    @Benchmark
+    public byte[] eventToBytesWithMap() throws IOException {
+        // same flags as the EventEnvelope's serialized format
+        Map<String, Object> message = new HashMap<>();
+        message.put("0", event.getId());
+        message.put("T", event.getTo());
+        message.put("X", event.getCorrelationId());
+        message.put("H", event.getHeaders());
+        message.put("B", event.getRawBody());
+        message.put("O", event.getType());
+        return msgPack.pack(message);
+    }
+
+    @Benchmark
+    public EventEnvelope eventLoad() throws IOException {
+        return new EventEnvelope(eventBytes);
+    }
+
+    @Benchmark
+    public byte[] msgPackPack() throws IOException {
+        return msgPack.pack(payload);
+    }
+
+    @Benchmark
+    public Object msgPackUnpack() throws IOException {
+        return msgPack.unpack(packed);
+    }
+
+    @Benchmark
+    public TypedPayload encodePoJo() {
+        return payloadMapper.encode(pojo, true);
+    }
+
+    @Benchmark
+    public TypedPayload encodePoJoWithGson() {
+        return new TypedPayload(SamplePoJo.class.getName(), mapper.readValue(pojo, Map.class));
+    }
+
+    @Benchmark
+    public TypedPayload encodePoJoList() {
+        return payloadMapper.encode(pojoList, true);
+    }
+}
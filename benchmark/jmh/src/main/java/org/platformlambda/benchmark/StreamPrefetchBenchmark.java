@@ -0,0 +1,83 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.system.FluxConsumer;
+import org.platformlambda.core.system.FluxPublisher;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stream a number of small records from a FluxPublisher to a FluxConsumer.
+ * <p>
+ * A prefetch of 1 is the original one-item-per-request flow. A larger prefetch lets the
+ * publisher return a batch of pending records for each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StreamPrefetchBenchmark {
+    private static final long TIME_TO_LIVE = 30000;
+
+    @Param({"1", "100"})
+    public int prefetch;
+
+    @Param({"1000"})
+    public int records;
+
+    private Map<String, Object> record;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkPlatform.start();
+        record = BenchmarkPlatform.samplePayload(5);
+    }
+
+    /**
+     * Publish and consume a complete stream
+     *
+     * @return number of records received
+     * @throws InterruptedException in case the thread is interrupted
+     */
+    @Benchmark
+    public int stream() throws InterruptedException {
+        FluxPublisher<Map<String, Object>> publisher =
+                new FluxPublisher<>(Flux.range(0, records).map(i -> record), TIME_TO_LIVE);
+        publisher.setPrefetch(prefetch);
+        String streamId = publisher.publish();
+        FluxConsumer<Map<String, Object>> consumer = new FluxConsumer<>(streamId, TIME_TO_LIVE);
+        consumer.setPrefetch(prefetch);
+        AtomicInteger count = new AtomicInteger();
+        BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        consumer.consume(data -> count.incrementAndGet(), e -> bench.add(false), () -> bench.add(true));
+        bench.poll(TIME_TO_LIVE, TimeUnit.MILLISECONDS);
+        return count.get();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.benchmark;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.http.WebSocketClient;
+import io.vertx.core.http.WebSocketClientOptions;
+import org.openjdk.jmh.annotations.*;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.websocket.server.WsEnvelope;
+import org.platformlambda.core.websocket.server.WsRequestHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Websocket sessions with their own routes vs. multiplexed sessions
+ * <p>
+ * "connectAndClose" reports the connect/disconnect rate. "holdConnections" opens a large number of
+ * connections and reports the heap used per connection as the "bytesPerConnection" counter.
+ * The client sockets are in the same JVM so the difference between the two modes is the server side cost.
+ * <p>
+ * Run with "-prof gc" to see the allocation per connection.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WebSocketBenchmark {
+    private static final String HOST = "127.0.0.1";
+    private static final String PATH = "/ws/bench";
+    private static final int CONNECTIONS = 2000;
+    private static final long TIMEOUT = 30;
+
+    @Param({"false", "true"})
+    public boolean multiplex;
+
+    private final Semaphore opened = new Semaphore(0);
+    private final Semaphore closed = new Semaphore(0);
+    private Vertx vertx;
+    private HttpServer server;
+    private WebSocketClient client;
+    private int port;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerConnection;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerConnection = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkPlatform.start();
+        LambdaFunction f = (headers, input, instance) -> {
+            String type = headers.get(WsEnvelope.TYPE);
+            if (WsEnvelope.OPEN.equals(type)) {
+                opened.release();
+            }
+            if (WsEnvelope.CLOSE.equals(type)) {
+                closed.release();
+            }
+            return null;
+        };
+        ConcurrentMap<String, LambdaFunction> lambdas = new ConcurrentHashMap<>();
+        lambdas.put(PATH, f);
+        vertx = Vertx.vertx();
+        server = await(vertx.createHttpServer()
+                            .webSocketHandler(new WsRequestHandler(lambdas, List.of(PATH), multiplex)).listen(0));
+        port = server.actualPort();
+        client = vertx.createWebSocketClient(new WebSocketClientOptions().setMaxConnections(CONNECTIONS * 2));
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        await(client.close());
+        await(server.close());
+        await(vertx.close());
+    }
+
+    /**
+     * Open a websocket connection and close it
+     *
+     * @throws Exception in case of connection error or timeout
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void connectAndClose() throws Exception {
+        WebSocket ws = await(client.connect(port, HOST, PATH + "/connect"));
+        await(ws.close());
+        // the close signal is the last event of a session
+        if (!closed.tryAcquire(TIMEOUT, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Session not closed in time");
+        }
+        opened.drainPermits();
+    }
+
+    /**
+     * Hold a large number of connections and measure the heap used per connection
+     *
+     * @param footprint counter
+     * @throws Exception in case of connection error or timeout
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void holdConnections(Footprint footprint) throws Exception {
+        opened.drainPermits();
+        closed.drainPermits();
+        long before = usedHeap();
+        List<WebSocket> sockets = new ArrayList<>(CONNECTIONS);
+        for (int i=0; i < CONNECTIONS; i++) {
+            sockets.add(await(client.connect(port, HOST, PATH + "/hold" + i)));
+        }
+        if (!opened.tryAcquire(CONNECTIONS, TIMEOUT, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Sessions not opened in time");
+        }
+        footprint.bytesPerConnection = (usedHeap() - before) / CONNECTIONS;
+        for (WebSocket ws: sockets) {
+            ws.close();
+        }
+        if (!closed.tryAcquire(CONNECTIONS, TIMEOUT, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Sessions not closed in time");
+        }
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i=0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(TIMEOUT, TimeUnit.SECONDS);
+    }
+}
@@ -31,10 +31,12 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.platformlambda.cloud.ConnectorConfig;
 import org.platformlambda.cloud.EventProducer;
 import org.platformlambda.cloud.ServiceLifeCycle;
+import org.platformlambda.cloud.balancer.LoadStatistics;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.ServiceQueue;
 import org.platformlambda.core.util.Utility;
 import org.platformlambda.core.websocket.common.MultipartPayload;
 import org.slf4j.Logger;
@@ -60,6 +62,7 @@ public class EventConsumer extends Thread {
     private static final long INITIALIZE = ServiceLifeCycle.INITIALIZE;
     private static final String MONITOR = "monitor";
     private static final String TO_MONITOR = "@"+MONITOR;
+    private static final long PAUSED_POLL_INTERVAL = 200;
     private final String initToken = UUID.randomUUID().toString();
     private final String topic;
     private final String realTopic;
@@ -112,6 +115,8 @@ public class EventConsumer extends Thread {
         }
         prop.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         prop.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        // offsets are committed after the events of each poll are handed over to the target services
+        prop.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         this.consumer = new KafkaConsumer<>(prop);
     }
 
@@ -147,10 +152,12 @@ public class EventConsumer extends Thread {
         final int INVALID_EVENT_THRESHOLD = 150;
         int invalidEvents = 0;
         boolean reset = true;
+        boolean paused = false;
         String origin = Platform.getInstance().getOrigin();
         Utility util = Utility.getInstance();
         Platform platform = Platform.getInstance();
         EventEmitter po = EventEmitter.getInstance();
+        LoadStatistics loadStats = LoadStatistics.getInstance();
         String virtualTopic = (topic + (partition < 0? "" : "." + partition)).toLowerCase();
         String topicPartition = realTopic + (realPartition < 0? "" : "." + realPartition);
         if (realPartition < 0) {
@@ -161,8 +168,27 @@ public class EventConsumer extends Thread {
         log.info("Subscribed {}", topicPartition);
         try {
             while (normal.get()) {
-                long interval = reset? 15 : 30;
-                ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofSeconds(interval));
+                /*
+                 * Backpressure - when the target service of a pub/sub topic has accumulated a large backlog,
+                 * stop fetching records from its partitions. The consumer continues to poll so that
+                 * it stays in the consumer group.
+                 */
+                ServiceQueue target = platform.getManager(virtualTopic);
+                if (target != null && target.isCongested()) {
+                    // pause again in case new partitions are assigned after a rebalance
+                    consumer.pause(consumer.assignment());
+                    if (!paused) {
+                        paused = true;
+                        log.info("Paused {} because {} is congested", topicPartition, virtualTopic);
+                    }
+                } else if (paused) {
+                    consumer.resume(consumer.paused());
+                    paused = false;
+                    log.info("Resumed {}", topicPartition);
+                }
+                Duration interval = paused? Duration.ofMillis(PAUSED_POLL_INTERVAL) :
+                                            Duration.ofSeconds(reset? 15 : 30);
+                ConsumerRecords<String, byte[]> records = consumer.poll(interval);
                 if (reset) {
                     Set<TopicPartition> p = consumer.assignment();
                     if (p.isEmpty()) {
@@ -231,6 +257,8 @@ public class EventConsumer extends Thread {
                             log.error("Unable to decode incoming event for {} - {}", topicPartition, e.getMessage());
                             continue;
                         }
+                        // update response time of the target application instance if this is a RPC response
+                        loadStats.responseReceived(message.getCorrelationId());
                         try {
                             String to = message.getTo();
                             if (to != null) {
@@ -289,6 +317,13 @@ public class EventConsumer extends Thread {
                         }
                     }
                 }
+                if (!records.isEmpty()) {
+                    consumer.commitAsync((offsets, e) -> {
+                        if (e != null) {
+                            log.warn("Unable to commit READ offset for {} - {}", topicPartition, e.getMessage());
+                        }
+                    });
+                }
             }
         } catch(WakeupException e) {
             log.info("Stopping listener for {}", virtualTopic);
@@ -297,6 +332,11 @@ public class EventConsumer extends Thread {
             log.error("Event stream error for {} - {} {}", topicPartition, e.getClass(), e.getMessage());
             System.exit(10);
         } finally {
+            try {
+                consumer.commitSync();
+            } catch (Exception e) {
+                log.warn("Unable to commit READ offset for {} - {}", topicPartition, e.getMessage());
+            }
             consumer.close();
             log.info("Unsubscribed {}", topicPartition);
             String initHandler = INIT + "." + (partition < 0 ? topic : topic + "." + partition);
@@ -21,6 +21,7 @@ package org.platformlambda.kafka.services;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.platformlambda.cloud.ConnectorConfig;
@@ -32,6 +33,7 @@ import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class PubSubManager implements PubSubProvider {
@@ -52,9 +55,23 @@ public class PubSubManager implements PubSubProvider {
     private static final String EXISTS = "exists";
     private static final String DELETE = "delete";
     private static final String TOPIC = "topic";
+    private static final String PRODUCER_ASYNC = "kafka.producer.async";
+    private static final String PRODUCER_LINGER = "kafka.producer.linger.ms";
+    private static final String PRODUCER_BATCH = "kafka.producer.batch.size";
+    private static final String PRODUCER_COMPRESSION = "kafka.producer.compression";
+    private static final String NONE = "none";
+    private static final Set<String> COMPRESSION_TYPES = Set.of(NONE, "gzip", "snappy", "lz4", "zstd");
     private static final AtomicLong seq = new AtomicLong(0);
     private final ConcurrentMap<String, EventConsumer> subscribers = new ConcurrentHashMap<>();
-    private long totalEvents = 0;
+    private final AtomicLong totalEvents = new AtomicLong(0);
+    private final AtomicLong failedEvents = new AtomicLong(0);
+    private final AtomicInteger pendingEvents = new AtomicInteger(0);
+    private final AtomicLong totalAckTime = new AtomicLong(0);
+    private final AtomicLong maxAckTime = new AtomicLong(0);
+    private final boolean async;
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compression;
     private final Properties baseProperties;
     private final String cloudManager;
     private Map<String, String> preAllocatedTopics;
@@ -64,6 +81,22 @@ public class PubSubManager implements PubSubProvider {
     public PubSubManager(String domain, Properties baseProperties, String cloudManager) {
         this.baseProperties = baseProperties;
         this.cloudManager = cloudManager;
+        AppConfigReader config = AppConfigReader.getInstance();
+        Utility util = Utility.getInstance();
+        this.async = "true".equals(config.getProperty(PRODUCER_ASYNC, "false"));
+        this.lingerMs = Math.max(0, util.str2int(config.getProperty(PRODUCER_LINGER, "5")));
+        this.batchSize = Math.max(1024, util.str2int(config.getProperty(PRODUCER_BATCH, "65536")));
+        String compressionType = config.getProperty(PRODUCER_COMPRESSION, NONE).toLowerCase();
+        if (COMPRESSION_TYPES.contains(compressionType)) {
+            this.compression = compressionType;
+        } else {
+            log.warn("Invalid {}={} - using {}", PRODUCER_COMPRESSION, compressionType, NONE);
+            this.compression = NONE;
+        }
+        if (async) {
+            log.info("Asynchronous publishing with linger {} ms, batch size {}, compression {}",
+                    lingerMs, batchSize, compression);
+        }
         try {
             // start Kafka Topic Manager
             log.info("Starting {} pub/sub manager - {}", domain, cloudManager);
@@ -88,6 +121,20 @@ public class PubSubManager implements PubSubProvider {
         return properties;
     }
 
+    private Properties getProducerProperties() {
+        Properties properties = getProperties();
+        if (!NONE.equals(compression)) {
+            properties.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        }
+        if (async) {
+            properties.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+            properties.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+            // one request in flight per broker so that a retried batch cannot overtake a later one
+            properties.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
+        }
+        return properties;
+    }
+
     private void sendEvent(String topic, int partition, List<Header> headers, byte[] payload) {
         Utility util = Utility.getInstance();
         final String realTopic;
@@ -109,21 +156,22 @@ public class PubSubManager implements PubSubProvider {
             realPartition = partition;
         }
         startProducer();
+        String id = util.getUuid();
+        ProducerRecord<String, byte[]> rec = realPartition < 0?
+                new ProducerRecord<>(realTopic, null, id, payload, headers) :
+                new ProducerRecord<>(realTopic, realPartition, id, payload, headers);
+        if (async) {
+            sendAsync(rec, virtualTopic);
+            return;
+        }
         try {
             long t1 = System.currentTimeMillis();
-            String id = util.getUuid();
-            if (realPartition < 0) {
-                producer.send(new ProducerRecord<>(realTopic, null, id, payload, headers))
-                        .get(20, TimeUnit.SECONDS);
-            } else {
-                producer.send(new ProducerRecord<>(realTopic, realPartition, id, payload, headers))
-                        .get(20, TimeUnit.SECONDS);
-            }
+            producer.send(rec).get(20, TimeUnit.SECONDS);
             long diff = System.currentTimeMillis() - t1;
             if (diff > 5000) {
                 log.error("Kafka is slow - took {} ms to send to {}", diff, virtualTopic);
             }
-            totalEvents++;
+            totalEvents.incrementAndGet();
 
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
             // when this happens, it is better to shut down so that it can be restarted by infrastructure automatically
@@ -133,6 +181,58 @@ public class PubSubManager implements PubSubProvider {
         }
     }
 
+    private void sendAsync(ProducerRecord<String, byte[]> rec, String virtualTopic) {
+        /*
+         * The producer accumulates records in batches per partition and sends them
+         * after the linger time or when a batch is full. The outcome of each record
+         * is reported in the completion callback.
+         */
+        long begin = System.nanoTime();
+        pendingEvents.incrementAndGet();
+        try {
+            producer.send(rec, (metadata, e) -> {
+                pendingEvents.decrementAndGet();
+                if (e == null) {
+                    long diff = System.nanoTime() - begin;
+                    totalEvents.incrementAndGet();
+                    totalAckTime.addAndGet(diff);
+                    maxAckTime.accumulateAndGet(diff, Math::max);
+                } else {
+                    failedEvents.incrementAndGet();
+                    log.error("Unable to publish event to {} - {}", virtualTopic, e.getMessage());
+                }
+            });
+        } catch (KafkaException e) {
+            pendingEvents.decrementAndGet();
+            failedEvents.incrementAndGet();
+            log.error("Unable to publish event to {} - {}", virtualTopic, e.getMessage());
+        }
+    }
+
+    /**
+     * Delivery metrics of the producer
+     * <p>
+     * The counters are updated by the send callbacks and they are reported in the
+     * "info" response of the cloud connector health check.
+     *
+     * @return delivered, failed and pending events with average and maximum acknowledgement time in ms
+     */
+    @Override
+    public Map<String, Object> getMetrics() {
+        long delivered = totalEvents.get();
+        Map<String, Object> result = new HashMap<>();
+        result.put("mode", async? "async" : "sync");
+        result.put("delivered", delivered);
+        result.put("failed", failedEvents.get());
+        result.put("pending", pendingEvents.get());
+        if (async) {
+            float avg = delivered == 0? 0 : (float) totalAckTime.get() / delivered / EventEmitter.ONE_MILLISECOND;
+            result.put("avg_ack_ms", avg);
+            result.put("max_ack_ms", (float) maxAckTime.get() / EventEmitter.ONE_MILLISECOND);
+        }
+        return result;
+    }
+
     @Override
     public boolean createTopic(String topic) throws IOException {
         return createTopic(topic, 1);
@@ -240,7 +340,7 @@ public class PubSubManager implements PubSubProvider {
         if (producer == null) {
             // create unique ID from origin ID by dropping date prefix and adding a sequence suffix
             String id = (Platform.getInstance().getOrigin()+"ps"+(seq.incrementAndGet())).substring(8);
-            Properties properties = getProperties();
+            Properties properties = getProducerProperties();
             properties.put(ProducerConfig.CLIENT_ID_CONFIG, id);
             producer = new KafkaProducer<>(properties);
             producerId = properties.getProperty(ProducerConfig.CLIENT_ID_CONFIG);
@@ -251,14 +351,18 @@ public class PubSubManager implements PubSubProvider {
     private synchronized void closeProducer() {
         if (producer != null) {
             try {
+                // pending records are sent before the producer is closed
                 producer.close();
-                log.info("Producer {} released, delivered: {}", producerId, totalEvents);
+                log.info("Producer {} released, {}", producerId, getMetrics());
             } catch (Exception e) {
                 // ok to ignore
             }
             producer = null;
             producerId = null;
-            totalEvents = 0;
+            totalEvents.set(0);
+            failedEvents.set(0);
+            totalAckTime.set(0);
+            maxAckTime.set(0);
         }
     }
 
@@ -0,0 +1,133 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.kafka.services;
+
+import kafka.server.KafkaConfig;
+import kafka.server.KafkaRaftServer;
+import org.apache.kafka.common.utils.Time;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publish events asynchronously to an embedded Kafka broker.
+ * <p>
+ * The test application.properties sets "kafka.producer.async=true".
+ */
+class AsyncPublishTest {
+    private static final Utility util = Utility.getInstance();
+    private static final String TOPIC = "async.publish.test";
+    private static final String BROKER = "127.0.0.1:19092";
+    private static final String DELIVERED = "delivered";
+    private static final String FAILED = "failed";
+    private static final String PENDING = "pending";
+    private static final long WAIT = 30000;
+    private static KafkaRaftServer kafka;
+    private static PubSubManager manager;
+    private static File kafkaLogs;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        Properties p = new Properties();
+        try (InputStream in = AsyncPublishTest.class.getResourceAsStream("/embedded-kafka.properties");
+             InputStream md = AsyncPublishTest.class.getResourceAsStream("/meta.properties")) {
+            assertNotNull(in);
+            assertNotNull(md);
+            p.load(in);
+            kafkaLogs = new File(p.getProperty("log.dirs"));
+            if (kafkaLogs.exists()) {
+                util.cleanupDir(kafkaLogs);
+            }
+            assertTrue(kafkaLogs.mkdirs());
+            util.str2file(new File(kafkaLogs, "meta.properties"), util.stream2str(md));
+        }
+        kafka = new KafkaRaftServer(new KafkaConfig(p), Time.SYSTEM);
+        kafka.startup();
+        Properties base = new Properties();
+        base.setProperty("bootstrap.servers", BROKER);
+        manager = new PubSubManager("system", base, "async.publish.test.manager");
+    }
+
+    @AfterAll
+    static void teardown() {
+        manager.cleanup();
+        kafka.shutdown();
+        kafka.awaitShutdown();
+        util.cleanupDir(kafkaLogs);
+    }
+
+    @Test
+    void asyncPublish() throws IOException, InterruptedException {
+        int count = 20;
+        long delivered = getCount(DELIVERED);
+        long failed = getCount(FAILED);
+        for (int i=0; i < count; i++) {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("n", String.valueOf(i));
+            manager.publish(TOPIC, headers, "hello world " + i);
+        }
+        // the events are acknowledged in the send callbacks
+        assertTrue(waitFor(m -> (long) m.get(DELIVERED) == delivered + count));
+        Map<String, Object> metrics = manager.getMetrics();
+        assertEquals("async", metrics.get("mode"));
+        assertEquals(failed, metrics.get(FAILED));
+        assertEquals(0, metrics.get(PENDING));
+        assertTrue((float) metrics.get("max_ack_ms") > 0);
+    }
+
+    @Test
+    void failedPublishIsCounted() throws IOException, InterruptedException {
+        long delivered = getCount(DELIVERED);
+        long failed = getCount(FAILED);
+        // larger than the default "max.request.size" of the producer
+        byte[] tooLarge = new byte[2 * 1024 * 1024];
+        manager.publish(TOPIC, new HashMap<>(), tooLarge);
+        // the failure is reported in the send callback
+        assertTrue(waitFor(m -> (long) m.get(FAILED) == failed + 1));
+        Map<String, Object> metrics = manager.getMetrics();
+        assertEquals(delivered, metrics.get(DELIVERED));
+        assertEquals(0, metrics.get(PENDING));
+    }
+
+    private long getCount(String key) {
+        return (long) manager.getMetrics().get(key);
+    }
+
+    private boolean waitFor(Predicate<Map<String, Object>> condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + WAIT;
+        while (System.currentTimeMillis() < end) {
+            if (condition.test(manager.getMetrics())) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
@@ -18,9 +18,11 @@
 
 package org.platformlambda.cloud;
 
+import org.platformlambda.cloud.balancer.*;
 import org.platformlambda.core.models.LambdaFunction;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.PubSub;
+import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.SimpleCache;
 import org.platformlambda.core.util.Utility;
 import org.platformlambda.core.websocket.common.MultipartPayload;
@@ -50,19 +52,65 @@ public class EventProducer implements LambdaFunction {
     public static final String MAP_DATA = "map";
     public static final String LIST_DATA = "list";
     private static final long ONE_MINUTE = 60 * 1000;
-    private static final long TEN_MINUTES = 10 * ONE_MINUTE;
     private static final SimpleCache stickyDest = SimpleCache.createCache("sticky.destinations", ONE_MINUTE);
-    private static final SimpleCache workLoad = SimpleCache.createCache("service.load.balancer", TEN_MINUTES);
     private static final String ID = MultipartPayload.ID;
     private static final String COUNT = MultipartPayload.COUNT;
     private static final String TOTAL = MultipartPayload.TOTAL;
     private static final String TO = MultipartPayload.TO;
     private static final String BROADCAST = MultipartPayload.BROADCAST;
- 
+    private static final String CID = MultipartPayload.CID;
+    private static final String RPC = MultipartPayload.RPC;
+    private static final String LOAD_BALANCER = "cloud.load.balancer";
+    private static final String ROUND_ROBIN = "round-robin";
+    private static final String LEAST_OUTSTANDING = "least-outstanding";
+    private static final String P2C_EWMA = "p2c-ewma";
+    private final LoadStatistics stats = LoadStatistics.getInstance();
+    private final LoadBalancer balancer;
+
+    public EventProducer() {
+        String strategy = AppConfigReader.getInstance().getProperty(LOAD_BALANCER, ROUND_ROBIN);
+        balancer = getLoadBalancer(strategy);
+        log.info("Load balancer {}", balancer.getClass().getSimpleName());
+    }
+
+    private LoadBalancer getLoadBalancer(String strategy) {
+        switch (strategy) {
+            case ROUND_ROBIN -> {
+                return new RoundRobinBalancer();
+            }
+            case LEAST_OUTSTANDING -> {
+                return new LeastOutstandingBalancer();
+            }
+            case P2C_EWMA -> {
+                return new EwmaBalancer();
+            }
+            default -> {
+                // custom strategy
+                try {
+                    Class<?> cls = Class.forName(strategy);
+                    Object o = cls.getDeclaredConstructor().newInstance();
+                    if (o instanceof LoadBalancer custom) {
+                        return custom;
+                    }
+                    log.error("Invalid {}={} - {} is not a LoadBalancer", LOAD_BALANCER, strategy, cls.getName());
+                } catch (Exception e) {
+                    log.error("Invalid {}={} - {}", LOAD_BALANCER, strategy, e.getMessage());
+                }
+                return new RoundRobinBalancer();
+            }
+        }
+    }
+
     @Override
     public Object handleEvent(Map<String, String> headers, Object input, int instance) throws Exception {
         if (headers.containsKey(TO) && input instanceof byte[] payload) {
             List<String> destinations = getDestinations(headers);
+            if (destinations.size() == 1 && headers.containsKey(CID) && !headers.containsKey(BROADCAST)) {
+                // measure response time of the selected target for a RPC request
+                stats.requestSent(destinations.getFirst(), headers.get(CID),
+                                    Utility.getInstance().str2long(headers.get(RPC)));
+            }
+            stats.housekeeping();
             if (!destinations.isEmpty()) {
                 PubSub ps = PubSub.getInstance();
                 Utility util = Utility.getInstance();
@@ -149,7 +197,7 @@ public class EventProducer implements LambdaFunction {
     }
 
     private String getNextAvailable(List<String> targetList) {
-        List<String> available = new ArrayList<>();
+        List<String> available = new ArrayList<>(targetList.size());
         for (String target: targetList) {
             if (ServiceRegistry.destinationExists(target)) {
                 available.add(target);
@@ -157,39 +205,10 @@ public class EventProducer implements LambdaFunction {
         }
         if (available.isEmpty()) {
             return null;
-        } else if (available.size() == 1) {
-            return available.getFirst();
-        } else {
-            // select target using round-robin protocol
-            Map<String, Long> load = new HashMap<>();
-            for (String target: available) {
-                Object o = workLoad.get(target);
-                if (o instanceof Long n) {
-                    load.put(target, n);
-                }
-            }
-            // if new member(s) discovered, reset counts
-            if (load.size() < available.size()) {
-                for (String target: available) {
-                    load.put(target, 0L);
-                }
-            }
-            String selected = available.getFirst();
-            long lowest = load.get(selected);
-            // find the lowest load
-            for (Map.Entry<String, Long> target: load.entrySet()) {
-                if (target.getValue() < lowest) {
-                    lowest = target.getValue();
-                    selected = target.getKey();
-                }
-            }
-            for (String target: available) {
-                long v = load.get(target);
-                // increment count for the selected target
-                workLoad.put(target, target.equals(selected)? v + 1 : v);
-            }
-            return selected;
         }
+        String selected = available.size() == 1? available.getFirst() : balancer.select(available, stats);
+        stats.selected(selected);
+        return selected;
     }
 
 }
@@ -0,0 +1,54 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices with moving average of round trip time
+ * <p>
+ * Two targets are picked at random and the one with the lower cost is selected.
+ * The cost is the average round trip time multiplied by the number of outstanding
+ * requests plus one so that a fast target is preferred until it becomes busy.
+ * A target without response time data is compared by outstanding requests only.
+ */
+public class EwmaBalancer implements LoadBalancer {
+
+    @Override
+    public String select(List<String> targets, LoadStatistics stats) {
+        int size = targets.size();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        // pick a different second target
+        int second = (first + 1 + random.nextInt(size - 1)) % size;
+        String a = targets.get(first);
+        String b = targets.get(second);
+        TargetStats sa = stats.getStats(a);
+        TargetStats sb = stats.getStats(b);
+        if (sa.hasLatency() && sb.hasLatency()) {
+            double costA = sa.getLatency() * (sa.getOutstanding() + 1);
+            double costB = sb.getLatency() * (sb.getOutstanding() + 1);
+            return costA <= costB? a : b;
+        } else {
+            return sa.getOutstanding() <= sb.getOutstanding()? a : b;
+        }
+    }
+}
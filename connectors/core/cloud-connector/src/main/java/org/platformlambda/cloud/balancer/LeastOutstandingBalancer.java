@@ -0,0 +1,50 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Select the target with the least number of outstanding RPC requests.
+ * <p>
+ * The scan starts from a rotating position so that targets with the same load
+ * are selected in turn.
+ */
+public class LeastOutstandingBalancer implements LoadBalancer {
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public String select(List<String> targets, LoadStatistics stats) {
+        int size = targets.size();
+        int start = (int) Math.floorMod(counter.getAndIncrement(), size);
+        String selected = targets.get(start);
+        int lowest = stats.getStats(selected).getOutstanding();
+        for (int i=1; i < size && lowest > 0; i++) {
+            String target = targets.get((start + i) % size);
+            int n = stats.getStats(target).getOutstanding();
+            if (n < lowest) {
+                lowest = n;
+                selected = target;
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import java.util.List;
+
+/**
+ * A load balancer selects one application instance to serve an event
+ * when a route is available in more than one application instance.
+ * <p>
+ * The selection is done in the event loop of the cloud connector so it must be fast and non-blocking.
+ * Custom strategies can be configured with "cloud.load.balancer" using the class name
+ * of an implementation that has a default constructor.
+ */
+public interface LoadBalancer {
+
+    /**
+     * Select a target application instance
+     *
+     * @param targets - origin IDs of reachable application instances (two or more)
+     * @param stats - per target statistics
+     * @return selected origin ID
+     */
+    String select(List<String> targets, LoadStatistics stats);
+}
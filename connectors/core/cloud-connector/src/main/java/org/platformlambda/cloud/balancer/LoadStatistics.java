@@ -0,0 +1,131 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import org.platformlambda.cloud.services.ServiceRegistry;
+import org.platformlambda.core.system.EventEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per target statistics for load balancing
+ * <p>
+ * Round trip time is measured by the cloud connector from the time a RPC request is published
+ * to the time the response arrives. A request without response is counted as a timeout
+ * and its timeout value is used as the round trip time to penalize a slow target.
+ */
+public class LoadStatistics {
+    private static final long HOUSEKEEPING_INTERVAL = 1000;
+    private static final int MAX_PENDING = 100000;
+    private static final LoadStatistics instance = new LoadStatistics();
+    private final ConcurrentMap<String, TargetStats> targets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, PendingRequest> pending = new ConcurrentHashMap<>();
+    private final AtomicLong lastHousekeeping = new AtomicLong(System.currentTimeMillis());
+
+    private LoadStatistics() {
+        // singleton
+    }
+
+    public static LoadStatistics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Retrieve statistics of a target
+     *
+     * @param target origin ID of an application instance
+     * @return statistics
+     */
+    public TargetStats getStats(String target) {
+        return targets.computeIfAbsent(target, k -> new TargetStats());
+    }
+
+    public Map<String, TargetStats> getAllStats() {
+        return targets;
+    }
+
+    /**
+     * Count an event that is sent to a target
+     *
+     * @param target origin ID of an application instance
+     */
+    public void selected(String target) {
+        getStats(target).selected();
+    }
+
+    /**
+     * Track a RPC request sent to a target
+     *
+     * @param target origin ID of an application instance
+     * @param cid correlation ID of the request
+     * @param timeout in milliseconds
+     */
+    public void requestSent(String target, String cid, long timeout) {
+        if (pending.size() < MAX_PENDING && timeout > 0) {
+            long now = System.nanoTime();
+            long expiry = now + timeout * EventEmitter.ONE_MILLISECOND;
+            if (pending.putIfAbsent(cid, new PendingRequest(target, now, expiry)) == null) {
+                getStats(target).requestSent();
+            }
+        }
+    }
+
+    /**
+     * Update round trip time of a target when a response arrives
+     *
+     * @param cid correlation ID of an incoming event
+     */
+    public void responseReceived(String cid) {
+        if (cid != null && !pending.isEmpty()) {
+            PendingRequest request = pending.remove(cid);
+            if (request != null) {
+                double roundTrip = (double) (System.nanoTime() - request.begin()) / EventEmitter.ONE_MILLISECOND;
+                getStats(request.target()).responseReceived(roundTrip);
+            }
+        }
+    }
+
+    /**
+     * Expire requests without responses and remove statistics of departed targets.
+     * This is done at most once per second.
+     */
+    public void housekeeping() {
+        long t1 = System.currentTimeMillis();
+        long t0 = lastHousekeeping.get();
+        if (t1 - t0 > HOUSEKEEPING_INTERVAL && lastHousekeeping.compareAndSet(t0, t1)) {
+            long now = System.nanoTime();
+            pending.entrySet().removeIf(entry -> {
+                PendingRequest request = entry.getValue();
+                if (now > request.expiry()) {
+                    double timeout = (double) (request.expiry() - request.begin()) / EventEmitter.ONE_MILLISECOND;
+                    getStats(request.target()).requestExpired(timeout);
+                    return true;
+                }
+                return false;
+            });
+            targets.keySet().removeIf(target -> !ServiceRegistry.destinationExists(target));
+        }
+    }
+
+    private record PendingRequest(String target, long begin, long expiry) { }
+}
@@ -0,0 +1,35 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Select targets in turn. This is the default strategy.
+ */
+public class RoundRobinBalancer implements LoadBalancer {
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public String select(List<String> targets, LoadStatistics stats) {
+        return targets.get((int) Math.floorMod(counter.getAndIncrement(), targets.size()));
+    }
+}
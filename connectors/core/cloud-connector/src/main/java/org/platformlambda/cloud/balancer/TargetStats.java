@@ -0,0 +1,103 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud.balancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free statistics of an application instance
+ */
+public class TargetStats {
+    // weight of the latest sample in the exponentially weighted moving average
+    private static final double DECAY = 0.3;
+    private static final long NO_SAMPLE = Double.doubleToRawLongBits(-1.0);
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong selected = new AtomicLong();
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong latency = new AtomicLong(NO_SAMPLE);
+
+    /**
+     * Number of RPC requests waiting for responses
+     *
+     * @return outstanding requests
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Number of events sent to this target
+     *
+     * @return count
+     */
+    public long getSelected() {
+        return selected.get();
+    }
+
+    public long getResponses() {
+        return responses.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Moving average of round trip time in milliseconds
+     *
+     * @return average or -1 if no response has been received
+     */
+    public double getLatency() {
+        return Double.longBitsToDouble(latency.get());
+    }
+
+    public boolean hasLatency() {
+        return latency.get() != NO_SAMPLE;
+    }
+
+    void selected() {
+        selected.incrementAndGet();
+    }
+
+    void requestSent() {
+        outstanding.incrementAndGet();
+    }
+
+    void responseReceived(double roundTrip) {
+        responses.incrementAndGet();
+        complete(roundTrip);
+    }
+
+    void requestExpired(double timeout) {
+        timeouts.incrementAndGet();
+        complete(timeout);
+    }
+
+    private void complete(double roundTrip) {
+        outstanding.updateAndGet(n -> Math.max(0, n - 1));
+        latency.getAndUpdate(bits -> {
+            double current = Double.longBitsToDouble(bits);
+            double next = bits == NO_SAMPLE? roundTrip : current + DECAY * (roundTrip - current);
+            return Double.doubleToRawLongBits(next);
+        });
+    }
+}
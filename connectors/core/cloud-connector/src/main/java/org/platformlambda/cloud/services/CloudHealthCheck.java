@@ -68,6 +68,10 @@ public class CloudHealthCheck implements TypedLambdaFunction<EventEnvelope, Void
             result.put("service", ConnectorConfig.getServiceName());
             result.put("href", ConnectorConfig.getDisplayUrl());
             result.put("topics", ConnectorConfig.topicSubstitutionEnabled()? "pre-allocated" : "on-demand");
+            Map<String, Object> metrics = PubSub.getInstance().getMetrics();
+            if (!metrics.isEmpty()) {
+                result.put("delivery", metrics);
+            }
             sendResponse(input, result);
         }
         if (HEALTH.equals(headers.get(TYPE))) {
@@ -0,0 +1,81 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.cloud;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.cloud.balancer.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancerTest {
+
+    @Test
+    void roundRobinTest() {
+        LoadStatistics stats = LoadStatistics.getInstance();
+        List<String> targets = List.of("rr-1", "rr-2", "rr-3");
+        LoadBalancer balancer = new RoundRobinBalancer();
+        assertEquals("rr-1", balancer.select(targets, stats));
+        assertEquals("rr-2", balancer.select(targets, stats));
+        assertEquals("rr-3", balancer.select(targets, stats));
+        assertEquals("rr-1", balancer.select(targets, stats));
+    }
+
+    @Test
+    void leastOutstandingTest() {
+        LoadStatistics stats = LoadStatistics.getInstance();
+        List<String> targets = List.of("lo-1", "lo-2", "lo-3");
+        stats.requestSent("lo-1", "lo-cid-1", 5000);
+        stats.requestSent("lo-1", "lo-cid-2", 5000);
+        stats.requestSent("lo-3", "lo-cid-3", 5000);
+        assertEquals(2, stats.getStats("lo-1").getOutstanding());
+        LoadBalancer balancer = new LeastOutstandingBalancer();
+        for (int i=0; i < 3; i++) {
+            assertEquals("lo-2", balancer.select(targets, stats));
+        }
+        stats.responseReceived("lo-cid-1");
+        stats.responseReceived("lo-cid-2");
+        assertEquals(0, stats.getStats("lo-1").getOutstanding());
+        assertEquals(2, stats.getStats("lo-1").getResponses());
+        assertTrue(stats.getStats("lo-1").hasLatency());
+        // unknown correlation ID is ignored
+        stats.responseReceived("lo-cid-4");
+        assertEquals(1, stats.getStats("lo-3").getOutstanding());
+    }
+
+    @Test
+    void ewmaTest() throws InterruptedException {
+        LoadStatistics stats = LoadStatistics.getInstance();
+        List<String> targets = List.of("fast", "slow");
+        for (int i=0; i < 3; i++) {
+            stats.requestSent("fast", "fast-" + i, 5000);
+            stats.requestSent("slow", "slow-" + i, 5000);
+            stats.responseReceived("fast-" + i);
+            Thread.sleep(20);
+            stats.responseReceived("slow-" + i);
+        }
+        assertTrue(stats.getStats("slow").getLatency() > stats.getStats("fast").getLatency());
+        LoadBalancer balancer = new EwmaBalancer();
+        for (int i=0; i < 10; i++) {
+            assertEquals("fast", balancer.select(targets, stats));
+        }
+    }
+}
@@ -81,6 +81,7 @@ public class HttpToFlow implements TypedLambdaFunction<EventEnvelope, Void> {
         dataset.put("stream", request.getStreamRoute());
         dataset.put("ip", request.getRemoteIp());
         dataset.put("filename", request.getFileName());
+        dataset.put("spool", request.getSpoolFile());
         dataset.put("session", request.getSessionInfo());
         FlowExecutor.getInstance().launch(po, flowId, dataset, event.getReplyTo(), event.getCorrelationId());
     }
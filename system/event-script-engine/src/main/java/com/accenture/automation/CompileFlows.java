@@ -18,6 +18,7 @@
 
 package com.accenture.automation;
 
+import com.accenture.models.DataMapping;
 import com.accenture.models.Flow;
 import com.accenture.models.Flows;
 import com.accenture.models.Task;
@@ -430,6 +431,7 @@ public class CompileFlows implements EntryPoint {
                                 log.warn("Task {} in {} uses input namespace in right-hand-side - {}", uniqueTaskName, name, line);
                             }
                             task.input.add(line);
+                            task.inputMapping.add(new DataMapping(line, false));
                         } else {
                             log.error("Skip invalid task {} in {} that has invalid input mapping - {}", uniqueTaskName, name, line);
                             validTask = false;
@@ -448,7 +450,13 @@ public class CompileFlows implements EntryPoint {
                     List<String> filteredOutputMapping = filterDataMapping(outputList);
                     for (String line: filteredOutputMapping) {
                         if (validOutput(line, isDecisionTask)) {
-                            task.output.add(line);
+                            try {
+                                task.outputMapping.add(new DataMapping(line, true));
+                                task.output.add(line);
+                            } catch (IllegalArgumentException e) {
+                                log.error("Skip invalid task {} in {} - {}", uniqueTaskName, name, e.getMessage());
+                                validTask = false;
+                            }
                         } else {
                             log.error("Skip invalid task {} in {} that has invalid output mapping - {}", uniqueTaskName, name, line);
                             validTask = false;
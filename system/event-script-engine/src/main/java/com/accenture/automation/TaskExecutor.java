@@ -25,10 +25,9 @@ import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.Kv;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.serializers.SimpleMapper;
-import org.platformlambda.core.services.DistributedTrace;
-import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.PostOffice;
+import org.platformlambda.core.system.TraceCollector;
 import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.MultiLevelMap;
 import org.platformlambda.core.util.Utility;
@@ -51,6 +50,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
     private static final Logger log = LoggerFactory.getLogger(TaskExecutor.class);
     private static final ConcurrentMap<String, TaskReference> taskRefs = new ConcurrentHashMap<>();
     private static final Utility util = Utility.getInstance();
+    private static final TraceCollector collector = TraceCollector.getInstance();
     private static final String FIRST_TASK = "first_task";
     private static final String FLOW_ID = "flow_id";
     private static final String PARENT = "parent";
@@ -73,27 +73,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
     private static final String CODE = "code";
     private static final String STACK_TRACE = "stack";
     private static final String DECISION = "decision";
-    private static final String INPUT_NAMESPACE = "input.";
     private static final String MODEL_NAMESPACE = "model.";
-    private static final String RESULT_NAMESPACE = "result.";
-    private static final String ERROR_NAMESPACE = "error.";
-    private static final String EXT_NAMESPACE = "ext:";
-    private static final String INPUT_HEADER_NAMESPACE = "input.header.";
-    private static final String HEADER_NAMESPACE = "header.";
-    private static final String TEXT_TYPE = "text(";
-    private static final String INTEGER_TYPE = "int(";
-    private static final String LONG_TYPE = "long(";
-    private static final String FLOAT_TYPE = "float(";
-    private static final String DOUBLE_TYPE = "double(";
-    private static final String BOOLEAN_TYPE = "boolean(";
-    private static final String CLASSPATH_TYPE = "classpath(";
-    private static final String FILE_TYPE = "file(";
-    private static final String MAP_TYPE = "map(";
-    private static final String CLOSE_BRACKET = ")";
-    private static final String TEXT_FILE = "text:";
-    private static final String BINARY_FILE = "binary:";
-    private static final String MAP_TO = "->";
-    private static final String ALL = "*";
     private static final String END = "end";
     private static final String TRUE = "true";
     private static final String FALSE = "false";
@@ -112,29 +92,8 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
     private static final String BREAK = "break";
     private static final String INCREMENT = "++";
     private static final String DECREMENT = "--";
-    private static final String TEXT_SUFFIX = "text";
-    private static final String BINARY_SUFFIX = "binary";
-    private static final String B64_SUFFIX = "b64";
-    private static final String INTEGER_SUFFIX = "int";
-    private static final String LONG_SUFFIX = "long";
-    private static final String FLOAT_SUFFIX = "float";
-    private static final String DOUBLE_SUFFIX = "double";
     private static final String BOOLEAN_SUFFIX = "boolean";
     private static final String UUID_SUFFIX = "uuid";
-    private static final String NEGATE_SUFFIX = "!";
-    private static final String SUBSTRING_TYPE = "substring(";
-    private static final String CONCAT_TYPE = "concat(";
-    private static final String AND_TYPE = "and(";
-    private static final String OR_TYPE = "or(";
-
-    private enum OPERATION {
-        SIMPLE_COMMAND,
-        SUBSTRING_COMMAND,
-        CONCAT_COMMAND,
-        AND_COMMAND,
-        OR_COMMAND,
-        BOOLEAN_COMMAND
-    }
 
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope event, int instance) throws IOException {
@@ -258,32 +217,21 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         String traceId = flowInstance.getTraceId();
         String logId = traceId != null? traceId : flowInstance.id;
         long diff = Math.max(0, System.currentTimeMillis() - flowInstance.getStartMillis());
-        String formatted = Utility.getInstance().elapsedTime(diff);
-        List<String> taskList = new ArrayList<>(flowInstance.tasks);
-        int totalExecutions = taskList.size();
-        var payload = new HashMap<String, Object>();
-        var metrics = new HashMap<String, Object>();
-        var annotations = new HashMap<String, Object>();
-        payload.put("trace", metrics);
-        payload.put("annotations", annotations);
-        metrics.put("origin", Platform.getInstance().getOrigin());
-        metrics.put("id", logId);
-        metrics.put("service", TaskExecutor.SERVICE_NAME);
-        metrics.put("from", EventScriptManager.SERVICE_NAME);
-        metrics.put("exec_time", diff);
-        metrics.put("start", util.date2str(new Date(flowInstance.getStartMillis())));
-        metrics.put("path", flowInstance.getTracePath());
-        metrics.put(STATUS, normal? 200 : 400);
-        metrics.put("success", normal);
-        if (!normal) {
-            metrics.put("exception", "Flow aborted");
+        // a flow summary that is not sampled is dropped before any tracing dataset is created
+        if (collector.isSampled(TaskExecutor.SERVICE_NAME, logId, !normal, diff)) {
+            String formatted = Utility.getInstance().elapsedTime(diff);
+            List<String> taskList = new ArrayList<>(flowInstance.tasks);
+            int totalExecutions = taskList.size();
+            var annotations = new HashMap<String, Object>();
+            annotations.put("execution", "Run " + totalExecutions +
+                            " task" + (totalExecutions == 1? "" : "s") + " in " + formatted);
+            annotations.put("tasks", taskList);
+            annotations.put("flow", flowInstance.getFlow().id);
+            collector.record(logId, flowInstance.getTracePath(), TaskExecutor.SERVICE_NAME,
+                            EventScriptManager.SERVICE_NAME, util.date2str(new Date(flowInstance.getStartMillis())),
+                            normal? 200 : 400, normal, normal? null : "Flow aborted", diff, -1,
+                            annotations, null);
         }
-        annotations.put("execution", "Run " + totalExecutions +
-                        " task" + (totalExecutions == 1? "" : "s") + " in " + formatted);
-        annotations.put("tasks", taskList);
-        annotations.put("flow", flowInstance.getFlow().id);
-        EventEmitter.getInstance().send(new EventEnvelope()
-                                    .setTo(DistributedTrace.DISTRIBUTED_TRACING).setBody(payload));
     }
 
     @SuppressWarnings("rawtypes")
@@ -298,87 +246,76 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         // consolidated dataset includes input, model and task result set
         MultiLevelMap consolidated = new MultiLevelMap(combined);
         // perform output data mapping //
-        List<String> mapping = task.output;
-        for (String entry: mapping) {
-            int sep = entry.indexOf(MAP_TO);
-            if (sep > 0) {
-                String lhs = entry.substring(0, sep).trim();
-                boolean isInput = lhs.startsWith(INPUT_NAMESPACE) || lhs.equalsIgnoreCase(INPUT);
-                final Object value;
-                String rhs = entry.substring(sep+2).trim();
-                if (isInput || lhs.startsWith(MODEL_NAMESPACE)
-                        || lhs.equals(HEADER) || lhs.startsWith(HEADER_NAMESPACE)
-                        || lhs.equals(STATUS)
-                        || lhs.equals(RESULT) || lhs.startsWith(RESULT_NAMESPACE)) {
-                    value = getLhsElement(lhs, consolidated);
-                    if (value == null) {
-                        removeModelElement(rhs, consolidated);
-                    }
-                } else {
-                    value = getConstantValue(lhs);
+        for (DataMapping entry: task.outputMapping) {
+            final Object value;
+            if (entry.source == DataMapping.Source.DATASET) {
+                value = getLhsElement(entry, consolidated);
+                if (value == null) {
+                    removeModelElement(entry, consolidated);
                 }
-                if (rhs.startsWith(FILE_TYPE)) {
-                    SimpleFileDescriptor fd = new SimpleFileDescriptor(rhs);
-                    File f = new File(fd.fileName);
-                    // automatically create parent folder
-                    boolean fileFound = f.exists();
-                    if (!fileFound) {
-                        String parentPath = f.getParent();
-                        if (!("/".equals(parentPath))) {
-                            File parent = f.getParentFile();
-                            if (!parent.exists()) {
-                                if (parent.mkdirs()) {
-                                    log.info("Folder {} created", parentPath);
-                                } else {
-                                    log.error("Unable to create folder {} - please check access rights", parentPath);
-                                }
+            } else {
+                value = getConstantValue(entry);
+            }
+            if (entry.target == DataMapping.Target.FILE) {
+                File f = new File(entry.file.fileName);
+                // automatically create parent folder
+                boolean fileFound = f.exists();
+                if (!fileFound) {
+                    String parentPath = f.getParent();
+                    if (!("/".equals(parentPath))) {
+                        File parent = f.getParentFile();
+                        if (!parent.exists()) {
+                            if (parent.mkdirs()) {
+                                log.info("Folder {} created", parentPath);
+                            } else {
+                                log.error("Unable to create folder {} - please check access rights", parentPath);
                             }
                         }
                     }
-                    if (!fileFound || (!f.isDirectory() && f.canWrite())) {
-                        switch (value) {
-                            // delete the RHS' target file if LHS value is null
-                            case null ->    {
-                                                if (fileFound && f.delete()) {
-                                                    log.debug("File {} deleted", f);
-                                                }
+                }
+                if (!fileFound || (!f.isDirectory() && f.canWrite())) {
+                    switch (value) {
+                        // delete the RHS' target file if LHS value is null
+                        case null ->    {
+                                            if (fileFound && f.delete()) {
+                                                log.debug("File {} deleted", f);
                                             }
-                            case byte[] b -> util.bytes2file(f, b);
-                            case String str -> util.str2file(f, str);
-                            // best effort to save as a JSON string
-                            case Map map ->
-                                util.str2file(f, SimpleMapper.getInstance().getMapper().writeValueAsString(map));
-                            default -> util.str2file(f, String.valueOf(value));
-                        }
+                                        }
+                        case byte[] b -> util.bytes2file(f, b);
+                        case String str -> util.str2file(f, str);
+                        // best effort to save as a JSON string
+                        case Map map ->
+                            util.str2file(f, SimpleMapper.getInstance().getMapper().writeValueAsString(map));
+                        default -> util.str2file(f, String.valueOf(value));
                     }
-                } else {
-                    if (value != null) {
-                        boolean required = true;
-                        if (rhs.equals(OUTPUT_STATUS)) {
-                            int status = value instanceof Integer v? v : util.str2int(String.valueOf(value));
-                            if (status < 100 || status > 599) {
-                                log.error("Invalid output mapping '{}' - expect: valid HTTP status code, actual: {}",
-                                        entry, status);
-                                required = false;
-                            }
-                        }
-                        if (rhs.equals(OUTPUT_HEADER) && !(value instanceof Map)) {
-                            log.error("Invalid output mapping '{}' - expect: Map, actual: {}",
-                                    entry, value.getClass().getSimpleName());
-                            required = false;
-                        }
-                        if (rhs.startsWith(EXT_NAMESPACE)) {
+                }
+            } else {
+                if (value != null) {
+                    boolean required = true;
+                    if (entry.target == DataMapping.Target.OUTPUT_STATUS) {
+                        int status = value instanceof Integer v? v : util.str2int(String.valueOf(value));
+                        if (status < 100 || status > 599) {
+                            log.error("Invalid output mapping '{}' - expect: valid HTTP status code, actual: {}",
+                                    entry.entry, status);
                             required = false;
-                            callExternalStateMachine(flowInstance, task, rhs, value);
-                        }
-                        if (required) {
-                            setRhsElement(value, rhs, consolidated);
-                        }
-                    } else {
-                        if (rhs.startsWith(EXT_NAMESPACE)) {
-                            callExternalStateMachine(flowInstance, task, rhs, null);
                         }
                     }
+                    if (entry.target == DataMapping.Target.OUTPUT_HEADER && !(value instanceof Map)) {
+                        log.error("Invalid output mapping '{}' - expect: Map, actual: {}",
+                                entry.entry, value.getClass().getSimpleName());
+                        required = false;
+                    }
+                    if (entry.target == DataMapping.Target.EXT) {
+                        required = false;
+                        callExternalStateMachine(flowInstance, task, entry.key, value);
+                    }
+                    if (required) {
+                        setRhsElement(value, entry, consolidated);
+                    }
+                } else {
+                    if (entry.target == DataMapping.Target.EXT) {
+                        callExternalStateMachine(flowInstance, task, entry.key, null);
+                    }
                 }
             }
         }
@@ -688,87 +625,75 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         MultiLevelMap target = new MultiLevelMap();
         Map<String, String> optionalHeaders = new HashMap<>();
         // perform input data mapping //
-        List<String> mapping = task.input;
-        for (String entry: mapping) {
-            int sep = entry.indexOf(MAP_TO);
-            if (sep > 0) {
-                String lhs = entry.substring(0, sep).trim();
-                String rhs = entry.substring(sep+2).trim();
-                boolean inputLike = lhs.startsWith(INPUT_NAMESPACE) || lhs.equalsIgnoreCase(INPUT) ||
-                                    lhs.startsWith(MODEL_NAMESPACE) || lhs.startsWith(ERROR_NAMESPACE);
-                if (lhs.startsWith(INPUT_HEADER_NAMESPACE)) {
-                    lhs = lhs.toLowerCase();
-                }
-                if (rhs.startsWith(EXT_NAMESPACE)) {
-                    final Object value;
-                    if (inputLike) {
-                        value = getLhsElement(lhs, source);
+        for (DataMapping entry: task.inputMapping) {
+            boolean inputLike = entry.source == DataMapping.Source.DATASET;
+            if (entry.target == DataMapping.Target.EXT) {
+                final Object value;
+                if (inputLike) {
+                    value = getLhsElement(entry, source);
+                } else {
+                    value = getConstantValue(entry);
+                }
+                callExternalStateMachine(flowInstance, task, entry.key, value);
+            } else if (entry.target == DataMapping.Target.MODEL) {
+                // special case to set model variables
+                Map<String, Object> modelOnly = new HashMap<>();
+                modelOnly.put(MODEL, flowInstance.dataset.get(MODEL));
+                MultiLevelMap model = new MultiLevelMap(modelOnly);
+                if (inputLike) {
+                    Object value = getLhsElement(entry, source);
+                    if (value == null) {
+                        removeModelElement(entry, model);
                     } else {
-                        value = getConstantValue(lhs);
+                        setRhsElement(value, entry, model);
                     }
-                    callExternalStateMachine(flowInstance, task, rhs, value);
-                } else if (rhs.startsWith(MODEL_NAMESPACE)) {
-                    // special case to set model variables
-                    Map<String, Object> modelOnly = new HashMap<>();
-                    modelOnly.put(MODEL, flowInstance.dataset.get(MODEL));
-                    MultiLevelMap model = new MultiLevelMap(modelOnly);
-                    if (inputLike) {
-                        Object value = getLhsElement(lhs, source);
-                        if (value == null) {
-                            removeModelElement(rhs, model);
+                } else {
+                    setConstantValue(entry, model);
+                }
+            } else if (inputLike) {
+                // normal case to input argument
+                Object value = getLhsElement(entry, source);
+                // special cases for simple type matching for a non-exist model variable
+                if (value == null && entry.lhs.startsWith(MODEL_NAMESPACE)) {
+                    value = getValueFromNonExistModel(entry.lhs);
+                }
+                if (value != null) {
+                    boolean valid = true;
+                    if (entry.target == DataMapping.Target.ALL) {
+                        if (value instanceof Map) {
+                            target.reload((Map<String, Object>) value);
                         } else {
-                            setRhsElement(value, rhs, model);
+                            valid = false;
                         }
-                    } else {
-                        setConstantValue(lhs, rhs, model);
-                    }
-                } else if (inputLike) {
-                    // normal case to input argument
-                    Object value = getLhsElement(lhs, source);
-                    // special cases for simple type matching for a non-exist model variable
-                    if (value == null && lhs.startsWith(MODEL_NAMESPACE)) {
-                        value = getValueFromNonExistModel(lhs);
-                    }
-                    if (value != null) {
-                        boolean valid = true;
-                        if (ALL.equals(rhs)) {
-                            if (value instanceof Map) {
-                                target.reload((Map<String, Object>) value);
-                            } else {
-                                valid = false;
-                            }
-                        } else if (rhs.equals(HEADER)) {
-                            if (value instanceof Map) {
-                                Map<String, Object> headers = (Map<String, Object>) value;
-                                headers.forEach((k,v) -> optionalHeaders.put(k, v.toString()));
-                            } else {
-                                valid = false;
-                            }
-                        } else if (rhs.startsWith(HEADER_NAMESPACE)) {
-                            String k = rhs.substring(HEADER_NAMESPACE.length());
-                            if (!k.isEmpty()) {
-                                optionalHeaders.put(k, value.toString());
-                            }
+                    } else if (entry.target == DataMapping.Target.HEADERS) {
+                        if (value instanceof Map) {
+                            Map<String, Object> headers = (Map<String, Object>) value;
+                            headers.forEach((k,v) -> optionalHeaders.put(k, v.toString()));
                         } else {
-                            setRhsElement(value, rhs, target);
+                            valid = false;
                         }
-                        if (!valid) {
-                            log.error("Invalid input mapping '{}' - expect: Map, actual: {}",
-                                    entry, value.getClass().getSimpleName());
-                        }
-                    }
-                } else {
-                    // Assume left hand side is a constant
-                    if (rhs.startsWith(HEADER_NAMESPACE)) {
-                        String k = rhs.substring(HEADER_NAMESPACE.length());
-                        Object v = getConstantValue(lhs);
-                        if (!k.isEmpty() && v != null) {
-                            optionalHeaders.put(k, v.toString());
+                    } else if (entry.target == DataMapping.Target.HEADER) {
+                        if (!entry.key.isEmpty()) {
+                            optionalHeaders.put(entry.key, value.toString());
                         }
                     } else {
-                        setConstantValue(lhs, rhs, target);
+                        setRhsElement(value, entry, target);
+                    }
+                    if (!valid) {
+                        log.error("Invalid input mapping '{}' - expect: Map, actual: {}",
+                                entry.entry, value.getClass().getSimpleName());
                     }
                 }
+            } else {
+                // Assume left hand side is a constant
+                if (entry.target == DataMapping.Target.HEADER) {
+                    Object v = getConstantValue(entry);
+                    if (!entry.key.isEmpty() && v != null) {
+                        optionalHeaders.put(entry.key, v.toString());
+                    }
+                } else {
+                    setConstantValue(entry, target);
+                }
             }
         }
         // need to send later?
@@ -793,7 +718,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
             }
         }
         final Platform platform = Platform.getInstance();
-        final String uuid = util.getDateUuid();
+        final String uuid = util.getId();
         final TaskReference ref = new TaskReference(flowInstance.id, task.service);
         taskRefs.put(uuid, ref);
         flowInstance.pendingTasks.put(uuid, true);
@@ -812,7 +737,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
             }
             EventEnvelope forward = new EventEnvelope().setTo(EventScriptManager.SERVICE_NAME)
                     .setHeader(PARENT, flowInstance.id)
-                    .setHeader(FLOW_ID, flowId).setBody(target.getMap()).setCorrelationId(util.getUuid());
+                    .setHeader(FLOW_ID, flowId).setBody(target.getMap()).setCorrelationId(util.getId());
             PostOffice po = new PostOffice(functionRoute, flowInstance.getTraceId(), flowInstance.getTracePath());
             po.asyncRequest(forward, subFlow.ttl, false).onSuccess(response -> {
                 EventEnvelope event = new EventEnvelope()
@@ -864,9 +789,8 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         return null;
     }
 
-    private void callExternalStateMachine(FlowInstance flowInstance, Task task, String rhs, Object value)
+    private void callExternalStateMachine(FlowInstance flowInstance, Task task, String key, Object value)
             throws IOException {
-        String key = rhs.substring(EXT_NAMESPACE.length()).trim();
         String externalStateMachine = flowInstance.getFlow().externalStateMachine;
         PostOffice po = new PostOffice(task.service,
                 flowInstance.getTraceId(), flowInstance.getTracePath());
@@ -881,7 +805,7 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
                 String flowId = externalStateMachine.substring(FLOW_PROTOCOL.length());
                 EventEnvelope forward = new EventEnvelope().setTo(EventScriptManager.SERVICE_NAME)
                         .setHeader(PARENT, flowInstance.id)
-                        .setHeader(FLOW_ID, flowId).setBody(dataset.getMap()).setCorrelationId(util.getUuid());
+                        .setHeader(FLOW_ID, flowId).setBody(dataset.getMap()).setCorrelationId(util.getId());
                 po.send(forward);
             } else {
                 if (value == null) {
@@ -895,348 +819,179 @@ public class TaskExecutor implements TypedLambdaFunction<EventEnvelope, Void> {
         }
     }
 
-    private void removeModelElement(String rhs, MultiLevelMap model) {
-        int colon = getModelTypeIndex(rhs);
-        if (colon != -1) {
-            String key = rhs.substring(0, colon);
-            String type = rhs.substring(colon+1);
-            Object value = getValueByType(type, null, "?", model);
+    private void removeModelElement(DataMapping entry, MultiLevelMap model) {
+        if (entry.rhsType != null) {
+            Object value = getValueByType(entry.rhsType, null, "?", model);
             if (value != null) {
-                setRhsElement(value, key, model);
+                model.setElement(entry.rhsPath, value);
             } else {
-                model.removeElement(key);
+                model.removeElement(entry.rhsPath);
             }
         } else {
-            model.removeElement(rhs);
+            model.removeElement(entry.rhsPath);
         }
     }
 
-    private Object getLhsElement(String lhs, MultiLevelMap source) {
-        int colon = getModelTypeIndex(lhs);
-        String selector = colon == -1? lhs : lhs.substring(0, colon).trim();
-        Object value = source.getElement(selector);
-        if (colon != -1) {
-            String type = lhs.substring(colon+1).trim();
-            return getValueByType(type, value, "LHS '"+lhs+"'", source);
+    private Object getLhsElement(DataMapping entry, MultiLevelMap source) {
+        Object value = source.getElement(entry.lhsPath);
+        if (entry.lhsType != null) {
+            return getValueByType(entry.lhsType, value, entry.lhsLabel, source);
         }
         return value;
     }
 
-    private int getModelTypeIndex(String text) {
-        if (text.startsWith(MODEL_NAMESPACE)) {
-            return text.indexOf(':');
-        } else {
-            return -1;
-        }
-    }
-
-    private OPERATION getMappingType(String type) {
-        if (type.startsWith(SUBSTRING_TYPE)) {
-            return OPERATION.SUBSTRING_COMMAND;
-        } else if (type.startsWith(CONCAT_TYPE)) {
-            return OPERATION.CONCAT_COMMAND;
-        } else if (type.startsWith(AND_TYPE)) {
-            return OPERATION.AND_COMMAND;
-        } else if (type.startsWith(OR_TYPE)) {
-            return OPERATION.OR_COMMAND;
-        } else if (type.startsWith(BOOLEAN_TYPE)) {
-            return OPERATION.BOOLEAN_COMMAND;
-        } else {
-            return OPERATION.SIMPLE_COMMAND;
-        }
-    }
-
     @SuppressWarnings("rawtypes")
-    private Object getValueByType(String type, Object value, String path, MultiLevelMap data) {
-        var selection = getMappingType(type);
-        if (selection == OPERATION.SIMPLE_COMMAND) {
-            switch (type) {
-                case TEXT_SUFFIX -> {
-                    return switch (value) {
-                        case String str -> str;
-                        case byte[] b -> util.getUTF(b);
-                        case Map map -> SimpleMapper.getInstance().getMapper().writeValueAsString(map);
-                        default -> String.valueOf(value);
-                    };
-                }
-                case BINARY_SUFFIX -> {
-                    return switch (value) {
-                        case byte[] b -> b;
-                        case String str -> util.getUTF(str);
-                        case Map map -> SimpleMapper.getInstance().getMapper().writeValueAsBytes(map);
-                        default -> util.getUTF(String.valueOf(value));
-                    };
-                }
-                case BOOLEAN_SUFFIX -> {
-                    return TRUE.equalsIgnoreCase(String.valueOf(value));
-                }
-                case NEGATE_SUFFIX -> {
-                    return !(TRUE.equalsIgnoreCase(String.valueOf(value)));
-                }
-                case INTEGER_SUFFIX -> {
-                    return util.str2int(String.valueOf(value));
-                }
-                case LONG_SUFFIX -> {
-                    return util.str2long(String.valueOf(value));
-                }
-                case FLOAT_SUFFIX -> {
-                    return util.str2float(String.valueOf(value));
-                }
-                case DOUBLE_SUFFIX -> {
-                    return util.str2double(String.valueOf(value));
-                }
-                case UUID_SUFFIX -> {
-                    return util.getUuid4();
-                }
-                case B64_SUFFIX -> {
-                    if (value instanceof byte[] b) {
-                        return util.bytesToBase64(b);
-                    } else if (value instanceof String str) {
-                        try {
-                            return util.base64ToBytes(str);
-                        } catch (IllegalArgumentException e) {
-                            log.error("Unable to decode {} from text into B64 - {}", path, e.getMessage());
-                        }
-                    }
-                }
-                default -> log.error("Unable to do {} of {} - matching type must be " +
-                                    "substring(start, end), concat, boolean, !, and, or, text, binary, uuid or b64",
-                                    type, path);
+    private Object getValueByType(TypeMapping type, Object value, String path, MultiLevelMap data) {
+        if (type.error != null) {
+            log.error("Unable to do {} of {} - {}", type.type, path, type.error);
+            return value;
+        }
+        String error = null;
+        switch (type.operation) {
+            case TEXT -> {
+                return switch (value) {
+                    case String str -> str;
+                    case byte[] b -> util.getUTF(b);
+                    case Map map -> SimpleMapper.getInstance().getMapper().writeValueAsString(map);
+                    default -> String.valueOf(value);
+                };
+            }
+            case BINARY -> {
+                return switch (value) {
+                    case byte[] b -> b;
+                    case String str -> util.getUTF(str);
+                    case Map map -> SimpleMapper.getInstance().getMapper().writeValueAsBytes(map);
+                    default -> util.getUTF(String.valueOf(value));
+                };
+            }
+            case BOOLEAN -> {
+                return TRUE.equalsIgnoreCase(String.valueOf(value));
+            }
+            case NEGATE -> {
+                return !(TRUE.equalsIgnoreCase(String.valueOf(value)));
+            }
+            case INTEGER -> {
+                return util.str2int(String.valueOf(value));
+            }
+            case LONG -> {
+                return util.str2long(String.valueOf(value));
+            }
+            case FLOAT -> {
+                return util.str2float(String.valueOf(value));
+            }
+            case DOUBLE -> {
+                return util.str2double(String.valueOf(value));
+            }
+            case UUID -> {
+                return util.getUuid4();
             }
-        } else {
-            String error = "missing close bracket";
-            if (type.endsWith(CLOSE_BRACKET)) {
-                String command = type.substring(type.indexOf('(') + 1, type.length() - 1).trim();
-                /*
-                 * substring(start, end)]
-                 * substring(start)
-                 * concat(parameter...) where parameters are model variable or text constant
-                 * boolean(value=true)
-                 * boolean(value) is same as boolean(value=true)
-                 * and(model.anotherKey)
-                 * or(model.anotherKey)
-                 */
-                if (selection == OPERATION.SUBSTRING_COMMAND) {
-                    List<String> parts = util.split(command, ", ");
-                    if (!parts.isEmpty() && parts.size() < 3) {
-                        if (value instanceof String str) {
-                            int start = util.str2int(parts.getFirst());
-                            int end = parts.size() == 1 ? str.length() : util.str2int(parts.get(1));
-                            if (end > start && start >= 0 && end <= str.length()) {
-                                return str.substring(start, end);
-                            } else {
-                                error = "index out of bound";
-                            }
-                        } else {
-                            error = "value is not a string";
-                        }
-                    } else {
-                        error = "invalid syntax";
-                    }
-                } else if (selection == OPERATION.CONCAT_COMMAND) {
-                    List<String> parts = tokenizeConcatParameters(command);
-                    if (parts.isEmpty()) {
-                        error = "parameters must be model variables and/or text constants";
-                    } else {
-                        StringBuilder sb = new StringBuilder();
-                        var str = String.valueOf(value);
-                        sb.append(str);
-                        for (String p: parts) {
-                            if (p.startsWith(TEXT_TYPE)) {
-                                sb.append(p, TEXT_TYPE.length(), p.length()-1);
-                            }
-                            if (p.startsWith(MODEL_NAMESPACE)) {
-                                var v = String.valueOf(data.getElement(p));
-                                sb.append(v);
-                            }
-                        }
-                        return sb.toString();
-                    }
-                } else if (selection == OPERATION.AND_COMMAND || selection == OPERATION.OR_COMMAND) {
-                    if (command.startsWith(MODEL_NAMESPACE) && command.length() > MODEL_NAMESPACE.length()) {
-                        boolean v1 = TRUE.equals(String.valueOf(value));
-                        boolean v2 = TRUE.equals(String.valueOf(data.getElement(command)));
-                        return selection == OPERATION.AND_COMMAND ? v1 && v2 : v1 || v2;
-                    } else {
-                        error = "'" + command + "' is not a model variable";
-                    }
-                } else if (selection == OPERATION.BOOLEAN_COMMAND) {
-                    List<String> parts = util.split(command, ",=");
-                    List<String> filtered = new ArrayList<>();
-                    parts.forEach(d -> {
-                        var txt = d.trim();
-                        if (!txt.isEmpty()) {
-                            filtered.add(txt);
-                        }
-                    });
-                    if (!filtered.isEmpty() && filtered.size() < 3) {
-                        // Enforce value to a text string where null value will become "null".
-                        // Therefore, null value or "null" string in the command is treated as the same.
-                        String str = String.valueOf(value);
-                        boolean condition = filtered.size() == 1 || TRUE.equalsIgnoreCase(filtered.get(1));
-                        String target = filtered.getFirst();
-                        if (str.equals(target)) {
-                            return condition;
-                        } else {
-                            return !condition;
-                        }
-                    } else {
-                        error = "invalid syntax";
+            case B64 -> {
+                if (value instanceof byte[] b) {
+                    return util.bytesToBase64(b);
+                } else if (value instanceof String str) {
+                    try {
+                        return util.base64ToBytes(str);
+                    } catch (IllegalArgumentException e) {
+                        log.error("Unable to decode {} from text into B64 - {}", path, e.getMessage());
                     }
                 }
+                return value;
             }
-            log.error("Unable to do {} of {} - {}", type, path, error);
-        }
-        return value;
-    }
-
-    private List<String> tokenizeConcatParameters(String text) {
-        List<String> result = new ArrayList<>();
-        var command = text.trim();
-        while (!command.isEmpty()) {
-            if (command.startsWith(MODEL_NAMESPACE)) {
-                int sep = command.indexOf(',');
-                if (sep == -1) {
-                    result.add(command);
-                    break;
-                } else {
-                    var token = command.substring(0, sep).trim();
-                    if (token.equals(MODEL_NAMESPACE)) {
-                        return Collections.emptyList();
+            case SUBSTRING -> {
+                if (value instanceof String str) {
+                    int end = type.end == -1? str.length() : type.end;
+                    if (end > type.start && type.start >= 0 && end <= str.length()) {
+                        return str.substring(type.start, end);
                     } else {
-                        result.add(token);
-                        command = command.substring(sep + 1).trim();
+                        error = "index out of bound";
                     }
-                }
-            } else if (command.startsWith(TEXT_TYPE)) {
-                int close = command.indexOf(CLOSE_BRACKET);
-                if (close == 1) {
-                    return Collections.emptyList();
                 } else {
-                    result.add(command.substring(0, close+1));
-                    int sep = command.indexOf(',', close);
-                    if (sep == -1) {
-                        break;
+                    error = "value is not a string";
+                }
+            }
+            case CONCAT -> {
+                StringBuilder sb = new StringBuilder();
+                sb.append(value);
+                for (TypeMapping.ConcatParameter p: type.parameters) {
+                    if (p.text() != null) {
+                        sb.append(p.text());
                     } else {
-                        command = command.substring(sep+1).trim();
+                        sb.append(data.getElement(p.modelKey()));
                     }
                 }
-            } else {
-                return Collections.emptyList();
+                return sb.toString();
+            }
+            case AND, OR -> {
+                boolean v1 = TRUE.equals(String.valueOf(value));
+                boolean v2 = TRUE.equals(String.valueOf(data.getElement(type.modelKey)));
+                return type.operation == TypeMapping.Operation.AND ? v1 && v2 : v1 || v2;
+            }
+            case BOOLEAN_MATCH -> {
+                // Enforce value to a text string where null value will become "null".
+                // Therefore, null value or "null" string in the command is treated as the same.
+                return String.valueOf(value).equals(type.match) == type.condition;
+            }
+            default -> {
+                log.error("Unable to do {} of {} - matching type must be " +
+                            "substring(start, end), concat, boolean, !, and, or, text, binary, uuid or b64",
+                            type.type, path);
+                return value;
             }
         }
-        return result;
+        log.error("Unable to do {} of {} - {}", type.type, path, error);
+        return value;
     }
 
-    private void setRhsElement(Object value, String rhs, MultiLevelMap target) {
-        boolean updated = false;
-        int colon = getModelTypeIndex(rhs);
-        String selector = colon == -1? rhs : rhs.substring(0, colon).trim();
-        if (colon != -1) {
-            String type = rhs.substring(colon+1).trim();
-            Object matched = getValueByType(type, value, "RHS '"+rhs+"'", target);
-            target.setElement(selector, matched);
-            updated = true;
-        }
-        if (!updated) {
-            target.setElement(selector, value);
+    private void setRhsElement(Object value, DataMapping entry, MultiLevelMap target) {
+        if (entry.rhsType != null) {
+            Object matched = getValueByType(entry.rhsType, value, entry.rhsLabel, target);
+            target.setElement(entry.rhsPath, matched);
+        } else {
+            target.setElement(entry.rhsPath, value);
         }
     }
 
-    private Object getConstantValue(String lhs) {
-        int last = lhs.lastIndexOf(CLOSE_BRACKET);
-        if (last > 0) {
-            if (lhs.startsWith(TEXT_TYPE)) {
-                return lhs.substring(TEXT_TYPE.length(), last);
-            }
-            if (lhs.startsWith(INTEGER_TYPE)) {
-                return util.str2int(lhs.substring(INTEGER_TYPE.length(), last).trim());
-            }
-            if (lhs.startsWith(LONG_TYPE)) {
-                return util.str2long(lhs.substring(LONG_TYPE.length(), last).trim());
-            }
-            if (lhs.startsWith(FLOAT_TYPE)) {
-                return util.str2float(lhs.substring(FLOAT_TYPE.length(), last).trim());
+    private Object getConstantValue(DataMapping entry) {
+        switch (entry.constantType) {
+            case VALUE -> {
+                // typed constants are immutable
+                return entry.constant;
             }
-            if (lhs.startsWith(DOUBLE_TYPE)) {
-                return util.str2double(lhs.substring(DOUBLE_TYPE.length(), last).trim());
+            case MAP -> {
+                return new HashMap<>((Map<?, ?>) entry.constant);
             }
-            if (lhs.startsWith(BOOLEAN_TYPE)) {
-                return TRUE.equalsIgnoreCase(lhs.substring(BOOLEAN_TYPE.length(), last).trim());
+            case CONFIG -> {
+                return AppConfigReader.getInstance().get((String) entry.constant);
             }
-            if (lhs.startsWith(MAP_TYPE)) {
-                String ref = lhs.substring(MAP_TYPE.length(), last).trim();
-                if (ref.contains("=") || ref.contains(",")) {
-                    List<String> keyValues = util.split(ref, ",");
-                    Map<String, Object> map = new HashMap<>();
-                    for (String kv: keyValues) {
-                        int eq = kv.indexOf('=');
-                        String k = eq == -1? kv.trim() : kv.substring(0, eq).trim();
-                        String v = eq == -1? "" : kv.substring(eq+1).trim();
-                        if (!k.isEmpty()) {
-                            map.put(k, v);
-                        }
-                    }
-                    return map;
-                } else {
-                    return AppConfigReader.getInstance().get(ref);
-                }
-            }
-            if (lhs.startsWith(FILE_TYPE)) {
-                SimpleFileDescriptor fd = new SimpleFileDescriptor(lhs);
+            case FILE -> {
+                SimpleFileDescriptor fd = (SimpleFileDescriptor) entry.constant;
                 File f = new File(fd.fileName);
                 if (f.exists() && !f.isDirectory() && f.canRead()) {
                     return fd.binary? util.file2bytes(f) : util.file2str(f);
                 }
+                return null;
             }
-            if (lhs.startsWith(CLASSPATH_TYPE)) {
-                SimpleFileDescriptor fd = new SimpleFileDescriptor(lhs);
+            case CLASSPATH -> {
+                SimpleFileDescriptor fd = (SimpleFileDescriptor) entry.constant;
                 InputStream in = this.getClass().getResourceAsStream(fd.fileName);
                 if (in != null) {
                     return fd.binary? util.stream2bytes(in) : util.stream2str(in);
                 }
+                return null;
+            }
+            default -> {
+                return null;
             }
         }
-        return null;
     }
 
-    private void setConstantValue(String lhs, String rhs, MultiLevelMap target) {
-        Object value = getConstantValue(lhs);
+    private void setConstantValue(DataMapping entry, MultiLevelMap target) {
+        Object value = getConstantValue(entry);
         if (value != null) {
-            setRhsElement(value, rhs, target);
+            setRhsElement(value, entry, target);
         } else {
-            removeModelElement(rhs, target);
+            removeModelElement(entry, target);
         }
     }
-
-    private static class SimpleFileDescriptor {
-        public final String fileName;
-        public final boolean binary;
-
-        public SimpleFileDescriptor(String value) {
-            int last = value.lastIndexOf(CLOSE_BRACKET);
-            int offset = 0;
-            if (value.startsWith(FILE_TYPE)) {
-                offset = FILE_TYPE.length();
-            } else if (value.startsWith(CLASSPATH_TYPE)) {
-                offset = CLASSPATH_TYPE.length();
-            }
-            String name;
-            final String filePath = value.substring(offset, last).trim();
-            if (filePath.startsWith(TEXT_FILE)) {
-                name = filePath.substring(TEXT_FILE.length());
-                binary = false;
-            } else if (filePath.startsWith(BINARY_FILE)) {
-                name = filePath.substring(BINARY_FILE.length());
-                binary = true;
-            } else {
-                // default fileType is binary
-                name = filePath;
-                binary = true;
-            }
-            fileName = name.startsWith("/")? name : "/" + name;
-        }
-    }
-
     private record TaskReference(String flowInstanceId, String processId) { }
 }
@@ -0,0 +1,293 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package com.accenture.models;
+
+import org.platformlambda.core.util.MapPath;
+import org.platformlambda.core.util.Utility;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a data mapping entry (LHS -> RHS) of a task
+ * <p>
+ * Data mapping entries do not change after a flow is loaded. CompileFlows parses each entry once
+ * so that the TaskExecutor does not need to evaluate the syntax of the entry for every task execution.
+ */
+public class DataMapping {
+    private static final String INPUT = "input";
+    private static final String HEADER = "header";
+    private static final String STATUS = "status";
+    private static final String RESULT = "result";
+    private static final String ALL = "*";
+    private static final String OUTPUT_STATUS = "output.status";
+    private static final String OUTPUT_HEADER = "output.header";
+    private static final String INPUT_NAMESPACE = "input.";
+    private static final String MODEL_NAMESPACE = "model.";
+    private static final String RESULT_NAMESPACE = "result.";
+    private static final String ERROR_NAMESPACE = "error.";
+    private static final String EXT_NAMESPACE = "ext:";
+    private static final String INPUT_HEADER_NAMESPACE = "input.header.";
+    private static final String HEADER_NAMESPACE = "header.";
+    private static final String TEXT_TYPE = "text(";
+    private static final String INTEGER_TYPE = "int(";
+    private static final String LONG_TYPE = "long(";
+    private static final String FLOAT_TYPE = "float(";
+    private static final String DOUBLE_TYPE = "double(";
+    private static final String BOOLEAN_TYPE = "boolean(";
+    private static final String CLASSPATH_TYPE = "classpath(";
+    private static final String FILE_TYPE = "file(";
+    private static final String MAP_TYPE = "map(";
+    private static final String CLOSE_BRACKET = ")";
+    private static final String MAP_TO = "->";
+    private static final String TRUE = "true";
+
+    public enum Source {
+        // model variable, input, error or task result
+        DATASET,
+        // constant value
+        CONSTANT
+    }
+
+    public enum Target {
+        DATASET,
+        MODEL,
+        ALL,
+        HEADERS,
+        HEADER,
+        EXT,
+        FILE,
+        OUTPUT_STATUS,
+        OUTPUT_HEADER
+    }
+
+    public enum Constant {
+        NONE,
+        VALUE,
+        MAP,
+        CONFIG,
+        FILE,
+        CLASSPATH
+    }
+
+    public final String entry;
+    public final String lhs;
+    public final String rhs;
+    public final Source source;
+    public final Target target;
+    // compiled LHS and RHS without type qualifier
+    public final MapPath lhsPath;
+    public final MapPath rhsPath;
+    // type qualifier of a model variable or null
+    public final TypeMapping lhsType;
+    public final TypeMapping rhsType;
+    // labels for error logging
+    public final String lhsLabel;
+    public final String rhsLabel;
+    // header name or key of the external state machine
+    public final String key;
+    // target file when RHS is a file
+    public final SimpleFileDescriptor file;
+    public final Constant constantType;
+    /*
+     * VALUE - typed constant
+     * MAP - immutable key-values
+     * CONFIG - key of the application configuration
+     * FILE and CLASSPATH - file descriptor
+     */
+    public final Object constant;
+
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @param entry of a validated data mapping in the format of "LHS -> RHS"
+     * @param output is true for output data mapping and false for input data mapping
+     */
+    public DataMapping(String entry, boolean output) {
+        int sep = entry.indexOf(MAP_TO);
+        if (sep < 1) {
+            throw new IllegalArgumentException("Invalid data mapping - " + entry);
+        }
+        String left = entry.substring(0, sep).trim();
+        String right = entry.substring(sep+2).trim();
+        final boolean fromDataset;
+        if (output) {
+            fromDataset = left.startsWith(INPUT_NAMESPACE) || left.equalsIgnoreCase(INPUT)
+                    || left.startsWith(MODEL_NAMESPACE)
+                    || left.equals(HEADER) || left.startsWith(HEADER_NAMESPACE)
+                    || left.equals(STATUS)
+                    || left.equals(RESULT) || left.startsWith(RESULT_NAMESPACE);
+            this.target = getOutputTarget(right);
+        } else {
+            fromDataset = left.startsWith(INPUT_NAMESPACE) || left.equalsIgnoreCase(INPUT) ||
+                    left.startsWith(MODEL_NAMESPACE) || left.startsWith(ERROR_NAMESPACE);
+            if (left.startsWith(INPUT_HEADER_NAMESPACE)) {
+                left = left.toLowerCase();
+            }
+            this.target = getInputTarget(right, fromDataset);
+        }
+        this.entry = entry;
+        this.lhs = left;
+        this.rhs = right;
+        this.source = fromDataset? Source.DATASET : Source.CONSTANT;
+        int lhsColon = getModelTypeIndex(left);
+        this.lhsPath = new MapPath(lhsColon == -1? left : left.substring(0, lhsColon).trim());
+        this.lhsType = lhsColon == -1? null : new TypeMapping(left.substring(lhsColon+1).trim());
+        this.lhsLabel = "LHS '" + left + "'";
+        int rhsColon = getModelTypeIndex(right);
+        this.rhsPath = new MapPath(rhsColon == -1? right : right.substring(0, rhsColon).trim());
+        this.rhsType = rhsColon == -1? null : new TypeMapping(right.substring(rhsColon+1).trim());
+        this.rhsLabel = "RHS '" + right + "'";
+        if (target == Target.EXT) {
+            this.key = right.substring(EXT_NAMESPACE.length()).trim();
+        } else if (target == Target.HEADER) {
+            this.key = right.substring(HEADER_NAMESPACE.length());
+        } else {
+            this.key = null;
+        }
+        if (target == Target.FILE) {
+            if (right.lastIndexOf(CLOSE_BRACKET) < FILE_TYPE.length()) {
+                throw new IllegalArgumentException("Invalid file in data mapping - " + entry);
+            }
+            this.file = new SimpleFileDescriptor(right);
+        } else {
+            this.file = null;
+        }
+        if (fromDataset) {
+            this.constantType = Constant.NONE;
+            this.constant = null;
+        } else {
+            this.constantType = getConstantType(left);
+            this.constant = getConstant(left, constantType);
+        }
+    }
+
+    private Target getInputTarget(String right, boolean fromDataset) {
+        if (right.startsWith(EXT_NAMESPACE)) {
+            return Target.EXT;
+        } else if (right.startsWith(MODEL_NAMESPACE)) {
+            return Target.MODEL;
+        } else if (fromDataset && ALL.equals(right)) {
+            return Target.ALL;
+        } else if (fromDataset && right.equals(HEADER)) {
+            return Target.HEADERS;
+        } else if (right.startsWith(HEADER_NAMESPACE)) {
+            return Target.HEADER;
+        } else {
+            return Target.DATASET;
+        }
+    }
+
+    private Target getOutputTarget(String right) {
+        if (right.startsWith(FILE_TYPE)) {
+            return Target.FILE;
+        } else if (right.equals(OUTPUT_STATUS)) {
+            return Target.OUTPUT_STATUS;
+        } else if (right.equals(OUTPUT_HEADER)) {
+            return Target.OUTPUT_HEADER;
+        } else if (right.startsWith(EXT_NAMESPACE)) {
+            return Target.EXT;
+        } else {
+            return Target.DATASET;
+        }
+    }
+
+    private int getModelTypeIndex(String text) {
+        if (text.startsWith(MODEL_NAMESPACE)) {
+            return text.indexOf(':');
+        } else {
+            return -1;
+        }
+    }
+
+    private Constant getConstantType(String left) {
+        if (left.lastIndexOf(CLOSE_BRACKET) > 0) {
+            if (left.startsWith(TEXT_TYPE) || left.startsWith(INTEGER_TYPE) || left.startsWith(LONG_TYPE) ||
+                    left.startsWith(FLOAT_TYPE) || left.startsWith(DOUBLE_TYPE) || left.startsWith(BOOLEAN_TYPE)) {
+                return Constant.VALUE;
+            }
+            if (left.startsWith(MAP_TYPE)) {
+                String ref = getConstantText(left, MAP_TYPE);
+                return ref.contains("=") || ref.contains(",")? Constant.MAP : Constant.CONFIG;
+            }
+            if (left.startsWith(FILE_TYPE)) {
+                return Constant.FILE;
+            }
+            if (left.startsWith(CLASSPATH_TYPE)) {
+                return Constant.CLASSPATH;
+            }
+        }
+        return Constant.NONE;
+    }
+
+    private Object getConstant(String left, Constant type) {
+        Utility util = Utility.getInstance();
+        switch (type) {
+            case VALUE -> {
+                if (left.startsWith(TEXT_TYPE)) {
+                    return left.substring(TEXT_TYPE.length(), left.lastIndexOf(CLOSE_BRACKET));
+                }
+                if (left.startsWith(INTEGER_TYPE)) {
+                    return util.str2int(getConstantText(left, INTEGER_TYPE));
+                }
+                if (left.startsWith(LONG_TYPE)) {
+                    return util.str2long(getConstantText(left, LONG_TYPE));
+                }
+                if (left.startsWith(FLOAT_TYPE)) {
+                    return util.str2float(getConstantText(left, FLOAT_TYPE));
+                }
+                if (left.startsWith(DOUBLE_TYPE)) {
+                    return util.str2double(getConstantText(left, DOUBLE_TYPE));
+                }
+                return TRUE.equalsIgnoreCase(getConstantText(left, BOOLEAN_TYPE));
+            }
+            case MAP -> {
+                List<String> keyValues = util.split(getConstantText(left, MAP_TYPE), ",");
+                Map<String, Object> map = new HashMap<>();
+                for (String kv: keyValues) {
+                    int eq = kv.indexOf('=');
+                    String k = eq == -1? kv.trim() : kv.substring(0, eq).trim();
+                    String v = eq == -1? "" : kv.substring(eq+1).trim();
+                    if (!k.isEmpty()) {
+                        map.put(k, v);
+                    }
+                }
+                // the TaskExecutor returns a copy because a map may be updated by the RHS
+                return Collections.unmodifiableMap(map);
+            }
+            case CONFIG -> {
+                return getConstantText(left, MAP_TYPE);
+            }
+            case FILE, CLASSPATH -> {
+                return new SimpleFileDescriptor(left);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private String getConstantText(String left, String type) {
+        return left.substring(type.length(), left.lastIndexOf(CLOSE_BRACKET)).trim();
+    }
+}
@@ -50,7 +50,7 @@ public class FlowInstance {
     public final ConcurrentMap<String, Boolean> pendingTasks = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, Object> shared = new ConcurrentHashMap<>();
     private final long start = System.currentTimeMillis();
-    public final String id = Utility.getInstance().getUuid();
+    public final String id = Utility.getInstance().getId();
     public final String cid;
     public final String replyTo;
     private final String timeoutWatcher;
@@ -0,0 +1,60 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package com.accenture.models;
+
+public class SimpleFileDescriptor {
+    private static final String CLASSPATH_TYPE = "classpath(";
+    private static final String FILE_TYPE = "file(";
+    private static final String CLOSE_BRACKET = ")";
+    private static final String TEXT_FILE = "text:";
+    private static final String BINARY_FILE = "binary:";
+    public final String fileName;
+    public final boolean binary;
+
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @param value in the format of file(text:/path) or classpath(binary:/path)
+     */
+    public SimpleFileDescriptor(String value) {
+        int last = value.lastIndexOf(CLOSE_BRACKET);
+        int offset = 0;
+        if (value.startsWith(FILE_TYPE)) {
+            offset = FILE_TYPE.length();
+        } else if (value.startsWith(CLASSPATH_TYPE)) {
+            offset = CLASSPATH_TYPE.length();
+        }
+        String name;
+        final String filePath = value.substring(offset, last).trim();
+        if (filePath.startsWith(TEXT_FILE)) {
+            name = filePath.substring(TEXT_FILE.length());
+            binary = false;
+        } else if (filePath.startsWith(BINARY_FILE)) {
+            name = filePath.substring(BINARY_FILE.length());
+            binary = true;
+        } else {
+            // default fileType is binary
+            name = filePath;
+            binary = true;
+        }
+        fileName = name.startsWith("/")? name : "/" + name;
+    }
+}
@@ -30,6 +30,9 @@ public class Task {
     public final List<List<String>> conditions = new ArrayList<>();
     public final List<String> input = new ArrayList<>();
     public final List<String> output = new ArrayList<>();
+    // compiled data mapping entries are not included in the text representation of a task
+    public final transient List<DataMapping> inputMapping = new ArrayList<>();
+    public final transient List<DataMapping> outputMapping = new ArrayList<>();
     public final List<String> nextSteps = new ArrayList<>();
     public final List<String> pipelineSteps = new ArrayList<>();
     public final String service;
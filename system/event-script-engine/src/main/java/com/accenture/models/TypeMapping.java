@@ -0,0 +1,237 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package com.accenture.models;
+
+import org.platformlambda.core.util.MapPath;
+import org.platformlambda.core.util.Utility;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compiled form of the type qualifier of a model variable in a data mapping entry
+ * <p>
+ * e.g. "model.x:int", "model.x:substring(0, 5)", "model.x:concat(text(-), model.y)"
+ */
+public class TypeMapping {
+    private static final String TEXT_TYPE = "text(";
+    private static final String MODEL_NAMESPACE = "model.";
+    private static final String CLOSE_BRACKET = ")";
+    private static final String SUBSTRING_TYPE = "substring(";
+    private static final String CONCAT_TYPE = "concat(";
+    private static final String AND_TYPE = "and(";
+    private static final String OR_TYPE = "or(";
+    private static final String BOOLEAN_TYPE = "boolean(";
+    private static final String TRUE = "true";
+
+    public enum Operation {
+        TEXT,
+        BINARY,
+        BOOLEAN,
+        NEGATE,
+        INTEGER,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        UUID,
+        B64,
+        SUBSTRING,
+        CONCAT,
+        AND,
+        OR,
+        BOOLEAN_MATCH,
+        UNKNOWN
+    }
+
+    /**
+     * A parameter of the concat command is either a text constant or a model variable
+     *
+     * @param text constant or null
+     * @param modelKey model variable or null
+     */
+    public record ConcatParameter(String text, MapPath modelKey) { }
+
+    public final String type;
+    public final Operation operation;
+    // syntax error detected when the type qualifier is compiled
+    public final String error;
+    // substring(start, end) where end of -1 means the end of the string
+    public final int start;
+    public final int end;
+    public final List<ConcatParameter> parameters;
+    // model variable for the "and" and "or" commands
+    public final MapPath modelKey;
+    // boolean(value=condition)
+    public final String match;
+    public final boolean condition;
+
+    /**
+     * This is reserved for system use.
+     * DO NOT use this directly in your application code.
+     *
+     * @param type qualifier after the colon of a model variable
+     */
+    public TypeMapping(String type) {
+        this.type = type;
+        this.operation = getOperation(type);
+        int startIndex = 0;
+        int endIndex = -1;
+        List<ConcatParameter> concat = Collections.emptyList();
+        MapPath key = null;
+        String target = null;
+        boolean matched = true;
+        String err = null;
+        if (isCommand(operation)) {
+            if (type.endsWith(CLOSE_BRACKET)) {
+                Utility util = Utility.getInstance();
+                String command = type.substring(type.indexOf('(') + 1, type.length() - 1).trim();
+                /*
+                 * substring(start, end)]
+                 * substring(start)
+                 * concat(parameter...) where parameters are model variable or text constant
+                 * boolean(value=true)
+                 * boolean(value) is same as boolean(value=true)
+                 * and(model.anotherKey)
+                 * or(model.anotherKey)
+                 */
+                if (operation == Operation.SUBSTRING) {
+                    List<String> parts = util.split(command, ", ");
+                    if (!parts.isEmpty() && parts.size() < 3) {
+                        startIndex = util.str2int(parts.getFirst());
+                        // a negative end index is always out of bound
+                        endIndex = parts.size() == 1? -1 : Math.max(0, util.str2int(parts.get(1)));
+                    } else {
+                        err = "invalid syntax";
+                    }
+                } else if (operation == Operation.CONCAT) {
+                    concat = tokenizeConcatParameters(command);
+                    if (concat.isEmpty()) {
+                        err = "parameters must be model variables and/or text constants";
+                    }
+                } else if (operation == Operation.AND || operation == Operation.OR) {
+                    if (command.startsWith(MODEL_NAMESPACE) && command.length() > MODEL_NAMESPACE.length()) {
+                        key = new MapPath(command);
+                    } else {
+                        err = "'" + command + "' is not a model variable";
+                    }
+                } else {
+                    List<String> parts = util.split(command, ",=");
+                    List<String> filtered = new ArrayList<>();
+                    parts.forEach(d -> {
+                        var txt = d.trim();
+                        if (!txt.isEmpty()) {
+                            filtered.add(txt);
+                        }
+                    });
+                    if (!filtered.isEmpty() && filtered.size() < 3) {
+                        target = filtered.getFirst();
+                        matched = filtered.size() == 1 || TRUE.equalsIgnoreCase(filtered.get(1));
+                    } else {
+                        err = "invalid syntax";
+                    }
+                }
+            } else {
+                err = "missing close bracket";
+            }
+        }
+        this.start = startIndex;
+        this.end = endIndex;
+        this.parameters = concat;
+        this.modelKey = key;
+        this.match = target;
+        this.condition = matched;
+        this.error = err;
+    }
+
+    private static boolean isCommand(Operation operation) {
+        return operation == Operation.SUBSTRING || operation == Operation.CONCAT ||
+                operation == Operation.AND || operation == Operation.OR || operation == Operation.BOOLEAN_MATCH;
+    }
+
+    private static Operation getOperation(String type) {
+        if (type.startsWith(SUBSTRING_TYPE)) {
+            return Operation.SUBSTRING;
+        } else if (type.startsWith(CONCAT_TYPE)) {
+            return Operation.CONCAT;
+        } else if (type.startsWith(AND_TYPE)) {
+            return Operation.AND;
+        } else if (type.startsWith(OR_TYPE)) {
+            return Operation.OR;
+        } else if (type.startsWith(BOOLEAN_TYPE)) {
+            return Operation.BOOLEAN_MATCH;
+        }
+        return switch (type) {
+            case "text" -> Operation.TEXT;
+            case "binary" -> Operation.BINARY;
+            case "boolean" -> Operation.BOOLEAN;
+            case "!" -> Operation.NEGATE;
+            case "int" -> Operation.INTEGER;
+            case "long" -> Operation.LONG;
+            case "float" -> Operation.FLOAT;
+            case "double" -> Operation.DOUBLE;
+            case "uuid" -> Operation.UUID;
+            case "b64" -> Operation.B64;
+            default -> Operation.UNKNOWN;
+        };
+    }
+
+    private static List<ConcatParameter> tokenizeConcatParameters(String text) {
+        List<ConcatParameter> result = new ArrayList<>();
+        var command = text.trim();
+        while (!command.isEmpty()) {
+            if (command.startsWith(MODEL_NAMESPACE)) {
+                int sep = command.indexOf(',');
+                if (sep == -1) {
+                    result.add(new ConcatParameter(null, new MapPath(command)));
+                    break;
+                } else {
+                    var token = command.substring(0, sep).trim();
+                    if (token.equals(MODEL_NAMESPACE)) {
+                        return Collections.emptyList();
+                    } else {
+                        result.add(new ConcatParameter(null, new MapPath(token)));
+                        command = command.substring(sep + 1).trim();
+                    }
+                }
+            } else if (command.startsWith(TEXT_TYPE)) {
+                int close = command.indexOf(CLOSE_BRACKET);
+                if (close == 1) {
+                    return Collections.emptyList();
+                } else if (close == -1) {
+                    // unterminated text constant is ignored
+                    result.add(new ConcatParameter("", null));
+                    break;
+                } else {
+                    result.add(new ConcatParameter(command.substring(TEXT_TYPE.length(), close), null));
+                    int sep = command.indexOf(',', close);
+                    if (sep == -1) {
+                        break;
+                    } else {
+                        command = command.substring(sep+1).trim();
+                    }
+                }
+            } else {
+                return Collections.emptyList();
+            }
+        }
+        return result;
+    }
+}
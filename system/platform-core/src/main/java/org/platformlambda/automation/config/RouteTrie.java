@@ -0,0 +1,316 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.config;
+
+import org.platformlambda.automation.models.AssignedRoute;
+import org.platformlambda.automation.models.RouteInfo;
+import org.platformlambda.core.util.Utility;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment trie of the REST endpoints compiled from rest.yaml
+ * <p>
+ * Each URL path segment is a literal, an argument "{name}", a wildcard "*" or a wildcard prefix "abc*".
+ * Matching of an incoming URL walks the trie one segment at a time without splitting the URL
+ * so that the routing cost does not grow with the number of REST endpoints.
+ * <p>
+ * Matching is case-insensitive. When more than one URL path matches, the lowest one in
+ * alphabetical order wins, consistent with the earlier linear search of the sorted URL paths.
+ */
+class RouteTrie {
+    private static final int NONE = Integer.MAX_VALUE;
+    private final Node root = new Node();
+    private final List<Terminal> terminals = new ArrayList<>();
+
+    /**
+     * Add a URL path with its method table
+     *
+     * @param path is a normalized lower case URL path
+     * @param methods is a map of method to route info
+     */
+    void add(String path, Map<String, RouteInfo> methods) {
+        List<String> segments = Utility.getInstance().split(path, "/");
+        boolean exact = !path.contains("{") && !path.contains("}") && !path.contains("*");
+        Terminal terminal = new Terminal(terminals.size(), path.endsWith("*"), segments, methods);
+        terminals.add(terminal);
+        Node current = root;
+        for (String s: segments) {
+            current = current.getOrCreate(s);
+        }
+        if (exact) {
+            current.exact = terminal;
+        } else {
+            current.addTerminal(terminal);
+        }
+    }
+
+    /**
+     * Find the route for an incoming request
+     *
+     * @param method of the HTTP request
+     * @param url of the HTTP request
+     * @return assigned route, route with null info for method not allowed or null for not found
+     */
+    AssignedRoute find(String method, String url) {
+        // exact URL takes precedence
+        Node current = root;
+        int start = nextSegment(url, 0);
+        while (current != null && start < url.length()) {
+            int end = segmentEnd(url, start);
+            current = current.getLiteral(url, start, end);
+            start = nextSegment(url, end);
+        }
+        if (current != null && current.exact != null) {
+            return new AssignedRoute(current.exact.methods.get(method));
+        }
+        long ranks = match(root, method, url, nextSegment(url, 0), NONE, NONE);
+        int withMethod = (int) ranks;
+        int similar = (int) (ranks >>> 32);
+        if (withMethod != NONE) {
+            return getAssignedRoute(terminals.get(withMethod), method, url);
+        }
+        if (similar != NONE) {
+            /*
+             * Similar path found but method does not match.
+             * This allows it to reject the request with "HTTP-405 Method Not Allowed".
+             */
+            return getAssignedRoute(terminals.get(similar), method, url);
+        }
+        return null;
+    }
+
+    /**
+     * Walk the trie and return the lowest ranks of matched URL paths
+     *
+     * @return lowest rank of any matched path in the upper 32 bits and that of a path with the method in the lower
+     */
+    private long match(Node node, String method, String url, int start, int similar, int withMethod) {
+        boolean ended = start >= url.length();
+        for (Terminal t: node.terminals) {
+            if (ended || t.wildcard) {
+                similar = Math.min(similar, t.rank);
+                if (t.rank < withMethod && t.methods.containsKey(method)) {
+                    withMethod = t.rank;
+                }
+            }
+        }
+        if (!ended) {
+            int end = segmentEnd(url, start);
+            int next = nextSegment(url, end);
+            long ranks;
+            Node literal = node.getLiteral(url, start, end);
+            if (literal != null) {
+                ranks = match(literal, method, url, next, similar, withMethod);
+                similar = (int) (ranks >>> 32);
+                withMethod = (int) ranks;
+            }
+            if (node.argument != null) {
+                ranks = match(node.argument, method, url, next, similar, withMethod);
+                similar = (int) (ranks >>> 32);
+                withMethod = (int) ranks;
+            }
+            if (node.wildcard != null) {
+                ranks = match(node.wildcard, method, url, next, similar, withMethod);
+                similar = (int) (ranks >>> 32);
+                withMethod = (int) ranks;
+            }
+            for (int i=0; i < node.prefixes.length; i++) {
+                String prefix = node.prefixes[i];
+                if (end - start >= prefix.length() && url.regionMatches(true, start, prefix, 0, prefix.length())) {
+                    ranks = match(node.prefixNodes[i], method, url, next, similar, withMethod);
+                    similar = (int) (ranks >>> 32);
+                    withMethod = (int) ranks;
+                }
+            }
+        }
+        return ((long) similar << 32) | (withMethod & 0xffffffffL);
+    }
+
+    private AssignedRoute getAssignedRoute(Terminal terminal, String method, String url) {
+        AssignedRoute result = new AssignedRoute(terminal.methods.get(method));
+        if (terminal.arguments.length > 0) {
+            int n = 0;
+            int start = nextSegment(url, 0);
+            while (start < url.length() && n < terminal.arguments.length) {
+                int end = segmentEnd(url, start);
+                String name = terminal.arguments[n];
+                if (name != null) {
+                    result.setArgument(name, url.substring(start, end));
+                }
+                n++;
+                start = nextSegment(url, end);
+            }
+        }
+        return result;
+    }
+
+    private static int nextSegment(String url, int index) {
+        int n = index;
+        while (n < url.length() && url.charAt(n) == '/') {
+            n++;
+        }
+        return n;
+    }
+
+    private static int segmentEnd(String url, int start) {
+        int end = url.indexOf('/', start);
+        return end == -1? url.length() : end;
+    }
+
+    private static int hash(String text, int start, int end) {
+        int h = 0;
+        for (int i=start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h;
+    }
+
+    private static class Terminal {
+        private final int rank;
+        private final boolean wildcard;
+        private final String[] arguments;
+        private final Map<String, RouteInfo> methods;
+
+        Terminal(int rank, boolean wildcard, List<String> segments, Map<String, RouteInfo> methods) {
+            this.rank = rank;
+            this.wildcard = wildcard;
+            this.methods = new HashMap<>(methods);
+            boolean hasArguments = false;
+            String[] names = new String[segments.size()];
+            for (int i=0; i < names.length; i++) {
+                String s = segments.get(i);
+                if (s.startsWith("{") && s.endsWith("}")) {
+                    names[i] = s.substring(1, s.length()-1);
+                    hasArguments = true;
+                }
+            }
+            this.arguments = hasArguments? names : new String[0];
+        }
+    }
+
+    private static class Node {
+        private static final Terminal[] NO_TERMINAL = new Terminal[0];
+        private static final String[] NO_PREFIX = new String[0];
+        private static final Node[] NO_NODE = new Node[0];
+        // open addressing hash table of literal segments
+        private String[] keys = new String[0];
+        private Node[] values = NO_NODE;
+        private int literals = 0;
+        private String[] prefixes = NO_PREFIX;
+        private Node[] prefixNodes = NO_NODE;
+        private Node argument;
+        private Node wildcard;
+        private Terminal exact;
+        private Terminal[] terminals = NO_TERMINAL;
+
+        Node getOrCreate(String segment) {
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                if (argument == null) {
+                    argument = new Node();
+                }
+                return argument;
+            }
+            if ("*".equals(segment)) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            if (segment.endsWith("*")) {
+                String prefix = segment.substring(0, segment.length()-1);
+                for (int i=0; i < prefixes.length; i++) {
+                    if (prefixes[i].equals(prefix)) {
+                        return prefixNodes[i];
+                    }
+                }
+                Node node = new Node();
+                String[] p = new String[prefixes.length+1];
+                Node[] pn = new Node[prefixNodes.length+1];
+                System.arraycopy(prefixes, 0, p, 0, prefixes.length);
+                System.arraycopy(prefixNodes, 0, pn, 0, prefixNodes.length);
+                p[prefixes.length] = prefix;
+                pn[prefixNodes.length] = node;
+                prefixes = p;
+                prefixNodes = pn;
+                return node;
+            }
+            Node node = getLiteral(segment, 0, segment.length());
+            if (node == null) {
+                node = new Node();
+                putLiteral(segment, node);
+            }
+            return node;
+        }
+
+        Node getLiteral(String url, int start, int end) {
+            if (literals == 0) {
+                return null;
+            }
+            int len = end - start;
+            int mask = keys.length - 1;
+            int i = hash(url, start, end) & mask;
+            while (keys[i] != null) {
+                String k = keys[i];
+                if (k.length() == len && k.regionMatches(true, 0, url, start, len)) {
+                    return values[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        void addTerminal(Terminal terminal) {
+            Terminal[] t = new Terminal[terminals.length+1];
+            System.arraycopy(terminals, 0, t, 0, terminals.length);
+            t[terminals.length] = terminal;
+            terminals = t;
+        }
+
+        private void putLiteral(String key, Node node) {
+            // keep load factor at or below 50 percent
+            if ((literals + 1) * 2 > keys.length) {
+                String[] oldKeys = keys;
+                Node[] oldValues = values;
+                keys = new String[Math.max(4, keys.length * 2)];
+                values = new Node[keys.length];
+                for (int i=0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != null) {
+                        insert(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            insert(key, node);
+            literals++;
+        }
+
+        private void insert(String key, Node node) {
+            int mask = keys.length - 1;
+            int i = hash(key, 0, key.length()) & mask;
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = node;
+        }
+    }
+}
@@ -71,6 +71,7 @@ public class RoutingEntry {
     private static final Map<String, HeaderInfo> requestHeaderInfo = new HashMap<>();
     private static final Map<String, HeaderInfo> responseHeaderInfo = new HashMap<>();
     private static final List<String> urlPaths = new ArrayList<>();
+    private static RouteTrie router = new RouteTrie();
     private static SimpleHttpFilter requestFilter;
     private static List<String> noCachePages;
     private static final RoutingEntry instance = new RoutingEntry();
@@ -92,39 +93,7 @@ public class RoutingEntry {
     }
 
     public AssignedRoute getRouteInfo(String method, String url) {
-        Utility util = Utility.getInstance();
-        StringBuilder sb = new StringBuilder();
-        List<String> urlParts = util.split(url, "/");
-        for (String p: urlParts) {
-            sb.append('/');
-            sb.append(p);
-        }
-        // do case-insensitive matching for exact URL
-        String normalizedUrl = sb.toString().toLowerCase();
-        String key = method+":"+normalizedUrl;
-        if (exactRoutes.containsKey(normalizedUrl)) {
-            return new AssignedRoute(routes.get(key));
-        } else {
-            // then compare each segment in the URL, also with case insensitivity
-            AssignedRoute similar = null;
-            for (String u: urlPaths) {
-                AssignedRoute info = getMatchedRoute(urlParts, method, u);
-                if (info != null) {
-                    if (similar == null) {
-                        similar = info;
-                    }
-                    // both URL path and method are correct
-                    if (routes.containsKey(method + ":" + u)) {
-                        return info;
-                    }
-                }
-            }
-            /*
-             * Similar path found but method does not match.
-             * This allows it to reject the request with "HTTP-405 Method Not Allowed".
-             */
-            return similar;
-        }
+        return router.find(method, url);
     }
 
     public HeaderInfo getRequestHeaderInfo(String id) {
@@ -139,63 +108,6 @@ public class RoutingEntry {
         return corsConfig.get(id);
     }
 
-    private AssignedRoute getMatchedRoute(List<String> urlParts, String method, String configured) {
-        // "configured" is a lower case URL in the routing entry
-        String key = method+":"+configured;
-        AssignedRoute result = new AssignedRoute(routes.get(key));
-        Utility util = Utility.getInstance();
-        List<String> segments = util.split(configured, "/");
-        if (matchRoute(urlParts, segments, configured.endsWith("*"))) {
-            addArguments(result, urlParts, segments);
-            return result;
-        }
-        return null;
-    }
-
-    private void addArguments(AssignedRoute info, List<String> urlParts, List<String> configured) {
-        for (int i=0; i < configured.size(); i++) {
-            String configuredItem = configured.get(i);
-            if (configuredItem.startsWith("{") && configuredItem.endsWith("}")) {
-                info.setArgument(configuredItem.substring(1, configuredItem.length()-1), urlParts.get(i));
-            }
-        }
-    }
-
-    private boolean matchRoute(List<String> urlParts, List<String> segments, boolean wildcard) {
-        // segment is lowercase parts of the configured URL
-        if (wildcard) {
-            if (segments.size() > urlParts.size()) {
-                return false;
-            }
-        } else {
-            if (segments.size() != urlParts.size()) {
-                return false;
-            }
-        }
-        for (int i=0; i < segments.size(); i++) {
-            String configuredItem = segments.get(i);
-            if (configuredItem.startsWith("{") && configuredItem.endsWith("}")) {
-                continue;
-            }
-            if ("*".equals(configuredItem)) {
-                continue;
-            }
-            // case-insensitive comparison using lowercase
-            String inputItem = urlParts.get(i).toLowerCase();
-            if (configuredItem.endsWith("*")) {
-                String prefix = configuredItem.substring(0, configuredItem.length()-1);
-                if (inputItem.startsWith(prefix)) {
-                    continue;
-                }
-            }
-            if (inputItem.equals(configuredItem)) {
-                continue;
-            }
-            return false;
-        }
-        return true;
-    }
-
     @SuppressWarnings("unchecked")
     private List<String> getNoCacheConfig(ConfigReader config) {
         Object noCache = config.get("static-content.no-cache-pages");
@@ -366,7 +278,28 @@ public class RoutingEntry {
                 message.put("path", urlPaths);
                 log.info("{}", message);
             }
+            compileRoutes();
+        }
+    }
+
+    private void compileRoutes() {
+        Map<String, Map<String, RouteInfo>> methodTables = new HashMap<>();
+        for (Map.Entry<String, RouteInfo> kv: routes.entrySet()) {
+            String r = kv.getKey();
+            int colon = r.indexOf(':');
+            if (colon > 0) {
+                methodTables.computeIfAbsent(r.substring(colon+1), k -> new HashMap<>())
+                        .put(r.substring(0, colon), kv.getValue());
+            }
+        }
+        // URL paths are added in alphabetical order so that the first matched path wins
+        List<String> paths = new ArrayList<>(methodTables.keySet());
+        Collections.sort(paths);
+        RouteTrie trie = new RouteTrie();
+        for (String p: paths) {
+            trie.add(p, methodTables.get(p));
         }
+        router = trie;
     }
 
     private boolean isListOfMap(List<Object> list) {
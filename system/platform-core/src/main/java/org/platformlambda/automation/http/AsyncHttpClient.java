@@ -18,6 +18,7 @@
 
 package org.platformlambda.automation.http;
 
+import io.netty.handler.codec.http.QueryStringEncoder;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
@@ -25,7 +26,10 @@ import io.vertx.core.buffer.Buffer;
 import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.file.OpenOptions;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
@@ -33,6 +37,7 @@ import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.ext.web.codec.BodyCodec;
 import io.vertx.ext.web.multipart.MultipartForm;
 import org.platformlambda.automation.models.OutputStreamQueue;
+import org.platformlambda.automation.models.OutputStreamRelay;
 import org.platformlambda.automation.services.HttpRouter;
 import org.platformlambda.automation.util.CustomContentTypeResolver;
 import org.platformlambda.core.annotations.EventInterceptor;
@@ -41,10 +46,12 @@ import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.serializers.SimpleMapper;
+import org.platformlambda.core.serializers.SimpleObjectMapper;
 import org.platformlambda.core.serializers.SimpleXmlParser;
 import org.platformlambda.core.serializers.SimpleXmlWriter;
 import org.platformlambda.core.system.*;
 import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.ByteChunkInputStream;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,6 +79,7 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
     private static final SimpleXmlParser xmlReader = new SimpleXmlParser();
     private static final SimpleXmlWriter xmlWriter = new SimpleXmlWriter();
     private static final ConcurrentMap<String, WebClient> webClients = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, HttpClient> httpClients = new ConcurrentHashMap<>();
     private static final OpenOptions READ_THEN_DELETE = new OpenOptions().setRead(true).setDeleteOnClose(true);
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
     private static final String MULTIPART_FORM_DATA = "multipart/form-data";
@@ -99,8 +107,10 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
     private static final String CONTENT_TYPE = "content-type";
     private static final String CONTENT_LENGTH = "content-length";
     private static final String X_CONTENT_LENGTH = "X-Content-Length";
+    private static final String USER_AGENT = "user-agent";
     private static final String USER_AGENT_NAME = "async-http-client";
     private static final int DEFAULT_TTL_SECONDS = 30;  // 30 seconds
+    private static final int DEFAULT_RELAY_WINDOW = 64;
     /*
      * Some headers must be dropped because they are not relevant for HTTP relay
      * e.g. "content-encoding" and "transfer-encoding" will break HTTP response rendering.
@@ -111,11 +121,26 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
     private static WebClientOptions optionsTrustAll;
     private static WebClientOptions optionsVerifySSL;
     private final File tempDir;
+    private final boolean streamRelay;
+    private final int relayWindow;
 
     public AsyncHttpClient() {
+        this("true".equals(AppConfigReader.getInstance().getProperty("http.client.stream.relay", "false")),
+                getRelayWindow());
+    }
+
+    /**
+     * Create an HTTP client with the given relay mode
+     *
+     * @param streamRelay is true to relay a streaming response as it arrives
+     * @param relayWindow is the number of blocks that may be relayed before the consumer reads them
+     */
+    AsyncHttpClient(boolean streamRelay, int relayWindow) {
         // create temp upload directory
         AppConfigReader reader = AppConfigReader.getInstance();
         String temp = reader.getProperty("app.temp.dir", "/tmp/composable/java/temp-streams");
+        this.streamRelay = streamRelay;
+        this.relayWindow = relayWindow;
         tempDir = new File(temp);
         if (!tempDir.exists() && tempDir.mkdirs()) {
             log.info("Temporary work directory {} created", tempDir);
@@ -143,6 +168,17 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
         }
     }
 
+    private static int getRelayWindow() {
+        AppConfigReader reader = AppConfigReader.getInstance();
+        int window = Utility.getInstance().str2int(reader.getProperty("http.client.stream.relay.window",
+                                                    String.valueOf(DEFAULT_RELAY_WINDOW)));
+        if (window < 1) {
+            log.error("Invalid http.client.stream.relay.window - default to {}", DEFAULT_RELAY_WINDOW);
+            return DEFAULT_RELAY_WINDOW;
+        }
+        return window;
+    }
+
     private WebClientOptions getClientOptions(boolean trustAll) {
         WebClientOptions options = new WebClientOptions().setUserAgent(USER_AGENT_NAME).setKeepAlive(true);
         options.setMaxHeaderSize(12 * 1024).setConnectTimeout(10000);
@@ -164,6 +200,18 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
         return client;
     }
 
+    private HttpClient getHttpClient(int instance, boolean trustAll) {
+        String key = (trustAll? TRUST_ALL_FACTORY : REGULAR_FACTORY) + instance;
+        if (httpClients.containsKey(key)) {
+            return httpClients.get(key);
+        }
+        WebClientOptions options = trustAll? optionsTrustAll : optionsVerifySSL;
+        HttpClient client = Platform.getInstance().getVertx().createHttpClient(options);
+        log.debug("Loaded HTTP relay client {}", key);
+        httpClients.put(key, client);
+        return client;
+    }
+
     @SuppressWarnings("unchecked")
     private String queryParametersToString(AsyncHttpRequest request) {
         StringBuilder sb = new StringBuilder();
@@ -352,53 +400,83 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
             // remove the ending separator
             http.putHeader(COOKIE, sb.substring(0, sb.length()-2));
         }
-        OutputStreamQueue queue = new OutputStreamQueue();
-        HttpRequest<Void> httpRequest = http.as(BodyCodec.pipe(queue));
-        Future<HttpResponse<Void>> httpResponse = null;
+        final String streamId = request.getStreamRoute();
+        final boolean upload = (POST.equals(method) || PUT.equals(method) || PATCH.equals(method)) &&
+                streamId != null && streamId.startsWith(STREAM_PREFIX) && streamId.contains(INPUT_STREAM_SUFFIX);
+        // a response is relayed as it arrives unless the request body is an upload stream
+        final boolean relay = streamRelay && !upload;
+        OutputStreamQueue queue = relay? null : new OutputStreamQueue();
+        HttpRequest<Void> httpRequest = http.as(relay? BodyCodec.none() : BodyCodec.pipe(queue));
+        if (upload) {
+            Platform.getInstance().getVirtualThreadExecutor().submit(() ->
+                    handleUpload(input, queue, request, httpRequest));
+            return;
+        }
         // get request body if any
+        Buffer reqBody = null;
         String contentType = request.getHeader(CONTENT_TYPE);
         if (POST.equals(method) || PUT.equals(method) || PATCH.equals(method)) {
-            final String streamId = request.getStreamRoute();
-            if (streamId != null && streamId.startsWith(STREAM_PREFIX)
-                    && streamId.contains(INPUT_STREAM_SUFFIX)) {
-                Platform.getInstance().getVirtualThreadExecutor().submit(() ->
-                        handleUpload(input, queue, request, httpRequest));
-            } else {
-                Object reqBody = request.getBody() == null? new byte[0] : request.getBody();
-                switch (reqBody) {
-                    case byte[] b -> {
-                        httpRequest.putHeader(CONTENT_LENGTH, String.valueOf(b.length));
-                        httpResponse = httpRequest.sendBuffer(Buffer.buffer(b));
-                    }
-                    case String text -> {
-                        byte[] b = util.getUTF(text);
-                        httpRequest.putHeader(CONTENT_LENGTH, String.valueOf(b.length));
-                        httpResponse = httpRequest.sendBuffer(Buffer.buffer(b));
-                    }
-                    case Map map -> {
-                        boolean xml = contentType != null && contentType.startsWith(APPLICATION_XML);
-                        byte[] b = xml ? util.getUTF(xmlWriter.write(reqBody)) :
-                                SimpleMapper.getInstance().getMapper().writeValueAsBytes(map);
-                        httpRequest.putHeader(CONTENT_LENGTH, String.valueOf(b.length));
-                        httpResponse = httpRequest.sendBuffer(Buffer.buffer(b));
-                    }
-                    case List list -> {
-                        byte[] b = SimpleMapper.getInstance().getMapper().writeValueAsBytes(list);
-                        httpRequest.putHeader(CONTENT_LENGTH, String.valueOf(b.length));
-                        httpResponse = httpRequest.sendBuffer(Buffer.buffer(b));
-                    }
-                    default -> throw new IllegalArgumentException("Invalid HTTP request body");
+            Object body = request.getBody() == null? new byte[0] : request.getBody();
+            byte[] b = switch (body) {
+                case byte[] bytes -> bytes;
+                case String text -> util.getUTF(text);
+                case Map map -> {
+                    boolean xml = contentType != null && contentType.startsWith(APPLICATION_XML);
+                    yield xml ? util.getUTF(xmlWriter.write(body)) :
+                            SimpleMapper.getInstance().getMapper().writeValueAsBytes(map);
                 }
-            }
+                case List list -> SimpleMapper.getInstance().getMapper().writeValueAsBytes(list);
+                default -> throw new IllegalArgumentException("Invalid HTTP request body");
+            };
+            httpRequest.putHeader(CONTENT_LENGTH, String.valueOf(b.length));
+            reqBody = Buffer.buffer(b);
+        }
+        if (relay) {
+            sendRelayRequest(instance, request, httpRequest, reqBody)
+                    .onSuccess(new StreamRelayHandler(input, request))
+                    .onFailure(new HttpExceptionHandler(input, null));
         } else {
-            httpResponse = httpRequest.send();
-        }
-        if (httpResponse != null) {
+            Future<HttpResponse<Void>> httpResponse = reqBody == null? httpRequest.send() :
+                                                        httpRequest.sendBuffer(reqBody);
             httpResponse.onSuccess(new HttpResponseHandler(input, request, queue));
             httpResponse.onFailure(new HttpExceptionHandler(input, queue));
         }
     }
 
+    /**
+     * Send the HTTP request with the Vert.x HTTP client so that the response headers
+     * are available before the response body arrives
+     *
+     * @param instance of this function
+     * @param request from the caller
+     * @param httpRequest prepared for the web client
+     * @param body of the request or null
+     * @return future response
+     */
+    private Future<HttpClientResponse> sendRelayRequest(int instance, AsyncHttpRequest request,
+                                                        HttpRequest<Void> httpRequest, Buffer body) {
+        HttpClient client = getHttpClient(instance, request.isTrustAllCert());
+        // same as the web client that adds query parameters to the request URI
+        String uri = httpRequest.uri();
+        MultiMap params = httpRequest.queryParams();
+        if (!params.isEmpty()) {
+            QueryStringEncoder encoder = new QueryStringEncoder(uri);
+            params.forEach(kv -> encoder.addParam(kv.getKey(), kv.getValue()));
+            uri = encoder.toString();
+        }
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(httpRequest.headers());
+        if (!headers.contains(USER_AGENT)) {
+            headers.set(USER_AGENT, USER_AGENT_NAME);
+        }
+        int timeout = request.getTimeoutSeconds();
+        RequestOptions options = new RequestOptions().setMethod(httpRequest.method())
+                .setHost(httpRequest.host()).setPort(httpRequest.port()).setSsl(httpRequest.ssl())
+                .setURI(uri).setHeaders(headers)
+                // a paused response is closed when the consumer stops reading
+                .setIdleTimeout((timeout > 0? timeout : DEFAULT_TTL_SECONDS) * 1000L);
+        return client.request(options).compose(req -> body == null? req.send() : req.send(body));
+    }
+
     public String decodeUri(String uri) {
         return uri != null && uri.contains("%")? URLDecoder.decode(uri, StandardCharsets.UTF_8) : uri;
     }
@@ -446,6 +524,81 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
         }
     }
 
+    /**
+     * Decode a response body
+     * <p>
+     * JSON and XML are parsed from the received blocks directly. A string is created only when
+     * the response body is text or when it cannot be parsed.
+     *
+     * @param input event
+     * @param request of the HTTP call
+     * @param response event
+     * @param resContentType of the HTTP response
+     * @param body as a list of blocks
+     */
+    private void sendResponseBody(EventEnvelope input, AsyncHttpRequest request, EventEnvelope response,
+                                  String resContentType, ByteChunkInputStream body) {
+        Utility util = Utility.getInstance();
+        if (resContentType != null) {
+            if (resContentType.startsWith(APPLICATION_JSON)) {
+                // response body is assumed to be JSON
+                int first = body.firstNonWhitespace();
+                if (first == -1) {
+                    sendResponse(input, response.setBody(new HashMap<>()));
+                } else if (first == '{' || first == '[') {
+                    Object result;
+                    try {
+                        SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+                        if (first == '{') {
+                            result = mapper.readValue(body, Map.class);
+                        } else {
+                            result = mapper.readValue(body, List.class);
+                        }
+                    } catch (Exception e) {
+                        // not a valid JSON object or array
+                        result = util.getUTF(body.toByteArray()).trim();
+                    }
+                    sendResponse(input, response.setBody(result));
+                } else {
+                    sendResponse(input, response.setBody(util.getUTF(body.toByteArray()).trim()));
+                }
+            } else if (resContentType.startsWith(APPLICATION_XML)) {
+                // response body is assumed to be XML
+                boolean rawXml = "true".equals(request.getHeader(X_RAW_XML));
+                if (rawXml) {
+                    sendResponse(input, response.setBody(util.getUTF(body.toByteArray())));
+                } else if (body.firstNonWhitespace() == -1) {
+                    sendResponse(input, response.setBody(new HashMap<>()));
+                } else {
+                    Object result;
+                    try {
+                        result = xmlReader.parse(body);
+                    } catch (Exception e) {
+                        result = util.getUTF(body.toByteArray());
+                    }
+                    sendResponse(input, response.setBody(result));
+                }
+            } else if (resContentType.startsWith(TEXT_PREFIX) ||
+                    resContentType.startsWith(APPLICATION_JAVASCRIPT)) {
+                /*
+                 * For API targetHost, the content-types are usually JSON or XML.
+                 * HTML, CSS and JS are the best effort static file contents.
+                 */
+                sendResponse(input, response.setBody(util.getUTF(body.toByteArray())));
+            } else {
+                sendResponse(input, response.setBody(body.toByteArray()));
+            }
+        } else {
+            sendResponse(input, response.setBody(body.toByteArray()));
+        }
+    }
+
+    private boolean isTextResponse(String contentType) {
+        return  contentType != null && (
+                contentType.startsWith(APPLICATION_JSON) || contentType.startsWith(APPLICATION_XML) ||
+                contentType.startsWith(TEXT_PREFIX) || contentType.startsWith(APPLICATION_JAVASCRIPT));
+    }
+
     private boolean allowedHeader(String header) {
         for (String h: MUST_DROP_HEADERS) {
             if (header.equalsIgnoreCase(h)) {
@@ -521,7 +674,6 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
     }
 
     private class HttpResponseHandler implements Handler<HttpResponse<Void>> {
-        private final Utility util = Utility.getInstance();
         private final CustomContentTypeResolver resolver = CustomContentTypeResolver.getInstance();
         private final EventEnvelope input;
         private final AsyncHttpRequest request;
@@ -547,75 +699,25 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
                 String contentLen = res.getHeader(CONTENT_LENGTH);
                 boolean renderAsBytes = "true".equals(request.getHeader(X_NO_STREAM));
                 if (renderAsBytes || contentLen != null || isTextResponse(resContentType)) {
-                    int len = 0;
-                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    // keep the blocks as received so that the body is not copied before decoding
+                    List<byte[]> blocks = new ArrayList<>();
                     try {
                         while (true) {
                             byte[] block = queue.read();
                             if (block.length == 0) {
                                 break;
                             } else {
-                                try {
-                                    out.write(block);
-                                    len += block.length;
-                                } catch (IOException e) {
-                                    // ok to ignore
-                                }
+                                blocks.add(block);
                             }
                         }
                     } finally {
                         queue.close();
                     }
+                    ByteChunkInputStream body = new ByteChunkInputStream(blocks);
                     if (renderAsBytes || contentLen != null) {
-                        response.setHeader(X_CONTENT_LENGTH, len);
-                    }
-                    byte[] b = out.toByteArray();
-                    if (resContentType != null) {
-                        if (resContentType.startsWith(APPLICATION_JSON)) {
-                            // response body is assumed to be JSON
-                            String text = util.getUTF(b).trim();
-                            if (text.isEmpty()) {
-                                sendResponse(input, response.setBody(new HashMap<>()));
-                            } else {
-                                if (text.startsWith("{") && text.endsWith("}")) {
-
-                                    sendResponse(input, response.setBody(
-                                            SimpleMapper.getInstance().getMapper().readValue(text, Map.class)));
-                                } else if (text.startsWith("[") && text.endsWith("]")) {
-                                    sendResponse(input, response.setBody(
-                                            SimpleMapper.getInstance().getMapper().readValue(text, List.class)));
-                                } else {
-                                    sendResponse(input, response.setBody(text));
-                                }
-                            }
-                        } else if (resContentType.startsWith(APPLICATION_XML)) {
-                            // response body is assumed to be XML
-                            String text = util.getUTF(b);
-                            String trimmed = text.trim();
-                            boolean rawXml = "true".equals(request.getHeader(X_RAW_XML));
-                            if (rawXml) {
-                                sendResponse(input, response.setBody(text));
-                            } else {
-                                try {
-                                    sendResponse(input, response.setBody(
-                                            trimmed.isEmpty() ? new HashMap<>() : xmlReader.parse(text)));
-                                } catch (Exception e) {
-                                    sendResponse(input, response.setBody(text));
-                                }
-                            }
-                        } else if (resContentType.startsWith(TEXT_PREFIX) ||
-                                resContentType.startsWith(APPLICATION_JAVASCRIPT)) {
-                            /*
-                             * For API targetHost, the content-types are usually JSON or XML.
-                             * HTML, CSS and JS are the best effort static file contents.
-                             */
-                            sendResponse(input, response.setBody(util.getUTF(b)));
-                        } else {
-                            sendResponse(input, response.setBody(b));
-                        }
-                    } else {
-                        sendResponse(input, response.setBody(b));
+                        response.setHeader(X_CONTENT_LENGTH, body.getLength());
                     }
+                    sendResponseBody(input, request, response, resContentType, body);
                 } else {
                     Platform.getInstance().getVirtualThreadExecutor().submit(() -> {
                         int len = 0;
@@ -647,11 +749,64 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
                 }
             }
         }
+    }
 
-        private boolean isTextResponse(String contentType) {
-            return  contentType != null && (
-                    contentType.startsWith(APPLICATION_JSON) || contentType.startsWith(APPLICATION_XML) ||
-                    contentType.startsWith(TEXT_PREFIX) || contentType.startsWith(APPLICATION_JAVASCRIPT));
+    private class StreamRelayHandler implements Handler<HttpClientResponse> {
+        private final CustomContentTypeResolver resolver = CustomContentTypeResolver.getInstance();
+        private final EventEnvelope input;
+        private final AsyncHttpRequest request;
+        private final int timeoutSeconds;
+
+        public StreamRelayHandler(EventEnvelope input, AsyncHttpRequest request) {
+            this.input = input;
+            this.request = request;
+            int timeout = request.getTimeoutSeconds();
+            this.timeoutSeconds = timeout > 0? timeout : DEFAULT_TTL_SECONDS;
+        }
+
+        @Override
+        public void handle(HttpClientResponse res) {
+            EventEnvelope response = new EventEnvelope();
+            int status = res.statusCode();
+            response.setStatus(status);
+            MultiMap headers = res.headers();
+            headers.forEach(kv -> response.setHeader(kv.getKey(), kv.getValue()));
+            if (input.getReplyTo() == null) {
+                // discard the response body
+                res.end();
+                return;
+            }
+            String resContentType = resolver.getContentType(res.getHeader(CONTENT_TYPE));
+            String contentLen = res.getHeader(CONTENT_LENGTH);
+            boolean renderAsBytes = "true".equals(request.getHeader(X_NO_STREAM));
+            if (renderAsBytes || contentLen != null || isTextResponse(resContentType)) {
+                res.body().onSuccess(block -> {
+                    ByteChunkInputStream body = new ByteChunkInputStream(List.of(block.getBytes()));
+                    if (renderAsBytes || contentLen != null) {
+                        response.setHeader(X_CONTENT_LENGTH, body.getLength());
+                    }
+                    sendResponseBody(input, request, response, resContentType, body);
+                }).onFailure(new HttpExceptionHandler(input, null));
+            } else if (HEAD.equals(request.getMethod()) || status == 204 || status == 304) {
+                // no response body is expected
+                res.end().onComplete(done -> sendResponse(input, response));
+            } else {
+                /*
+                 * Return the stream ID to the caller before the response body arrives
+                 * so that the caller can read each block as soon as it is relayed.
+                 */
+                EventPublisher publisher = new EventPublisher(timeoutSeconds * 1000L);
+                OutputStreamRelay relay = new OutputStreamRelay(publisher, relayWindow);
+                response.setHeader(X_STREAM_ID, publisher.getStreamId())
+                        .setHeader(X_TTL, timeoutSeconds * 1000);
+                sendResponse(input, response);
+                // the stream must not be closed normally when the response is broken
+                res.pipe().endOnFailure(false).to(relay).onFailure(e -> {
+                    log.warn("Unable to relay HTTP response from {} after {} bytes - {}",
+                                request.getTargetHost(), relay.getLength(), e.getMessage());
+                    publisher.publishException(e);
+                });
+            }
         }
     }
 
@@ -675,7 +830,9 @@ public class AsyncHttpClient implements TypedLambdaFunction<EventEnvelope, Void>
                     log.error("Unhandled exception", ex);
                 }
             } finally {
-                queue.close();
+                if (queue != null) {
+                    queue.close();
+                }
             }
         }
 
@@ -60,7 +60,7 @@ public class HttpRequestHandler implements Handler<HttpServerRequest> {
         }
         String uri = util.getDecodedUri(request.path());
         String method = request.method().name();
-        String requestId = util.getUuid();
+        String requestId = util.getId();
         AsyncContextHolder holder = new AsyncContextHolder(request);
         String acceptContent = request.getHeader(ACCEPT);
         if (acceptContent != null) {
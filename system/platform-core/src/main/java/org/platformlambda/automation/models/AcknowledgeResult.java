@@ -22,6 +22,7 @@ import io.vertx.core.AsyncResult;
 
 /**
  * This AsyncResult is used to provide acknowledgement to the WriteStream handlers in OutputStreamQueue
+ * and OutputStreamRelay
  */
 public class AcknowledgeResult implements AsyncResult<Void> {
     @Override
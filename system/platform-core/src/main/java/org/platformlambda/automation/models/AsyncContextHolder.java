@@ -20,12 +20,15 @@ package org.platformlambda.automation.models;
 
 import io.vertx.core.http.HttpServerRequest;
 
+import java.io.File;
+
 public class AsyncContextHolder {
 
     public final HttpServerRequest request;
     public long timeout;
     public long lastAccess;
     public String url, resHeaderId, accept, method;
+    public File spoolFile;
 
     public AsyncContextHolder(HttpServerRequest request) {
         this.request = request;
@@ -64,6 +67,11 @@ public class AsyncContextHolder {
         return this;
     }
 
+    public AsyncContextHolder setSpoolFile(File spoolFile) {
+        this.spoolFile = spoolFile;
+        return this;
+    }
+
     public void touch() {
         this.lastAccess = System.currentTimeMillis();
     }
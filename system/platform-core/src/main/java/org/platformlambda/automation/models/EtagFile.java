@@ -20,19 +20,112 @@ package org.platformlambda.automation.models;
 
 import org.platformlambda.core.util.Utility;
 
+import java.io.File;
 import java.util.List;
 
 public class EtagFile {
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
 
     public final String eTag;
     public final byte[] content;
+    /*
+     * When content is null, the file will be sent directly from the file system
+     */
+    public final File file;
+    public final long length;
+    public final long lastModified;
     public String name;
+    public String contentType;
+    public String encoding;
+    private EtagFile gzip;
+    private EtagFile brotli;
 
     public EtagFile(String eTag, byte[] content) {
+        this(eTag, content, 0);
+    }
+
+    public EtagFile(String eTag, byte[] content, long lastModified) {
         this.eTag = "\""+ eTag +"\"";
         this.content = content;
+        this.file = null;
+        this.length = content.length;
+        this.lastModified = lastModified;
+    }
+
+    public EtagFile(String eTag, File file) {
+        this.eTag = "\""+ eTag +"\"";
+        this.content = null;
+        this.file = file;
+        this.length = file.length();
+        this.lastModified = file.lastModified();
+    }
+
+    public void setGzip(EtagFile gzip) {
+        gzip.encoding = GZIP;
+        this.gzip = gzip;
     }
 
+    public void setBrotli(EtagFile brotli) {
+        brotli.encoding = BROTLI;
+        this.brotli = brotli;
+    }
+
+    public EtagFile getGzip() {
+        return gzip;
+    }
+
+    public EtagFile getBrotli() {
+        return brotli;
+    }
+
+    public boolean hasVariants() {
+        return gzip != null || brotli != null;
+    }
+
+    /**
+     * Select a pre-compressed variant of this file
+     *
+     * @param acceptEncoding from the HTTP request header
+     * @return pre-compressed variant if accepted by the browser or this file
+     */
+    public EtagFile getVariant(String acceptEncoding) {
+        if (acceptEncoding == null || !hasVariants()) {
+            return this;
+        }
+        if (brotli != null && acceptable(acceptEncoding, BROTLI)) {
+            return brotli;
+        }
+        if (gzip != null && acceptable(acceptEncoding, GZIP)) {
+            return gzip;
+        }
+        return this;
+    }
+
+    private boolean acceptable(String acceptEncoding, String encoding) {
+        List<String> parts = Utility.getInstance().split(acceptEncoding, ",");
+        for (String p: parts) {
+            String token = p.trim();
+            int sep = token.indexOf(';');
+            String name = sep == -1? token : token.substring(0, sep).trim();
+            if (encoding.equalsIgnoreCase(name)) {
+                // "q=0" means the encoding is not acceptable
+                return sep == -1 || !token.substring(sep+1).replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    public long getSize() {
+        long n = content == null? 0 : content.length;
+        if (gzip != null && gzip.content != null) {
+            n += gzip.content.length;
+        }
+        if (brotli != null && brotli.content != null) {
+            n += brotli.content.length;
+        }
+        return n;
+    }
     public boolean sameTag(String eTag) {
         if (eTag == null) {
             return false;
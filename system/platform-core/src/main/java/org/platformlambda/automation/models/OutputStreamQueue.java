@@ -35,7 +35,8 @@ public class OutputStreamQueue implements WriteStream<Buffer> {
     }
 
     public void close() {
-        queue.close();
+        // the queue is used once for each HTTP response so its overflow store can be released
+        queue.destroy();
     }
 
     @Override
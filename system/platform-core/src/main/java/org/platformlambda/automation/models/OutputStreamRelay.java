@@ -0,0 +1,125 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.models;
+
+import io.vertx.core.*;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.streams.WriteStream;
+import org.platformlambda.core.system.EventPublisher;
+import org.platformlambda.core.system.Platform;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This WriteStream forwards each block of an HTTP response to an event stream as it arrives.
+ * <p>
+ * The number of blocks that may be published ahead of the consumer is limited by a window.
+ * The window is replenished by the credits that the consumer grants in each read request
+ * so that the HTTP response is paused when the consumer is slower than the target service.
+ */
+public class OutputStreamRelay implements WriteStream<Buffer> {
+    private final AcknowledgeResult acknowledgement = new AcknowledgeResult();
+    private final EventPublisher publisher;
+    private final Context context;
+    private final AtomicLong allowance;
+    private volatile Handler<Void> drainHandler;
+    private long length = 0;
+
+    /**
+     * Create a relay to an event stream
+     *
+     * @param publisher of the event stream
+     * @param window is the number of blocks that may be published before the consumer reads them
+     */
+    public OutputStreamRelay(EventPublisher publisher, int window) {
+        Context current = Vertx.currentContext();
+        this.publisher = publisher;
+        this.context = current != null? current : Platform.getInstance().getVertx().getOrCreateContext();
+        this.allowance = new AtomicLong(Math.max(1, window));
+        publisher.setCreditListener(this::credit);
+    }
+
+    /**
+     * Get number of bytes relayed
+     *
+     * @return length
+     */
+    public long getLength() {
+        return length;
+    }
+
+    private void credit(int n) {
+        long before = allowance.getAndAdd(n);
+        Handler<Void> handler = drainHandler;
+        if (before <= 0 && before + n > 0 && handler != null) {
+            // resume the HTTP response in its own context
+            context.runOnContext(handler);
+        }
+    }
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+        // no need to implement because publishing to an event stream does not fail
+        return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+        byte[] b = data.getBytes();
+        if (b.length > 0) {
+            publisher.publish(b);
+            length += b.length;
+            allowance.decrementAndGet();
+        }
+        return Future.succeededFuture();
+    }
+
+    @Override
+    public void write(Buffer block, Handler<AsyncResult<Void>> handler) {
+        write(block);
+        if (handler != null) {
+            handler.handle(acknowledgement);
+        }
+    }
+
+    @Override
+    public void end(Handler<AsyncResult<Void>> handler) {
+        publisher.publishCompletion();
+        if (handler != null) {
+            handler.handle(acknowledgement);
+        }
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+        // the window is set in the constructor
+        return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+        return allowance.get() <= 0;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+        this.drainHandler = handler;
+        return this;
+    }
+}
@@ -18,13 +18,31 @@
 
 package org.platformlambda.automation.models;
 
+import io.vertx.core.buffer.Buffer;
 import org.platformlambda.core.system.EventPublisher;
 
+/**
+ * Publish an HTTP request body to an event stream
+ * <p>
+ * Small blocks from the network are coalesced until they reach the chunk size and
+ * a block that is not smaller than the chunk size is forwarded without copying it into the pending buffer.
+ * A block larger than MAX_CHUNK_SIZE is sliced to keep each event within a sensible size.
+ */
 public class StreamHolder {
+    public static final int MIN_CHUNK_SIZE = 4 * 1024;
+    public static final int MAX_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
     private final EventPublisher publisher;
+    private final int chunkSize;
+    private Buffer pending;
 
     public StreamHolder(int timeoutSeconds) {
+        this(timeoutSeconds, DEFAULT_CHUNK_SIZE);
+    }
+
+    public StreamHolder(int timeoutSeconds, int chunkSize) {
         this.publisher = new EventPublisher(timeoutSeconds * 1000L);
+        this.chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
     }
 
     public EventPublisher getPublisher() {
@@ -35,7 +53,52 @@ public class StreamHolder {
         return publisher.getStreamId();
     }
 
+    /**
+     * Write a block of the HTTP request body
+     * <p>
+     * This method must be called from the same event loop that delivers the HTTP request body.
+     *
+     * @param block of bytes
+     */
+    public void write(Buffer block) {
+        int len = block == null? 0 : block.length();
+        if (len > 0) {
+            if (len >= chunkSize) {
+                // keep the order of the data and avoid copying a large block into the pending buffer
+                if (pending != null) {
+                    forward(pending);
+                    pending = null;
+                }
+                forward(block);
+            } else {
+                if (pending == null) {
+                    pending = Buffer.buffer(chunkSize);
+                }
+                pending.appendBuffer(block);
+                if (pending.length() >= chunkSize) {
+                    forward(pending);
+                    pending = null;
+                }
+            }
+        }
+    }
+
     public void close() {
+        if (pending != null) {
+            forward(pending);
+            pending = null;
+        }
         publisher.publishCompletion();
     }
+
+    private void forward(Buffer block) {
+        int len = block.length();
+        if (len <= MAX_CHUNK_SIZE) {
+            publisher.publish(block.getBytes());
+        } else {
+            for (int start = 0; start < len; start += MAX_CHUNK_SIZE) {
+                publisher.publish(block.getBytes(start, Math.min(len, start + MAX_CHUNK_SIZE)));
+            }
+        }
+    }
 }
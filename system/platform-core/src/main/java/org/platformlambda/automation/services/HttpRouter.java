@@ -19,8 +19,11 @@
 package org.platformlambda.automation.services;
 
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import io.vertx.core.Context;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.Cookie;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -30,6 +33,7 @@ import org.platformlambda.automation.models.*;
 import org.platformlambda.automation.util.CustomContentTypeResolver;
 import org.platformlambda.automation.util.MimeTypeResolver;
 import org.platformlambda.automation.util.SimpleHttpUtility;
+import org.platformlambda.automation.util.StaticContentCache;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.annotations.ZeroTracing;
 import org.platformlambda.core.exception.AppException;
@@ -40,7 +44,6 @@ import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.serializers.SimpleXmlParser;
 import org.platformlambda.core.system.*;
 import org.platformlambda.core.util.AppConfigReader;
-import org.platformlambda.core.util.CryptoApi;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,7 +64,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class HttpRouter {
     private static final Logger log = LoggerFactory.getLogger(HttpRouter.class);
     private static final CustomContentTypeResolver resolver = CustomContentTypeResolver.getInstance();
-    private static final CryptoApi crypto = new CryptoApi();
     private static final SimpleXmlParser xmlReader = new SimpleXmlParser();
     private static final AtomicInteger initCounter = new AtomicInteger(0);
     private static final String HTTP_REQUEST = "http.request";
@@ -74,7 +76,6 @@ public class HttpRouter {
     private static final String MULTIPART_FORM_DATA = "multipart/form-data";
     private static final String APPLICATION_JSON = "application/json";
     private static final String APPLICATION_XML = "application/xml";
-    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
     private static final String X_RAW_XML = "x-raw-xml";
     private static final String TEXT_HTML = "text/html";
     private static final String TEXT_PLAIN = "text/plain";
@@ -92,7 +93,10 @@ public class HttpRouter {
     private static final String FILEPATH = "file:";
     private static final String ETAG = "ETag";
     private static final String IF_NONE_MATCH = "If-None-Match";
-    private static final int BUFFER_SIZE = 4 * 1024;
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String VARY = "Vary";
+    private static final String SPOOL_EXT = ".upload";
     private static final long FILTER_TIMEOUT = 10000;
     private static final byte[] NOTHING = new byte[0];
     private static final String SIGNATURE = "/" + Utility.getInstance().getUuid();
@@ -103,6 +107,9 @@ public class HttpRouter {
     private static List<String> traceIdLabels;
     private static String staticFolder;
     private static String resourceFolder;
+    private static File spoolFolder;
+    private static int chunkSize = StreamHolder.DEFAULT_CHUNK_SIZE;
+    private static long spoolThreshold = -1;
 
     public HttpRouter() {
         initialize();
@@ -133,6 +140,26 @@ public class HttpRouter {
             } else {
                 log.warn("Static content folder must start with {} or {}", CLASSPATH, FILEPATH);
             }
+            int size = util.str2int(config.getProperty("http.stream.chunk.size",
+                                    String.valueOf(StreamHolder.DEFAULT_CHUNK_SIZE)));
+            if (size < StreamHolder.MIN_CHUNK_SIZE || size > StreamHolder.MAX_CHUNK_SIZE) {
+                log.error("Invalid http.stream.chunk.size {} - must be {} to {}, default to {}", size,
+                        StreamHolder.MIN_CHUNK_SIZE, StreamHolder.MAX_CHUNK_SIZE, StreamHolder.DEFAULT_CHUNK_SIZE);
+            } else {
+                chunkSize = size;
+            }
+            spoolThreshold = util.str2long(config.getProperty("http.upload.spool.threshold", "-1"));
+            if (spoolThreshold >= 0) {
+                File tmpRoot = new File(config.getProperty("transient.data.store", "/tmp/reactive"));
+                File dir = new File(config.getProperty("http.upload.spool.folder",
+                                    new File(tmpRoot, "uploads").getPath()));
+                if (dir.exists() || dir.mkdirs()) {
+                    spoolFolder = dir;
+                    log.info("Upload larger than {} bytes will be saved to {}", spoolThreshold, dir);
+                } else {
+                    log.error("Unable to create upload spool folder {}", dir);
+                }
+            }
             // initialize mime-type and custom content-type resolvers
             MimeTypeResolver.getInstance().init();
             CustomContentTypeResolver.getInstance().init();
@@ -153,8 +180,37 @@ public class HttpRouter {
         return contexts;
     }
 
+    /**
+     * Override the upload spool settings
+     * <p>
+     * This is reserved for unit tests so that spooling can be tested without enabling it for all uploads.
+     *
+     * @param folder for temporary files or null to disable spooling
+     * @param threshold in bytes
+     */
+    static void setSpooling(File folder, long threshold) {
+        spoolFolder = folder;
+        spoolThreshold = threshold;
+    }
+
+    /**
+     * Override the local static content folder
+     * <p>
+     * This is reserved for unit tests so that files sent from the local file system can be tested.
+     *
+     * @param folder in the local file system or null to use the resource folder
+     */
+    static void setStaticFolder(String folder) {
+        staticFolder = folder;
+    }
+
     public static void closeContext(String requestId) {
-        contexts.remove(requestId);
+        AsyncContextHolder holder = contexts.remove(requestId);
+        if (holder != null && holder.spoolFile != null) {
+            String path = holder.spoolFile.getPath();
+            Platform.getInstance().getVertx().fileSystem().delete(path)
+                    .onFailure(e -> log.warn("Unable to delete {} - {}", path, e.getMessage()));
+        }
     }
 
     @SuppressWarnings("rawtypes")
@@ -300,46 +356,45 @@ public class HttpRouter {
 
     private void sendStaticFile(String requestId, EtagFile file, boolean noCache,
                                 HttpServerRequest request, HttpServerResponse response) {
-        response.putHeader(CONTENT_TYPE, getFileContentType(file.name));
+        response.putHeader(CONTENT_TYPE, file.contentType);
+        // select pre-compressed variant if any
+        EtagFile selected = file.getVariant(request.getHeader(ACCEPT_ENCODING));
+        if (file.hasVariants()) {
+            response.putHeader(VARY, ACCEPT_ENCODING);
+        }
+        if (selected.encoding != null) {
+            response.putHeader(CONTENT_ENCODING, selected.encoding);
+        }
         if (noCache) {
             response.putHeader("Cache-Control", "no-cache, no-store");
             response.putHeader("Pragma", "no-cache");
             response.putHeader("Expires", "Thu, 01 Jan 1970 00:00:00 GMT");
-            response.putHeader(CONTENT_LEN, String.valueOf(file.content.length));
-            response.write(Buffer.buffer(file.content));
+            sendFileContent(requestId, selected, response);
         } else {
             String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
-            if (file.sameTag(ifNoneMatch)) {
+            if (selected.sameTag(ifNoneMatch)) {
                 response.setStatusCode(304);
                 response.putHeader(CONTENT_LEN, "0");
+                closeContext(requestId);
+                response.end();
             } else {
-                response.putHeader(ETAG, file.eTag);
-                response.putHeader(CONTENT_LEN, String.valueOf(file.content.length));
-                response.write(Buffer.buffer(file.content));
+                response.putHeader(ETAG, selected.eTag);
+                sendFileContent(requestId, selected, response);
             }
         }
-        closeContext(requestId);
-        response.end();
     }
 
-    /**
-     * This is a very primitive way to resolve content-type for proper loading of
-     * HTML, CSS and Javascript contents by a browser.
-     * <p>
-     * It is not intended to be a comprehensive MIME type resolver.
-     *
-     * @param filename from the URI path
-     * @return content type
-     */
-    private String getFileContentType(String filename) {
-        if (filename.contains(".") && !filename.endsWith(".")) {
-            String ext = filename.substring(filename.lastIndexOf('.')+1).toLowerCase();
-            String contentType = MimeTypeResolver.getInstance().getMimeType(ext);
-            if (contentType != null) {
-                return contentType;
-            }
+    private void sendFileContent(String requestId, EtagFile file, HttpServerResponse response) {
+        closeContext(requestId);
+        if (file.content == null) {
+            // large file is sent from the file system without loading it into memory
+            response.sendFile(file.file.getPath())
+                    .onFailure(e -> log.error("Unable to send {} - {}", file.file, e.getMessage()));
+        } else {
+            response.putHeader(CONTENT_LEN, String.valueOf(file.content.length));
+            response.write(Buffer.buffer(file.content));
+            response.end();
         }
-        return APPLICATION_OCTET_STREAM;
     }
 
     /**
@@ -381,45 +436,20 @@ public class HttpRouter {
         String filename = parts.isEmpty()? INDEX_HTML : parts.getLast();
         if (normalized.endsWith("/")) {
             relativePath += INDEX_HTML;
-            filename = INDEX_HTML;
         } else if (!filename.contains(".")) {
             relativePath += HTML_EXT;
-            filename += HTML_EXT;
         }
+        StaticContentCache cache = StaticContentCache.getInstance();
         EtagFile result = null;
         if (resourceFolder != null) {
-            result = getResourceFile(relativePath);
+            result = cache.getResourceFile(resourceFolder, relativePath);
         }
         if (staticFolder != null) {
-            result = getLocalFile(relativePath);
-        }
-        if (result != null) {
-            result.name = filename;
+            result = cache.getLocalFile(staticFolder, relativePath);
         }
         return result;
     }
 
-    private EtagFile getResourceFile(String relativePath) {
-        String resPath = resourceFolder + (relativePath.startsWith("/")? relativePath : "/" + relativePath);
-        Utility util = Utility.getInstance();
-        InputStream in = this.getClass().getResourceAsStream(resPath);
-        if (in != null) {
-            byte[] b = Utility.getInstance().stream2bytes(in);
-            return new EtagFile(util.bytes2hex(crypto.getSHA256(b)), b);
-        }
-        return null;
-    }
-
-    private EtagFile getLocalFile(String relativePath) {
-        Utility util = Utility.getInstance();
-        File f = new File(staticFolder, relativePath);
-        if (f.exists() && !f.isDirectory()) {
-            byte[] b = Utility.getInstance().file2bytes(f);
-            return new EtagFile(util.bytes2hex(crypto.getSHA256(b)), b);
-        }
-        return null;
-    }
-
     private void routeRequest(String requestId, AssignedRoute route, AsyncContextHolder holder)
             throws AppException {
         Utility util = Utility.getInstance();
@@ -582,27 +612,40 @@ public class HttpRouter {
                 contentType = "?";
             }
             if (contentType.startsWith(MULTIPART_FORM_DATA) && POST.equals(method) && route.info.upload) {
-                final StreamHolder stream = new StreamHolder(route.info.timeoutSeconds);
-                request.uploadHandler(upload -> {
-                    req.setFileName(upload.filename());
-                    final AtomicInteger total = new AtomicInteger();
-                    upload.handler(block -> {
-                        int len = block.length();
-                        if (len > 0) {
-                            total.addAndGet(len);
-                            pipeHttpInputToStream(stream.getPublisher(), block, len);
-                        }
-                    }).endHandler(end -> {
-                        int size = total.get();
-                        req.setContentLength(size);
-                        if (size > 0) {
-                            req.setStreamRoute(stream.getInputStreamId());
-                            stream.close();
-                        }
-                        sendRequestToService(request, requestEvent.setHttpRequest(req));
+                if (isSpooled(route, util.str2long(request.getHeader(CONTENT_LEN)))) {
+                    request.uploadHandler(upload -> {
+                        req.setFileName(upload.filename());
+                        File file = getSpoolFile(holder);
+                        upload.streamToFileSystem(file.getPath()).onSuccess(done -> {
+                            long size = upload.size();
+                            req.setContentLength((int) Math.min(Integer.MAX_VALUE, size));
+                            if (size > 0) {
+                                req.setSpoolFile(file.getPath());
+                            }
+                            sendRequestToService(request, requestEvent.setHttpRequest(req));
+                        }).onFailure(e -> spoolFailed(requestId, request, file, e));
+                    });
+                    request.resume();
+                } else {
+                    final StreamHolder stream = new StreamHolder(route.info.timeoutSeconds, chunkSize);
+                    request.uploadHandler(upload -> {
+                        req.setFileName(upload.filename());
+                        final AtomicInteger total = new AtomicInteger();
+                        upload.handler(block -> {
+                            total.addAndGet(block.length());
+                            stream.write(block);
+                        }).endHandler(end -> {
+                            int size = total.get();
+                            req.setContentLength(size);
+                            if (size > 0) {
+                                req.setStreamRoute(stream.getInputStreamId());
+                                stream.close();
+                            }
+                            sendRequestToService(request, requestEvent.setHttpRequest(req));
+                        });
                     });
-                });
-                request.resume();
+                    request.resume();
+                }
 
             } else if (contentType.startsWith(APPLICATION_JSON)) {
                 request.bodyHandler(block -> {
@@ -684,26 +727,37 @@ public class HttpRouter {
                             sendRequestToService(request, requestEvent.setHttpRequest(req));
                         }
                     }).endHandler(done -> inputComplete.set(true));
-                } else {
-                    final AtomicInteger total = new AtomicInteger();
-                    final StreamHolder stream = new StreamHolder(route.info.timeoutSeconds);
-                    request.bodyHandler(block -> {
-                        int len = block.length();
-                        if (len > 0) {
-                            total.addAndGet(len);
-                            pipeHttpInputToStream(stream.getPublisher(), block, len);
-                        }
-                        if (inputComplete.get()) {
-                            int size = total.get();
-                            req.setContentLength(size);
+                } else if (isSpooled(route, -1)) {
+                    // request body of unknown size is saved to a temporary file
+                    File file = getSpoolFile(holder);
+                    request.pause();
+                    getVertx().fileSystem().open(file.getPath(), new OpenOptions().setWrite(true).setCreate(true))
+                        .compose(request::pipeTo)
+                        .onSuccess(done -> {
+                            long size = request.bytesRead();
+                            req.setContentLength((int) Math.min(Integer.MAX_VALUE, size));
                             if (size > 0) {
-                                req.setStreamRoute(stream.getInputStreamId())
-                                    .setHeader(X_TTL, String.valueOf(stream.getPublisher().getTimeToLive()));
-                                stream.close();
+                                req.setSpoolFile(file.getPath());
                             }
                             sendRequestToService(request, requestEvent.setHttpRequest(req));
+                        }).onFailure(e -> spoolFailed(requestId, request, file, e));
+                } else {
+                    // stream the request body as it arrives instead of aggregating it in memory
+                    final AtomicInteger total = new AtomicInteger();
+                    final StreamHolder stream = new StreamHolder(route.info.timeoutSeconds, chunkSize);
+                    request.handler(block -> {
+                        total.addAndGet(block.length());
+                        stream.write(block);
+                    }).endHandler(end -> {
+                        int size = total.get();
+                        req.setContentLength(size);
+                        if (size > 0) {
+                            req.setStreamRoute(stream.getInputStreamId())
+                                .setHeader(X_TTL, String.valueOf(stream.getPublisher().getTimeToLive()));
+                            stream.close();
                         }
-                    }).endHandler(end -> inputComplete.set(true));
+                        sendRequestToService(request, requestEvent.setHttpRequest(req));
+                    });
                 }
             }
         } else {
@@ -758,26 +812,36 @@ public class HttpRouter {
         }
     }
 
-    private void pipeHttpInputToStream(EventPublisher publisher, Buffer block, int len) {
-        if (block != null && len > 0) {
-            try {
-                byte[] data = block.getBytes(0, len);
-                if (data.length > BUFFER_SIZE) {
-                    int bytesRead = 0;
-                    byte[] buffer = new byte[BUFFER_SIZE];
-                    ByteArrayInputStream in = new ByteArrayInputStream(data);
-                    while (bytesRead < data.length) {
-                        int n = in.read(buffer);
-                        bytesRead += n;
-                        publisher.publish(buffer, 0, n);
-                    }
-                } else {
-                    publisher.publish(data);
-                }
-            } catch (IOException e) {
-                log.error("Unexpected error while reading HTTP input stream", e);
-            }
-        }
+    /**
+     * A large upload is saved to a temporary file when the target services are in this application instance
+     * because a file path is not meaningful to a remote service or the HTTP relay.
+     *
+     * @param route of the HTTP request
+     * @param contentLength of the request body or -1 if unknown
+     * @return true if the request body should be saved to a temporary file
+     */
+    private boolean isSpooled(AssignedRoute route, long contentLength) {
+        return spoolFolder != null && route.info.host == null &&
+                (contentLength < 0 || contentLength >= spoolThreshold) &&
+                Platform.getInstance().hasRoute(route.info.services);
+    }
+
+    private File getSpoolFile(AsyncContextHolder holder) {
+        File file = new File(spoolFolder, Utility.getInstance().getId() + SPOOL_EXT);
+        // the file is deleted when the HTTP context is closed
+        holder.setSpoolFile(file);
+        return file;
+    }
+
+    private void spoolFailed(String requestId, HttpServerRequest request, File file, Throwable e) {
+        log.error("Unable to save HTTP request body to {} - {}", file, e.getMessage());
+        SimpleHttpUtility.getInstance().sendError(requestId, request, 500, "Unable to save request body");
+    }
+
+    private Vertx getVertx() {
+        // the HTTP server has its own event loop
+        Context context = Vertx.currentContext();
+        return context == null? Platform.getInstance().getVertx() : context.owner();
     }
 
     /**
@@ -0,0 +1,238 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.util;
+
+import org.platformlambda.automation.models.EtagFile;
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.CryptoApi;
+import org.platformlambda.core.util.Utility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of static contents for the HTML folder
+ * <p>
+ * Classpath resources do not change at run-time so they are kept in a size-bounded LRU cache.
+ * Files in the local file system are validated with their last modified time and size.
+ * Pre-compressed variants of a local file are validated in the same way.
+ * Local files larger than the "send file" threshold are not loaded into memory and they will be
+ * sent directly from the file system.
+ * <p>
+ * ETag and content type are computed once when a file is loaded into the cache.
+ * If "static.content.precompressed" is true, the pre-compressed ".br" and ".gz" variants
+ * of a file will be loaded when they are available.
+ */
+public class StaticContentCache {
+    private static final Logger log = LoggerFactory.getLogger(StaticContentCache.class);
+    private static final CryptoApi crypto = new CryptoApi();
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final String GZIP_EXT = ".gz";
+    private static final String BROTLI_EXT = ".br";
+    private static final long ONE_KB = 1024;
+    private static final long ONE_MB = 1024 * ONE_KB;
+    private static final StaticContentCache instance = new StaticContentCache();
+    private final Map<String, EtagFile> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxSize;
+    private final long sendFileThreshold;
+    private final boolean precompressed;
+    private long currentSize = 0;
+
+    private StaticContentCache() {
+        Utility util = Utility.getInstance();
+        AppConfigReader config = AppConfigReader.getInstance();
+        maxSize = Math.max(0, util.str2long(config.getProperty("static.content.cache.size", "32"))) * ONE_MB;
+        sendFileThreshold = Math.max(1,
+                util.str2long(config.getProperty("static.content.send.file.threshold", "256"))) * ONE_KB;
+        precompressed = "true".equals(config.getProperty("static.content.precompressed", "false"));
+        log.info("Static content cache size {} MB, send file threshold {} KB, pre-compressed {}",
+                maxSize / ONE_MB, sendFileThreshold / ONE_KB, precompressed);
+    }
+
+    public static StaticContentCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Retrieve a file from the resource folder in the classpath
+     *
+     * @param resourceFolder in the classpath
+     * @param relativePath of the file
+     * @return file in eTag format or null if not found
+     */
+    public EtagFile getResourceFile(String resourceFolder, String relativePath) {
+        String resPath = resourceFolder + (relativePath.startsWith("/")? relativePath : "/" + relativePath);
+        EtagFile cached = get(resPath);
+        if (cached != null) {
+            return cached;
+        }
+        EtagFile result = loadResource(resPath);
+        if (result != null) {
+            if (precompressed) {
+                EtagFile gzip = loadResource(resPath + GZIP_EXT);
+                if (gzip != null) {
+                    result.setGzip(gzip);
+                }
+                EtagFile brotli = loadResource(resPath + BROTLI_EXT);
+                if (brotli != null) {
+                    result.setBrotli(brotli);
+                }
+            }
+            result.name = getFilename(relativePath);
+            result.contentType = getContentType(result.name);
+            put(resPath, result);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve a file from the static folder in the local file system
+     *
+     * @param staticFolder in the local file system
+     * @param relativePath of the file
+     * @return file in eTag format or null if not found
+     */
+    public EtagFile getLocalFile(String staticFolder, String relativePath) {
+        File f = new File(staticFolder, relativePath);
+        File gzipFile = new File(staticFolder, relativePath + GZIP_EXT);
+        File brotliFile = new File(staticFolder, relativePath + BROTLI_EXT);
+        String key = f.getPath();
+        EtagFile cached = get(key);
+        // validate cached entry with the last modified time and size of the file and its variants
+        if (cached != null && sameFile(cached, f) &&
+                (!precompressed || sameVariant(cached.getGzip(), gzipFile) &&
+                                   sameVariant(cached.getBrotli(), brotliFile))) {
+            return cached;
+        }
+        EtagFile result = loadFile(f);
+        if (result == null) {
+            if (cached != null) {
+                remove(key);
+            }
+        } else {
+            if (precompressed) {
+                EtagFile gzip = loadFile(gzipFile);
+                if (gzip != null) {
+                    result.setGzip(gzip);
+                }
+                EtagFile brotli = loadFile(brotliFile);
+                if (brotli != null) {
+                    result.setBrotli(brotli);
+                }
+            }
+            result.name = getFilename(relativePath);
+            result.contentType = getContentType(result.name);
+            put(key, result);
+        }
+        return result;
+    }
+
+    private boolean sameFile(EtagFile cached, File f) {
+        return cached.lastModified == f.lastModified() && cached.length == f.length();
+    }
+
+    private boolean sameVariant(EtagFile variant, File f) {
+        // a variant that is added or removed after the file is cached also invalidates the entry
+        return variant == null? !f.exists() : sameFile(variant, f);
+    }
+
+    private EtagFile loadResource(String resPath) {
+        InputStream in = this.getClass().getResourceAsStream(resPath);
+        if (in != null) {
+            Utility util = Utility.getInstance();
+            byte[] b = util.stream2bytes(in);
+            return new EtagFile(util.bytes2hex(crypto.getSHA256(b)), b);
+        }
+        return null;
+    }
+
+    private EtagFile loadFile(File f) {
+        if (f.exists() && !f.isDirectory()) {
+            long len = f.length();
+            long lastModified = f.lastModified();
+            if (len > sendFileThreshold) {
+                // use size and last modified time as ETag to avoid reading a large file into memory
+                return new EtagFile(Long.toHexString(lastModified) + "-" + Long.toHexString(len), f);
+            }
+            Utility util = Utility.getInstance();
+            byte[] b = util.file2bytes(f);
+            return new EtagFile(util.bytes2hex(crypto.getSHA256(b)), b, lastModified);
+        }
+        return null;
+    }
+
+    private synchronized EtagFile get(String key) {
+        return cache.get(key);
+    }
+
+    private synchronized void remove(String key) {
+        EtagFile removed = cache.remove(key);
+        if (removed != null) {
+            currentSize -= removed.getSize();
+        }
+    }
+
+    private synchronized void put(String key, EtagFile file) {
+        long size = file.getSize();
+        if (size > maxSize) {
+            // do not cache a file larger than the cache
+            return;
+        }
+        EtagFile previous = cache.put(key, file);
+        if (previous != null) {
+            currentSize -= previous.getSize();
+        }
+        currentSize += size;
+        var it = cache.entrySet().iterator();
+        while (currentSize > maxSize && it.hasNext()) {
+            EtagFile eldest = it.next().getValue();
+            it.remove();
+            currentSize -= eldest.getSize();
+        }
+    }
+
+    private String getFilename(String relativePath) {
+        int slash = relativePath.lastIndexOf('/');
+        return slash == -1? relativePath : relativePath.substring(slash+1);
+    }
+
+    /**
+     * This is a very primitive way to resolve content-type for proper loading of
+     * HTML, CSS and Javascript contents by a browser.
+     * <p>
+     * It is not intended to be a comprehensive MIME type resolver.
+     *
+     * @param filename from the URI path
+     * @return content type
+     */
+    private String getContentType(String filename) {
+        if (filename.contains(".") && !filename.endsWith(".")) {
+            String ext = filename.substring(filename.lastIndexOf('.')+1).toLowerCase();
+            String contentType = MimeTypeResolver.getInstance().getMimeType(ext);
+            if (contentType != null) {
+                return contentType;
+            }
+        }
+        return APPLICATION_OCTET_STREAM;
+    }
+}
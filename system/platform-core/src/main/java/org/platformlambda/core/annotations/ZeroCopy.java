@@ -0,0 +1,41 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * This tells the system to deliver events from functions in the same application instance
+ * to a function with this annotation without serialization.
+ * <p>
+ * By default, every event is encoded as bytes before it is sent to the target function and decoded again
+ * when it is received. With this annotation, the sender passes an isolated copy of the event envelope
+ * directly to the worker of the target function. The isolated copy is equivalent to the result of
+ * the serialization round trip so functional isolation and I/O immutability are preserved.
+ * <p>
+ * Events from other application instances are not affected. When the target function is busy and
+ * the events are buffered in the elastic queue, they will be serialized at that point.
+ * <p>
+ * You may also enable this feature for a list of routes using the "zero.copy.routes" parameter
+ * in application.properties (or application.yml).
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ZeroCopy { }
@@ -26,7 +26,6 @@ import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 
 import java.io.Serializable;
-import java.util.Map;
 
 /**
  * This is reserved for system use.
@@ -53,9 +52,7 @@ public class CompactAppender extends JsonLogger {
     @Override
     public void append(LogEvent event) {
         if (event != null) {
-            // 0 - true if pretty print
-            // 1 - map of key-values
-            queue.add(Map.of("0", false, "1", getJson(event)));
+            enqueue(false, getJson(event));
         }
     }
 }
@@ -30,21 +30,49 @@ import org.apache.logging.log4j.message.ObjectMessage;
 import org.apache.logging.log4j.message.ParameterizedMessage;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.Utility;
 
+import java.io.PrintStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 public abstract class JsonLogger extends AbstractAppender {
-    protected static final ConcurrentLinkedQueue<Map<String, Object>> queue = new ConcurrentLinkedQueue<>();
     private static final Gson prettySerializer = SimpleMapper.getInstance().getPrettyGson();
     private static final Gson compactSerializer = SimpleMapper.getInstance().getCompactGson();
     private static final Utility util = Utility.getInstance();
     private static final AtomicInteger counter = new AtomicInteger(0);
-    private static boolean running = true;
+    private static final AtomicLong written = new AtomicLong(0);
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_SAMPLE_RATE = 10;
+    private static final int MAX_BATCH = 256;
+    private static final int MAX_BATCH_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final LogRingBuffer buffer;
+    private static volatile Thread writer;
+    private static volatile boolean running = true;
+
+    static {
+        AppConfigReader config = AppConfigReader.getInstance();
+        int size = util.str2int(config.getProperty("log.buffer.size", String.valueOf(DEFAULT_BUFFER_SIZE)));
+        if (size < 1) {
+            size = DEFAULT_BUFFER_SIZE;
+        }
+        // logging must not stall the caller by default because it may be an event loop thread
+        String policy = config.getProperty("log.overflow.policy", LogRingBuffer.DROP_OLDEST);
+        if (!LogRingBuffer.BLOCK.equals(policy) && !LogRingBuffer.DROP_OLDEST.equals(policy) &&
+                !LogRingBuffer.SAMPLE.equals(policy)) {
+            policy = LogRingBuffer.DROP_OLDEST;
+        }
+        int rate = util.str2int(config.getProperty("log.overflow.sample.rate", String.valueOf(DEFAULT_SAMPLE_RATE)));
+        buffer = new LogRingBuffer(size, policy, rate < 1? DEFAULT_SAMPLE_RATE : rate);
+    }
 
     protected JsonLogger(String name, Filter filter,
                          Layout<? extends Serializable> layout,
@@ -53,40 +81,105 @@ public abstract class JsonLogger extends AbstractAppender {
         if (counter.incrementAndGet() == 1) {
             // perform asynchronous logging and do System.out orderly
             Platform.getInstance().getVirtualThreadExecutor().submit(() -> {
+                writer = Thread.currentThread();
                 Runtime.getRuntime().addShutdownHook(new Thread(JsonLogger::shutdown));
-                while (running) {
-                    var message = queue.poll();
-                    if (message == null) {
-                        try {
-                            // Thread.sleep is non-blocking in a virtual thread
-                            Thread.sleep(200);
-                        } catch (InterruptedException e) {
-                            // just ignore it
-                        }
-                    } else {
-                        // enforce data contract
-                        var pretty = message.get("0");
-                        var data = message.get("1");
-                        if (pretty instanceof Boolean prettyPrint && data instanceof Map) {
-                            try {
-                                if (prettyPrint) {
-                                    System.out.println(prettySerializer.toJson(data));
-                                } else {
-                                    System.out.println(compactSerializer.toJson(data));
-                                }
-                            } catch (Exception e) {
-                                // guarantee printing even when serializer fails
-                                System.out.println(data);
-                            }
-                        }
-                    }
-                }
+                writeRecords();
             });
         }
     }
 
+    /**
+     * Number of log records written to standard output
+     *
+     * @return count
+     */
+    public static long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Number of log records dropped due to overflow of the log buffer
+     *
+     * @return count
+     */
+    public static long getDroppedCount() {
+        return buffer.getDropped();
+    }
+
+    /**
+     * Add a log record to the buffer
+     *
+     * @param prettyPrint true if the record is printed in multiple lines
+     * @param data of key-values
+     */
+    protected static void enqueue(boolean prettyPrint, Map<String, Object> data) {
+        if (running) {
+            if (buffer.offer(prettyPrint, data)) {
+                // wake up the writer when the buffer is no longer empty
+                Thread current = writer;
+                if (current != null) {
+                    LockSupport.unpark(current);
+                }
+            }
+        }
+    }
+
+    private static void writeRecords() {
+        boolean[] pretty = new boolean[MAX_BATCH];
+        Map<?, ?>[] batch = new Map<?, ?>[MAX_BATCH];
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int n = buffer.drainTo(pretty, batch);
+            if (n == 0) {
+                if (!running) {
+                    break;
+                }
+                // the writer is unparked by the producer that adds a record to an empty buffer
+                LockSupport.parkNanos(IDLE_PARK_NS);
+                continue;
+            }
+            for (int i=0; i < n; i++) {
+                Map<?, ?> data = batch[i];
+                batch[i] = null;
+                try {
+                    sb.append(pretty[i]? prettySerializer.toJson(data) : compactSerializer.toJson(data));
+                } catch (Exception e) {
+                    // guarantee printing even when serializer fails
+                    sb.append(data);
+                }
+                sb.append('\n');
+                if (sb.length() >= MAX_BATCH_BYTES) {
+                    print(sb);
+                }
+            }
+            print(sb);
+            written.addAndGet(n);
+        }
+    }
+
+    private static void print(StringBuilder sb) {
+        if (!sb.isEmpty()) {
+            // one write and flush per batch instead of one println per record
+            byte[] b = sb.toString().getBytes(StandardCharsets.UTF_8);
+            PrintStream out = System.out;
+            out.write(b, 0, b.length);
+            out.flush();
+            sb.setLength(0);
+        }
+    }
+
     private static void shutdown() {
         running = false;
+        Thread current = writer;
+        if (current != null) {
+            // let the writer print the remaining records
+            LockSupport.unpark(current);
+            try {
+                current.join(1000);
+            } catch (InterruptedException e) {
+                // just ignore it
+            }
+        }
     }
 
     protected Map<String, Object> getJson(LogEvent event) {
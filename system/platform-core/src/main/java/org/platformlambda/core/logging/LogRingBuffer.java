@@ -0,0 +1,144 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.logging;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Bounded ring buffer of log records
+ * <p>
+ * When the buffer is full, the overflow policy decides what to do with a new record:
+ * "block" waits for free space, "drop-oldest" discards the oldest record and "sample"
+ * keeps one of every "sampleRate" overflowing records by discarding the oldest record.
+ */
+public final class LogRingBuffer {
+    public static final String BLOCK = "block";
+    public static final String DROP_OLDEST = "drop-oldest";
+    public static final String SAMPLE = "sample";
+    private static final long MAX_BLOCKING_NS = TimeUnit.SECONDS.toNanos(5);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final boolean[] pretty;
+    private final Map<?, ?>[] records;
+    private final String policy;
+    private final int sampleRate;
+    private final AtomicLong dropped = new AtomicLong(0);
+    private long overflow = 0;
+    private int head = 0;
+    private int count = 0;
+
+    public LogRingBuffer(int capacity, String policy, int sampleRate) {
+        this.pretty = new boolean[capacity];
+        this.records = new Map<?, ?>[capacity];
+        this.policy = policy;
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    /**
+     * Add a log record
+     *
+     * @param prettyPrint true if the record is printed in multiple lines
+     * @param record of key-values
+     * @return true if the buffer was empty
+     */
+    public boolean offer(boolean prettyPrint, Map<?, ?> record) {
+        lock.lock();
+        try {
+            if (count == records.length) {
+                if (BLOCK.equals(policy)) {
+                    // the wait is bounded so that a stalled console cannot freeze the application
+                    long remaining = MAX_BLOCKING_NS;
+                    while (count == records.length && remaining > 0) {
+                        remaining = notFull.awaitNanos(remaining);
+                    }
+                    if (count == records.length) {
+                        dropped.incrementAndGet();
+                        return false;
+                    }
+                } else {
+                    dropped.incrementAndGet();
+                    if (SAMPLE.equals(policy) && ++overflow % sampleRate != 0) {
+                        return false;
+                    }
+                    // discard the oldest record to make room
+                    records[head] = null;
+                    head = (head + 1) % records.length;
+                    count--;
+                }
+            }
+            int tail = (head + count) % records.length;
+            pretty[tail] = prettyPrint;
+            records[tail] = record;
+            return ++count == 1;
+        } catch (InterruptedException e) {
+            dropped.incrementAndGet();
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Move up to "max" records into the given arrays
+     *
+     * @param prettyPrint array of print mode
+     * @param batch array of records
+     * @return number of records
+     */
+    public int drainTo(boolean[] prettyPrint, Map<?, ?>[] batch) {
+        lock.lock();
+        try {
+            int n = Math.min(count, batch.length);
+            for (int i=0; i < n; i++) {
+                prettyPrint[i] = pretty[head];
+                batch[i] = records[head];
+                records[head] = null;
+                head = (head + 1) % records.length;
+            }
+            count -= n;
+            if (n > 0) {
+                notFull.signalAll();
+            }
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
@@ -46,6 +46,7 @@ public class AsyncHttpRequest {
     private static final String HTTP_BODY = "body";
     private static final String FILE_UPLOAD = "upload";
     private static final String FILE_NAME = "filename";
+    private static final String SPOOL_FILE = "spool";
     private static final String CONTENT_LENGTH = "size";
     private static final String TRUST_ALL_CERT = "trust_all_cert";
     private static final String TARGET_HOST = "host";
@@ -64,6 +65,7 @@ public class AsyncHttpRequest {
     private Map<String, String> session = new HashMap<>();
     private Object body;
     private String fileName;
+    private String spoolFile;
     private String targetHost;
     private boolean trustAllCert = false;
     private boolean https = false;
@@ -213,6 +215,28 @@ public class AsyncHttpRequest {
         return fileName != null;
     }
 
+    /**
+     * Get the path of a temporary file that holds the HTTP request body
+     * <p>
+     * A large upload is saved to a temporary file instead of an event stream when
+     * "http.upload.spool.threshold" is configured and the target services are local.
+     * The file is deleted after the HTTP response is sent.
+     *
+     * @return file path or null
+     */
+    public String getSpoolFile() {
+        return spoolFile;
+    }
+
+    public AsyncHttpRequest setSpoolFile(String spoolFile) {
+        this.spoolFile = spoolFile;
+        return this;
+    }
+
+    public boolean isSpooled() {
+        return spoolFile != null;
+    }
+
     public int getTimeoutSeconds() {
         String timeout = getHeader(X_TTL);
         if (timeout == null) {
@@ -476,6 +500,9 @@ public class AsyncHttpRequest {
         if (fileName != null) {
             result.put(FILE_NAME, fileName);
         }
+        if (spoolFile != null) {
+            result.put(SPOOL_FILE, spoolFile);
+        }
         if (contentLength != -1) {
             result.put(CONTENT_LENGTH, contentLength);
         }
@@ -522,6 +549,7 @@ public class AsyncHttpRequest {
             this.ip = source.ip;
             this.url = source.url;
             this.fileName = source.fileName;
+            this.spoolFile = source.spoolFile;
             this.contentLength = source.contentLength;
             this.body = source.body;
             this.queryString = source.queryString;
@@ -555,6 +583,9 @@ public class AsyncHttpRequest {
             if (map.containsKey(FILE_NAME)) {
                 fileName = (String) map.get(FILE_NAME);
             }
+            if (map.containsKey(SPOOL_FILE)) {
+                spoolFile = (String) map.get(SPOOL_FILE);
+            }
             if (map.containsKey(CONTENT_LENGTH)) {
                 contentLength = (int) map.get(CONTENT_LENGTH);
             }
@@ -20,8 +20,9 @@ package org.platformlambda.core.models;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.MetricsRegistry;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
 
 import java.util.Date;
@@ -41,7 +42,7 @@ public class AsyncInbox extends InboxBase {
     private final String to;
     private final String originalCid;
     private final long timeout;
-    private final long timer;
+    private final TimingWheel.Timeout timer;
     private final boolean timeoutException;
     private final Future<EventEnvelope> future;
     private Promise<EventEnvelope> promise;
@@ -59,7 +60,7 @@ public class AsyncInbox extends InboxBase {
             promise = p;
             inboxes.put(cid, this);
         });
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(cid));
+        this.timer = timingWheel.schedule(timeout, () -> abort(cid));
     }
 
     public Future<EventEnvelope> getFuture() {
@@ -70,6 +71,7 @@ public class AsyncInbox extends InboxBase {
         AsyncInbox holder = (AsyncInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
+            MetricsRegistry.getInstance().recordTimeout(to);
             String error = "Timeout for " + holder.timeout + " ms";
             executor.submit(() -> {
                 if (timeoutException) {
@@ -97,7 +99,7 @@ public class AsyncInbox extends InboxBase {
         AsyncInbox holder = (AsyncInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
-            Platform.getInstance().getVertx().cancelTimer(timer);
+            timer.cancel();
             float diff = (float) (System.nanoTime() - holder.begin) / EventEmitter.ONE_MILLISECOND;
             reply.setRoundTrip(diff);
             // remove some metadata that are not relevant for a RPC response
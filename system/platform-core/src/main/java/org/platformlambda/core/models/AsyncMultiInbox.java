@@ -20,8 +20,9 @@ package org.platformlambda.core.models;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.MetricsRegistry;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
 
 import java.util.*;
@@ -36,7 +37,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class AsyncMultiInbox extends InboxBase {
     private final AtomicInteger total = new AtomicInteger(1);
-    private final Map<String, InboxCorrelation> correlations = new HashMap<>();
+    private final Map<String, InboxCorrelation> correlations = new ConcurrentHashMap<>();
     private final String start = Utility.getInstance().date2str(new Date());
     private final long begin = System.nanoTime();
     private final String traceId;
@@ -44,7 +45,7 @@ public class AsyncMultiInbox extends InboxBase {
     private final String from;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
+    private final TimingWheel.Timeout timer;
     private final Future<List<EventEnvelope>> future;
     private Promise<List<EventEnvelope>> promise;
     private final ConcurrentMap<String, EventEnvelope> replies = new ConcurrentHashMap<>();
@@ -61,7 +62,7 @@ public class AsyncMultiInbox extends InboxBase {
             promise = p;
             inboxes.put(cid, this);
         });
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(cid));
+        this.timer = timingWheel.schedule(timeout, () -> abort(cid));
     }
 
     public void setCorrelation(String sequencedCid, InboxCorrelation correlation) {
@@ -76,6 +77,10 @@ public class AsyncMultiInbox extends InboxBase {
         AsyncMultiInbox holder = (AsyncMultiInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
+            // the remaining correlations are the requests that have timed out
+            for (InboxCorrelation correlation: holder.correlations.values()) {
+                MetricsRegistry.getInstance().recordTimeout(correlation.to);
+            }
             executor.submit(() -> {
                     if (timeoutException) {
                         holder.promise.fail(new TimeoutException("Timeout for " + holder.timeout + " ms"));
@@ -108,7 +113,7 @@ public class AsyncMultiInbox extends InboxBase {
                     .removeTag(RPC).setTo(null).setReplyTo(null).setTrace(null, null);
             var annotations = new HashMap<>(reply.getAnnotations());
             reply.clearAnnotations();
-            InboxCorrelation correlation = holder.correlations.get(sequencedCid);
+            InboxCorrelation correlation = holder.correlations.remove(sequencedCid);
             if (correlation != null) {
                 // restore original correlation ID
                 replies.put(reply.getId(), reply.setCorrelationId(correlation.cid));
@@ -118,7 +123,7 @@ public class AsyncMultiInbox extends InboxBase {
                         result.add(kv.getValue());
                     }
                     holder.close();
-                    Platform.getInstance().getVertx().cancelTimer(timer);
+                    timer.cancel();
                     executor.submit(() -> holder.promise.complete(result));
                 }
                 if (correlation.to != null && holder.traceId != null && holder.tracePath != null) {
@@ -13,6 +13,9 @@
 
 package org.platformlambda.core.models;
 
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
 import org.platformlambda.core.exception.AppException;
 import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.serializers.PayloadMapper;
@@ -99,7 +102,7 @@ public class EventEnvelope {
     private boolean exRestored = false;
 
     public EventEnvelope() {
-        this.id = util.getUuid();
+        this.id = util.getId();
     }
 
     public EventEnvelope(byte[] event) throws IOException {
@@ -110,6 +113,10 @@ public class EventEnvelope {
         fromMap(map);
     }
 
+    private EventEnvelope(String id) {
+        this.id = id;
+    }
+
     public String getId() {
         return id;
     }
@@ -743,6 +750,38 @@ public class EventEnvelope {
         return event;
     }
 
+    /**
+     * DO NOT use this method directly in your user application code.
+     * <p>
+     * This is reserved for zero-copy local delivery. The isolated copy is equivalent to
+     * a serialization round trip so that the receiver cannot change the data of the sender.
+     *
+     * @return isolated copy of this event
+     */
+    @SuppressWarnings("unchecked")
+    public EventEnvelope isolatedCopy() {
+        var event = new EventEnvelope(this.id);
+        event.to = this.to;
+        event.from = this.from;
+        event.replyTo = this.replyTo;
+        event.traceId = this.traceId;
+        event.tracePath = this.tracePath;
+        event.cid = this.cid;
+        event.type = this.type;
+        event.status = this.status;
+        event.body = msgPack.copy(this.body);
+        event.exceptionBytes = this.exceptionBytes;
+        event.stackTrace = this.stackTrace;
+        event.executionTime = this.executionTime;
+        event.roundTrip = this.roundTrip;
+        event.headers.putAll(this.headers);
+        event.tags.putAll(this.tags);
+        if (!this.annotations.isEmpty()) {
+            event.annotations.putAll((Map<String, Object>) msgPack.copy(this.annotations));
+        }
+        return event;
+    }
+
     /**
      * DeSerialize the EventEnvelope from a byte array
      *
@@ -823,59 +862,72 @@ public class EventEnvelope {
      * @throws IOException in case of encoding errors
      */
     public byte[] toBytes() throws IOException {
-        Map<String, Object> message = new HashMap<>();
-        if (id != null) {
-            message.put(ID_FLAG, id);
-        }
-        if (to != null) {
-            message.put(TO_FLAG, to);
-        }
-        if (from != null) {
-            message.put(FROM_FLAG, from);
-        }
-        if (replyTo != null) {
-            message.put(REPLY_TO_FLAG, replyTo);
-        }
-        if (traceId != null) {
-            message.put(TRACE_ID_FLAG, traceId);
-        }
-        if (tracePath != null) {
-            message.put(TRACE_PATH_FLAG, tracePath);
-        }
-        if (cid != null) {
-            message.put(CID_FLAG, cid);
-        }
-        if (status != null) {
-            message.put(STATUS_FLAG, status);
+        // write the fields directly to avoid creating an intermediate map
+        int n = countFields();
+        try (MessageBufferPacker packer = MessagePack.newDefaultBufferPacker()) {
+            packer.packMapHeader(n);
+            packString(packer, ID_FLAG, id);
+            packString(packer, TO_FLAG, to);
+            packString(packer, FROM_FLAG, from);
+            packString(packer, REPLY_TO_FLAG, replyTo);
+            packString(packer, TRACE_ID_FLAG, traceId);
+            packString(packer, TRACE_PATH_FLAG, tracePath);
+            packString(packer, CID_FLAG, cid);
+            if (status != null) {
+                packer.packString(STATUS_FLAG).packInt(status);
+            }
+            if (!headers.isEmpty()) {
+                msgPack.pack(packer.packString(HEADERS_FLAG), headers);
+            }
+            if (!tags.isEmpty()) {
+                msgPack.pack(packer.packString(TAG_FLAG), tags);
+            }
+            if (!annotations.isEmpty()) {
+                msgPack.pack(packer.packString(ANNOTATION_FLAG), annotations);
+            }
+            if (body != null) {
+                msgPack.pack(packer.packString(BODY_FLAG), body);
+            }
+            if (exceptionBytes != null) {
+                packer.packString(EXCEPTION_FLAG).packBinaryHeader(exceptionBytes.length);
+                packer.writePayload(exceptionBytes);
+            }
+            packString(packer, STACK_FLAG, stackTrace);
+            packString(packer, OBJ_TYPE_FLAG, type);
+            if (executionTime != null) {
+                packer.packString(EXECUTION_FLAG).packFloat(executionTime);
+            }
+            if (roundTrip != null) {
+                packer.packString(ROUND_TRIP_FLAG).packFloat(roundTrip);
+            }
+            return packer.toByteArray();
         }
+    }
+
+    private int countFields() {
+        int n = count(id) + count(to) + count(from) + count(replyTo) + count(traceId) + count(tracePath) +
+                count(cid) + count(status) + count(body) + count(exceptionBytes) + count(stackTrace) +
+                count(type) + count(executionTime) + count(roundTrip);
         if (!headers.isEmpty()) {
-            message.put(HEADERS_FLAG, headers);
+            n++;
         }
         if (!tags.isEmpty()) {
-            message.put(TAG_FLAG, tags);
+            n++;
         }
         if (!annotations.isEmpty()) {
-            message.put(ANNOTATION_FLAG, annotations);
+            n++;
         }
-        if (body != null) {
-            message.put(BODY_FLAG, body);
-        }
-        if (exceptionBytes != null) {
-            message.put(EXCEPTION_FLAG, exceptionBytes);
-        }
-        if (stackTrace != null) {
-            message.put(STACK_FLAG, stackTrace);
-        }
-        if (type != null) {
-            message.put(OBJ_TYPE_FLAG, type);
-        }
-        if (executionTime != null) {
-            message.put(EXECUTION_FLAG, executionTime);
-        }
-        if (roundTrip != null) {
-            message.put(ROUND_TRIP_FLAG, roundTrip);
+        return n;
+    }
+
+    private int count(Object o) {
+        return o == null? 0 : 1;
+    }
+
+    private void packString(MessagePacker packer, String key, String value) throws IOException {
+        if (value != null) {
+            packer.packString(key).packString(value);
         }
-        return msgPack.pack(message);
     }
 
     @SuppressWarnings("unchecked")
@@ -19,7 +19,8 @@
 package org.platformlambda.core.models;
 
 import org.platformlambda.core.system.EventEmitter;
-import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.MetricsRegistry;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
 
 import java.util.Date;
@@ -43,7 +44,7 @@ public class FutureInbox extends InboxBase {
     private final String originalCid;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
+    private final TimingWheel.Timeout timer;
 
     public FutureInbox(String to, EventEnvelope event, long timeout, boolean timeoutException) {
         this.timeoutException = timeoutException;
@@ -54,7 +55,7 @@ public class FutureInbox extends InboxBase {
         this.originalCid = event.getCorrelationId();
         this.timeout = Math.max(100, timeout);
         inboxes.put(cid, this);
-        this.timer = Platform.getInstance().getVertx().setTimer(timeout, t -> abort(this.cid));
+        this.timer = timingWheel.schedule(timeout, () -> abort(cid));
     }
 
     public Future<EventEnvelope> getFuture() {
@@ -65,12 +66,15 @@ public class FutureInbox extends InboxBase {
         FutureInbox holder = (FutureInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
+            MetricsRegistry.getInstance().recordTimeout(to);
             String error = "Timeout for " + holder.timeout + " ms";
-            if (timeoutException) {
-                future.completeExceptionally(new TimeoutException(error));
-            } else {
-                future.complete(new EventEnvelope().setStatus(408).setBody(error));
-            }
+            executor.submit(() -> {
+                if (timeoutException) {
+                    future.completeExceptionally(new TimeoutException(error));
+                } else {
+                    future.complete(new EventEnvelope().setStatus(408).setBody(error));
+                }
+            });
         }
     }
 
@@ -90,7 +94,7 @@ public class FutureInbox extends InboxBase {
         FutureInbox holder = (FutureInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
-            Platform.getInstance().getVertx().cancelTimer(timer);
+            timer.cancel();
             float diff = (float) (System.nanoTime() - holder.begin) / EventEmitter.ONE_MILLISECOND;
             reply.setRoundTrip(diff);
             // remove some metadata that are not relevant for a RPC response
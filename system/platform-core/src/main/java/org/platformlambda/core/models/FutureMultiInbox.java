@@ -19,7 +19,8 @@
 package org.platformlambda.core.models;
 
 import org.platformlambda.core.system.EventEmitter;
-import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.MetricsRegistry;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
 
 import java.util.*;
@@ -32,7 +33,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class FutureMultiInbox extends InboxBase {
     private final AtomicInteger total = new AtomicInteger(1);
-    private final Map<String, InboxCorrelation> correlations = new HashMap<>();
+    private final Map<String, InboxCorrelation> correlations = new ConcurrentHashMap<>();
     private final String start = Utility.getInstance().date2str(new Date());
     private final long begin = System.nanoTime();
     private final CompletableFuture<List<EventEnvelope>> future = new CompletableFuture<>();
@@ -41,12 +42,11 @@ public class FutureMultiInbox extends InboxBase {
     private final String from;
     private final long timeout;
     private final boolean timeoutException;
-    private final long timer;
+    private final TimingWheel.Timeout timer;
     private final ConcurrentMap<String, EventEnvelope> replies = new ConcurrentHashMap<>();
 
     public FutureMultiInbox(int n, String from, String traceId, String tracePath, long timeout,
                            boolean timeoutException) {
-        final Platform platform = Platform.getInstance();
         this.timeoutException = timeoutException;
         this.from = from == null? "unknown" : from;
         this.traceId = traceId;
@@ -54,7 +54,7 @@ public class FutureMultiInbox extends InboxBase {
         this.total.set(Math.max(1, n));
         this.timeout = Math.max(100, timeout);
         inboxes.put(cid, this);
-        timer = platform.getVertx().setTimer(timeout, t -> abort(cid));
+        this.timer = timingWheel.schedule(timeout, () -> abort(cid));
     }
 
     public void setCorrelation(String sequencedCid, InboxCorrelation correlation) {
@@ -69,15 +69,21 @@ public class FutureMultiInbox extends InboxBase {
         FutureMultiInbox holder = (FutureMultiInbox) inboxes.get(inboxId);
         if (holder != null) {
             holder.close();
-            if (timeoutException) {
-                future.completeExceptionally(new TimeoutException("Timeout for " + holder.timeout + " ms"));
-            } else {
-                List<EventEnvelope> result = new ArrayList<>();
-                for (Map.Entry<String, EventEnvelope> kv: replies.entrySet()) {
-                    result.add(kv.getValue());
-                }
-                future.complete(result);
+            // the remaining correlations are the requests that have timed out
+            for (InboxCorrelation correlation: holder.correlations.values()) {
+                MetricsRegistry.getInstance().recordTimeout(correlation.to);
             }
+            executor.submit(() -> {
+                if (timeoutException) {
+                    future.completeExceptionally(new TimeoutException("Timeout for " + holder.timeout + " ms"));
+                } else {
+                    List<EventEnvelope> result = new ArrayList<>();
+                    for (Map.Entry<String, EventEnvelope> kv: replies.entrySet()) {
+                        result.add(kv.getValue());
+                    }
+                    future.complete(result);
+                }
+            });
         }
     }
 
@@ -100,7 +106,7 @@ public class FutureMultiInbox extends InboxBase {
             reply.removeTag(RPC).setTo(null).setReplyTo(null).setTrace(null, null);
             var annotations = new HashMap<>(reply.getAnnotations());
             reply.clearAnnotations();
-            InboxCorrelation correlation = holder.correlations.get(sequencedCid);
+            InboxCorrelation correlation = holder.correlations.remove(sequencedCid);
             if (correlation != null) {
                 // restore original correlation ID
                 replies.put(reply.getId(), reply.setCorrelationId(correlation.cid));
@@ -110,7 +116,7 @@ public class FutureMultiInbox extends InboxBase {
                         result.add(kv.getValue());
                     }
                     holder.close();
-                    Platform.getInstance().getVertx().cancelTimer(timer);
+                    timer.cancel();
                     future.complete(result);
                 }
                 if (correlation.to != null && holder.traceId != null && holder.tracePath != null) {
@@ -18,14 +18,11 @@
 
 package org.platformlambda.core.models;
 
-import org.platformlambda.core.services.DistributedTrace;
-import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.TraceCollector;
+import org.platformlambda.core.util.TimingWheel;
 import org.platformlambda.core.util.Utility;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,15 +34,16 @@ import java.util.concurrent.ExecutorService;
  * DO NOT use this directly in your application code.
  */
 public abstract class InboxBase {
-    private static final Logger log = LoggerFactory.getLogger(InboxBase.class);
     protected static final ExecutorService executor = Platform.getInstance().getVirtualThreadExecutor();
     protected static final ConcurrentMap<String, InboxBase> inboxes = new ConcurrentHashMap<>();
+    protected static final TimingWheel timingWheel = TimingWheel.getInstance();
+    private static final TraceCollector collector = TraceCollector.getInstance();
     protected static final String RPC = "rpc";
     protected static final String ANNOTATIONS = "annotations";
     private static final String ASYNC_HTTP_CLIENT = "async.http.request";
     private static final List<String> ZERO_TRACING_FILTER = List.of(ASYNC_HTTP_CLIENT);
 
-    public final String cid = Utility.getInstance().getUuid();
+    public final String cid = Utility.getInstance().getId();
 
     public static InboxBase getHolder(String inboxId) {
         return inboxes.get(inboxId);
@@ -73,37 +71,12 @@ public abstract class InboxBase {
                                   int status, Object error, float execTime, float roundTrip,
                                   Map<String, Object> annotations) {
         var service = trimOrigin(to);
-        if (!ZERO_TRACING_FILTER.contains(service)) {
-            try {
-                Map<String, Object> payload = new HashMap<>();
-                Map<String, Object> metrics = new HashMap<>();
-                metrics.put("origin", Platform.getInstance().getOrigin());
-                metrics.put("id", traceId);
-                metrics.put("service", service);
-                if (from != null) {
-                    metrics.put("from", trimOrigin(from));
-                }
-                metrics.put("exec_time", execTime);
-                metrics.put("round_trip", roundTrip);
-                metrics.put("start", start);
-                metrics.put("path", tracePath);
-                payload.put("trace", metrics);
-                if (!annotations.isEmpty()) {
-                    payload.put(ANNOTATIONS, annotations);
-                }
-                metrics.put("status", status);
-                if (status >= 400) {
-                    metrics.put("success", false);
-                    // for data privacy, only shown error message from recognized standard error dataset format
-                    metrics.put("exception", error instanceof String message? message : "***");
-                } else {
-                    metrics.put("success", true);
-                }
-                EventEnvelope dt = new EventEnvelope().setTo(DistributedTrace.DISTRIBUTED_TRACING);
-                EventEmitter.getInstance().send(dt.setBody(payload));
-            } catch (Exception e) {
-                log.error("Unable to send to {}", DistributedTrace.DISTRIBUTED_TRACING, e);
-            }
+        if (!ZERO_TRACING_FILTER.contains(service) &&
+                collector.isSampled(service, traceId, status >= 400, roundTrip)) {
+            // for data privacy, only shown error message from recognized standard error dataset format
+            String exception = status >= 400? (error instanceof String message? message : "***") : null;
+            collector.record(traceId, tracePath, service, from == null? null : trimOrigin(from), start,
+                            status, status < 400, exception, execTime, roundTrip, annotations, null);
         }
     }
 
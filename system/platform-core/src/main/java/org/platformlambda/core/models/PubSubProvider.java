@@ -19,6 +19,7 @@
 package org.platformlambda.core.models;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -65,4 +66,13 @@ public interface PubSubProvider {
 
     void cleanup();
 
+    /**
+     * Delivery metrics of the provider, if any
+     *
+     * @return metrics or an empty map if the provider does not keep delivery metrics
+     */
+    default Map<String, Object> getMetrics() {
+        return Collections.emptyMap();
+    }
+
 }
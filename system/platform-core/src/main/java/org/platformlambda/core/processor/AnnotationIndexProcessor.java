@@ -0,0 +1,137 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Build-time index of annotated classes
+ * <p>
+ * This annotation processor writes the class names of the annotations that the platform looks up
+ * at startup into "META-INF/platform-lambda/annotation.index" of the compiled output so that
+ * SimpleClassScanner does not need to scan the classpath at runtime.
+ * <p>
+ * To enable the index for a module, add this processor to the java compiler configuration. e.g.
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *     &lt;annotationProcessor&gt;org.platformlambda.core.processor.AnnotationIndexProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ * Since a java annotation processor does not see Kotlin source files, do not enable it for a module
+ * that contains annotated Kotlin classes unless the processor is also configured for kapt.
+ */
+@SupportedAnnotationTypes({
+        "org.platformlambda.core.annotations.PreLoad",
+        "org.platformlambda.core.annotations.MainApplication",
+        "org.platformlambda.core.annotations.BeforeApplication",
+        "org.platformlambda.core.annotations.WebSocketService",
+        "org.platformlambda.core.annotations.CloudConnector",
+        "org.platformlambda.core.annotations.CloudService",
+        "jakarta.servlet.annotation.WebServlet",
+        "jakarta.servlet.annotation.WebFilter",
+        "jakarta.servlet.annotation.WebListener"})
+public class AnnotationIndexProcessor extends AbstractProcessor {
+    public static final String ANNOTATION_INDEX = "META-INF/platform-lambda/annotation.index";
+    private static final String COMMENT = "#";
+    private final Map<String, Set<String>> index = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!index.isEmpty()) {
+                writeIndex();
+            }
+        } else {
+            for (TypeElement annotation : annotations) {
+                String name = annotation.getQualifiedName().toString();
+                for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                    if (element.getKind().isClass() && element instanceof TypeElement type) {
+                        String cls = processingEnv.getElementUtils().getBinaryName(type).toString();
+                        index.computeIfAbsent(name, k -> new TreeSet<>()).add(cls);
+                    }
+                }
+            }
+        }
+        // do not claim the annotations so that other processors can use them
+        return false;
+    }
+
+    private void writeIndex() {
+        // an incremental build compiles only the changed classes so the previous index is merged
+        readExistingIndex();
+        try {
+            FileObject file = processingEnv.getFiler()
+                                .createResource(StandardLocation.CLASS_OUTPUT, "", ANNOTATION_INDEX);
+            try (Writer out = file.openWriter()) {
+                out.write(COMMENT + " annotation class\n");
+                for (Map.Entry<String, Set<String>> kv : index.entrySet()) {
+                    for (String cls : kv.getValue()) {
+                        out.write(kv.getKey() + " " + cls + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                "Unable to write " + ANNOTATION_INDEX + " - " + e.getMessage());
+        }
+    }
+
+    private void readExistingIndex() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                                .getResource(StandardLocation.CLASS_OUTPUT, "", ANNOTATION_INDEX);
+            try (BufferedReader in = new BufferedReader(
+                    new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String text = line.trim();
+                    int sep = text.indexOf(' ');
+                    if (!text.startsWith(COMMENT) && sep > 0) {
+                        index.computeIfAbsent(text.substring(0, sep), k -> new TreeSet<>())
+                                .add(text.substring(sep + 1).trim());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // no previous index
+        }
+    }
+}
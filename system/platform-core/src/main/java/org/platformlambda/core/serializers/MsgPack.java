@@ -35,6 +35,7 @@ public class MsgPack {
     private static final Utility util = Utility.getInstance();
     private static final PayloadMapper converter = PayloadMapper.getInstance();
     private static final SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+    private static final PoJoCodec codec = PoJoCodec.getInstance();
 
     private static final String DATA = "_D";
     private static final String TYPE = "_T";
@@ -211,8 +212,135 @@ public class MsgPack {
         }
     }
 
+    /**
+     * Make an isolated copy of a data structure.
+     * <p>
+     * The result is the same as unpack(pack(obj)) for a Map or List without creating the intermediate
+     * byte array. i.e. null values in a map are dropped, PoJo and Date objects are converted and
+     * small integers are returned as Integer.
+     *
+     * @param obj - Map, List or Java primitive
+     * @return copy of the data structure
+     */
+    public Object copy(Object obj) {
+        return copyValue(obj);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Object copyValue(Object o) {
+        switch (o) {
+            case null -> {
+                return null;
+            }
+            case Map map -> {
+                Map<String, Object> result = new HashMap<>();
+                for (Object entry : map.entrySet()) {
+                    Map.Entry kv = (Map.Entry) entry;
+                    // ignore null value
+                    Object value = kv.getValue();
+                    if (value != null) {
+                        Object k = kv.getKey();
+                        result.put(k instanceof String str ? str : String.valueOf(k), copyValue(value));
+                    }
+                }
+                return result;
+            }
+            case Collection list -> {
+                List<Object> result = new ArrayList<>(list.size());
+                for (Object l : list) {
+                    result.add(copyValue(l));
+                }
+                return result;
+            }
+            case Object[] objects -> {
+                List<Object> result = new ArrayList<>(objects.length);
+                for (Object l : objects) {
+                    result.add(copyValue(l));
+                }
+                return result;
+            }
+            case String str -> {
+                return str;
+            }
+            case Short s -> {
+                return (int) s;
+            }
+            case Byte b -> {
+                return (int) b;
+            }
+            case Integer i -> {
+                return i;
+            }
+            case AtomicInteger aInt -> {
+                return aInt.get();
+            }
+            case Long l -> {
+                return copyLong(l);
+            }
+            case AtomicLong aLong -> {
+                return copyLong(aLong.get());
+            }
+            case Float f -> {
+                return f;
+            }
+            case Double d -> {
+                return d;
+            }
+            case BigInteger bInt -> {
+                return bInt.toString();
+            }
+            case BigDecimal bDecimal -> {
+                return bDecimal.toPlainString();
+            }
+            case Boolean bb -> {
+                return bb;
+            }
+            case byte[] b -> {
+                return b.clone();
+            }
+            case Date d -> {
+                return util.date2str(d);
+            }
+            default -> {
+                if (util.isPoJo(o)) {
+                    Map<String, Object> map = codec.toMap(o);
+                    if (map != null) {
+                        return copyValue(map);
+                    }
+                    try {
+                        return copyValue(mapper.readValue(o, Map.class));
+                    } catch (Exception e) {
+                        return String.valueOf(o);
+                    }
+                } else {
+                    return String.valueOf(o);
+                }
+            }
+        }
+    }
+
+    private Object copyLong(long n) {
+        // best effort type matching
+        if (n > Integer.MAX_VALUE || n < Integer.MIN_VALUE) {
+            return n;
+        } else {
+            return (int) n;
+        }
+    }
+
+    /**
+     * Pack an object into a MessagePacker.
+     * <p>
+     * This allows a caller to write a data structure directly without creating an intermediate map.
+     * The encoding is the same as the pack(obj) method.
+     *
+     * @param packer for MsgPack output
+     * @param o - Map, List, Java primitive or PoJo
+     * @return packer
+     * @throws IOException in case of encoding error
+     */
     @SuppressWarnings({ "unchecked", "rawtypes" })
-    private MessagePacker pack(MessagePacker packer, Object o) throws IOException {
+    public MessagePacker pack(MessagePacker packer, Object o) throws IOException {
         switch (o) {
             case null ->
                 // preserving null element in an array list
@@ -278,7 +406,10 @@ public class MsgPack {
                 packer.packString(util.date2str(d));
             default -> {
                 // handle pojo inside data structure
-                if (util.isPoJo(o)) {
+                if (codec.isSupported(o)) {
+                    // write the fields directly without converting the PoJo into a map
+                    codec.pack(packer, o);
+                } else if (util.isPoJo(o)) {
                     try {
                         var value = mapper.readValue(o, Map.class);
                         pack(packer, value);
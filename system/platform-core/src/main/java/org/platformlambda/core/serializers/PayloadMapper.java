@@ -77,7 +77,7 @@ public class PayloadMapper {
                     total++;
                     cls.add(o.getClass().getName());
                     if (binary) {
-                        list.add(mapper.readValue(o, Map.class));
+                        list.add(toMap(mapper, o));
                     } else {
                         list.add(mapper.writeValueAsBytes(o));
                     }
@@ -96,12 +96,19 @@ public class PayloadMapper {
     private TypedPayload getTypedPayload(Object obj, boolean binary) {
         SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
         if (binary) {
-            return new TypedPayload(obj.getClass().getName(), mapper.readValue(obj, Map.class));
+            return new TypedPayload(obj.getClass().getName(), toMap(mapper, obj));
         } else {
             return new TypedPayload(obj.getClass().getName(), mapper.writeValueAsBytes(obj));
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toMap(SimpleObjectMapper mapper, Object obj) {
+        // the cached PoJo codec avoids the JSON tree of the Gson serializer
+        Map<String, Object> map = PoJoCodec.getInstance().toMap(obj);
+        return map != null? map : mapper.readValue(obj, Map.class);
+    }
+
     public Object decode(TypedPayload typed) {
         return typed.getPayload();
     }
@@ -0,0 +1,509 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.serializers;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import org.msgpack.core.MessagePacker;
+import org.platformlambda.core.util.Utility;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Field-by-field serializer for PoJo with a cached codec per class
+ * <p>
+ * The result is the same as mapper.readValue(pojo, Map.class) of the default object mapper
+ * without going through a JSON tree. i.e. null fields are dropped, whole numbers become Long,
+ * float and double become Double, Date becomes an ISO-8601 string and field names follow
+ * the snake.case.serialization setting and the SerializedName annotation.
+ * <p>
+ * When a PoJo contains a type that the codec does not handle (e.g. a field with a custom
+ * type adapter), the caller should fall back to the Gson serializer.
+ * <p>
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ */
+public class PoJoCodec {
+    private static final Utility util = Utility.getInstance();
+    private static final int MAX_DEPTH = 64;
+    private static final ClassCodec UNSUPPORTED = new ClassCodec(new FieldCodec[0]);
+    private static final ConcurrentMap<Class<?>, ClassCodec> codecs = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, Map<Object, String>> enums = new ConcurrentHashMap<>();
+    private static final PoJoCodec instance = new PoJoCodec();
+    private final boolean snake;
+
+    private PoJoCodec() {
+        this.snake = SimpleMapper.getInstance().isSnakeCase();
+    }
+
+    public static PoJoCodec getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check if a PoJo and everything inside it can be handled by this codec
+     *
+     * @param pojo object
+     * @return true if supported
+     */
+    public boolean isSupported(Object pojo) {
+        return pojo != null && isSupportedPoJo(pojo, 0);
+    }
+
+    /**
+     * Convert a PoJo into a map
+     *
+     * @param pojo object
+     * @return map or null if the PoJo is not supported
+     */
+    public Map<String, Object> toMap(Object pojo) {
+        return isSupported(pojo)? getCodec(pojo.getClass()).toMap(pojo) : null;
+    }
+
+    /**
+     * Write a PoJo as a map to a MessagePacker
+     * <p>
+     * The caller must check that the PoJo is supported before calling this method.
+     *
+     * @param packer for MsgPack output
+     * @param pojo object
+     * @throws IOException in case of encoding error
+     */
+    public void pack(MessagePacker packer, Object pojo) throws IOException {
+        getCodec(pojo.getClass()).pack(packer, pojo);
+    }
+
+    private ClassCodec getCodec(Class<?> cls) {
+        ClassCodec codec = codecs.get(cls);
+        if (codec == null) {
+            codec = createCodec(cls);
+            codecs.put(cls, codec);
+        }
+        return codec;
+    }
+
+    private ClassCodec createCodec(Class<?> cls) {
+        if (cls.isAnonymousClass() || cls.isLocalClass() || cls.isRecord() || cls.isEnum() ||
+                cls.isArray() || cls.isInterface()) {
+            return UNSUPPORTED;
+        }
+        List<FieldCodec> fields = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        // Gson lists the fields of a subclass before those of its parent
+        Class<?> c = cls;
+        while (c != null && c != Object.class) {
+            if (isPlatformClass(c) || c.isAnnotationPresent(JsonAdapter.class)) {
+                return UNSUPPORTED;
+            }
+            for (Field f : c.getDeclaredFields()) {
+                int modifiers = f.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || f.isSynthetic()) {
+                    continue;
+                }
+                Class<?> type = f.getType();
+                if (f.isAnnotationPresent(JsonAdapter.class) || type.isAnonymousClass() || type.isLocalClass()) {
+                    return UNSUPPORTED;
+                }
+                SerializedName alias = f.getAnnotation(SerializedName.class);
+                String name = alias != null? alias.value() : getFieldName(f.getName());
+                if (!names.add(name)) {
+                    return UNSUPPORTED;
+                }
+                try {
+                    f.setAccessible(true);
+                } catch (RuntimeException e) {
+                    return UNSUPPORTED;
+                }
+                fields.add(new FieldCodec(name, f));
+            }
+            c = c.getSuperclass();
+        }
+        return new ClassCodec(fields.toArray(new FieldCodec[0]));
+    }
+
+    private boolean isPlatformClass(Class<?> cls) {
+        String name = cls.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("kotlin.");
+    }
+
+    private String getFieldName(String name) {
+        if (!snake) {
+            return name;
+        }
+        // same as Gson's LOWER_CASE_WITH_UNDERSCORES naming policy
+        StringBuilder sb = new StringBuilder();
+        for (int i=0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c) && !sb.isEmpty()) {
+                sb.append('_');
+            }
+            sb.append(c);
+        }
+        return sb.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+    private String getEnumName(Enum<?> e) {
+        Class<?> cls = e.getDeclaringClass();
+        Map<Object, String> names = enums.get(cls);
+        if (names == null) {
+            names = new HashMap<>();
+            for (Object constant : cls.getEnumConstants()) {
+                String name = ((Enum<?>) constant).name();
+                try {
+                    SerializedName alias = cls.getField(name).getAnnotation(SerializedName.class);
+                    names.put(constant, alias != null? alias.value() : name);
+                } catch (NoSuchFieldException ex) {
+                    names.put(constant, name);
+                }
+            }
+            enums.put(cls, names);
+        }
+        return names.get(e);
+    }
+
+    private static Double toDouble(Float f) {
+        // Gson writes a float using its string representation
+        return Double.parseDouble(f.toString());
+    }
+
+    private String toPlainString(BigDecimal number) {
+        String result = number.toPlainString();
+        return SimpleMapper.getInstance().isZero(result)? "0" : result;
+    }
+
+    private boolean isSupportedPoJo(Object pojo, int depth) {
+        if (depth > MAX_DEPTH || !util.isPoJo(pojo)) {
+            return false;
+        }
+        ClassCodec codec = getCodec(pojo.getClass());
+        if (codec == UNSUPPORTED) {
+            return false;
+        }
+        try {
+            for (FieldCodec f : codec.fields) {
+                if (!isSupportedValue(f.field.get(pojo), depth + 1)) {
+                    return false;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private boolean isSupportedValue(Object o, int depth) {
+        switch (o) {
+            case null -> {
+                return true;
+            }
+            case String ignored -> {
+                return true;
+            }
+            case Boolean ignored -> {
+                return true;
+            }
+            case Character ignored -> {
+                return true;
+            }
+            case Integer ignored -> {
+                return true;
+            }
+            case Long ignored -> {
+                return true;
+            }
+            case Short ignored -> {
+                return true;
+            }
+            case Byte ignored -> {
+                return true;
+            }
+            case AtomicInteger ignored -> {
+                return true;
+            }
+            case AtomicLong ignored -> {
+                return true;
+            }
+            case BigInteger ignored -> {
+                return true;
+            }
+            case BigDecimal ignored -> {
+                return true;
+            }
+            case Float f -> {
+                // Gson rejects NaN and infinity
+                return Float.isFinite(f);
+            }
+            case Double d -> {
+                return Double.isFinite(d);
+            }
+            case Enum ignored -> {
+                return true;
+            }
+            case Map map -> {
+                if (depth > MAX_DEPTH) {
+                    return false;
+                }
+                for (Object v : map.values()) {
+                    if (!isSupportedValue(v, depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case Collection list -> {
+                if (depth > MAX_DEPTH) {
+                    return false;
+                }
+                for (Object v : list) {
+                    if (!isSupportedValue(v, depth + 1)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            default -> {
+                Class<?> cls = o.getClass();
+                if (cls == Date.class) {
+                    // subclasses of Date such as SQL timestamp have their own serializers
+                    return true;
+                }
+                if (cls.isArray()) {
+                    if (depth > MAX_DEPTH) {
+                        return false;
+                    }
+                    int len = Array.getLength(o);
+                    for (int i=0; i < len; i++) {
+                        if (!isSupportedValue(Array.get(o, i), depth + 1)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+                return isSupportedPoJo(o, depth);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Object toValue(Object o) {
+        switch (o) {
+            case null -> {
+                return null;
+            }
+            case String str -> {
+                return str;
+            }
+            case Boolean b -> {
+                return b;
+            }
+            case Character c -> {
+                return String.valueOf(c);
+            }
+            case Integer i -> {
+                return i.longValue();
+            }
+            case Long l -> {
+                return l;
+            }
+            case Short s -> {
+                return s.longValue();
+            }
+            case Byte b -> {
+                return b.longValue();
+            }
+            case AtomicInteger aInt -> {
+                return aInt.longValue();
+            }
+            case AtomicLong aLong -> {
+                return aLong.get();
+            }
+            case BigInteger bInt -> {
+                return bInt.toString();
+            }
+            case BigDecimal bDecimal -> {
+                return toPlainString(bDecimal);
+            }
+            case Float f -> {
+                return toDouble(f);
+            }
+            case Double d -> {
+                return d;
+            }
+            case Enum e -> {
+                return getEnumName(e);
+            }
+            case Map map -> {
+                Map<String, Object> result = new LinkedHashMap<>();
+                for (Object entry : map.entrySet()) {
+                    Map.Entry kv = (Map.Entry) entry;
+                    Object value = kv.getValue();
+                    if (value != null) {
+                        result.put(String.valueOf(kv.getKey()), toValue(value));
+                    }
+                }
+                return result;
+            }
+            case Collection list -> {
+                List<Object> result = new ArrayList<>(list.size());
+                for (Object v : list) {
+                    result.add(toValue(v));
+                }
+                return result;
+            }
+            default -> {
+                if (o instanceof Date d) {
+                    return util.date2str(d);
+                }
+                if (o.getClass().isArray()) {
+                    int len = Array.getLength(o);
+                    List<Object> result = new ArrayList<>(len);
+                    for (int i=0; i < len; i++) {
+                        result.add(toValue(Array.get(o, i)));
+                    }
+                    return result;
+                }
+                return getCodec(o.getClass()).toMap(o);
+            }
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void packValue(MessagePacker packer, Object o) throws IOException {
+        switch (o) {
+            case null -> packer.packNil();
+            case String str -> packer.packString(str);
+            case Boolean b -> packer.packBoolean(b);
+            case Character c -> packer.packString(String.valueOf(c));
+            case Integer i -> packer.packLong(i);
+            case Long l -> packer.packLong(l);
+            case Short s -> packer.packLong(s);
+            case Byte b -> packer.packLong(b);
+            case AtomicInteger aInt -> packer.packLong(aInt.get());
+            case AtomicLong aLong -> packer.packLong(aLong.get());
+            case BigInteger bInt -> packer.packString(bInt.toString());
+            case BigDecimal bDecimal -> packer.packString(toPlainString(bDecimal));
+            case Float f -> packer.packDouble(toDouble(f));
+            case Double d -> packer.packDouble(d);
+            case Enum e -> packer.packString(getEnumName(e));
+            case Map map -> {
+                int mapSize = 0;
+                for (Object v : map.values()) {
+                    if (v != null) {
+                        mapSize++;
+                    }
+                }
+                packer.packMapHeader(mapSize);
+                for (Object entry : map.entrySet()) {
+                    Map.Entry kv = (Map.Entry) entry;
+                    Object value = kv.getValue();
+                    if (value != null) {
+                        packer.packString(String.valueOf(kv.getKey()));
+                        packValue(packer, value);
+                    }
+                }
+            }
+            case Collection list -> {
+                packer.packArrayHeader(list.size());
+                for (Object v : list) {
+                    packValue(packer, v);
+                }
+            }
+            default -> {
+                if (o instanceof Date d) {
+                    packer.packString(util.date2str(d));
+                } else if (o.getClass().isArray()) {
+                    int len = Array.getLength(o);
+                    packer.packArrayHeader(len);
+                    for (int i=0; i < len; i++) {
+                        packValue(packer, Array.get(o, i));
+                    }
+                } else {
+                    getCodec(o.getClass()).pack(packer, o);
+                }
+            }
+        }
+    }
+
+    private static class FieldCodec {
+        private final String name;
+        private final Field field;
+
+        private FieldCodec(String name, Field field) {
+            this.name = name;
+            this.field = field;
+        }
+    }
+
+    private static class ClassCodec {
+        private final FieldCodec[] fields;
+
+        private ClassCodec(FieldCodec[] fields) {
+            this.fields = fields;
+        }
+
+        private Map<String, Object> toMap(Object pojo) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (FieldCodec f : fields) {
+                Object value = read(f, pojo);
+                if (value != null) {
+                    result.put(f.name, instance.toValue(value));
+                }
+            }
+            return result;
+        }
+
+        private void pack(MessagePacker packer, Object pojo) throws IOException {
+            Object[] values = new Object[fields.length];
+            int mapSize = 0;
+            for (int i=0; i < fields.length; i++) {
+                values[i] = read(fields[i], pojo);
+                if (values[i] != null) {
+                    mapSize++;
+                }
+            }
+            packer.packMapHeader(mapSize);
+            for (int i=0; i < fields.length; i++) {
+                if (values[i] != null) {
+                    packer.packString(fields[i].name);
+                    instance.packValue(packer, values[i]);
+                }
+            }
+        }
+
+        private Object read(FieldCodec f, Object pojo) {
+            try {
+                return f.field.get(pojo);
+            } catch (IllegalAccessException e) {
+                // this should not occur because the field has been checked by isSupported
+                return null;
+            }
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class SimpleMapper {
     private final SimpleObjectMapper camelMapper;
     private final Gson snakeGson;
     private final Gson camelGson;
+    private final boolean snake;
     private static final Gson compactGson = new GsonBuilder().disableHtmlEscaping()
                                             .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE).create();
     private static final Gson prettyGson = new GsonBuilder().disableHtmlEscaping().setPrettyPrinting()
@@ -46,7 +47,7 @@ public class SimpleMapper {
     private SimpleMapper() {
         // Camel or snake case
         AppConfigReader config = AppConfigReader.getInstance();
-        boolean snake = "true".equals(config.getProperty(SNAKE_CASE_SERIALIZATION, "true"));
+        this.snake = "true".equals(config.getProperty(SNAKE_CASE_SERIALIZATION, "true"));
         this.mapper = new SimpleObjectMapper(preconfigureGson(snake));
         this.snakeGson = preconfigureGson(true);
         this.camelGson = preconfigureGson(false);
@@ -138,6 +139,15 @@ public class SimpleMapper {
         return mapper;
     }
 
+    /**
+     * Check if the default object mapper uses snake_case
+     *
+     * @return true if snake_case
+     */
+    public boolean isSnakeCase() {
+        return snake;
+    }
+
     /**
      * Get snake_case object mapper
      * <p>
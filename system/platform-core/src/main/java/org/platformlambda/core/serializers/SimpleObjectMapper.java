@@ -22,7 +22,11 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.platformlambda.core.util.Utility;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public class SimpleObjectMapper {
@@ -46,7 +50,6 @@ public class SimpleObjectMapper {
         if (fromValue == null || toValueType == null) {
             return null;
         }
-        Utility util = Utility.getInstance();
         // return original map
         boolean outputIsMap = isMap(toValueType);
         if (outputIsMap) {
@@ -78,8 +81,8 @@ public class SimpleObjectMapper {
         }
         switch (fromValue) {
             case InputStream in -> {
-                // input stream is a JSON string
-                return readJsonString(util.stream2str(in), toValueType);
+                // decode the JSON bytes directly without creating an intermediate string
+                return readJsonStream(in, toValueType);
             }
             case String str -> {
                 // input is a JSON string
@@ -87,7 +90,7 @@ public class SimpleObjectMapper {
             }
             case byte[] b -> {
                 // input is a byte array of JSON
-                return readJsonString(util.getUTF(b), toValueType);
+                return readJsonStream(new ByteArrayInputStream(b), toValueType);
             }
             default -> {
                 if (isPrimitive(fromValue)) {
@@ -102,6 +105,15 @@ public class SimpleObjectMapper {
         return gson.fromJson(fromValue, toValueType);
     }
 
+    private <T> T readJsonStream(InputStream in, Class<T> toValueType) {
+        // the input stream is closed after decoding
+        try (InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, toValueType);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to close input stream - " + e.getMessage());
+        }
+    }
+
     private boolean isMap(Class<?> type) {
         return type.equals(HashMap.class) || type.equals(Map.class);
     }
@@ -115,7 +127,7 @@ public class SimpleObjectMapper {
             return gson.fromJson(gson.toJsonTree(fromValue),
                     TypeToken.getParameterized(toValueType, args).getType());
         } else if (fromValue instanceof byte[] b) {
-            return gson.fromJson(Utility.getInstance().getUTF(b),
+            return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(b), StandardCharsets.UTF_8),
                     TypeToken.getParameterized(toValueType, args).getType());
         } else {
             throw new IllegalArgumentException("Unable to restore to "+fromValue.getClass().getName()+
@@ -28,9 +28,11 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
     public static final String ROUTES_ACTUATOR_SERVICE = "routes.actuator.service";
     public static final String LIB_ACTUATOR = "lib.actuator.service";
     public static final String ENV_ACTUATOR = "env.actuator.service";
+    public static final String METRICS_ACTUATOR = "metrics.actuator.service";
     public static final String SERVICE_NAMES = ACTUATOR_SERVICES + "," + INFO_ACTUATOR + "," + ENV_ACTUATOR + "," +
                                                 ROUTES_ACTUATOR_SERVICE + "," + LIB_ACTUATOR + "," +
-                                                HEALTH_ACTUATOR + "," + LIVENESS_ACTUATOR;
+                                                HEALTH_ACTUATOR + "," + LIVENESS_ACTUATOR + "," +
+                                                METRICS_ACTUATOR;
     private static final Logger log = LoggerFactory.getLogger(ActuatorServices.class);
     private static final Utility util = Utility.getInstance();
     private static final SimpleCache cache = SimpleCache.createCache("health.info", 5000);
@@ -40,6 +42,9 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
     private static final String ROUTES = "routes";
     private static final String LIB = "lib";
     private static final String ENV = "env";
+    private static final String METRICS = "metrics";
+    private static final String TEXT_PLAIN = "text/plain";
+    private static final String OPEN_METRICS = "openmetrics";
     private static final String HEALTH = "health";
     private static final String HEALTH_STATUS = "health_status";
     private static final String LIVENESS_PROBE = "livenessprobe";
@@ -142,6 +147,9 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
             if (LIVENESS_ACTUATOR.equals(myRoute)) {
                 headers.put(TYPE, LIVENESS_PROBE);
             }
+            if (METRICS_ACTUATOR.equals(myRoute)) {
+                headers.put(TYPE, METRICS);
+            }
         }
         // for MinimalistHttpHandler, the request will come as an event directly
         var type = headers.get(TYPE);
@@ -160,6 +168,9 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
         if (HEALTH.equals(type)) {
             return handleHealth(headers);
         }
+        if (METRICS.equals(type)) {
+            return handleMetrics(headers);
+        }
         if (INFO.equals(type) || LIB.equals(type) || ROUTES.equals(type) || ENV.equals(type)) {
             return handleInfo(headers);
         }
@@ -242,6 +253,23 @@ public class ActuatorServices implements TypedLambdaFunction<EventEnvelope, Obje
         return new EventEnvelope().setHeader(CONTENT_TYPE, accept).setBody(result);
     }
 
+    private Object handleMetrics(Map<String, String> headers) {
+        var registry = MetricsRegistry.getInstance();
+        var acceptHeader = headers.getOrDefault(ACCEPT, "?");
+        // Prometheus scrapers ask for plain text or OpenMetrics
+        if (acceptHeader.contains(TEXT_PLAIN) || acceptHeader.contains(OPEN_METRICS)) {
+            return new EventEnvelope().setHeader(CONTENT_TYPE, TEXT_PLAIN).setBody(registry.toPrometheus());
+        }
+        var accept = acceptHeader.startsWith(APPLICATION_XML)? APPLICATION_XML : APPLICATION_JSON;
+        var platform = Platform.getInstance();
+        var result = new HashMap<String, Object>();
+        result.put(NAME, platform.getName());
+        result.put(ORIGIN, platform.getOrigin());
+        result.put(TIME, util.getLocalTimestamp(System.currentTimeMillis()));
+        result.put(ROUTES, registry.toMap());
+        return new EventEnvelope().setHeader(CONTENT_TYPE, accept).setBody(result);
+    }
+
     private Object getAdditionalInfo() throws IOException, ExecutionException, InterruptedException {
         if (Platform.getInstance().hasRoute(ADDITIONAL_INFO)) {
             var po = EventEmitter.getInstance();
@@ -24,10 +24,13 @@ import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.TypedLambdaFunction;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.TraceCollector;
+import org.platformlambda.core.util.AppConfigReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -52,34 +55,38 @@ public class DistributedTrace implements TypedLambdaFunction<EventEnvelope, Void
     private static final String FROM = "from";
     private static final String SERVICE = "service";
     private static final String ORIGIN_SUFFIX = "@" + Platform.getInstance().getOrigin();
+    private final boolean batchExport;
+
+    public DistributedTrace() {
+        this("true".equalsIgnoreCase(AppConfigReader.getInstance()
+                .getProperty("distributed.trace.export.batch", "false")));
+    }
+
+    /**
+     * Create the trace logger with the given export mode
+     *
+     * @param batchExport is true to relay the datasets of an event as a list
+     */
+    DistributedTrace(boolean batchExport) {
+        this.batchExport = batchExport;
+    }
 
     @SuppressWarnings("unchecked")
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope input, int instance) {
         if (input.getRawBody() instanceof Map) {
-            Platform platform = Platform.getInstance();
-            EventEmitter po = EventEmitter.getInstance();
             Map<String, Object> payload = (Map<String, Object>) input.getRawBody();
-            Map<String, Object> metrics = (Map<String, Object>) payload.getOrDefault(TRACE, Collections.emptyMap());
-            if (metrics.isEmpty()) {
-                return null;
-            }
-            String service = getPermittedRoute(metrics.get(SERVICE));
-            if (service == null) {
-                return null;
-            }
-            metrics.put(SERVICE, service);
-            Map<String, String> annotations = (Map<String, String>) payload.getOrDefault(ANNOTATIONS, Collections.emptyMap());
-            String from = (String) metrics.get(FROM);
-            if (from != null && from.contains("@")) {
-                metrics.put(FROM, trimOrigin(from));
-            }
-            var dataset = new HashMap<String, Object>();
-            dataset.put(TRACE, metrics);
-            if (!annotations.isEmpty()) {
-                dataset.put(ANNOTATIONS, annotations);
+            List<Map<String, Object>> traces = new ArrayList<>();
+            List<Map<String, Object>> journals = new ArrayList<>();
+            if (payload.get(TraceCollector.SPANS) instanceof List<?> spans) {
+                for (Object span : spans) {
+                    if (span instanceof Map) {
+                        process((Map<String, Object>) span, traces, journals);
+                    }
+                }
+            } else {
+                process(payload, traces, journals);
             }
-            log.info("{}", dataset);
             /*
              * Optionally, forward the perf metrics to a telemetry system.
              * You may implement a function with the "distributed.trace.forwarder" route name.
@@ -87,6 +94,9 @@ public class DistributedTrace implements TypedLambdaFunction<EventEnvelope, Void
              * If you have turned on request/response journaling for some services,
              * you may implement a function with the "transaction.journal.recorder" route name.
              *
+             * When "distributed.trace.export.batch" is true, each function receives a list of
+             * datasets in a single event instead of one event per dataset.
+             *
              * IMPORTANT
              * ---------
              * 1. journal data contains request and response payloads and may contain
@@ -97,27 +107,63 @@ public class DistributedTrace implements TypedLambdaFunction<EventEnvelope, Void
              * 2. distributed.trace.forwarder and/or transaction.journal.recorder must be bundled
              *    in the same application executable.
              */
-            if (platform.hasRoute(DISTRIBUTED_TRACE_FORWARDER)) {
-                try {
-                    po.send(new EventEnvelope().setTo(DISTRIBUTED_TRACE_FORWARDER).setBody(dataset));
-                } catch (IOException e) {
-                    log.warn("Unable to relay trace to {} - {}", DISTRIBUTED_TRACE_FORWARDER, e.getMessage());
-                }
+            Platform platform = Platform.getInstance();
+            if (!traces.isEmpty() && platform.hasRoute(DISTRIBUTED_TRACE_FORWARDER)) {
+                relay(DISTRIBUTED_TRACE_FORWARDER, traces);
             }
-            if (payload.containsKey(JOURNAL) && platform.hasRoute(TRANSACTION_JOURNAL_RECORDER)) {
-                EventEnvelope event = new EventEnvelope().setTo(TRANSACTION_JOURNAL_RECORDER);
-                var forward = new HashMap<>(dataset);
-                forward.put(JOURNAL, payload.get(JOURNAL));
-                try {
-                    po.send(event.setBody(forward));
-                } catch (IOException e) {
-                    log.warn("Unable to relay journal to {} - {}", TRANSACTION_JOURNAL_RECORDER, e.getMessage());
-                }
+            if (!journals.isEmpty() && platform.hasRoute(TRANSACTION_JOURNAL_RECORDER)) {
+                relay(TRANSACTION_JOURNAL_RECORDER, journals);
             }
         }
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private void process(Map<String, Object> payload,
+                         List<Map<String, Object>> traces, List<Map<String, Object>> journals) {
+        Map<String, Object> metrics = (Map<String, Object>) payload.getOrDefault(TRACE, Collections.emptyMap());
+        if (metrics.isEmpty()) {
+            return;
+        }
+        String service = getPermittedRoute(metrics.get(SERVICE));
+        if (service == null) {
+            return;
+        }
+        metrics.put(SERVICE, service);
+        Map<String, String> annotations = (Map<String, String>) payload.getOrDefault(ANNOTATIONS, Collections.emptyMap());
+        String from = (String) metrics.get(FROM);
+        if (from != null && from.contains("@")) {
+            metrics.put(FROM, trimOrigin(from));
+        }
+        var dataset = new HashMap<String, Object>();
+        dataset.put(TRACE, metrics);
+        if (!annotations.isEmpty()) {
+            dataset.put(ANNOTATIONS, annotations);
+        }
+        log.info("{}", dataset);
+        traces.add(dataset);
+        if (payload.containsKey(JOURNAL)) {
+            var forward = new HashMap<>(dataset);
+            forward.put(JOURNAL, payload.get(JOURNAL));
+            journals.add(forward);
+        }
+    }
+
+    private void relay(String route, List<Map<String, Object>> datasets) {
+        EventEmitter po = EventEmitter.getInstance();
+        try {
+            if (batchExport) {
+                po.send(new EventEnvelope().setTo(route).setBody(datasets));
+            } else {
+                for (Map<String, Object> dataset : datasets) {
+                    po.send(new EventEnvelope().setTo(route).setBody(dataset));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to relay to {} - {}", route, e.getMessage());
+        }
+    }
+
     private String getPermittedRoute(Object service) {
         if (service != null) {
             var route = String.valueOf(service);
@@ -18,12 +18,14 @@
 
 package org.platformlambda.core.services;
 
+import io.vertx.core.Future;
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.annotations.PreLoad;
 import org.platformlambda.core.annotations.ZeroTracing;
 import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.TypedLambdaFunction;
+import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.PostOffice;
@@ -32,9 +34,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This is reserved for system use.
@@ -54,10 +60,15 @@ public class EventApiService implements TypedLambdaFunction<EventEnvelope, Void>
     private static final String OCTET_STREAM = "application/octet-stream";
     private static final String X_TTL = "x-ttl";
     private static final String X_ASYNC = "X-Async";
+    private static final String X_EVENT_BATCH = "X-Event-Batch";
+    private static final String EVENT = "event";
+    private static final String TIMEOUT = "timeout";
     private static final String MISSING_ROUTING_PATH = "Missing routing path";
     private static final String PRIVATE_FUNCTION = " is private";
     private static final String ROUTE = "Route ";
     private static final String NOT_FOUND = " not found";
+    private static final String INVALID_BATCH = "Invalid event batch - must be a list of events";
+    private static final String INVALID_BATCH_ITEM = "Invalid event in batch - missing packed event";
 
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope input, int instance) throws IOException {
@@ -67,9 +78,14 @@ public class EventApiService implements TypedLambdaFunction<EventEnvelope, Void>
             Map<String, String> sessionInfo = request.getSessionInfo();
             long timeout = Math.max(1000, util.str2long(request.getHeader(X_TTL)));
             boolean async = "true".equals(request.getHeader(X_ASYNC));
+            boolean batch = "true".equals(request.getHeader(X_EVENT_BATCH));
             if (request.getBody() instanceof byte[] b) {
                 try {
-                    handleRequest(sessionInfo, headers, instance, b, input, timeout, async);
+                    if (batch) {
+                        handleBatch(sessionInfo, headers, instance, b, input, timeout);
+                    } else {
+                        handleRequest(sessionInfo, headers, instance, b, input, timeout, async);
+                    }
                 } catch (Exception e) {
                     sendError(input, 400, e.getMessage());
                 }
@@ -116,6 +132,127 @@ public class EventApiService implements TypedLambdaFunction<EventEnvelope, Void>
         }
     }
 
+    /**
+     * Handle a batch of events in a single HTTP request
+     * <p>
+     * The request body is a packed list of maps. Each map contains a packed event ("event"),
+     * an optional "async" flag for drop-n-forget and an optional "timeout" in milliseconds.
+     * The response body is a packed list of packed result events in the same order so that
+     * each event has its own status.
+     *
+     * @param sessionInfo from the authentication service if any
+     * @param headers of this function
+     * @param instance of this function
+     * @param requestBody packed list of events
+     * @param input HTTP request event
+     * @param timeout default RPC timeout
+     * @throws IOException in case the batch cannot be decoded
+     */
+    private void handleBatch(Map<String, String> sessionInfo, Map<String, String> headers, int instance,
+                             byte[] requestBody, EventEnvelope input, long timeout) throws IOException {
+        MsgPack msgPack = new MsgPack();
+        if (msgPack.unpack(requestBody) instanceof List<?> items) {
+            int n = items.size();
+            if (n == 0) {
+                sendBatchResponse(input, new AtomicReferenceArray<>(0));
+                return;
+            }
+            PostOffice po = new PostOffice(headers, instance);
+            AtomicReferenceArray<byte[]> results = new AtomicReferenceArray<>(n);
+            AtomicInteger remaining = new AtomicInteger(n);
+            for (int i=0; i < n; i++) {
+                final int index = i;
+                final Future<EventEnvelope> result;
+                if (items.get(i) instanceof Map<?, ?> item && item.get(EVENT) instanceof byte[] b) {
+                    boolean async = Boolean.TRUE.equals(item.get(ASYNC));
+                    long ttl = item.get(TIMEOUT) instanceof Number t? Math.max(1000, t.longValue()) : timeout;
+                    result = dispatch(sessionInfo, po, b, ttl, async);
+                } else {
+                    result = Future.succeededFuture(new EventEnvelope().setStatus(400).setBody(INVALID_BATCH_ITEM));
+                }
+                result.onSuccess(evt -> {
+                    try {
+                        results.set(index, evt.toBytes());
+                    } catch (IOException e) {
+                        log.error("Unable to encode batch result from {} - {}", evt.getFrom(), e.getMessage());
+                        results.set(index, new byte[0]);
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        sendBatchResponse(input, results);
+                    }
+                });
+            }
+        } else {
+            sendError(input, 400, INVALID_BATCH);
+        }
+    }
+
+    private Future<EventEnvelope> dispatch(Map<String, String> sessionInfo, PostOffice po,
+                                           byte[] b, long timeout, boolean async) {
+        final EventEnvelope request;
+        try {
+            request = new EventEnvelope(b);
+        } catch (IOException e) {
+            return Future.succeededFuture(new EventEnvelope().setStatus(400).setBody(e.getMessage()));
+        }
+        sessionInfo.forEach(request::setHeader);
+        if (request.getTo() == null) {
+            return Future.succeededFuture(new EventEnvelope().setStatus(400).setBody(MISSING_ROUTING_PATH));
+        }
+        if (!po.exists(request.getTo())) {
+            return Future.succeededFuture(new EventEnvelope().setStatus(404)
+                                            .setBody(ROUTE + request.getTo() + NOT_FOUND));
+        }
+        if (Platform.getInstance().isPrivate(request.getTo())) {
+            return Future.succeededFuture(new EventEnvelope().setStatus(403)
+                                            .setBody(request.getTo() + PRIVATE_FUNCTION));
+        }
+        try {
+            if (async) {
+                // Drop-n-forget
+                po.send(request);
+                Map<String, Object> ackBody = new HashMap<>();
+                ackBody.put(TYPE, ASYNC);
+                ackBody.put(DELIVERED, true);
+                ackBody.put(TIME, new Date());
+                return Future.succeededFuture(new EventEnvelope().setStatus(202).setBody(ackBody));
+            } else {
+                // RPC
+                return Future.future(promise -> {
+                    try {
+                        po.asyncRequest(request, timeout)
+                                .onSuccess(promise::complete)
+                                .onFailure(e -> promise.complete(new EventEnvelope()
+                                                                .setStatus(408).setBody(e.getMessage())));
+                    } catch (IOException | IllegalArgumentException e) {
+                        promise.complete(new EventEnvelope().setStatus(400).setBody(e.getMessage()));
+                    }
+                });
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            return Future.succeededFuture(new EventEnvelope().setStatus(400).setBody(e.getMessage()));
+        }
+    }
+
+    private void sendBatchResponse(EventEnvelope input, AtomicReferenceArray<byte[]> results) {
+        try {
+            List<byte[]> list = new ArrayList<>(results.length());
+            for (int i=0; i < results.length(); i++) {
+                list.add(results.get(i));
+            }
+            EventEnvelope response = new EventEnvelope().setTo(input.getReplyTo())
+                    .setFrom(EVENT_API_SERVICE)
+                    .setTrace(input.getTraceId(), input.getTracePath())
+                    .setCorrelationId(input.getCorrelationId())
+                    .setHeader(CONTENT_TYPE, OCTET_STREAM)
+                    .setBody(new MsgPack().pack(list));
+            EventEmitter.getInstance().send(response);
+        } catch (IOException e) {
+            log.error("Unable to send batch response {} -> {} - {}",
+                        EVENT_API_SERVICE, input.getReplyTo(), e.getMessage());
+        }
+    }
+
     private void sendResponse(EventEnvelope input, EventEnvelope result) {
         try {
             EventEnvelope response = new EventEnvelope().setTo(input.getReplyTo())
@@ -16,16 +16,31 @@ public class TemporaryInbox implements TypedLambdaFunction<EventEnvelope, Void>
 
     @Override
     public Void handleEvent(Map<String, String> headers, EventEnvelope input, int instance) throws Exception {
-        var compositeCid = input.getCorrelationId();
+        complete(input);
+        return null;
+    }
+
+    /**
+     * Complete the waiting inbox of a RPC call with the reply event.
+     * <p>
+     * This is used by the EventEmitter to hand over a reply to an inbox in the same application
+     * instance directly without going through the event loop of this function.
+     *
+     * @param reply event
+     * @return true if the inbox is found
+     */
+    public static boolean complete(EventEnvelope reply) {
+        var compositeCid = reply.getCorrelationId();
         if (compositeCid != null) {
             // for AsyncMultiInbox amd FutureMultiInbox, the compositeCid contains a cid and a sequence number
             var sep = compositeCid.lastIndexOf('-');
             var cid = sep == -1? compositeCid : compositeCid.substring(0, sep);
             var inbox = InboxBase.getHolder(cid);
             if (inbox != null) {
-                Platform.getInstance().getVirtualThreadExecutor().submit(() -> inbox.handleEvent(input));
+                Platform.getInstance().getVirtualThreadExecutor().submit(() -> inbox.handleEvent(reply));
+                return true;
             }
         }
-        return null;
+        return false;
     }
 }
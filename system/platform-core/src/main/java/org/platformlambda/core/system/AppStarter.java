@@ -18,7 +18,6 @@
 
 package org.platformlambda.core.system;
 
-import io.github.classgraph.ClassInfo;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
@@ -166,11 +165,11 @@ public class AppStarter {
         int n = 0;
         Map<String, Class<?>> steps = new HashMap<>();
         for (String p : packages) {
-            List<ClassInfo> services = scanner.getAnnotatedClasses(p, main?
+            List<String> services = scanner.getAnnotatedClassNames(p, main?
                                         MainApplication.class : BeforeApplication.class);
-            for (ClassInfo info : services) {
+            for (String className : services) {
                 try {
-                    Class<?> cls = Class.forName(info.getName());
+                    Class<?> cls = Class.forName(className);
                     if (Feature.isRequired(cls)) {
                         int seq = Math.max(0, getSequence(cls, main));
                         String key = util.zeroFill(seq, MAX_SEQ) + "." + util.zeroFill(++n, MAX_SEQ);
@@ -179,7 +178,7 @@ public class AppStarter {
                         log.info(SKIP_OPTIONAL + BEFORE_APP_PHASE, cls);
                     }
                 } catch (ClassNotFoundException e) {
-                    log.error(CLASS_NOT_FOUND + BEFORE_APP_PHASE, info.getName());
+                    log.error(CLASS_NOT_FOUND + BEFORE_APP_PHASE, className);
                 }
             }
         }
@@ -344,9 +343,8 @@ public class AppStarter {
         SimpleClassScanner scanner = SimpleClassScanner.getInstance();
         Set<String> packages = scanner.getPackages(true);
         for (String p : packages) {
-            List<ClassInfo> services = scanner.getAnnotatedClasses(p, PreLoad.class);
-            for (ClassInfo info : services) {
-                String serviceName = info.getName();
+            List<String> services = scanner.getAnnotatedClassNames(p, PreLoad.class);
+            for (String serviceName : services) {
                 log.info("Loading service {}", serviceName);
                 try {
                     Class<?> cls = Class.forName(serviceName);
@@ -457,10 +455,10 @@ public class AppStarter {
         final SimpleClassScanner scanner = SimpleClassScanner.getInstance();
         final Set<String> packages = scanner.getPackages(true);
         for (String p : packages) {
-            List<ClassInfo> services = scanner.getAnnotatedClasses(p, WebSocketService.class);
-            for (ClassInfo info : services) {
+            List<String> services = scanner.getAnnotatedClassNames(p, WebSocketService.class);
+            for (String className : services) {
                 try {
-                    Class<?> cls = Class.forName(info.getName());
+                    Class<?> cls = Class.forName(className);
                     if (Feature.isRequired(cls)) {
                         WebSocketService annotation = cls.getAnnotation(WebSocketService.class);
                         if (!annotation.value().isEmpty()) {
@@ -474,7 +472,7 @@ public class AppStarter {
                         log.info(SKIP_OPTIONAL + SERVER_STARTUP, cls);
                     }
                 } catch (ClassNotFoundException e) {
-                    log.error(CLASS_NOT_FOUND + SERVER_STARTUP, info.getName());
+                    log.error(CLASS_NOT_FOUND + SERVER_STARTUP, className);
                 }
             }
         }
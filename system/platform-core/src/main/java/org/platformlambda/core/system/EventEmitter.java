@@ -28,6 +28,8 @@ import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.ConfigReader;
 import org.platformlambda.core.util.Utility;
 import org.platformlambda.core.websocket.common.MultipartPayload;
+import org.platformlambda.core.websocket.server.WsEnvelope;
+import org.platformlambda.core.websocket.server.WsSessionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +51,7 @@ public class EventEmitter {
     private static final String MISSING_ROUTING_PATH = "Missing routing path";
     private static final String MISSING_EVENT = "Missing outgoing event";
     private static final long ASYNC_EVENT_HTTP_TIMEOUT = 60 * 1000L; // assume 60 seconds
+    private static final int DEFAULT_EVENT_HTTP_BATCH_SIZE = 100;
     private static final String TASK_EXECUTOR = "task.executor";
     private static final String EVENT_MANAGER = "event.script.manager";
     private static final String TYPE = "type";
@@ -84,6 +87,7 @@ public class EventEmitter {
     private boolean multicastEnabled = false;
     private boolean journalEnabled = false;
     private boolean eventHttpEnabled = false;
+    private final EventHttpBatcher eventHttpBatcher;
     private static final EventEmitter INSTANCE = new EventEmitter();
 
     private EventEmitter() {
@@ -129,6 +133,21 @@ public class EventEmitter {
 
             });
         }
+        // optional coalescing of event-over-http requests to the same target
+        Utility util = Utility.getInstance();
+        long linger = util.str2long(config.getProperty("event.http.batch.linger.ms", "0"));
+        int batchSize = util.str2int(config.getProperty("event.http.batch.size",
+                                        String.valueOf(DEFAULT_EVENT_HTTP_BATCH_SIZE)));
+        if (batchSize < 2) {
+            log.error("Invalid event.http.batch.size ({}) - default to {}", batchSize, DEFAULT_EVENT_HTTP_BATCH_SIZE);
+            batchSize = DEFAULT_EVENT_HTTP_BATCH_SIZE;
+        }
+        if (linger > 0) {
+            eventHttpBatcher = new EventHttpBatcher(linger, batchSize);
+            log.info("Event-over-http batching enabled - linger {} ms, up to {} events", linger, batchSize);
+        } else {
+            eventHttpBatcher = null;
+        }
         // load route substitution table if any
         if ("true".equals(config.getProperty(ROUTE_SUBSTITUTION_FEATURE, "false"))) {
             platform.getVirtualThreadExecutor().submit(this::loadRouteSubstitution);
@@ -670,15 +689,26 @@ public class EventEmitter {
         if (destination == null) {
             throw new IllegalArgumentException(MISSING_ROUTING_PATH);
         }
-        String to = substituteRouteIfAny(destination);
+        String path = substituteRouteIfAny(destination);
+        WsEnvelope session = WsSessionRegistry.getInstance().get(path);
+        if (session != null && path.equals(session.getTxPath())) {
+            // an outgoing message of a multiplexed websocket session is written in the event loop of the websocket
+            session.transmit(event.getHeaders(), event.getBody());
+            return;
+        }
+        // an event to the rxPath of a multiplexed websocket session is delivered to its dispatcher
+        String to = session == null? path : session.getDispatcher();
         event.setTo(to);
+        if (session != null) {
+            event.setHeader(WsEnvelope.ROUTE, session.getRxPath()).setHeader(WsEnvelope.TX_PATH, session.getTxPath());
+        }
         var targetHttp = event.getHeader(X_EVENT_API) == null? getEventHttpTarget(to) : null;
         if (targetHttp != null) {
             String callback = event.getReplyTo();
             String eventApiType = callback == null? "async" : "callback";
             event.setReplyTo(null);
             EventEnvelope forwardEvent = new EventEnvelope(event.toMap()).setHeader(X_EVENT_API, eventApiType);
-            Future<EventEnvelope> response = asyncRequest(forwardEvent, ASYNC_EVENT_HTTP_TIMEOUT,
+            Future<EventEnvelope> response = forwardEventOverHttp(forwardEvent, ASYNC_EVENT_HTTP_TIMEOUT,
                                                             getEventHttpHeaders(to), targetHttp, callback != null);
             response.onSuccess(evt -> {
                 if (callback != null) {
@@ -721,7 +751,8 @@ public class EventEmitter {
                         MultipartPayload.getInstance().outgoing(cloud.getManager(), event.setBroadcastLevel(3));
                     }
                 } else {
-                    system.send(target.getManager().getRoute(), event.setBroadcastLevel(3).toBytes());
+                    system.send(target.getManager().getRoute(),
+                                localPayload(target.getManager(), event.setBroadcastLevel(3)));
                 }
             } else {
                 // also set broadcast-level to 3 to propagate broadcast in event-over-http use case
@@ -740,13 +771,35 @@ public class EventEmitter {
                 if (TASK_EXECUTOR.equals(route) || EVENT_MANAGER.equals(route)) {
                     Platform.getInstance().getVirtualThreadExecutor().submit(() ->
                             runTaskExecutor(out, target.getManager().getService().getFunction()));
+                } else if (TemporaryInbox.TEMPORARY_INBOX.equals(route)) {
+                    /*
+                     * A RPC response to a caller in this application instance is handed over to the
+                     * waiting inbox directly. An isolated copy of the event keeps the same immutability
+                     * guarantee as serialization. Round trip time and RPC trace are recorded by the inbox.
+                     */
+                    TemporaryInbox.complete(out.isolatedCopy());
                 } else {
-                    system.send(route, out.toBytes());
+                    system.send(route, localPayload(target.getManager(), out));
                 }
             }
         }
     }
 
+    /**
+     * Prepare an event for a function in this application instance.
+     * <p>
+     * A function that opts in for zero-copy delivery receives an isolated copy of the event.
+     * Otherwise, the event is serialized as bytes.
+     *
+     * @param manager of the target function
+     * @param event to be delivered
+     * @return event or bytes
+     * @throws IOException in case of serialization error
+     */
+    private Object localPayload(ServiceQueue manager, EventEnvelope event) throws IOException {
+        return manager.getService().isZeroCopy()? event.isolatedCopy() : event.toBytes();
+    }
+
     @SuppressWarnings("unchecked")
     private void runTaskExecutor(EventEnvelope event, Object f) {
         Platform.getInstance().getVirtualThreadExecutor().submit(() -> {
@@ -980,7 +1033,16 @@ public class EventEmitter {
         return future;
     }
 
-    private String getTargetFromUrl(URI url) {
+    private Future<EventEnvelope> forwardEventOverHttp(EventEnvelope event, long timeout,
+                                                       Map<String, String> headers,
+                                                       String eventEndpoint, boolean rpc) throws IOException {
+        if (eventHttpBatcher != null) {
+            return eventHttpBatcher.submit(event, timeout, headers, eventEndpoint, rpc);
+        }
+        return asyncRequest(event, timeout, headers, eventEndpoint, rpc);
+    }
+
+    String getTargetFromUrl(URI url) {
         final boolean secure;
         String protocol = url.getScheme();
         if (HTTP.equals(protocol)) {
@@ -1048,7 +1110,7 @@ public class EventEmitter {
         var targetHttp = event.getHeader(X_EVENT_API) == null? getEventHttpTarget(to) : null;
         if (targetHttp != null) {
             EventEnvelope forwardEvent = new EventEnvelope(event.toMap()).setHeader(X_EVENT_API, "asyncRequest");
-            return asyncRequest(forwardEvent, timeout, getEventHttpHeaders(to), targetHttp, true);
+            return forwardEventOverHttp(forwardEvent, timeout, getEventHttpHeaders(to), targetHttp, true);
         }
         Platform platform = Platform.getInstance();
         TargetRoute target = discover(to);
@@ -1060,7 +1122,7 @@ public class EventEmitter {
         if (target.isCloud()) {
             MultipartPayload.getInstance().outgoing(target.getManager(), event);
         } else {
-            platform.getEventSystem().send(target.getManager().getRoute(), event.toBytes());
+            platform.getEventSystem().send(target.getManager().getRoute(), localPayload(target.getManager(), event));
         }
         return inbox.getFuture();
     }
@@ -1104,6 +1166,10 @@ public class EventEmitter {
         var targetHttp = event.getHeader(X_EVENT_API) == null? getEventHttpTarget(to) : null;
         if (targetHttp != null) {
             EventEnvelope forwardEvent = new EventEnvelope(event.toMap()).setHeader(X_EVENT_API, "request");
+            if (eventHttpBatcher != null) {
+                return eventHttpBatcher.submit(forwardEvent, timeout, getEventHttpHeaders(to), targetHttp, true)
+                                        .toCompletionStage().toCompletableFuture();
+            }
             return request(forwardEvent, timeout, getEventHttpHeaders(to), targetHttp, true);
         }
         Platform platform = Platform.getInstance();
@@ -1116,7 +1182,7 @@ public class EventEmitter {
         if (target.isCloud()) {
             MultipartPayload.getInstance().outgoing(target.getManager(), event);
         } else {
-            platform.getEventSystem().send(target.getManager().getRoute(), event.toBytes());
+            platform.getEventSystem().send(target.getManager().getRoute(), localPayload(target.getManager(), event));
         }
         return inbox.getFuture();
     }
@@ -1191,7 +1257,7 @@ public class EventEmitter {
             if (target.isCloud()) {
                 MultipartPayload.getInstance().outgoing(target.getManager(), event);
             } else {
-                system.send(target.getManager().getRoute(), event.toBytes());
+                system.send(target.getManager().getRoute(), localPayload(target.getManager(), event));
             }
         }
         return inbox.getFuture();
@@ -1260,7 +1326,7 @@ public class EventEmitter {
             if (target.isCloud()) {
                 MultipartPayload.getInstance().outgoing(target.getManager(), event);
             } else {
-                system.send(target.getManager().getRoute(), event.toBytes());
+                system.send(target.getManager().getRoute(), localPayload(target.getManager(), event));
             }
         }
         return inbox.getFuture();
@@ -1302,6 +1368,9 @@ public class EventEmitter {
         if (route.equals(platform.getOrigin())) {
             return true;
         }
+        if (WsSessionRegistry.getInstance().exists(route)) {
+            return true;
+        }
         String destination = substituteRouteIfAny(route);
         if (platform.hasRoute(destination)) {
             return true;
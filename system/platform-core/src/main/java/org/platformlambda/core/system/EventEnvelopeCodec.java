@@ -0,0 +1,73 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import org.platformlambda.core.models.EventEnvelope;
+
+import java.io.IOException;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Event codec for zero-copy local delivery.
+ * The sender has already made an isolated copy of the event so local transfer is a pass-through.
+ */
+public class EventEnvelopeCodec implements MessageCodec<EventEnvelope, EventEnvelope> {
+    private static final String NAME = "event.envelope";
+
+    @Override
+    public void encodeToWire(Buffer buffer, EventEnvelope event) {
+        try {
+            byte[] b = event.toBytes();
+            buffer.appendInt(b.length);
+            buffer.appendBytes(b);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    @Override
+    public EventEnvelope decodeFromWire(int pos, Buffer buffer) {
+        int len = buffer.getInt(pos);
+        int start = pos + 4;
+        try {
+            return new EventEnvelope(buffer.getBytes(start, start + len));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    @Override
+    public EventEnvelope transform(EventEnvelope event) {
+        return event;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.platformlambda.automation.http.AsyncHttpClient;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.serializers.MsgPack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Outgoing event-over-HTTP requests to the same target endpoint with the same HTTP headers,
+ * trace ID, timeout and delivery mode are collected for a short linger period and sent to the
+ * event API endpoint of the target as a single batch request.
+ */
+final class EventHttpBatcher {
+    private static final Logger log = LoggerFactory.getLogger(EventHttpBatcher.class);
+    private static final String TYPE = "type";
+    private static final String ERROR = "error";
+    private static final String MESSAGE = "message";
+    private static final String EVENT = "event";
+    private static final String ASYNC = "async";
+    private static final String TIMEOUT = "timeout";
+    private static final String POST = "POST";
+    private static final String CONTENT_TYPE = "content-type";
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final String ACCEPT = "accept";
+    private static final String X_TTL = "x-ttl";
+    private static final String X_NO_STREAM = "x-small-payload-as-bytes";
+    private static final String X_EVENT_BATCH = "x-event-batch";
+    private static final String X_TRACE_ID = "x-trace-id";
+    private static final String INVALID_RESULT = "Did you configure rest.yaml correctly? Invalid result set";
+    private final ConcurrentMap<String, PendingBatch> batches = new ConcurrentHashMap<>();
+    private final long linger;
+    private final int maxSize;
+
+    EventHttpBatcher(long linger, int maxSize) {
+        this.linger = linger;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Add an event to the pending batch of its target endpoint
+     *
+     * @param event to be sent to a peer application instance
+     * @param timeout to abort the request
+     * @param headers optional security headers such as "Authorization"
+     * @param eventEndpoint fully qualified URL such as http://domain:port/api/event
+     * @param rpc if true, the target service will return a response.
+     * @return response event
+     */
+    Future<EventEnvelope> submit(EventEnvelope event, long timeout, Map<String, String> headers,
+                                 String eventEndpoint, boolean rpc) {
+        final URI url;
+        try {
+            url = new URI(eventEndpoint);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+        Map<String, String> httpHeaders = headers == null? new HashMap<>() : headers;
+        // events of the same transaction are batched together so that the request carries its trace ID
+        String key = eventEndpoint + "|" + rpc + "|" + timeout + "|" + event.getTraceId() +
+                        "|" + new TreeMap<>(httpHeaders);
+        return Future.future(promise -> {
+            // a batch is removed from the map when it is sealed so a new one is created when needed
+            boolean added = false;
+            while (!added) {
+                PendingBatch batch = batches.computeIfAbsent(key,
+                                        k -> new PendingBatch(k, eventEndpoint, url, httpHeaders, timeout, rpc));
+                added = batch.add(event, promise);
+            }
+        });
+    }
+
+    private class PendingBatch {
+        private final List<EventEnvelope> events = new ArrayList<>();
+        private final List<Promise<EventEnvelope>> promises = new ArrayList<>();
+        private final String key;
+        private final String eventEndpoint;
+        private final URI url;
+        private final Map<String, String> headers;
+        private final long timeout;
+        private final boolean rpc;
+        private boolean sealed = false;
+
+        PendingBatch(String key, String eventEndpoint, URI url, Map<String, String> headers,
+                     long timeout, boolean rpc) {
+            this.key = key;
+            this.eventEndpoint = eventEndpoint;
+            this.url = url;
+            this.headers = headers;
+            this.timeout = timeout;
+            this.rpc = rpc;
+        }
+
+        boolean add(EventEnvelope event, Promise<EventEnvelope> promise) {
+            final boolean full;
+            synchronized (this) {
+                if (sealed) {
+                    return false;
+                }
+                events.add(event);
+                promises.add(promise);
+                full = events.size() >= maxSize;
+                if (full) {
+                    seal();
+                } else if (events.size() == 1) {
+                    // the linger timer is ignored if the batch becomes full before it fires
+                    Platform.getInstance().getVertx().setTimer(linger, t -> flush());
+                }
+            }
+            if (full) {
+                send();
+            }
+            return true;
+        }
+
+        private void flush() {
+            synchronized (this) {
+                if (sealed) {
+                    return;
+                }
+                seal();
+            }
+            send();
+        }
+
+        private void seal() {
+            sealed = true;
+            batches.remove(key, this);
+        }
+
+        private void send() {
+            EventEmitter po = EventEmitter.getInstance();
+            if (events.size() == 1) {
+                // a single event does not need the batch protocol
+                try {
+                    po.asyncRequest(events.getFirst(), timeout, headers, eventEndpoint, rpc)
+                            .onSuccess(promises.getFirst()::complete)
+                            .onFailure(e -> completeAll(408, e.getMessage()));
+                } catch (IOException | IllegalArgumentException e) {
+                    promises.getFirst().complete(new EventEnvelope().setStatus(400).setBody(e.getMessage()));
+                }
+                return;
+            }
+            try {
+                List<Map<String, Object>> items = new ArrayList<>(events.size());
+                for (EventEnvelope event: events) {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put(EVENT, event.toBytes());
+                    item.put(ASYNC, !rpc);
+                    item.put(TIMEOUT, Math.max(100L, timeout));
+                    items.add(item);
+                }
+                byte[] b = new MsgPack().pack(items);
+                AsyncHttpRequest req = new AsyncHttpRequest();
+                req.setMethod(POST);
+                req.setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
+                req.setHeader(X_NO_STREAM, "true");
+                req.setHeader(ACCEPT, "*/*");
+                req.setHeader(X_TTL, String.valueOf(Math.max(100L, timeout)));
+                req.setHeader(X_EVENT_BATCH, "true");
+                headers.forEach(req::setHeader);
+                // propagate trace-ID if any
+                EventEnvelope first = events.getFirst();
+                if (first.getTraceId() != null) {
+                    req.setHeader(X_TRACE_ID, first.getTraceId());
+                }
+                req.setUrl(url.getPath());
+                req.setTargetHost(po.getTargetFromUrl(url));
+                req.setBody(b);
+                req.setContentLength(b.length);
+                EventEnvelope request = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
+                if (first.getFrom() != null) {
+                    request.setFrom(first.getFrom());
+                }
+                if (first.getTraceId() != null) {
+                    request.setTraceId(first.getTraceId());
+                }
+                if (first.getTracePath() != null) {
+                    request.setTracePath(first.getTracePath());
+                }
+                // add 100 ms to make sure it does not time out earlier than the target service
+                Future<EventEnvelope> res = po.asyncRequest(request, Math.max(100L, timeout)+100L);
+                res.onSuccess(this::complete);
+                res.onFailure(e -> completeAll(408, e.getMessage()));
+            } catch (IOException e) {
+                log.error("Unable to send {} events to {} - {}", events.size(), eventEndpoint, e.getMessage());
+                completeAll(500, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                completeAll(400, e.getMessage());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(EventEnvelope evt) {
+            if (evt.getBody() instanceof byte[] b) {
+                try {
+                    if (new MsgPack().unpack(b) instanceof List<?> results && results.size() == promises.size()) {
+                        for (int i=0; i < results.size(); i++) {
+                            if (results.get(i) instanceof byte[] packed && packed.length > 0) {
+                                promises.get(i).complete(new EventEnvelope(packed));
+                            } else {
+                                promises.get(i).complete(new EventEnvelope().setStatus(500).setBody(INVALID_RESULT));
+                            }
+                        }
+                    } else {
+                        completeAll(400, INVALID_RESULT);
+                    }
+                } catch (IOException e) {
+                    // response is not a list of packed EventEnvelopes
+                    completeAll(400, INVALID_RESULT + " - " + e.getMessage());
+                }
+            } else if (evt.getStatus() >= 400 && evt.getBody() instanceof Map) {
+                Map<String, Object> data = (Map<String, Object>) evt.getBody();
+                if (ERROR.equals(data.get(TYPE)) && data.get(MESSAGE) instanceof String message) {
+                    completeAll(evt.getStatus(), message);
+                } else {
+                    completeAll(evt.getStatus(), String.valueOf(data));
+                }
+            } else if (evt.getStatus() >= 400) {
+                completeAll(evt.getStatus(), String.valueOf(evt.getError()));
+            } else {
+                completeAll(400, INVALID_RESULT);
+            }
+        }
+
+        private void completeAll(int status, String error) {
+            for (Promise<EventEnvelope> promise: promises) {
+                promise.complete(new EventEnvelope().setStatus(status).setBody(error));
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntConsumer;
 
 /**
  * Simple publisher to send messages to an event stream
@@ -72,6 +73,16 @@ public class EventPublisher {
         return ttl;
     }
 
+    /**
+     * Set a listener to receive the number of credits granted by the consumer in each read request.
+     * This allows the caller to publish data according to the demand of the consumer.
+     *
+     * @param listener for credits
+     */
+    public void setCreditListener(IntConsumer listener) {
+        stream.setCreditListener(listener);
+    }
+
     public void publish(Object data) {
         try {
             EventEmitter.getInstance().send(outStream, data, new Kv(TYPE, DATA));
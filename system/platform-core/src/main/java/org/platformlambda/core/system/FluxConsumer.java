@@ -27,6 +27,7 @@ import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.util.Utility;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -39,6 +40,9 @@ import java.util.function.Consumer;
 public class FluxConsumer<T> {
     private static final String TYPE = "type";
     private static final String DATA = "data";
+    private static final String BATCH = "batch";
+    private static final String CREDITS = "credits";
+    private static final String NEXT = "next";
     private static final String READ = "read";
     private static final String EXCEPTION = "exception";
     private static final String END_OF_STREAM = "eof";
@@ -49,6 +53,7 @@ public class FluxConsumer<T> {
     private final AtomicBoolean consumed = new AtomicBoolean(false);
     private final String inStream;
     private final long ttl;
+    private int prefetch = 1;
 
     public FluxConsumer(String inStream, long ttl) {
         this.inStream = inStream;
@@ -59,6 +64,23 @@ public class FluxConsumer<T> {
         return inStream;
     }
 
+    /**
+     * Set the number of messages to prefetch in each read request.
+     * <p>
+     * The consumer grants the publisher credits for up to this number of messages
+     * so that the publisher can deliver them in a single batch.
+     * The default value of 1 reads one message at a time.
+     *
+     * @param prefetch number of messages (1 to 1000)
+     */
+    public void setPrefetch(int prefetch) {
+        this.prefetch = Math.min(1000, Math.max(1, prefetch));
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
     /**
      * Consume the event stream when the payload is not a PoJo
      * (Support payload as Map and Java Primitive. Other types
@@ -102,7 +124,6 @@ public class FluxConsumer<T> {
      * @param serializer custom serializer or null
      * @throws IOException in case of routing error
      */
-    @SuppressWarnings("unchecked")
     public void consume(Consumer<T> consumer,
                         Consumer<Throwable> errorConsumer,
                         Runnable completeConsumer,
@@ -113,7 +134,6 @@ public class FluxConsumer<T> {
             consumed.set(true);
             var platform = Platform.getInstance();
             var po = EventEmitter.getInstance();
-            var mapper = SimpleMapper.getInstance().getMapper();
             final long timer = Platform.getInstance().getVertx().setTimer(ttl, t -> {
                 expired.set(true);
                 if (!eof.get()) {
@@ -132,6 +152,9 @@ public class FluxConsumer<T> {
             // adding routing suffix in case the publisher and consumer are in different containers
             final EventEnvelope fetch = new EventEnvelope().setTo(inStream).setHeader(TYPE, READ)
                                                             .setReplyTo(callback + "@" + platform.getOrigin());
+            if (prefetch > 1) {
+                fetch.setHeader(CREDITS, prefetch);
+            }
             final LambdaFunction f = (headers, body, instance) -> {
                 String type = headers.get(TYPE);
                 if (END_OF_STREAM.equals(type)) {
@@ -142,14 +165,13 @@ public class FluxConsumer<T> {
                     }
                 }
                 if (DATA.equals(type) && body != null && consumer != null) {
-                    if (body instanceof Map && pojoClass != null) {
-                        if (serializer != null) {
-                            consumer.accept(serializer.toPoJo(body, pojoClass));
-                        } else {
-                            consumer.accept(mapper.readValue(body, pojoClass));
+                    consumer.accept(toMessage(body, pojoClass, serializer));
+                }
+                if (BATCH.equals(type) && body instanceof List<?> items && consumer != null) {
+                    for (Object item: items) {
+                        if (item != null) {
+                            consumer.accept(toMessage(item, pojoClass, serializer));
                         }
-                    } else {
-                        consumer.accept((T) body);
                     }
                 }
                 if (EXCEPTION.equals(type) && body instanceof byte[] b) {
@@ -163,6 +185,10 @@ public class FluxConsumer<T> {
                         po.send(inStream, new Kv(TYPE, CLOSE));
                     }
                 }
+                if (headers.containsKey(NEXT)) {
+                    // a final signal will follow the batch
+                    return null;
+                }
                 if (eof.get()) {
                     if (!expired.get()) {
                         expired.set(true);
@@ -180,4 +206,17 @@ public class FluxConsumer<T> {
             po.send(fetch);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private T toMessage(Object body, Class<T> pojoClass, CustomSerializer serializer) {
+        if (body instanceof Map && pojoClass != null) {
+            if (serializer != null) {
+                return serializer.toPoJo(body, pojoClass);
+            } else {
+                return SimpleMapper.getInstance().getMapper().readValue(body, pojoClass);
+            }
+        } else {
+            return (T) body;
+        }
+    }
 }
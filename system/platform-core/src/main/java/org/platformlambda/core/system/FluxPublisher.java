@@ -25,7 +25,9 @@ import org.platformlambda.core.models.Kv;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.reactivestreams.Subscription;
 import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 
@@ -50,6 +52,7 @@ public class FluxPublisher<T> {
     private final AtomicBoolean expired = new AtomicBoolean(false);
     private Disposable disposable = null;
     private CustomSerializer serializer = null;
+    private int prefetch = 0;
 
     /**
      * Create a publisher to process a Flux stream object
@@ -88,6 +91,20 @@ public class FluxPublisher<T> {
         this.serializer = serializer;
     }
 
+    /**
+     * Set the number of messages to request from the Flux ahead of consumer demand.
+     * <p>
+     * When prefetch is positive, the publisher requests more messages from the Flux only when
+     * the consumer grants credits in its read requests. This maps reactive backpressure to the event stream
+     * so that a fast Flux does not overflow the event stream buffer.
+     * The default value of 0 requests all messages without backpressure.
+     *
+     * @param prefetch number of messages
+     */
+    public void setPrefetch(int prefetch) {
+        this.prefetch = Math.max(0, prefetch);
+    }
+
     /**
      * Begin publishing of the given Flux object
      *
@@ -96,7 +113,7 @@ public class FluxPublisher<T> {
     public String publish() {
         Utility util = Utility.getInstance();
         String outStream = stream.getOutputStreamId();
-        disposable = flux.subscribeOn(Schedulers.fromExecutor(Platform.getInstance().getVirtualThreadExecutor()))
+        Flux<T> source = flux.subscribeOn(Schedulers.fromExecutor(Platform.getInstance().getVirtualThreadExecutor()))
                 .doFinally(signal -> {
                     if (!expired.get()) {
                         expired.set(true);
@@ -111,23 +128,51 @@ public class FluxPublisher<T> {
                                     util.getSimpleRoute(outStream), e.getMessage());
                         }
                     }
-                })
-                .subscribe(data -> {
-                    try {
-                        Object payload = serializer == null? data : serializer.toMap(data);
-                        EventEmitter.getInstance().send(outStream, payload, new Kv(TYPE, DATA));
-                    } catch (IOException e) {
-                        log.error("Unable to publish data to {} - {}", util.getSimpleRoute(outStream), e.getMessage());
-                    }
-                }, e -> {
-                    try {
-                        var error = new EventEnvelope().setException(e);
-                        EventEmitter.getInstance().send(outStream, error.toBytes(), new Kv(TYPE, EXCEPTION));
-                    } catch (IOException ex) {
-                        log.error("Unable to publish exception to {} - {}",
-                                util.getSimpleRoute(outStream), ex.getMessage());
-                    }
                 });
+        if (prefetch > 0) {
+            BaseSubscriber<T> subscriber = new BaseSubscriber<>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(prefetch);
+                }
+
+                @Override
+                protected void hookOnNext(T data) {
+                    sendData(outStream, data);
+                }
+
+                @Override
+                protected void hookOnError(Throwable e) {
+                    sendException(outStream, e);
+                }
+            };
+            // credits granted by the consumer become demand for the Flux
+            stream.setCreditListener(subscriber::request);
+            disposable = subscriber;
+            source.subscribe(subscriber);
+        } else {
+            disposable = source.subscribe(data -> sendData(outStream, data), e -> sendException(outStream, e));
+        }
         return stream.getInputStreamId();
     }
+
+    private void sendData(String outStream, T data) {
+        try {
+            Object payload = serializer == null? data : serializer.toMap(data);
+            EventEmitter.getInstance().send(outStream, payload, new Kv(TYPE, DATA));
+        } catch (IOException e) {
+            log.error("Unable to publish data to {} - {}",
+                    Utility.getInstance().getSimpleRoute(outStream), e.getMessage());
+        }
+    }
+
+    private void sendException(String outStream, Throwable e) {
+        try {
+            var error = new EventEnvelope().setException(e);
+            EventEmitter.getInstance().send(outStream, error.toBytes(), new Kv(TYPE, EXCEPTION));
+        } catch (IOException ex) {
+            log.error("Unable to publish exception to {} - {}",
+                    Utility.getInstance().getSimpleRoute(outStream), ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.core.system;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Multi-producer single-consumer ring of idle workers for a route.
+ * <p>
+ * Workers add themselves from any thread when they finish an event. Only the event loop
+ * of the service manager takes workers from the ring. A worker is added at most once so
+ * the ring never overflows when its capacity is at least the number of workers.
+ */
+final class IdleWorkers {
+    private final AtomicReferenceArray<WorkerQueues> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    IdleWorkers(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Add an idle worker (any thread)
+     *
+     * @param worker that is ready for the next event
+     */
+    void offer(WorkerQueues worker) {
+        if (worker.idle.compareAndSet(false, true)) {
+            slots.set((int) (tail.getAndIncrement() & mask), worker);
+        }
+    }
+
+    /**
+     * Take the worker that has been idle for the longest time (manager's event loop only)
+     *
+     * @return worker or null if none is available
+     */
+    WorkerQueues poll() {
+        long h = head.get();
+        int n = (int) (h & mask);
+        WorkerQueues worker = slots.get(n);
+        if (worker != null) {
+            slots.set(n, null);
+            head.lazySet(h + 1);
+            worker.idle.set(false);
+        }
+        return worker;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+}
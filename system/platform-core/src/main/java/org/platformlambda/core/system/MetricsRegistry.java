@@ -0,0 +1,242 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.platformlambda.core.util.LatencyHistogram;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registry of live metrics for each route
+ * <p>
+ * Metrics of a local function are recorded by its service manager and workers
+ * regardless of distributed tracing. The metrics of a route are removed when its
+ * service manager stops.
+ */
+public class MetricsRegistry {
+    private static final String PREFIX = "mercury_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String[] PERCENTILES = {"p50", "p90", "p99"};
+    private static final String EVENTS = "events";
+    private static final String EXCEPTIONS = "exceptions";
+    private static final String RPC_TIMEOUTS = "rpc_timeouts";
+    private static final String THROUGHPUT = "throughput";
+    private static final String EXEC_TIME = "exec_time";
+    private static final String QUEUE_WAIT = "queue_wait";
+    private static final String BACKLOG = "backlog";
+    private static final String WORKERS = "workers";
+    private static final String MEMORY = "memory";
+    private static final String DISK = "disk";
+    private static final String BUSY = "busy";
+    private static final String IDLE = "idle";
+    private static final String COUNT = "count";
+    private static final String MEAN = "mean";
+    private static final String MAX = "max";
+    private static final ConcurrentMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private MetricsRegistry() {
+        // singleton
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the metrics of a route
+     *
+     * @param route name with or without the origin suffix
+     * @return route metrics
+     */
+    public RouteMetrics getMetrics(String route) {
+        String name = getName(route);
+        RouteMetrics metrics = routes.get(name);
+        return metrics != null? metrics : routes.computeIfAbsent(name, RouteMetrics::new);
+    }
+
+    public void remove(String route) {
+        routes.remove(route);
+    }
+
+    /**
+     * Record a RPC timeout for a route
+     * <p>
+     * Timeouts are recorded only for functions in this application instance. Remote and temporary
+     * routes are ignored so that the registry does not keep an entry for every route ever called.
+     *
+     * @param route name with or without the origin suffix
+     */
+    public void recordTimeout(String route) {
+        if (route != null) {
+            RouteMetrics metrics = routes.get(getName(route));
+            if (metrics != null) {
+                metrics.recordTimeout();
+            }
+        }
+    }
+
+    private String getName(String route) {
+        return route.contains("@")? route.substring(0, route.indexOf('@')) : route;
+    }
+
+    /**
+     * Snapshot of all routes in a map
+     * <p>
+     * Time values are in milliseconds.
+     *
+     * @return metrics by route
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        for (String route: getRouteNames()) {
+            RouteMetrics metrics = routes.get(route);
+            if (metrics != null) {
+                Map<String, Object> m = new HashMap<>();
+                m.put(EVENTS, metrics.getEvents());
+                m.put(EXCEPTIONS, metrics.getExceptions());
+                m.put(RPC_TIMEOUTS, metrics.getTimeouts());
+                m.put(THROUGHPUT, round(metrics.getThroughput()));
+                m.put(EXEC_TIME, summary(metrics.getExecTime()));
+                m.put(QUEUE_WAIT, summary(metrics.getQueueWait()));
+                ServiceQueue manager = Platform.getInstance().getManager(route);
+                if (manager != null) {
+                    m.put(BACKLOG, Map.of(MEMORY, manager.getMemoryBacklog(), DISK, manager.getStoreBacklog()));
+                    int idle = manager.getFreeWorkers();
+                    m.put(WORKERS, Map.of(BUSY, Math.max(0, manager.getConcurrency() - idle), IDLE, idle));
+                }
+                result.put(route, m);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Snapshot of all routes in Prometheus text exposition format
+     * <p>
+     * Time values are in seconds.
+     *
+     * @return text
+     */
+    public String toPrometheus() {
+        List<String> names = getRouteNames();
+        List<RouteMetrics> list = new ArrayList<>();
+        for (String route: names) {
+            RouteMetrics metrics = routes.get(route);
+            if (metrics != null) {
+                list.add(metrics);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        counter(sb, EVENTS, "Number of events processed", list, RouteMetrics::getEvents);
+        counter(sb, EXCEPTIONS, "Number of events that ended with an exception", list,
+                RouteMetrics::getExceptions);
+        counter(sb, RPC_TIMEOUTS, "Number of RPC requests that timed out", list, RouteMetrics::getTimeouts);
+        header(sb, THROUGHPUT, "Events processed per second", "gauge");
+        for (RouteMetrics metrics: list) {
+            sample(sb, THROUGHPUT, metrics.getRoute(), null, round(metrics.getThroughput()));
+        }
+        summary(sb, EXEC_TIME, "Function execution time", list, true);
+        summary(sb, QUEUE_WAIT, "Time waited in the service queue", list, false);
+        header(sb, BACKLOG, "Events waiting in the elastic queue", "gauge");
+        for (RouteMetrics metrics: list) {
+            ServiceQueue manager = Platform.getInstance().getManager(metrics.getRoute());
+            if (manager != null) {
+                sample(sb, BACKLOG, metrics.getRoute(), "store=\"" + MEMORY + "\"", manager.getMemoryBacklog());
+                sample(sb, BACKLOG, metrics.getRoute(), "store=\"" + DISK + "\"", manager.getStoreBacklog());
+            }
+        }
+        header(sb, WORKERS, "Workers of a function", "gauge");
+        for (RouteMetrics metrics: list) {
+            ServiceQueue manager = Platform.getInstance().getManager(metrics.getRoute());
+            if (manager != null) {
+                int idle = manager.getFreeWorkers();
+                sample(sb, WORKERS, metrics.getRoute(), "state=\"" + BUSY + "\"",
+                        Math.max(0, manager.getConcurrency() - idle));
+                sample(sb, WORKERS, metrics.getRoute(), "state=\"" + IDLE + "\"", idle);
+            }
+        }
+        return sb.toString();
+    }
+
+    private List<String> getRouteNames() {
+        List<String> names = new ArrayList<>(routes.keySet());
+        Collections.sort(names);
+        return names;
+    }
+
+    private Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> result = new HashMap<>();
+        result.put(COUNT, histogram.getCount());
+        result.put(MEAN, round(histogram.getMean() / 1000));
+        result.put(MAX, round((double) histogram.getMax() / 1000));
+        for (int i=0; i < QUANTILES.length; i++) {
+            result.put(PERCENTILES[i], round((double) histogram.getPercentile(QUANTILES[i] * 100) / 1000));
+        }
+        return result;
+    }
+
+    private void counter(StringBuilder sb, String name, String help, List<RouteMetrics> list,
+                         ToLongFunction<RouteMetrics> value) {
+        header(sb, name + "_total", help, "counter");
+        for (RouteMetrics metrics: list) {
+            sample(sb, name + "_total", metrics.getRoute(), null, value.applyAsLong(metrics));
+        }
+    }
+
+    private void summary(StringBuilder sb, String name, String help, List<RouteMetrics> list, boolean execution) {
+        String metricName = name + "_seconds";
+        header(sb, metricName, help, "summary");
+        for (RouteMetrics metrics: list) {
+            LatencyHistogram histogram = execution? metrics.getExecTime() : metrics.getQueueWait();
+            if (histogram.getCount() > 0) {
+                for (double q: QUANTILES) {
+                    sample(sb, metricName, metrics.getRoute(), "quantile=\"" + q + "\"",
+                            (double) histogram.getPercentile(q * 100) / 1000000);
+                }
+                sample(sb, metricName + "_sum", metrics.getRoute(), null, (double) histogram.getSum() / 1000000);
+                sample(sb, metricName + "_count", metrics.getRoute(), null, histogram.getCount());
+            }
+        }
+    }
+
+    private void header(StringBuilder sb, String name, String help, String type) {
+        sb.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(StringBuilder sb, String name, String route, String label, Object value) {
+        sb.append(PREFIX).append(name).append("{route=\"").append(escape(route)).append('"');
+        if (label != null) {
+            sb.append(',').append(label);
+        }
+        sb.append("} ").append(value).append('\n');
+    }
+
+    private String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -32,6 +32,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 /**
  * Foundation module for event Streaming to support the following classes
@@ -49,6 +50,10 @@ public class ObjectStreamIO {
     private static final String READ = "read";
     private static final String CLOSE = "close";
     private static final String DATA = "data";
+    private static final String BATCH = "batch";
+    private static final String CREDITS = "credits";
+    private static final String NEXT = "next";
+    private static final int MAX_CREDITS = 1000;
     private static final String EXCEPTION = "exception";
     private static final String END_OF_STREAM = "eof";
     private static final String STREAM_PREFIX = "stream.";
@@ -60,6 +65,7 @@ public class ObjectStreamIO {
     private final int expirySeconds;
     private final AtomicBoolean eof = new AtomicBoolean(false);
     private final ConcurrentLinkedQueue<CallBackReference> callbacks = new ConcurrentLinkedQueue<>();
+    private IntConsumer creditListener;
 
     /**
      * Create an object stream with given expiry timer in seconds
@@ -90,7 +96,7 @@ public class ObjectStreamIO {
             initCounter.set(10);
         }
         Utility util = Utility.getInstance();
-        String id = util.getUuid();
+        String id = util.getId();
         String in = STREAM_PREFIX+id+IN;
         String out = STREAM_PREFIX+id+OUT;
         this.inputStreamId = in + "@" + platform.getOrigin();
@@ -127,6 +133,16 @@ public class ObjectStreamIO {
         return outputStreamId;
     }
 
+    /**
+     * Set a listener to receive the number of credits granted by the consumer in each read request.
+     * This allows a publisher to produce data according to the demand of the consumer.
+     *
+     * @param listener for credits
+     */
+    public void setCreditListener(IntConsumer listener) {
+        this.creditListener = listener;
+    }
+
     /**
      * Get number of running streams
      *
@@ -212,10 +228,30 @@ public class ObjectStreamIO {
         @Override
         public void handleEvent(Map<String, String> headers, Object input) {
             String type = headers.get(TYPE);
-            if (DATA.equals(type) || EXCEPTION.equals(type)) {
+            if (DATA.equals(type)) {
+                if (!eof.get()) {
+                    var ref = callbacks.peek();
+                    if (ref != null) {
+                        if (ref.credits > 1) {
+                            ref.pending.add(input);
+                            // push the batch when credits are used up or when nothing else is waiting
+                            if (ref.pending.size() >= ref.credits || !hasBacklog()) {
+                                callbacks.poll();
+                                sendBatch(ref, null);
+                            } else {
+                                get();
+                            }
+                        } else {
+                            callbacks.poll();
+                            sendReply(ref, input, type);
+                        }
+                    }
+                }
+            } else if (EXCEPTION.equals(type)) {
                 if (!eof.get()) {
                     var ref = callbacks.poll();
                     if (ref != null) {
+                        sendBatch(ref, type);
                         sendReply(ref, input, type);
                     }
                 }
@@ -223,11 +259,39 @@ public class ObjectStreamIO {
                 eof.set(true);
                 var ref = callbacks.poll();
                 if (ref != null) {
+                    sendBatch(ref, END_OF_STREAM);
                     sendReply(ref, input, END_OF_STREAM);
                 }
             }
         }
 
+        private boolean hasBacklog() {
+            ServiceQueue manager = Platform.getInstance().getManager(streamRoute);
+            return manager != null && manager.getWriteCounter() > manager.getReadCounter();
+        }
+
+        private void sendBatch(CallBackReference ref, String next) {
+            if (!ref.pending.isEmpty()) {
+                List<Object> items = new ArrayList<>(ref.pending);
+                ref.pending.clear();
+                try {
+                    var event = new EventEnvelope().setTo(ref.cb).setCorrelationId(ref.cid);
+                    if (items.size() == 1) {
+                        event.setHeader(TYPE, DATA).setBody(items.getFirst());
+                    } else {
+                        event.setHeader(TYPE, BATCH).setBody(items);
+                    }
+                    if (next != null) {
+                        // tell the consumer that a final signal will follow
+                        event.setHeader(NEXT, next);
+                    }
+                    EventEmitter.getInstance().send(event);
+                } catch(IOException e) {
+                    log.error("Unable to callback - {}", e.getMessage());
+                }
+            }
+        }
+
         private void sendReply(CallBackReference ref, Object input, String type) {
             try {
                 EventEmitter.getInstance().send(new EventEnvelope().setTo(ref.cb)
@@ -260,7 +324,12 @@ public class ObjectStreamIO {
             String cb = event.getReplyTo();
             String cid = event.getCorrelationId();
             if (READ.equals(type) && cb != null) {
-                callbacks.add(new CallBackReference(cb, cid));
+                int n = Utility.getInstance().str2int(event.getHeaders().get(CREDITS));
+                int credits = Math.min(MAX_CREDITS, Math.max(1, n));
+                callbacks.add(new CallBackReference(cb, cid, credits));
+                if (creditListener != null) {
+                    creditListener.accept(credits);
+                }
                 publisher.get();
                 touch(in);
             }
@@ -279,10 +348,17 @@ public class ObjectStreamIO {
     public static class CallBackReference {
         final String cb;
         final String cid;
+        final int credits;
+        final List<Object> pending = new ArrayList<>();
 
         public CallBackReference(String cb, String cid) {
+            this(cb, cid, 1);
+        }
+
+        public CallBackReference(String cb, String cid, int credits) {
             this.cb = cb;
             this.cid = cid;
+            this.credits = credits;
         }
     }
 
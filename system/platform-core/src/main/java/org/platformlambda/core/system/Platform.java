@@ -18,7 +18,6 @@
 
 package org.platformlambda.core.system;
 
-import io.github.classgraph.ClassInfo;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
@@ -27,6 +26,7 @@ import org.platformlambda.core.annotations.CloudConnector;
 import org.platformlambda.core.annotations.CloudService;
 import org.platformlambda.core.models.*;
 import org.platformlambda.core.util.*;
+import org.platformlambda.core.websocket.server.WsSessionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +82,7 @@ public class Platform {
             var config = AppConfigReader.getInstance();
             int poolSize = Math.max(32, util.str2int(config.getProperty("kernel.thread.pool", "100")));
             system = Vertx.vertx().eventBus();
+            system.registerDefaultCodec(EventEnvelope.class, new EventEnvelopeCodec());
             vertx = Vertx.vertx();
             cache = SimpleCache.createCache("system.log.cache", 30000);
             kernelExecutor = Executors.newWorkStealingPool(poolSize);
@@ -229,7 +230,7 @@ public class Platform {
                 if (!list.isEmpty()) {
                     List<String> loaded = new ArrayList<>();
                     SimpleClassScanner scanner = SimpleClassScanner.getInstance();
-                    List<ClassInfo> services = scanner.getAnnotatedClasses(CloudService.class, true);
+                    List<String> services = scanner.getAnnotatedClassNames(CloudService.class, true);
                     for (String name: list) {
                         if (loaded.contains(name)) {
                             log.error("Cloud service ({}) already loaded", name);
@@ -270,7 +271,7 @@ public class Platform {
                 startCloudServices();
             } else {
                 SimpleClassScanner scanner = SimpleClassScanner.getInstance();
-                List<ClassInfo> services = scanner.getAnnotatedClasses(CloudConnector.class, true);
+                List<String> services = scanner.getAnnotatedClassNames(CloudConnector.class, true);
                 if (!startService(name, services, true)) {
                     log.error("Cloud connector ({}) not found", name);
                 }
@@ -278,17 +279,17 @@ public class Platform {
         }
     }
 
-    private boolean startService(String name, List<ClassInfo> services, boolean isConnector) {
+    private boolean startService(String name, List<String> services, boolean isConnector) {
         if (name == null) {
             return false;
         }
         final String type = isConnector? CONNECTOR : SERVICE;
-        for (ClassInfo info : services) {
+        for (String className : services) {
             final Class<?> cls;
             try {
-                cls = Class.forName(info.getName());
+                cls = Class.forName(className);
             } catch (ClassNotFoundException e) {
-                log.error("Unable to start cloud {} ({}) - {}", type, info.getName(), e.getMessage());
+                log.error("Unable to start cloud {} ({}) - {}", type, className, e.getMessage());
                 return false;
             }
             final String serviceName;
@@ -323,7 +324,7 @@ public class Platform {
 
                 } catch (NoSuchMethodException | InvocationTargetException |
                         InstantiationException | IllegalAccessException e) {
-                    log.error("Unable to start cloud {} ({}) - {}", type, info.getName(), e.getMessage());
+                    log.error("Unable to start cloud {} ({}) - {}", type, className, e.getMessage());
                 }
                 break;
             }
@@ -471,6 +472,10 @@ public class Platform {
      * @return true if it is a private function
      */
     public boolean isPrivate(String route) {
+        if (WsSessionRegistry.getInstance().exists(route)) {
+            // a multiplexed websocket session is private like the routes of a regular session
+            return true;
+        }
         if (!hasRoute(route)) {
             throw new IllegalArgumentException(ROUTE+route+NOT_FOUND);
         }
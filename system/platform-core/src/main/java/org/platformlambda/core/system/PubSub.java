@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -430,6 +431,15 @@ public class PubSub {
         provider.cleanup();
     }
 
+    /**
+     * Retrieve the delivery metrics of the pub/sub provider
+     *
+     * @return metrics or an empty map if not available
+     */
+    public Map<String, Object> getMetrics() {
+        return provider == null? Collections.emptyMap() : provider.getMetrics();
+    }
+
     private static class SubscriberDetails {
 
         public final LambdaFunction listener;
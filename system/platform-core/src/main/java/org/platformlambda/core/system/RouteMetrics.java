@@ -0,0 +1,126 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.platformlambda.core.util.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live metrics of a route
+ * <p>
+ * Recording methods are lock-free and do not allocate memory so that they can be used
+ * in the hot path of event delivery.
+ */
+public class RouteMetrics {
+    private static final long ONE_SECOND = 1000L;
+    private final String route;
+    private final LatencyHistogram execTime = new LatencyHistogram();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final AtomicLong exceptions = new AtomicLong(0);
+    private final AtomicLong timeouts = new AtomicLong(0);
+    private long lastCount = 0;
+    private long lastTime = System.currentTimeMillis();
+    private double throughput = 0;
+
+    public RouteMetrics(String route) {
+        this.route = route;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Record the result of a function execution
+     *
+     * @param milliseconds of execution time
+     * @param success is false when the function throws an exception
+     */
+    public void recordExecution(float milliseconds, boolean success) {
+        execTime.record((long) (milliseconds * 1000));
+        if (!success) {
+            exceptions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record the time an event has waited in the service queue before it is handed to a worker
+     *
+     * @param nanoseconds of queue wait
+     */
+    public void recordQueueWait(long nanoseconds) {
+        queueWait.record(nanoseconds / 1000);
+    }
+
+    /**
+     * Record a RPC request to this route that has timed out
+     */
+    public void recordTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    /**
+     * Histogram of execution time
+     *
+     * @return histogram in microseconds
+     */
+    public LatencyHistogram getExecTime() {
+        return execTime;
+    }
+
+    /**
+     * Histogram of queue wait time
+     *
+     * @return histogram in microseconds
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    public long getEvents() {
+        return execTime.getCount();
+    }
+
+    public long getExceptions() {
+        return exceptions.get();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Get the number of events processed per second since the previous query.
+     * The value is updated at most once per second.
+     *
+     * @return events per second
+     */
+    public synchronized double getThroughput() {
+        long now = System.currentTimeMillis();
+        long elapsed = now - lastTime;
+        if (elapsed >= ONE_SECOND) {
+            long count = execTime.getCount();
+            throughput = (double) (count - lastCount) * ONE_SECOND / elapsed;
+            lastCount = count;
+            lastTime = now;
+        }
+        return throughput;
+    }
+}
@@ -20,8 +20,10 @@ package org.platformlambda.core.system;
 
 import org.platformlambda.core.annotations.EventInterceptor;
 import org.platformlambda.core.annotations.KernelThreadRunner;
+import org.platformlambda.core.annotations.ZeroCopy;
 import org.platformlambda.core.annotations.ZeroTracing;
 import org.platformlambda.core.models.*;
+import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.Utility;
 
 import java.lang.reflect.Method;
@@ -38,6 +40,7 @@ public class ServiceDef {
     }
     private static final String HANDLE_EVENT = "handleEvent";
     private static final int MAX_INSTANCES = 1000;
+    private static final String ZERO_COPY_ROUTES = "zero.copy.routes";
     private final String route;
     @SuppressWarnings("rawtypes")
     private final TypedLambdaFunction lambda;
@@ -48,6 +51,7 @@ public class ServiceDef {
     private final boolean trackable;
     private final RunnerType rType;
     private final boolean interceptor;
+    private final boolean zeroCopy;
     private final Date created = new Date();
     private boolean isPrivateFunction = false;
     private ServiceQueue manager;
@@ -60,6 +64,7 @@ public class ServiceDef {
     public ServiceDef(String route, TypedLambdaFunction lambda) {
         this.trackable = lambda.getClass().getAnnotation(ZeroTracing.class) == null;
         this.interceptor = lambda.getClass().getAnnotation(EventInterceptor.class) != null;
+        this.zeroCopy = lambda.getClass().getAnnotation(ZeroCopy.class) != null || isZeroCopyRoute(route);
         if (lambda.getClass().getAnnotation(KernelThreadRunner.class) != null) {
             this.rType = RunnerType.KERNEL_THREAD;
         } else {
@@ -86,6 +91,7 @@ public class ServiceDef {
     public ServiceDef(String route, StreamFunction lambda) {
         this.trackable = lambda.getClass().getAnnotation(ZeroTracing.class) == null;
         this.interceptor = lambda.getClass().getAnnotation(EventInterceptor.class) != null;
+        this.zeroCopy = lambda.getClass().getAnnotation(ZeroCopy.class) != null || isZeroCopyRoute(route);
         this.rType = RunnerType.STREAM_FUNCTION;
         this.id = Utility.getInstance().getUuid();
         this.route = route;
@@ -98,6 +104,7 @@ public class ServiceDef {
     public ServiceDef(String route, KotlinLambdaFunction lambda) {
         this.trackable = lambda.getClass().getAnnotation(ZeroTracing.class) == null;
         this.interceptor = lambda.getClass().getAnnotation(EventInterceptor.class) != null;
+        this.zeroCopy = lambda.getClass().getAnnotation(ZeroCopy.class) != null || isZeroCopyRoute(route);
         this.rType = RunnerType.SUSPEND_FUNCTION;
         this.id = Utility.getInstance().getUuid();
         this.route = route;
@@ -118,6 +125,11 @@ public class ServiceDef {
         }
     }
 
+    private static boolean isZeroCopyRoute(String route) {
+        String routes = AppConfigReader.getInstance().getProperty(ZERO_COPY_ROUTES, "");
+        return !routes.isEmpty() && Utility.getInstance().split(routes, ", ").contains(route);
+    }
+
     public String getId() {
         return id;
     }
@@ -172,6 +184,10 @@ public class ServiceDef {
         return interceptor;
     }
 
+    public boolean isZeroCopy() {
+        return zeroCopy;
+    }
+
     public int getConcurrency() {
         return instances;
     }
@@ -22,15 +22,16 @@ import io.vertx.core.Handler;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.Message;
 import io.vertx.core.eventbus.MessageConsumer;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.ElasticQueue;
+import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * This is reserved for system use.
@@ -39,41 +40,76 @@ import java.util.concurrent.ConcurrentMap;
 public class ServiceQueue {
     private static final Logger log = LoggerFactory.getLogger(ServiceQueue.class);
     private static final String READY = "ready";
+    private static final String DRAIN = "drain";
     private static final String HASH = "#";
     private static final String PUBLIC = "PUBLIC";
     private static final String PRIVATE = "PRIVATE";
+    private static final long DEFAULT_HIGH_WATERMARK = 1000;
+    private static final long DEFAULT_LOW_WATERMARK = 100;
+    private static final long highWatermark;
+    private static final long lowWatermark;
     private final ElasticQueue elasticQueue;
     private final ServiceDef service;
-    private final String readyPrefix;
-    private final String streamRoute;
+    private final StreamQueue streamWorker;
     private final EventBus system;
-    private final ConcurrentLinkedQueue<String> fifo = new ConcurrentLinkedQueue<>();
-    private final ConcurrentMap<String, Boolean> idx = new ConcurrentHashMap<>();
+    private final IdleWorkers idle;
     private final List<WorkerQueues> workers = new ArrayList<>();
+    private final RouteMetrics metrics;
+    /*
+     * Arrival time of buffered events in the same order as the elastic queue.
+     * The ring is capped at the memory buffer size so that a large backlog spilled to disk
+     * does not hold its arrival times in the heap. Queue wait is sampled for the events in the ring.
+     */
+    private final long[] arrivals = new long[ElasticQueue.getMemoryBuffer() + 1];
+    private final long[] arrivalSeq = new long[arrivals.length];
+    private int arrivalHead = 0;
+    private int arrivalSize = 0;
+    private long bufferedSeq = 0;
+    private long drainedSeq = 0;
     private MessageConsumer<Object> consumer;
-    private boolean buffering = true;
-    private boolean stopped = false;
+    private volatile boolean buffering = false;
+    private volatile boolean congested = false;
+    private volatile boolean stopped = false;
+
+    static {
+        Utility util = Utility.getInstance();
+        AppConfigReader config = AppConfigReader.getInstance();
+        long high = util.str2long(config.getProperty("service.queue.high.watermark",
+                                    String.valueOf(DEFAULT_HIGH_WATERMARK)));
+        long low = util.str2long(config.getProperty("service.queue.low.watermark",
+                                    String.valueOf(DEFAULT_LOW_WATERMARK)));
+        if (high < 1 || low < 0 || low >= high) {
+            log.error("Invalid service.queue watermarks ({}, {}) - default to ({}, {})",
+                        high, low, DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK);
+            high = DEFAULT_HIGH_WATERMARK;
+            low = DEFAULT_LOW_WATERMARK;
+        }
+        highWatermark = high;
+        lowWatermark = low;
+    }
 
     public ServiceQueue(ServiceDef service) {
         this.service = service;
         String route = service.getRoute();
-        this.readyPrefix = READY+":" + route + HASH;
         this.elasticQueue = new ElasticQueue(route);
+        this.idle = new IdleWorkers(service.isStream()? 1 : service.getConcurrency());
+        this.metrics = MetricsRegistry.getInstance().getMetrics(route);
         // create consumer
         system = Platform.getInstance().getEventSystem();
         consumer = system.localConsumer(route, new ServiceHandler());
         if (service.isStream()) {
-            streamRoute = route + HASH + 1;
-            StreamQueue worker = new StreamQueue(service, streamRoute);
-            workers.add(worker);
+            // a stream function fetches the next event by sending a "ready" signal
+            streamWorker = new StreamQueue(service, route + HASH + 1, this);
+            workers.add(streamWorker);
             log.info("{} {} started as stream function", service.isPrivate() ? PRIVATE : PUBLIC, route);
         } else {
-            streamRoute = null;
+            streamWorker = null;
             int instances = service.getConcurrency();
             for (int i = 0; i < instances; i++) {
                 int n = i + 1;
-                WorkerQueue worker = new WorkerQueue(service, route + HASH + n, n);
+                WorkerQueue worker = new WorkerQueue(service, route + HASH + n, n, this);
                 workers.add(worker);
+                ready(worker);
             }
             if (service.isKotlin()) {
                 if (instances == 1) {
@@ -109,7 +145,36 @@ public class ServiceQueue {
     }
 
     public int getFreeWorkers() {
-        return idx.size();
+        return idle.size();
+    }
+
+    public int getConcurrency() {
+        return service.isStream()? 1 : service.getConcurrency();
+    }
+
+    public RouteMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getMemoryBacklog() {
+        return elasticQueue.getMemoryBacklog();
+    }
+
+    public long getStoreBacklog() {
+        return elasticQueue.getStoreBacklog();
+    }
+
+    /**
+     * Backpressure signal for event sources such as a message broker consumer
+     * <p>
+     * This becomes true when the number of buffered events reaches the high watermark
+     * and false again when it falls to the low watermark. An event source should stop
+     * reading when this service is congested.
+     *
+     * @return true if congested
+     */
+    public boolean isCongested() {
+        return congested;
     }
 
     public long getReadCounter() {
@@ -132,72 +197,125 @@ public class ServiceQueue {
             elasticQueue.destroy();
             consumer = null;
             stopped = true;
+            MetricsRegistry.getInstance().remove(service.getRoute());
             log.info("{} stopped", service.getRoute());
         }
     }
 
+    /**
+     * A worker calls this method from its own thread when it is ready for the next event.
+     * <p>
+     * The worker is added to the ring of idle workers so that the event loop of this service
+     * can hand over the next event directly. When there is a backlog in the elastic queue,
+     * the event loop is signaled to read the next event.
+     *
+     * @param worker that is ready
+     */
+    void ready(WorkerQueues worker) {
+        if (!stopped) {
+            idle.offer(worker);
+            if (buffering) {
+                system.send(service.getRoute(), DRAIN);
+            }
+        }
+    }
+
     private class ServiceHandler implements Handler<Message<Object>> {
 
         @Override
         public void handle(Message<Object> message) {
             Object body = message.body();
             if (!stopped) {
-                if (body instanceof String input) {
-                    String worker = getWorker(input);
-                    if (worker != null) {
-                        // Just for the safe side, this guarantees that a unique worker is inserted
-                        idx.computeIfAbsent(worker, d -> {
-                            fifo.add(worker);
-                            return true;
-                        });
-                        if (buffering) {
-                            byte[] event = elasticQueue.read();
-                            if (event.length == 0) {
-                                // Close elastic queue when all messages are cleared
-                                buffering = false;
-                                elasticQueue.close();
-                            } else {
-                                // Guarantees that there is an available worker
-                                String nextWorker = fifo.poll();
-                                if (nextWorker != null) {
-                                    idx.remove(nextWorker);
-                                    system.send(nextWorker, event);
-                                }
-                            }
-                        }
-                    }
-                }
-                if (body instanceof byte[] event) {
+                if (body instanceof byte[] || body instanceof EventEnvelope) {
                     if (buffering) {
                         // Once elastic queue is started, we will continue buffering.
-                        elasticQueue.write(event);
+                        bufferEvent(body);
                     } else {
-                        // Check if a next worker is available
-                        String nextWorker = fifo.peek();
-                        if (nextWorker == null) {
+                        WorkerQueues worker = idle.poll();
+                        if (worker == null) {
                             // Start persistent queue when no workers are available
                             buffering = true;
-                            elasticQueue.write(event);
+                            bufferEvent(body);
+                            // A worker may become ready before it sees the buffering flag
+                            drain();
                         } else {
                             // Deliver event to the next worker
-                            nextWorker = fifo.poll();
-                            if (nextWorker != null) {
-                                idx.remove(nextWorker);
-                                system.send(nextWorker, event);
-                            }
+                            metrics.recordQueueWait(0);
+                            worker.deliver(body);
                         }
                     }
+                } else if (DRAIN.equals(body)) {
+                    drain();
+                } else if (READY.equals(body) && streamWorker != null) {
+                    idle.offer(streamWorker);
+                    drain();
+                }
+            }
+        }
+
+        private void drain() {
+            while (buffering) {
+                if (elasticQueue.peek().length == 0) {
+                    // Close elastic queue when all messages are cleared
+                    buffering = false;
+                    elasticQueue.close();
+                    congested = false;
+                    arrivalHead = 0;
+                    arrivalSize = 0;
+                    bufferedSeq = 0;
+                    drainedSeq = 0;
+                } else {
+                    WorkerQueues worker = idle.poll();
+                    if (worker == null) {
+                        break;
+                    }
+                    if (arrivalSize > 0 && arrivalSeq[arrivalHead] == drainedSeq) {
+                        metrics.recordQueueWait(System.nanoTime() - arrivals[arrivalHead]);
+                        arrivalHead = (arrivalHead + 1) % arrivals.length;
+                        arrivalSize--;
+                    }
+                    drainedSeq++;
+                    worker.deliver(elasticQueue.read());
+                    if (congested && getBacklog() <= lowWatermark) {
+                        congested = false;
+                    }
                 }
             }
         }
 
-        private String getWorker(String input) {
-            if (input.startsWith(readyPrefix)) {
-                return input.substring(READY.length()+1);
-            } else if (READY.equals(input) && streamRoute != null) {
-                return streamRoute;
+        private void bufferEvent(Object event) {
+            if (event instanceof byte[] b) {
+                if (elasticQueue.write(b)) {
+                    saveArrival();
+                }
+            } else if (event instanceof EventEnvelope envelope) {
+                // zero-copy event is serialized only when it must be buffered
+                try {
+                    if (elasticQueue.write(envelope.toBytes())) {
+                        saveArrival();
+                    }
+                } catch (IOException e) {
+                    log.error("Unable to buffer event for {} - {}", service.getRoute(), e.getMessage());
+                }
+            }
+            if (!congested && getBacklog() >= highWatermark) {
+                congested = true;
+            }
+        }
+
+        private long getBacklog() {
+            return elasticQueue.getWriteCounter() - elasticQueue.getReadCounter();
+        }
+
+        private void saveArrival() {
+            // events that arrive when the ring is full are not sampled
+            if (arrivalSize < arrivals.length) {
+                int n = (arrivalHead + arrivalSize) % arrivals.length;
+                arrivals[n] = System.nanoTime();
+                arrivalSeq[n] = bufferedSeq;
+                arrivalSize++;
             }
-            return null;
+            bufferedSeq++;
         }
     }
 }
@@ -18,9 +18,6 @@
 
 package org.platformlambda.core.system;
 
-import io.vertx.core.Handler;
-import io.vertx.core.eventbus.EventBus;
-import io.vertx.core.eventbus.Message;
 import org.platformlambda.core.models.EventEnvelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,37 +31,35 @@ import java.io.IOException;
 public class StreamQueue extends WorkerQueues {
     private static final Logger log = LoggerFactory.getLogger(StreamQueue.class);
 
-    public StreamQueue(ServiceDef def, String route) {
-        super(def, route);
-        EventBus system = Platform.getInstance().getEventSystem();
-        this.consumer = system.localConsumer(route, new StreamHandler());
+    public StreamQueue(ServiceDef def, String route, ServiceQueue manager) {
+        super(def, route, manager);
         def.getStreamFunction().init(def.getRoute());
         this.started();
     }
 
-    private class StreamHandler implements Handler<Message<byte[]>> {
-
-        @Override
-        public void handle(Message<byte[]> message) {
-            if (!stopped) {
-                try {
-                    EventEnvelope event = new EventEnvelope(message.body());
-                    vThreadExecutor.submit(()-> processEvent(event));
-
-                } catch (IOException e) {
-                    log.error("Unable to decode event - {}", e.getMessage());
-                }
-
+    @Override
+    protected void deliver(Object body) {
+        if (!stopped) {
+            if (body instanceof EventEnvelope event) {
+                // zero-copy local delivery
+                vThreadExecutor.submit(()-> processEvent(event));
+            } else if (body instanceof byte[] b) {
+                vThreadExecutor.submit(()-> {
+                    try {
+                        processEvent(new EventEnvelope(b));
+                    } catch (IOException e) {
+                        log.error("Unable to decode event - {}", e.getMessage());
+                    }
+                });
             }
         }
+    }
 
-        private void processEvent(EventEnvelope event) {
-            try {
-                def.getStreamFunction().handleEvent(event.getHeaders(), event.getBody());
-            } catch (Exception e) {
-                log.error("Unhandled exception for "+route, e);
-            }
+    private void processEvent(EventEnvelope event) {
+        try {
+            def.getStreamFunction().handleEvent(event.getHeaders(), event.getBody());
+        } catch (Exception e) {
+            log.error("Unhandled exception for "+route, e);
         }
-
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,396 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.services.DistributedTrace;
+import org.platformlambda.core.util.AppConfigReader;
+import org.platformlambda.core.util.Utility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Spans of distributed tracing are sampled and recorded into a pre-allocated buffer.
+ * The buffer is exported to the distributed trace logger as a single event at a fixed interval.
+ * <p>
+ * Head-based sampling is decided by the trace ID so that all spans of a transaction are either kept
+ * or dropped. Exceptions and slow spans are always kept when the tail-based rules are enabled.
+ */
+public class TraceCollector {
+    private static final Logger log = LoggerFactory.getLogger(TraceCollector.class);
+    public static final String SPANS = "spans";
+    private static final String TRACE = "trace";
+    private static final String ANNOTATIONS = "annotations";
+    private static final String JOURNAL = "journal";
+    private static final String ORIGIN = "origin";
+    private static final String ID = "id";
+    private static final String PATH = "path";
+    private static final String SERVICE = "service";
+    private static final String FROM = "from";
+    private static final String START = "start";
+    private static final String STATUS = "status";
+    private static final String SUCCESS = "success";
+    private static final String EXCEPTION = "exception";
+    private static final String EXEC_TIME = "exec_time";
+    private static final String ROUND_TRIP = "round_trip";
+    private static final int SCALE = 10000;
+    private static final int DEFAULT_BUFFER = 4096;
+    private static final int MIN_BUFFER = 64;
+    private static final int MAX_BUFFER = 100000;
+    private static final long DEFAULT_INTERVAL = 500;
+    private static final long MIN_INTERVAL = 100;
+    private static final long MAX_INTERVAL = 60000;
+    private static final long DEFAULT_SLOW_SPAN = 1000;
+    private static final TraceCollector instance = new TraceCollector();
+    private final AtomicBoolean notRunning = new AtomicBoolean(true);
+    private final AtomicBoolean exporting = new AtomicBoolean(false);
+    private final Object exportLock = new Object();
+    private final Map<String, Integer> routeThresholds = new HashMap<>();
+    private final int threshold;
+    private final boolean keepErrors;
+    private final float slowSpan;
+    private final long interval;
+    private Span[] active;
+    private Span[] standby;
+    private int count = 0;
+    private long dropped = 0;
+
+    private TraceCollector() {
+        this(getBufferSize(), getExportInterval());
+    }
+
+    /**
+     * Create a collector with the given buffer size and export interval
+     *
+     * @param size of each buffer
+     * @param interval of export in milliseconds
+     */
+    TraceCollector(int size, long interval) {
+        Utility util = Utility.getInstance();
+        AppConfigReader config = AppConfigReader.getInstance();
+        threshold = getThreshold("distributed.trace.sampling", config.getProperty("distributed.trace.sampling", "1.0"));
+        List<String> entries = util.split(config.getProperty("distributed.trace.sampling.routes", ""), ", ");
+        for (String entry : entries) {
+            int colon = entry.lastIndexOf(':');
+            if (colon < 1) {
+                log.error("Invalid sampling entry {} - format should be route:rate", entry);
+            } else {
+                String route = entry.substring(0, colon).trim();
+                routeThresholds.put(route, getThreshold(route, entry.substring(colon + 1).trim()));
+            }
+        }
+        keepErrors = "true".equalsIgnoreCase(config.getProperty("distributed.trace.keep.errors", "true"));
+        long slow = util.str2long(config.getProperty("distributed.trace.slow.span", String.valueOf(DEFAULT_SLOW_SPAN)));
+        slowSpan = slow > 0? slow : Float.MAX_VALUE;
+        this.interval = interval;
+        active = allocate(size);
+        standby = allocate(size);
+    }
+
+    public static TraceCollector getInstance() {
+        return instance;
+    }
+
+    private static int getBufferSize() {
+        AppConfigReader config = AppConfigReader.getInstance();
+        int size = Utility.getInstance().str2int(config.getProperty("distributed.trace.buffer",
+                                                    String.valueOf(DEFAULT_BUFFER)));
+        if (size < MIN_BUFFER || size > MAX_BUFFER) {
+            log.error("Invalid distributed.trace.buffer {} - must be {} to {}, default to {}",
+                        size, MIN_BUFFER, MAX_BUFFER, DEFAULT_BUFFER);
+            return DEFAULT_BUFFER;
+        }
+        return size;
+    }
+
+    private static long getExportInterval() {
+        AppConfigReader config = AppConfigReader.getInstance();
+        long ms = Utility.getInstance().str2long(config.getProperty("distributed.trace.export.interval",
+                                                    String.valueOf(DEFAULT_INTERVAL)));
+        if (ms < MIN_INTERVAL || ms > MAX_INTERVAL) {
+            log.error("Invalid distributed.trace.export.interval {} - must be {} to {} ms, default to {}",
+                        ms, MIN_INTERVAL, MAX_INTERVAL, DEFAULT_INTERVAL);
+            return DEFAULT_INTERVAL;
+        }
+        return ms;
+    }
+
+    private int getThreshold(String name, String value) {
+        double rate = Utility.getInstance().str2double(value);
+        if (rate < 0 || rate > 1) {
+            log.error("Invalid sampling rate for {} ({}) - must be 0.0 to 1.0, default to 1.0", name, value);
+            rate = 1.0;
+        }
+        return (int) Math.round(rate * SCALE);
+    }
+
+    private Span[] allocate(int size) {
+        Span[] spans = new Span[size];
+        for (int i=0; i < size; i++) {
+            spans[i] = new Span();
+        }
+        return spans;
+    }
+
+    /**
+     * Decide if a span should be recorded
+     * <p>
+     * This is evaluated before any tracing dataset is created so that a span that is not sampled
+     * costs no memory allocation.
+     *
+     * @param route of the service
+     * @param traceId of the transaction
+     * @param error is true if the service has thrown exception or the response is not delivered
+     * @param execTime in milliseconds
+     * @return true if the span should be recorded
+     */
+    public boolean isSampled(String route, String traceId, boolean error, float execTime) {
+        if ((error && keepErrors) || execTime >= slowSpan) {
+            return true;
+        }
+        int limit = routeThresholds.isEmpty()? threshold : routeThresholds.getOrDefault(route, threshold);
+        if (limit >= SCALE) {
+            return true;
+        }
+        if (limit <= 0 || traceId == null) {
+            return false;
+        }
+        // spread the hash code so that the decision is uniform and consistent for the same trace ID
+        int h = traceId.hashCode() * 0x9E3779B9;
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % SCALE < limit;
+    }
+
+    /**
+     * Record a span into the buffer
+     * <p>
+     * When the buffer is full, a span is dropped unless it has a journal.
+     * A journaled span is always recorded, so it is sent to the trace logger without buffering.
+     *
+     * @param id trace ID
+     * @param path trace path
+     * @param service route name
+     * @param from caller route, optional
+     * @param start time in ISO-8601 format
+     * @param status code
+     * @param success is false if the service has thrown exception or the response is not delivered
+     * @param exception message, optional
+     * @param execTime in milliseconds
+     * @param roundTrip in milliseconds for an RPC call or a negative value if not applicable
+     * @param annotations of the span, optional
+     * @param journal input/output dataset, optional
+     */
+    public void record(String id, String path, String service, String from, String start, int status,
+                       boolean success, String exception, float execTime, float roundTrip,
+                       Map<String, Object> annotations, Map<String, Object> journal) {
+        if (notRunning.get() && notRunning.compareAndSet(true, false)) {
+            Platform.getInstance().getVertx().setPeriodic(interval, t -> startExport());
+            // export the spans that are still in the buffer when the application stops
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+            log.info("Trace exporter started with interval of {} ms", interval);
+        }
+        synchronized (this) {
+            if (count < active.length) {
+                active[count++].set(id, path, service, from, start, status, success, exception,
+                                    execTime, roundTrip, annotations, journal);
+                return;
+            }
+            if (journal == null) {
+                dropped++;
+                return;
+            }
+        }
+        Span span = new Span();
+        span.set(id, path, service, from, start, status, success, exception,
+                    execTime, roundTrip, annotations, journal);
+        send(span.toMap(Platform.getInstance().getOrigin()));
+    }
+
+    /**
+     * Get the number of spans in the active buffer
+     *
+     * @return count
+     */
+    synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of spans dropped since the last export
+     *
+     * @return count
+     */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    private void startExport() {
+        if (!exporting.get() && exporting.compareAndSet(false, true)) {
+            Platform.getInstance().getVirtualThreadExecutor().submit(() -> {
+                try {
+                    export();
+                } finally {
+                    exporting.set(false);
+                }
+            });
+        }
+    }
+
+    void export() {
+        List<Map<String, Object>> batch = drain();
+        if (!batch.isEmpty()) {
+            Map<String, Object> dataset = new HashMap<>();
+            dataset.put(SPANS, batch);
+            send(dataset);
+        }
+    }
+
+    private void shutdown() {
+        /*
+         * The event system may be stopping, so the remaining spans
+         * are given to the trace logger in this thread.
+         */
+        List<Map<String, Object>> batch = drain();
+        if (!batch.isEmpty()) {
+            Map<String, Object> dataset = new HashMap<>();
+            dataset.put(SPANS, batch);
+            new DistributedTrace().handleEvent(new HashMap<>(), new EventEnvelope().setBody(dataset), 1);
+        }
+    }
+
+    private List<Map<String, Object>> drain() {
+        // the standby buffer must be emptied before the buffers can be swapped again
+        synchronized (exportLock) {
+            final Span[] spans;
+            final int n;
+            final long lost;
+            synchronized (this) {
+                if (count == 0 && dropped == 0) {
+                    return Collections.emptyList();
+                }
+                // swap buffers so that spans can be recorded while the standby buffer is exported
+                spans = active;
+                n = count;
+                lost = dropped;
+                active = standby;
+                standby = spans;
+                count = 0;
+                dropped = 0;
+            }
+            if (lost > 0) {
+                log.warn("Dropped {} span{} - please increase distributed.trace.buffer", lost, lost == 1? "" : "s");
+            }
+            String origin = Platform.getInstance().getOrigin();
+            List<Map<String, Object>> batch = new ArrayList<>(n);
+            for (int i=0; i < n; i++) {
+                batch.add(spans[i].toMap(origin));
+                spans[i].clear();
+            }
+            return batch;
+        }
+    }
+
+    private void send(Map<String, Object> dataset) {
+        try {
+            EventEmitter.getInstance().send(new EventEnvelope()
+                                            .setTo(DistributedTrace.DISTRIBUTED_TRACING).setBody(dataset));
+        } catch (IOException e) {
+            log.error("Unable to send to {} - {}", DistributedTrace.DISTRIBUTED_TRACING, e.getMessage());
+        }
+    }
+
+    private static class Span {
+        String id;
+        String path;
+        String service;
+        String from;
+        String start;
+        int status;
+        boolean success;
+        String exception;
+        float execTime;
+        float roundTrip;
+        Map<String, Object> annotations;
+        Map<String, Object> journal;
+
+        void set(String id, String path, String service, String from, String start, int status,
+                 boolean success, String exception, float execTime, float roundTrip,
+                 Map<String, Object> annotations, Map<String, Object> journal) {
+            this.id = id;
+            this.path = path;
+            this.service = service;
+            this.from = from;
+            this.start = start;
+            this.status = status;
+            this.success = success;
+            this.exception = exception;
+            this.execTime = execTime;
+            this.roundTrip = roundTrip;
+            this.annotations = annotations;
+            this.journal = journal;
+        }
+
+        Map<String, Object> toMap(String origin) {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put(ORIGIN, origin);
+            metrics.put(ID, id);
+            metrics.put(PATH, path);
+            metrics.put(SERVICE, service);
+            if (from != null) {
+                metrics.put(FROM, from);
+            }
+            metrics.put(START, start);
+            metrics.put(STATUS, status);
+            metrics.put(SUCCESS, success);
+            if (exception != null) {
+                metrics.put(EXCEPTION, exception);
+            }
+            metrics.put(EXEC_TIME, execTime);
+            if (roundTrip >= 0) {
+                metrics.put(ROUND_TRIP, roundTrip);
+            }
+            Map<String, Object> payload = new HashMap<>();
+            payload.put(TRACE, metrics);
+            if (annotations != null && !annotations.isEmpty()) {
+                payload.put(ANNOTATIONS, annotations);
+            }
+            if (journal != null) {
+                payload.put(JOURNAL, journal);
+            }
+            return payload;
+        }
+
+        void clear() {
+            id = null;
+            path = null;
+            service = null;
+            from = null;
+            start = null;
+            exception = null;
+            annotations = null;
+            journal = null;
+        }
+    }
+}
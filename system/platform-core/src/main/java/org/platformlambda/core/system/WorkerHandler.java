@@ -21,7 +21,6 @@ package org.platformlambda.core.system;
 import org.platformlambda.core.exception.AppException;
 import org.platformlambda.core.models.*;
 import org.platformlambda.core.serializers.SimpleMapper;
-import org.platformlambda.core.services.DistributedTrace;
 import org.platformlambda.core.services.TemporaryInbox;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
@@ -44,16 +43,8 @@ import java.util.concurrent.atomic.AtomicLong;
 public class WorkerHandler {
     private static final Logger log = LoggerFactory.getLogger(WorkerHandler.class);
     private static final Utility util = Utility.getInstance();
-    private static final String ID = "id";
-    private static final String PATH = "path";
-    private static final String SUCCESS = "success";
-    private static final String FROM = "from";
+    private static final TraceCollector collector = TraceCollector.getInstance();
     private static final String UNKNOWN = "unknown";
-    private static final String EXEC_TIME = "exec_time";
-    private static final String ORIGIN = "origin";
-    private static final String SERVICE = "service";
-    private static final String START = "start";
-    private static final String TRACE = "trace";
     private static final String INPUT = "input";
     private static final String OUTPUT = "output";
     private static final String HEADERS = "headers";
@@ -61,26 +52,24 @@ public class WorkerHandler {
     private static final String STATUS = "status";
     private static final String EXCEPTION = "exception";
     private static final String ASYNC = "async";
-    private static final String ANNOTATIONS = "annotations";
-    private static final String JOURNAL = "journal";
     private static final String MY_ROUTE = "my_route";
     private static final String MY_TRACE_ID = "my_trace_id";
     private static final String MY_TRACE_PATH = "my_trace_path";
     private static final String X_STREAM_ID = "x-stream-id";
     private static final String X_TTL = "x-ttl";
-    private static final String READY = "ready:";
     private static final long DEFAULT_TIMEOUT = 30 * 60 * 1000L; // 30 minutes
     private final boolean tracing;
+    private final WorkerQueues worker;
     private final ServiceDef def;
     private final String route;
     private final String parentRoute;
     private final int instance;
-    private final String myOrigin;
     private final boolean interceptor;
     private final boolean useEnvelope;
 
-    public WorkerHandler(ServiceDef def, String route, int instance,
+    public WorkerHandler(WorkerQueues worker, ServiceDef def, String route, int instance,
                          boolean tracing, boolean interceptor, boolean useEnvelope) {
+        this.worker = worker;
         this.route = route;
         this.parentRoute = route.contains("#")? route.substring(0, route.lastIndexOf('#')) : route;
         this.instance = instance;
@@ -88,7 +77,6 @@ public class WorkerHandler {
         this.tracing = tracing;
         this.interceptor = interceptor;
         this.useEnvelope = useEnvelope;
-        this.myOrigin = Platform.getInstance().getOrigin();
     }
 
     public void executeFunction(EventEnvelope event) {
@@ -99,42 +87,24 @@ public class WorkerHandler {
         EventEmitter po = EventEmitter.getInstance();
         String ref = tracing? po.startTracing(parentRoute, event.getTraceId(), event.getTracePath(), instance) : "?";
         ProcessStatus ps = processEvent(event, rpc);
+        worker.manager.getMetrics().recordExecution(ps.getExecutionTime(), ps.isSuccess());
         TraceInfo trace = po.stopTracing(ref);
         if (tracing && trace != null && trace.id != null && trace.path != null) {
-            try {
-                boolean journaled = po.isJournaled(def.getRoute());
-                if (journaled || rpc == null || !ps.isDelivered()) {
-                    // Send tracing information to distributed trace logger
-                    EventEnvelope dt = new EventEnvelope().setTo(DistributedTrace.DISTRIBUTED_TRACING);
-                    Map<String, Object> payload = new HashMap<>();
-                    payload.put(ANNOTATIONS, trace.annotations);
+            boolean journaled = po.isJournaled(def.getRoute());
+            if (journaled || rpc == null || !ps.isDelivered()) {
+                boolean success = ps.isSuccess() && ps.isDelivered();
+                // a span that is not sampled is dropped before any tracing dataset is created
+                if (journaled || collector.isSampled(def.getRoute(), trace.id, !success, ps.getExecutionTime())) {
+                    int status = ps.isDelivered()? ps.getStatus() : 500;
+                    String exception = ps.isDelivered()?
+                            (ps.isSuccess()? null : ps.getException()) :
+                            "Response not delivered - "+ps.getDeliveryError();
                     // send input/output dataset to journal if configured in journal.yaml
-                    if (journaled) {
-                        payload.put(JOURNAL, ps.getInputOutput());
-                    }
-                    Map<String, Object> metrics = new HashMap<>();
-                    metrics.put(ORIGIN, myOrigin);
-                    metrics.put(ID, trace.id);
-                    metrics.put(PATH, trace.path);
-                    metrics.put(SERVICE, def.getRoute());
-                    metrics.put(START, trace.startTime);
-                    metrics.put(SUCCESS, ps.isSuccess());
-                    metrics.put(FROM, event.getFrom() == null ? UNKNOWN : event.getFrom());
-                    metrics.put(EXEC_TIME, ps.getExecutionTime());
-                    metrics.put(STATUS, ps.getStatus());
-                    if (!ps.isSuccess()) {
-                        metrics.put(EXCEPTION, ps.getException());
-                    }
-                    if (!ps.isDelivered()) {
-                        metrics.put(STATUS, 500);
-                        metrics.put(SUCCESS, false);
-                        metrics.put(EXCEPTION, "Response not delivered - "+ps.getDeliveryError());
-                    }
-                    payload.put(TRACE, metrics);
-                    po.send(dt.setBody(payload));
+                    collector.record(trace.id, trace.path, def.getRoute(),
+                            event.getFrom() == null ? UNKNOWN : event.getFrom(), trace.startTime,
+                            status, success, exception, ps.getExecutionTime(), -1,
+                            trace.annotations, journaled? ps.getInputOutput() : null);
                 }
-            } catch (Exception e) {
-                log.error("Unable to send to {}", DistributedTrace.DISTRIBUTED_TRACING, e);
             }
         } else {
             if (!ps.isDelivered()) {
@@ -146,13 +116,13 @@ public class WorkerHandler {
             }
         }
         /*
-         * If this response is not a Mono reactive object, send a ready signal to inform the system this worker
+         * If this response is not a Mono reactive object, inform the system this worker
          * is ready for next event. Otherwise, defer it until the Mono result is realized.
          *
          * This guarantee that this future task is executed orderly.
          */
         if (!ps.isReactive()) {
-            Platform.getInstance().getEventSystem().send(def.getRoute(), READY + route);
+            worker.ready();
         }
     }
 
@@ -265,7 +235,7 @@ public class WorkerHandler {
                             platform.getVertx().cancelTimer(t1);
                         }
                         // finally, send service acknowledgement
-                        platform.getEventSystem().send(def.getRoute(), READY + route);
+                        worker.ready();
                     }).subscribeOn(Schedulers.fromExecutor(platform.getVirtualThreadExecutor()))
                       .subscribe(data -> {
                         completed.set(true);
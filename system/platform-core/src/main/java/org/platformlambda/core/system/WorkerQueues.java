@@ -18,11 +18,11 @@
 
 package org.platformlambda.core.system;
 
-import io.vertx.core.eventbus.MessageConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This is reserved for system use.
@@ -33,26 +33,41 @@ public abstract class WorkerQueues {
 
     protected static final ExecutorService kernelExecutor = Platform.getInstance().getKernelThreadExecutor();
     protected static final ExecutorService vThreadExecutor = Platform.getInstance().getVirtualThreadExecutor();
-    protected static final String READY = "ready:";
     protected final ServiceDef def;
     protected final String route;
     protected final String parentRoute;
-    protected MessageConsumer<byte[]> consumer = null;
-    protected boolean stopped = false;
+    protected final ServiceQueue manager;
+    protected volatile boolean stopped = false;
+    // true when this worker is in the ring of idle workers
+    final AtomicBoolean idle = new AtomicBoolean(false);
 
-    protected WorkerQueues(ServiceDef def, String route) {
+    protected WorkerQueues(ServiceDef def, String route, ServiceQueue manager) {
         this.def = def;
         this.route = route;
+        this.manager = manager;
         this.parentRoute = route.contains("#")? route.substring(0, route.lastIndexOf('#')) : route;
     }
 
+    /**
+     * The service manager hands over an event to this worker from its event loop
+     *
+     * @param event as a byte array or an isolated copy of an EventEnvelope
+     */
+    protected abstract void deliver(Object event);
+
+    /**
+     * Tell the service manager that this worker is ready for the next event
+     */
+    protected void ready() {
+        manager.ready(this);
+    }
+
     protected void started() {
         log.debug("{} started", route);
     }
 
     protected void stop() {
-        if (consumer != null && consumer.isRegistered()) {
-            consumer.unregister();
+        if (!stopped) {
             stopped = true;
             log.debug("{} stopped", route);
         }
@@ -0,0 +1,240 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import com.sleepycat.je.*;
+import org.platformlambda.core.annotations.ZeroTracing;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Overflow store using a Berkeley DB (JE) database shared by all elastic queues
+ * <p>
+ * Each event is saved as a key-value in the database and deleted when it is read.
+ * This store is retained for backward compatibility. Set "elastic.queue.store=berkeley" to select it.
+ */
+class BerkeleyStore implements OverflowStore {
+    private static final Logger log = LoggerFactory.getLogger(BerkeleyStore.class);
+    private static final Utility util = Utility.getInstance();
+    private static final AtomicInteger generation = new AtomicInteger(0);
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static final byte[] NOTHING = new byte[0];
+    private static final String CLEAN_UP_TASK = "elastic.queue.cleanup";
+    private static final String SLASH = "/";
+    private static final int MAX_EVENTS = 100000000;
+    private static Database db;
+    private static Environment dbEnv;
+    private static File dbFolder;
+    private static boolean dbLoaded = false;
+    private final String id;
+    private int currentVersion = generation.incrementAndGet();
+    private long readCounter;
+    private long writeCounter;
+
+    BerkeleyStore(String id) {
+        this.id = id;
+    }
+
+    static void initialize(File folder, boolean deferred) {
+        dbFolder = folder;
+        try {
+            Platform.getInstance().registerPrivate(CLEAN_UP_TASK, new Cleanup(), 1);
+        } catch (IOException e) {
+            log.error("Unable to register {} - {}", CLEAN_UP_TASK, e.getMessage());
+        }
+        /*
+         * Normally the system should initialize commit log before using the elastic queue.
+         */
+        if (!deferred) {
+            getDatabase();
+            log.info("Commit log started");
+        }
+    }
+
+    static void shutdown() {
+        if (dbLoaded) {
+            dbLoaded = false;
+            try {
+                db.close();
+            } catch (Exception e) {
+                log.debug("Exception while closing - {}", e.getMessage());
+            }
+            try {
+                dbEnv.close();
+            } catch (Exception e) {
+                log.debug("Exception while closing - {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void setupCommitLog(File dir) {
+        try {
+            long t1 = System.currentTimeMillis();
+            dbEnv = new Environment(dir,
+                    new EnvironmentConfig()
+                            .setAllowCreate(true)
+                            .setConfigParam(EnvironmentConfig.MAX_DISK, "0")
+                            .setConfigParam(EnvironmentConfig.FREE_DISK, "0"));
+            dbEnv.checkpoint(new CheckpointConfig().setMinutes(1));
+            db = dbEnv.openDatabase(null, "kv",
+                    new DatabaseConfig().setAllowCreate(true).setTemporary(false));
+            dbLoaded = true;
+            long diff = System.currentTimeMillis() - t1;
+            log.info("Created holding area {} in {} ms", dir, diff);
+
+        } catch (Exception e) {
+            log.error("Unable to create holding area in {} - {}", dir, e.getMessage());
+            System.exit(-1);
+        }
+    }
+
+    private static Database getDatabase() {
+        if (db == null) {
+            lock.lock();
+            try {
+                if (dbEnv == null) {
+                    setupCommitLog(dbFolder);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return db;
+    }
+
+    @Override
+    public boolean write(byte[] event) {
+        String key = id + SLASH + currentVersion + SLASH + util.zeroFill(writeCounter, MAX_EVENTS);
+        DatabaseEntry k = new DatabaseEntry(util.getUTF(key));
+        DatabaseEntry v = new DatabaseEntry(event);
+        Database database = getDatabase();
+        if (database != null) {
+            database.put(null, k, v);
+            writeCounter++;
+            return true;
+        }
+        log.error("Unable to save event of {} bytes to {} - database not available", event.length, id);
+        return false;
+    }
+
+    @Override
+    public byte[] read() {
+        if (readCounter >= writeCounter) {
+            return NOTHING;
+        }
+        boolean hasRecord = false;
+        String key = id + SLASH + currentVersion + SLASH + util.zeroFill(readCounter, MAX_EVENTS);
+        DatabaseEntry k = new DatabaseEntry(util.getUTF(key));
+        DatabaseEntry v = new DatabaseEntry();
+        Database database = getDatabase();
+        if (database != null) {
+            try {
+                OperationStatus status = database.get(null, k, v, LockMode.DEFAULT);
+                if (status == OperationStatus.SUCCESS) {
+                    // must be an exact match
+                    String ks = util.getUTF(k.getData());
+                    if (ks.equals(key)) {
+                        hasRecord = true;
+                        readCounter++;
+                        return v.getData();
+                    } else {
+                        log.error("Expected {}, Actual: {}", key, ks);
+                    }
+                }
+            } finally {
+                if (hasRecord) {
+                    database.delete(null, k);
+                }
+            }
+        }
+        return NOTHING;
+    }
+
+    @Override
+    public void clear() {
+        if (dbEnv != null && !dbEnv.isClosed()) {
+            if (readCounter < writeCounter) {
+                try {
+                    EventEmitter.getInstance().send(CLEAN_UP_TASK, id + SLASH + currentVersion);
+                } catch (IOException e) {
+                    log.error("Unable to run {} - {}", CLEAN_UP_TASK, e.getMessage());
+                }
+            } else {
+                dbEnv.cleanLog();
+            }
+        }
+        readCounter = writeCounter = 0;
+        currentVersion = generation.incrementAndGet();
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+        if (dbEnv != null) {
+            // perform final clean up
+            try {
+                EventEmitter.getInstance().send(CLEAN_UP_TASK, id);
+            } catch (IOException e) {
+                log.error("Unable to run {} - {}", CLEAN_UP_TASK, e.getMessage());
+            }
+        }
+    }
+
+    @ZeroTracing
+    private static class Cleanup implements LambdaFunction {
+
+        @Override
+        public Object handleEvent(Map<String, String> headers, Object input, int instance) {
+            if (input instanceof String && db != null && dbEnv != null) {
+                int n = 0;
+                String prefix = input + SLASH;
+                DatabaseEntry k = new DatabaseEntry(util.getUTF(prefix));
+                DatabaseEntry v = new DatabaseEntry();
+                try (Cursor cursor = db.openCursor(null, new CursorConfig())) {
+                    OperationStatus status = cursor.getSearchKeyRange(k, v, LockMode.DEFAULT);
+                    while (status == OperationStatus.SUCCESS) {
+                        String ks = util.getUTF(k.getData());
+                        if (!ks.startsWith(prefix)) {
+                            break;
+                        }
+                        db.delete(null, k);
+                        n++;
+                        status = cursor.getNext(k, v, LockMode.DEFAULT);
+                    }
+                    if (n > 0) {
+                        dbEnv.cleanLog();
+                        log.info("Cleared {} unread event{} for {}", n, n == 1? "" : "s", input);
+                    }
+                } catch (Exception e) {
+                    log.debug("Unable to scan {} - {}", input, e.getMessage());
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Read a list of byte arrays as a single input stream without copying them into one array
+ * <p>
+ * This allows a decoder to parse a response body from the blocks as they are received.
+ * This class is not thread safe.
+ */
+public class ByteChunkInputStream extends InputStream {
+    private final List<byte[]> chunks;
+    private final long length;
+    private int index = 0;
+    private int offset = 0;
+    private long position = 0;
+
+    public ByteChunkInputStream(List<byte[]> chunks) {
+        this.chunks = chunks;
+        long total = 0;
+        for (byte[] b: chunks) {
+            total += b.length;
+        }
+        this.length = total;
+    }
+
+    /**
+     * Get total number of bytes
+     *
+     * @return length
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Find the first byte that is not a whitespace character without consuming the stream
+     *
+     * @return the byte or -1 if there are only whitespace characters
+     */
+    public int firstNonWhitespace() {
+        for (byte[] b: chunks) {
+            for (byte c: b) {
+                if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                    return c & 0xff;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get all bytes as a single array
+     * <p>
+     * When there is only one chunk, it is returned without copying.
+     *
+     * @return bytes
+     */
+    public byte[] toByteArray() {
+        if (chunks.size() == 1) {
+            return chunks.getFirst();
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unable to return more than 2 GB as a byte array");
+        }
+        byte[] result = new byte[(int) length];
+        int n = 0;
+        for (byte[] b: chunks) {
+            System.arraycopy(b, 0, result, n, b.length);
+            n += b.length;
+        }
+        return result;
+    }
+
+    @Override
+    public int read() {
+        while (index < chunks.size()) {
+            byte[] b = chunks.get(index);
+            if (offset < b.length) {
+                position++;
+                return b[offset++] & 0xff;
+            }
+            index++;
+            offset = 0;
+        }
+        return -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < len && index < chunks.size()) {
+            byte[] b = chunks.get(index);
+            int n = Math.min(len - count, b.length - offset);
+            if (n > 0) {
+                System.arraycopy(b, offset, buffer, off + count, n);
+                offset += n;
+                count += n;
+                position += n;
+            }
+            if (offset >= b.length) {
+                index++;
+                offset = 0;
+            }
+        }
+        return count == 0? -1 : count;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, length - position);
+    }
+}
@@ -18,11 +18,7 @@
 
 package org.platformlambda.core.util;
 
-import com.sleepycat.je.*;
-import org.platformlambda.core.annotations.ZeroTracing;
-import org.platformlambda.core.models.LambdaFunction;
 import org.platformlambda.core.system.Platform;
-import org.platformlambda.core.system.EventEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,18 +27,18 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 
 public class ElasticQueue implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(ElasticQueue.class);
     private static final Utility util = Utility.getInstance();
-    private static final AtomicInteger generation = new AtomicInteger(0);
-    private static final ReentrantLock lock = new ReentrantLock();
     private static final AtomicInteger initCounter = new AtomicInteger(0);
     public static final int MEMORY_BUFFER = 20;
+    public static final String MAPPED_STORE = "mapped";
+    public static final String BERKELEY_STORE = "berkeley";
+    private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
     private static final byte[] NOTHING = new byte[0];
     private static final long ONE_SECOND = 1000L;
     private static final long ONE_MINUTE = 60 * ONE_SECOND;
@@ -51,37 +47,57 @@ public class ElasticQueue implements AutoCloseable {
     private static final long KEEP_ALIVE_INTERVAL = 20 * ONE_SECOND;
     private static final long HOUSEKEEPING_INTERVAL = 10 * ONE_MINUTE;
     private static final String RUNNING = "RUNNING";
-    private static final String CLEAN_UP_TASK = "elastic.queue.cleanup";
-    private static final String SLASH = "/";
-    private static final int MAX_EVENTS = 100000000;
-    private static Database db;
-    private static Environment dbEnv;
+    private static final String SEGMENTS = "segments";
+    private static final int memoryBuffer;
+    private static final int segmentSize;
+    private static final String defaultStore;
     private static File dbFolder;
-    private static boolean dbLoaded = false;
     private static boolean runningInCloud;
     private long readCounter;
     private long writeCounter;
     private boolean empty = false;
     private byte[] peeked = NOTHING;
-    private int currentVersion = generation.get();
+    private OverflowStore store;
     private final String id;
+    private final String storeType;
     private final ConcurrentLinkedQueue<byte[]> memory = new ConcurrentLinkedQueue<>();
 
+    static {
+        AppConfigReader config = AppConfigReader.getInstance();
+        int buffer = util.str2int(config.getProperty("elastic.queue.memory.buffer", String.valueOf(MEMORY_BUFFER)));
+        memoryBuffer = buffer < 0? MEMORY_BUFFER : buffer;
+        int size = util.str2int(config.getProperty("elastic.queue.segment.size", String.valueOf(DEFAULT_SEGMENT_SIZE)));
+        segmentSize = size < 0? DEFAULT_SEGMENT_SIZE : Math.max(MIN_SEGMENT_SIZE, size);
+        String type = config.getProperty("elastic.queue.store", MAPPED_STORE);
+        if (MAPPED_STORE.equals(type) || BERKELEY_STORE.equals(type)) {
+            defaultStore = type;
+        } else {
+            log.error("Invalid elastic.queue.store '{}' - default to {}", type, MAPPED_STORE);
+            defaultStore = MAPPED_STORE;
+        }
+    }
+
     /**
      * Two-stage elastic queue using memory and disk
      *
      * @param id service route path
      */
     public ElasticQueue(String id) {
+        this(id, defaultStore);
+    }
+
+    /**
+     * Two-stage elastic queue using memory and the selected overflow store
+     *
+     * @param id service route path
+     * @param storeType is MAPPED_STORE or BERKELEY_STORE
+     */
+    public ElasticQueue(String id, String storeType) {
         this.id = util.validServiceName(id)? id : util.filteredServiceName(id);
+        this.storeType = BERKELEY_STORE.equals(storeType)? BERKELEY_STORE : MAPPED_STORE;
         resetCounter();
         if (initCounter.incrementAndGet() == 1) {
             Platform platform = Platform.getInstance();
-            try {
-                platform.registerPrivate(CLEAN_UP_TASK, new Cleanup(), 1);
-            } catch (IOException e) {
-                log.error("Unable to register {} - {}", CLEAN_UP_TASK, e.getMessage());
-            }
             Runtime.getRuntime().addShutdownHook(new Thread(ElasticQueue::shutdown));
             AppConfigReader config = AppConfigReader.getInstance();
             runningInCloud = "true".equals(config.getProperty("running.in.cloud", "false"));
@@ -97,14 +113,9 @@ public class ElasticQueue implements AutoCloseable {
             }
             // save a signature file first
             util.str2file(new File(dbFolder, RUNNING), util.getTimestamp());
-            /*
-             * Normally the system should initialize commit log before using the elastic queue.
-             */
             boolean deferred = "true".equals(config.getProperty("deferred.commit.log", "false"));
-            if (!deferred) {
-                getDatabase();
-                log.info("Commit log started");
-            }
+            BerkeleyStore.initialize(dbFolder, deferred || !BERKELEY_STORE.equals(defaultStore));
+            log.info("Overflow store is {} with memory buffer of {} events", defaultStore, memoryBuffer);
             scanExpiredStores(tmpRoot);
             platform.getVertx().setPeriodic(KEEP_ALIVE_INTERVAL, t -> keepAlive());
             platform.getVertx().setPeriodic(HOUSEKEEPING_INTERVAL, t -> housekeeping());
@@ -154,19 +165,42 @@ public class ElasticQueue implements AutoCloseable {
         return writeCounter;
     }
 
+    /**
+     * Get the number of pending events that are held in memory
+     *
+     * @return memory backlog
+     */
+    public long getMemoryBacklog() {
+        long w = writeCounter;
+        long r = readCounter;
+        return Math.max(0, Math.min(w, memoryBuffer) - r);
+    }
+
+    /**
+     * Get the number of pending events that have overflowed to the store
+     *
+     * @return store backlog
+     */
+    public long getStoreBacklog() {
+        long w = writeCounter;
+        long r = readCounter;
+        return Math.max(0, w - Math.max(r, memoryBuffer));
+    }
+
+    /**
+     * Get the number of events that are kept in memory before overflowing to the store
+     *
+     * @return memory buffer size
+     */
+    public static int getMemoryBuffer() {
+        return memoryBuffer;
+    }
+
     @Override
     public void close() {
         if (!isClosed()) {
-            if (dbEnv != null && !dbEnv.isClosed()) {
-                if (readCounter < writeCounter && writeCounter > MEMORY_BUFFER) {
-                    try {
-                        EventEmitter.getInstance().send(CLEAN_UP_TASK, id + SLASH + currentVersion);
-                    } catch (IOException e) {
-                        log.error("Unable to run {} - {}", CLEAN_UP_TASK, e.getMessage());
-                    }
-                } else {
-                    dbEnv.cleanLog();
-                }
+            if (store != null && writeCounter > memoryBuffer) {
+                store.clear();
             }
             resetCounter();
         }
@@ -177,13 +211,10 @@ public class ElasticQueue implements AutoCloseable {
      */
     public void destroy() {
         close();
-        if (dbEnv != null) {
+        if (store != null) {
             // perform final clean up
-            try {
-                EventEmitter.getInstance().send(CLEAN_UP_TASK, id);
-            } catch (IOException e) {
-                log.error("Unable to run {} - {}", CLEAN_UP_TASK, e.getMessage());
-            }
+            store.destroy();
+            store = null;
         }
     }
 
@@ -192,22 +223,10 @@ public class ElasticQueue implements AutoCloseable {
     }
 
     private static void shutdown() {
-        if (dbLoaded) {
-            dbLoaded = false;
-            try {
-                db.close();
-            } catch (Exception e) {
-                log.debug("Exception while closing - {}", e.getMessage());
-            }
-            try {
-                dbEnv.close();
-            } catch (Exception e) {
-                log.debug("Exception while closing - {}", e.getMessage());
-            }
-            if (dbFolder.exists()) {
-                util.cleanupDir(dbFolder, runningInCloud);
-                log.info("Holding area {} cleared", dbFolder);
-            }
+        BerkeleyStore.shutdown();
+        if (dbFolder != null && dbFolder.exists()) {
+            util.cleanupDir(dbFolder, runningInCloud);
+            log.info("Holding area {} cleared", dbFolder);
         }
     }
 
@@ -216,63 +235,40 @@ public class ElasticQueue implements AutoCloseable {
             empty = true;
             readCounter = writeCounter = 0;
             memory.clear();
-            currentVersion = generation.incrementAndGet();
-        }
-    }
-
-    private static void setupCommitLog(File dir) {
-        try {
-            long t1 = System.currentTimeMillis();
-            dbEnv = new Environment(dir,
-                    new EnvironmentConfig()
-                            .setAllowCreate(true)
-                            .setConfigParam(EnvironmentConfig.MAX_DISK, "0")
-                            .setConfigParam(EnvironmentConfig.FREE_DISK, "0"));
-            dbEnv.checkpoint(new CheckpointConfig().setMinutes(1));
-            db = dbEnv.openDatabase(null, "kv",
-                    new DatabaseConfig().setAllowCreate(true).setTemporary(false));
-            dbLoaded = true;
-            long diff = System.currentTimeMillis() - t1;
-            log.info("Created holding area {} in {} ms", dir, diff);
-
-        } catch (Exception e) {
-            log.error("Unable to create holding area in {} - {}", dir, e.getMessage());
-            System.exit(-1);
         }
     }
 
-    private static Database getDatabase() {
-        if (db == null) {
-            lock.lock();
-            try {
-                if (dbEnv == null) {
-                    setupCommitLog(dbFolder);
-                }
-            } finally {
-                lock.unlock();
+    private OverflowStore getStore() {
+        if (store == null) {
+            if (BERKELEY_STORE.equals(storeType)) {
+                store = new BerkeleyStore(id);
+            } else {
+                store = new MappedSegmentStore(new File(dbFolder, SEGMENTS), id, segmentSize);
             }
         }
-        return db;
+        return store;
     }
 
-    public void write(byte[] event) {
+    /**
+     * Append an event to the queue
+     *
+     * @param event in bytes
+     * @return true if the event is queued or false if the overflow store is not available
+     */
+    public boolean write(byte[] event) {
         if (event != null && event.length > 0) {
-            if (writeCounter < MEMORY_BUFFER) {
+            if (writeCounter < memoryBuffer) {
                 // for highest performance, save to memory for the first few blocks
                 memory.add(event);
-            } else {
-                // otherwise, save to disk
-                String key = id + SLASH + currentVersion + SLASH + util.zeroFill(writeCounter, MAX_EVENTS);
-                DatabaseEntry k = new DatabaseEntry(util.getUTF(key));
-                DatabaseEntry v = new DatabaseEntry(event);
-                Database database = getDatabase();
-                if (database != null) {
-                    database.put(null, k, v);
-                }
+            } else if (!getStore().write(event)) {
+                // the event is not counted because it cannot be read back
+                return false;
             }
             writeCounter++;
             empty = false;
+            return true;
         }
+        return false;
     }
 
     public byte[] peek() {
@@ -294,39 +290,18 @@ public class ElasticQueue implements AutoCloseable {
             close();
             return NOTHING;
         }
-        if (readCounter < MEMORY_BUFFER) {
+        if (readCounter < memoryBuffer) {
             byte[] event = memory.poll();
             if (event != null) {
                 readCounter++;
             }
             return event;
         }
-        boolean hasRecord = false;
-        String key = id + SLASH + currentVersion + SLASH + util.zeroFill(readCounter, MAX_EVENTS);
-        DatabaseEntry k = new DatabaseEntry(util.getUTF(key));
-        DatabaseEntry v = new DatabaseEntry();
-        Database database = getDatabase();
-        if (database != null) {
-            try {
-                OperationStatus status = database.get(null, k, v, LockMode.DEFAULT);
-                if (status == OperationStatus.SUCCESS) {
-                    // must be an exact match
-                    String ks = util.getUTF(k.getData());
-                    if (ks.equals(key)) {
-                        hasRecord = true;
-                        readCounter++;
-                        return v.getData();
-                    } else {
-                        log.error("Expected {}, Actual: {}", key, ks);
-                    }
-                }
-            } finally {
-                if (hasRecord) {
-                    database.delete(null, k);
-                }
-            }
+        byte[] event = getStore().read();
+        if (event.length > 0) {
+            readCounter++;
         }
-        return NOTHING;
+        return event;
     }
 
     private void scanExpiredStores(File tmpRoot) {
@@ -357,38 +332,4 @@ public class ElasticQueue implements AutoCloseable {
         }
     }
 
-    @ZeroTracing
-    private static class Cleanup implements LambdaFunction {
-
-        @Override
-        public Object handleEvent(Map<String, String> headers, Object input, int instance) {
-            if (input instanceof String && db != null && dbEnv != null) {
-                Utility util = Utility.getInstance();
-                int n = 0;
-                String prefix = input + SLASH;
-                DatabaseEntry k = new DatabaseEntry(util.getUTF(prefix));
-                DatabaseEntry v = new DatabaseEntry();
-                try (Cursor cursor = db.openCursor(null, new CursorConfig())) {
-                    OperationStatus status = cursor.getSearchKeyRange(k, v, LockMode.DEFAULT);
-                    while (status == OperationStatus.SUCCESS) {
-                        String ks = util.getUTF(k.getData());
-                        if (!ks.startsWith(prefix)) {
-                            break;
-                        }
-                        db.delete(null, k);
-                        n++;
-                        status = cursor.getNext(k, v, LockMode.DEFAULT);
-                    }
-                    if (n > 0) {
-                        dbEnv.cleanLog();
-                        log.info("Cleared {} unread event{} for {}", n, n == 1? "" : "s", input);
-                    }
-                } catch (Exception e) {
-                    log.debug("Unable to scan {} - {}", input, e.getMessage());
-                }
-            }
-            return true;
-        }
-    }
-
 }
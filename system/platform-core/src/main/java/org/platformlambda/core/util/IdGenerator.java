@@ -0,0 +1,42 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+/**
+ * Generator of unique IDs for events, correlation IDs, flow instances and streams.
+ * <p>
+ * An ID must be unique within the application instance and it must be safe for use
+ * as part of a route name. i.e. lower case letters and digits only.
+ * <p>
+ * The generator is selected with the "id.generator" parameter in application.properties.
+ * <p>
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ */
+public interface IdGenerator {
+
+    /**
+     * Get a unique ID
+     * <p>
+     * This method is called concurrently from many threads and it must not block.
+     *
+     * @return unique ID
+     */
+    String getId();
+}
@@ -0,0 +1,139 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latency in microseconds
+ * <p>
+ * Values are counted in log-linear buckets. Each power of two is divided into 16 sub-buckets
+ * so that a percentile is accurate to about 6 percent. Values from 0 to about 12 days are
+ * supported and larger values are counted in the last bucket.
+ * <p>
+ * Recording does not allocate memory and is safe to be called from any thread.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 39;
+    private static final int SIZE = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+    private final AtomicLongArray counts = new AtomicLongArray(SIZE);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong sum = new AtomicLong(0);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Record a value
+     *
+     * @param micros latency in microseconds. A negative value is counted as zero.
+     */
+    public void record(long micros) {
+        long v = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long current = max.get();
+        while (v > current && !max.compareAndSet(current, v)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get total of all recorded values
+     *
+     * @return sum in microseconds
+     */
+    public long getSum() {
+        return sum.get();
+    }
+
+    /**
+     * Get largest recorded value
+     *
+     * @return max in microseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get average of all recorded values
+     *
+     * @return mean in microseconds
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Get the value at a percentile
+     *
+     * @param percentile from 0 to 100
+     * @return highest value of the matching bucket in microseconds
+     */
+    public long getPercentile(double percentile) {
+        long n = 0;
+        long[] snapshot = new long[SIZE];
+        for (int i=0; i < SIZE; i++) {
+            snapshot[i] = counts.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n));
+        long seen = 0;
+        for (int i=0; i < SIZE; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    private static int indexOf(long v) {
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        if (exponent > MAX_EXPONENT) {
+            return SIZE - 1;
+        }
+        int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return ((SUB_BUCKETS + sub) << (exponent - SUB_BITS)) + width - 1;
+    }
+}
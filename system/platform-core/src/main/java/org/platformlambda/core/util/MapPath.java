@@ -0,0 +1,195 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+
+package org.platformlambda.core.util;
+
+import java.util.List;
+
+/**
+ * Compiled form of a composite path in dot-bracket format for use with a MultiLevelMap
+ * <p>
+ * e.g. "some.key", "some.array[3]", "hello.world[2][10][1]"
+ * <p>
+ * The path is parsed once into segments and list indexes so that repeated access to
+ * a multi-level map does not need to split the path again.
+ * A MapPath is immutable and can be shared by multiple threads.
+ */
+public class MapPath {
+    private static final String[] EMPTY = new String[0];
+    private final String path;
+    private final boolean composite;
+    private final String error;
+    final String[] keys;
+    final int[][] indexes;
+    final boolean[] validIndex;
+
+    /**
+     * Compile a composite path
+     * <p>
+     * A path with invalid syntax can still be used to retrieve an element.
+     * It will be rejected when it is used to set an element.
+     *
+     * @param path using dot-bracket convention
+     */
+    public MapPath(String path) {
+        this.path = path;
+        this.composite = path != null && (path.contains(".") || path.contains("[") || path.contains("]"));
+        Utility util = Utility.getInstance();
+        List<String> segments = util.split(path, "./");
+        int len = segments.size();
+        this.keys = len == 0? EMPTY : new String[len];
+        this.indexes = new int[len][];
+        this.validIndex = new boolean[len];
+        for (int i=0; i < len; i++) {
+            String p = segments.get(i);
+            if (isListElement(p)) {
+                int start = p.indexOf('[');
+                int end = p.indexOf(']', start);
+                String index = p.substring(start+1, end).trim();
+                keys[i] = p.substring(0, start);
+                indexes[i] = getIndexes(p.substring(start));
+                validIndex[i] = !index.isEmpty() && util.isDigits(index);
+            } else {
+                keys[i] = p;
+            }
+        }
+        this.error = getSyntaxError(path);
+    }
+
+    /**
+     * Get the original composite path
+     *
+     * @return path
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Check if the composite path is in proper dot-bracket syntax
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Validate the composite path
+     *
+     * @throws IllegalArgumentException if invalid format
+     */
+    public void validate() {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    boolean isComposite() {
+        return composite;
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof MapPath other) {
+            return path == null? other.path == null : path.equals(other.path);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return path == null? 0 : path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private static boolean isListElement(String item) {
+        return (item.contains("[") && item.endsWith("]") && !item.startsWith("["));
+    }
+
+    private static int[] getIndexes(String indexSegment) {
+        Utility util = Utility.getInstance();
+        List<String> parts = util.split(indexSegment, "[]");
+        int[] result = new int[parts.size()];
+        for (int i=0; i < result.length; i++) {
+            result[i] = util.str2int(parts.get(i));
+        }
+        return result;
+    }
+
+    private static String getSyntaxError(String path) {
+        Utility util = Utility.getInstance();
+        List<String> segments = util.split(path, ".");
+        if (segments.isEmpty()) {
+            return "Missing composite path";
+        }
+        for (String s: segments) {
+            if (s.contains("[") || s.contains("]")) {
+                if (!s.contains("[")) {
+                    return "Invalid composite path - missing start bracket";
+                }
+                if (!s.endsWith("]")) {
+                    return "Invalid composite path - missing end bracket";
+                }
+                // check start-end pair
+                int sep1 = s.indexOf('[');
+                int sep2 = s.indexOf(']');
+                if (sep2 < sep1) {
+                    return "Invalid composite path - missing start bracket";
+                }
+                boolean start = false;
+                for (char c: s.substring(sep1).toCharArray()) {
+                    if (c == '[') {
+                        if (start) {
+                            return "Invalid composite path - missing end bracket";
+                        } else {
+                            start = true;
+                        }
+                    } else if (c == ']') {
+                        if (!start) {
+                            return "Invalid composite path - duplicated end bracket";
+                        } else {
+                            start = false;
+                        }
+                    } else {
+                        if (start) {
+                            if (c < '0' || c > '9') {
+                                return "Invalid composite path - indexes must be digits";
+                            }
+                        } else {
+                            return "Invalid composite path - invalid indexes";
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Overflow store using append-only memory-mapped segment files
+ * <p>
+ * Each elastic queue has its own folder of segment files. An event is appended to the current segment
+ * as a length-prefixed record and the segments are read sequentially. When a segment is fully read,
+ * it is recycled as the next segment for writing so that there is no per-event delete.
+ * <p>
+ * An event larger than the segment size is saved in a dedicated segment that is deleted after use.
+ */
+class MappedSegmentStore implements OverflowStore {
+    private static final Logger log = LoggerFactory.getLogger(MappedSegmentStore.class);
+    private static final Utility util = Utility.getInstance();
+    private static final AtomicInteger counter = new AtomicInteger(0);
+    private static final byte[] NOTHING = new byte[0];
+    private static final int HEADER = 4;
+    private static final int MAX_SEGMENTS = 100000000;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final File folder;
+    private final int segmentSize;
+    private Segment spare;
+    private int seq = 0;
+
+    MappedSegmentStore(File holdingArea, String id, int segmentSize) {
+        this.folder = new File(holdingArea, id + "-" + counter.incrementAndGet());
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public boolean write(byte[] event) {
+        int size = HEADER + event.length;
+        Segment current = segments.peekLast();
+        if (current == null || current.capacity - current.writePosition < size) {
+            current = getSegment(size);
+            if (current == null) {
+                log.error("Unable to save event of {} bytes to {}", event.length, folder);
+                return false;
+            }
+            segments.add(current);
+        }
+        current.buffer.putInt(current.writePosition, event.length);
+        current.buffer.put(current.writePosition + HEADER, event);
+        current.writePosition += size;
+        return true;
+    }
+
+    @Override
+    public byte[] read() {
+        Segment current = segments.peekFirst();
+        if (current == null) {
+            return NOTHING;
+        }
+        if (current.readPosition >= current.writePosition) {
+            if (segments.size() == 1) {
+                return NOTHING;
+            }
+            // this segment has been fully consumed
+            recycle(segments.poll());
+            current = segments.peekFirst();
+            if (current == null || current.readPosition >= current.writePosition) {
+                return NOTHING;
+            }
+        }
+        int len = current.buffer.getInt(current.readPosition);
+        byte[] event = new byte[len];
+        current.buffer.get(current.readPosition + HEADER, event);
+        current.readPosition += HEADER + len;
+        return event;
+    }
+
+    @Override
+    public void clear() {
+        while (!segments.isEmpty()) {
+            recycle(segments.poll());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+        if (spare != null) {
+            spare.delete();
+            spare = null;
+        }
+        if (folder.exists()) {
+            util.cleanupDir(folder);
+        }
+    }
+
+    private Segment getSegment(int size) {
+        if (size <= segmentSize && spare != null) {
+            Segment segment = spare;
+            spare = null;
+            return segment;
+        }
+        if (!folder.exists() && folder.mkdirs()) {
+            log.debug("{} created", folder);
+        }
+        File f = new File(folder, util.zeroFill(++seq, MAX_SEGMENTS));
+        int capacity = Math.max(size, segmentSize);
+        // the mapping remains valid after the file is closed
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(capacity);
+            return new Segment(f, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+        } catch (IOException e) {
+            log.error("Unable to create segment {} - {}", f, e.getMessage());
+            return null;
+        }
+    }
+
+    private void recycle(Segment segment) {
+        if (spare == null && segment.capacity == segmentSize) {
+            segment.readPosition = segment.writePosition = 0;
+            spare = segment;
+        } else {
+            segment.delete();
+        }
+    }
+
+    private static class Segment {
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int readPosition = 0;
+        private int writePosition = 0;
+
+        Segment(File file, MappedByteBuffer buffer, int capacity) {
+            this.file = file;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                log.error("Unable to delete segment {} - {}", file, e.getMessage());
+            }
+        }
+    }
+}
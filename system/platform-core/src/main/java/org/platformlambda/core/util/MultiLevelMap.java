@@ -22,8 +22,13 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MultiLevelMap {
+    private static final int MAX_CACHED_PATHS = 2000;
+    private static final ConcurrentMap<String, MapPath> compiledPaths = new ConcurrentHashMap<>();
+    private static final NotFound NOT_FOUND = new NotFound();
     private final Map<String, Object> multiLevels = new HashMap<>();
 
     /**
@@ -76,7 +81,18 @@ public class MultiLevelMap {
      * @return true if exists
      */
     public boolean exists(String compositePath) {
-        Object element = getElement(compositePath, multiLevels);
+        return exists(getPath(compositePath));
+    }
+
+    /**
+     * Check if a key-value exists
+     *
+     * @param path compiled composite path
+     *
+     * @return true if exists
+     */
+    public boolean exists(MapPath path) {
+        Object element = getElement(path, multiLevels);
         return element != null && !(element instanceof NotFound);
     }
 
@@ -88,7 +104,18 @@ public class MultiLevelMap {
      * @return true if exists
      */
     public boolean keyExists(String compositePath) {
-        Object element = getElement(compositePath, multiLevels);
+        return keyExists(getPath(compositePath));
+    }
+
+    /**
+     * Check if a key exists where the value can be empty
+     *
+     * @param path compiled composite path
+     *
+     * @return true if exists
+     */
+    public boolean keyExists(MapPath path) {
+        Object element = getElement(path, multiLevels);
         return !(element instanceof NotFound);
     }
 
@@ -101,7 +128,17 @@ public class MultiLevelMap {
      * @return element
      */
     public Object getElement(String compositePath) {
-        Object element = getElement(compositePath, multiLevels);
+        return getElement(getPath(compositePath));
+    }
+
+    /**
+     * Retrieve an element from a map using a compiled composite path
+     *
+     * @param path compiled composite path
+     * @return element
+     */
+    public Object getElement(MapPath path) {
+        Object element = getElement(path, multiLevels);
         return element instanceof NotFound? null : element;
     }
 
@@ -116,26 +153,35 @@ public class MultiLevelMap {
      * @return element
      */
     public Object getElement(String compositePath, Object defaultValue) {
-        Object element = getElement(compositePath);
+        return getElement(getPath(compositePath), defaultValue);
+    }
+
+    /**
+     * Retrieve an element from a map using a compiled composite path, given a default value
+     *
+     * @param path compiled composite path
+     * @param defaultValue if key does not exist
+     * @return element
+     */
+    public Object getElement(MapPath path, Object defaultValue) {
+        Object element = getElement(path);
         return element == null? defaultValue : element;
     }
 
-    @SuppressWarnings("unchecked")
-    private Object getListElement(List<Integer> indexes, List<Object> data) {
-        List<Object> current = data;
-        int n = 0;
-        int len = indexes.size();
-        for (Integer i: indexes) {
-            n++;
+    private Object getListElement(int[] indexes, List<?> data) {
+        List<?> current = data;
+        int len = indexes.length;
+        for (int n=0; n < len; n++) {
+            int i = indexes[n];
             if (i < 0 || i >= current.size()) {
                 break;
             }
             Object o = current.get(i);
-            if (n == len) {
+            if (n == len - 1) {
                 return o;
             }
-            if (o instanceof List) {
-                current = (List<Object>) o;
+            if (o instanceof List<?> next) {
+                current = next;
             } else {
                 break;
             }
@@ -144,46 +190,38 @@ public class MultiLevelMap {
     }
 
     @SuppressWarnings("unchecked")
-    private Object getElement(String path, Map<String, Object> map) {
-        if (path == null || map == null || map.isEmpty()) return null;
-        if (map.containsKey(path)) {
-            return map.get(path);
+    private Object getElement(MapPath path, Map<String, Object> map) {
+        String text = path.getPath();
+        if (text == null || map == null || map.isEmpty()) return null;
+        if (map.containsKey(text)) {
+            return map.get(text);
         }
-        if (!isComposite(path)) {
+        if (!path.isComposite()) {
             return null;
         }
-        Utility util = Utility.getInstance();
-        List<String> list = util.split(path, "./");
         Map<String, Object> current = map;
-        int len = list.size();
-        int n = 0;
-        for (String p: list) {
-            n++;
-            if (isListElement(p)) {
-                int start = p.indexOf('[');
-                int end = p.indexOf(']', start);
-                if (end == -1) break;
-                String key = p.substring(0, start);
-                String index = p.substring(start+1, end).trim();
-                if (index.isEmpty() || !util.isDigits(index)) break;
-                if (current.containsKey(key)) {
-                    Object nextList = current.get(key);
-                    if (nextList instanceof List) {
-                        List<Integer> indexes = getIndexes(p.substring(start));
-                        Object next = getListElement(indexes, (List<Object>) nextList);
-                        if (n == len) {
-                            return next;
-                        }
-                        if (next instanceof Map) {
-                            current = (Map<String, Object>) next;
-                            continue;
-                        }
+        int len = path.size();
+        for (int n=0; n < len; n++) {
+            String key = path.keys[n];
+            int[] indexes = path.indexes[n];
+            boolean last = n == len - 1;
+            if (indexes != null) {
+                if (!path.validIndex[n]) break;
+                Object nextList = current.get(key);
+                if (nextList instanceof List<?> list) {
+                    Object next = getListElement(indexes, list);
+                    if (last) {
+                        return next;
+                    }
+                    if (next instanceof Map) {
+                        current = (Map<String, Object>) next;
+                        continue;
                     }
                 }
             } else {
-                if (current.containsKey(p)) {
-                    Object next = current.get(p);
-                    if (n == len) {
+                if (current.containsKey(key)) {
+                    Object next = current.get(key);
+                    if (last) {
                         return next;
                     } else if (next instanceof Map) {
                         current = (Map<String, Object>) next;
@@ -194,7 +232,7 @@ public class MultiLevelMap {
             // item not found
             break;
         }
-        return new NotFound();
+        return NOT_FOUND;
     }
 
     /**
@@ -205,8 +243,20 @@ public class MultiLevelMap {
      * @return this
      */
     public MultiLevelMap setElement(String compositePath, Object value) {
-        validateCompositePathSyntax(compositePath);
-        setElement(compositePath, value, multiLevels, false);
+        return setElement(getPath(compositePath), value);
+    }
+
+    /**
+     * Set a key-value using a compiled composite path
+     *
+     * @param path compiled composite path
+     * @param value to be inserted
+     * @return this
+     * @throws IllegalArgumentException if the path has invalid format
+     */
+    public MultiLevelMap setElement(MapPath path, Object value) {
+        path.validate();
+        setElement(path, value, multiLevels, false);
         return this;
     }
 
@@ -217,43 +267,44 @@ public class MultiLevelMap {
      * @return this
      */
     public MultiLevelMap removeElement(String compositePath) {
-        if (keyExists(compositePath)) {
-            setElement(compositePath, null, multiLevels, true);
+        return removeElement(getPath(compositePath));
+    }
+
+    /**
+     * Remove a key-value using a compiled composite path
+     *
+     * @param path compiled composite path
+     * @return this
+     */
+    public MultiLevelMap removeElement(MapPath path) {
+        if (keyExists(path)) {
+            setElement(path, null, multiLevels, true);
         }
         return this;
     }
 
     @SuppressWarnings("unchecked")
-    private void setElement(String path, Object value, Map<String, Object> map, boolean delete) {
-        Utility util = Utility.getInstance();
-        List<String> segments = util.split(path, "./");
-        if (segments.isEmpty()) {
-            return;
-        }
+    private void setElement(MapPath path, Object value, Map<String, Object> map, boolean delete) {
+        int len = path.size();
         Map<String, Object> current = map;
-        int len = segments.size();
-        int n = 0;
-        // reconstruct the composite as we walk the path segments
-        StringBuilder composite = new StringBuilder();
-        for (String p : segments) {
-            n++;
-            if (isListElement(p)) {
-                int sep = p.indexOf('[');
-                List<Integer> indexes = getIndexes(p.substring(sep));
-                String element = p.substring(0, sep);
-                Object parent = getElement(composite+element, map);
-                if (n == len) {
+        for (int n=0; n < len; n++) {
+            String key = path.keys[n];
+            int[] indexes = path.indexes[n];
+            boolean last = n == len - 1;
+            if (indexes != null) {
+                Object parent = current.get(key);
+                if (last) {
                     if (parent instanceof List) {
                         setListElement(indexes, (List<Object>) parent, value);
                     } else {
                         List<Object> newList = new ArrayList<>();
                         setListElement(indexes, newList, value);
-                        current.put(element, newList);
+                        current.put(key, newList);
                     }
                     break;
                 } else {
                     if (parent instanceof List) {
-                        Object next = getElement(composite+p, map);
+                        Object next = getListElement(indexes, (List<Object>) parent);
                         if (next instanceof Map) {
                             current = (Map<String, Object>) next;
                         } else {
@@ -265,40 +316,38 @@ public class MultiLevelMap {
                         Map<String, Object> nextMap = new HashMap<>();
                         List<Object> newList = new ArrayList<>();
                         setListElement(indexes, newList, nextMap);
-                        current.put(element, newList);
+                        current.put(key, newList);
                         current = nextMap;
                     }
                 }
-
             } else {
-                if (n == len) {
+                if (last) {
                     if (value == null && delete) {
-                        current.remove(p);
+                        current.remove(key);
                     } else {
-                        current.put(p, value);
+                        current.put(key, value);
                     }
                     break;
                 } else {
-                    Object next = current.get(p);
+                    Object next = current.get(key);
                     if (next instanceof Map) {
                         current = (Map<String, Object>) next;
                     } else {
                         Map<String, Object> nextMap = new HashMap<>();
-                        current.put(p, nextMap);
+                        current.put(key, nextMap);
                         current = nextMap;
                     }
                 }
             }
-            composite.append(p).append('.');
         }
     }
 
     @SuppressWarnings("unchecked")
-    private void setListElement(List<Integer> indexes, List<Object> dataset, Object value) {
+    private void setListElement(int[] indexes, List<Object> dataset, Object value) {
         List<Object> current = expandList(indexes, dataset);
-        int len = indexes.size();
+        int len = indexes.length;
         for (int i=0; i < len; i++) {
-            int idx = indexes.get(i);
+            int idx = indexes[i];
             if (i == len - 1) {
                 current.set(idx, value);
             } else {
@@ -311,11 +360,11 @@ public class MultiLevelMap {
     }
 
     @SuppressWarnings("unchecked")
-    private List<Object> expandList(List<Integer> indexes, List<Object> dataset) {
+    private List<Object> expandList(int[] indexes, List<Object> dataset) {
         List<Object> current = dataset;
-        int len = indexes.size();
+        int len = indexes.length;
         for (int i=0; i < len; i++) {
-            int idx = indexes.get(i);
+            int idx = indexes[i];
             if (idx >= current.size()) {
                 int diff = idx - current.size();
                 while (diff-- >= 0) {
@@ -337,24 +386,6 @@ public class MultiLevelMap {
         return dataset;
     }
 
-    private boolean isComposite(String item) {
-        return item.contains(".") || item.contains("[") || item.contains("]");
-    }
-
-    private boolean isListElement(String item) {
-        return (item.contains("[") && item.endsWith("]") && !item.startsWith("["));
-    }
-
-    private List<Integer> getIndexes(String indexSegment) {
-        Utility util = Utility.getInstance();
-        List<String> indexes = util.split(indexSegment, "[]");
-        List<Integer> result = new ArrayList<>();
-        for (String s: indexes) {
-            result.add(util.str2int(s));
-        }
-        return result;
-    }
-
     /**
      * Check if the composite path is in proper dot-bracket syntax
      *
@@ -362,51 +393,23 @@ public class MultiLevelMap {
      * @throws IllegalArgumentException if invalid format
      */
     public void validateCompositePathSyntax(String path) {
-        Utility util = Utility.getInstance();
-        List<String> segments = util.split(path, ".");
-        if (segments.isEmpty()) {
-            throw new IllegalArgumentException("Missing composite path");
+        getPath(path).validate();
+    }
+
+    private static MapPath getPath(String compositePath) {
+        if (compositePath == null) {
+            return new MapPath(null);
         }
-        for (String s: segments) {
-            if (s.contains("[") || s.contains("]")) {
-                if (!s.contains("[")) {
-                    throw new IllegalArgumentException("Invalid composite path - missing start bracket");
-                }
-                if (!s.endsWith("]")) {
-                    throw new IllegalArgumentException("Invalid composite path - missing end bracket");
-                }
-                // check start-end pair
-                int sep1 = s.indexOf('[');
-                int sep2 = s.indexOf(']');
-                if (sep2 < sep1) {
-                    throw new IllegalArgumentException("Invalid composite path - missing start bracket");
-                }
-                boolean start = false;
-                for (char c: s.substring(sep1).toCharArray()) {
-                    if (c == '[') {
-                        if (start) {
-                            throw new IllegalArgumentException("Invalid composite path - missing end bracket");
-                        } else {
-                            start = true;
-                        }
-                    } else if (c == ']') {
-                        if (!start) {
-                            throw new IllegalArgumentException("Invalid composite path - duplicated end bracket");
-                        } else {
-                            start = false;
-                        }
-                    } else {
-                        if (start) {
-                            if (c < '0' || c > '9') {
-                                throw new IllegalArgumentException("Invalid composite path - indexes must be digits");
-                            }
-                        } else {
-                            throw new IllegalArgumentException("Invalid composite path - invalid indexes");
-                        }
-                    }
-                }
+        MapPath path = compiledPaths.get(compositePath);
+        if (path == null) {
+            path = new MapPath(compositePath);
+            // start over when there are too many distinct paths such as flattened keys of a large dataset
+            if (compiledPaths.size() >= MAX_CACHED_PATHS) {
+                compiledPaths.clear();
             }
+            compiledPaths.put(compositePath, path);
         }
+        return path;
     }
 
     private static class NotFound {
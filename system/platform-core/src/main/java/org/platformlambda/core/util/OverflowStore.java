@@ -0,0 +1,59 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+/**
+ * Overflow store for an elastic queue.
+ * <p>
+ * When the number of pending events exceeds the in-memory buffer of an elastic queue,
+ * the remaining events are appended to an overflow store. Events must be returned in the
+ * same order as they are written.
+ * <p>
+ * An overflow store is used by a single elastic queue and it is not thread safe.
+ * <p>
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ */
+public interface OverflowStore {
+
+    /**
+     * Append an event to the end of the store
+     *
+     * @param event in bytes
+     * @return true if the event is saved or false if the store is not available
+     */
+    boolean write(byte[] event);
+
+    /**
+     * Read the next event
+     *
+     * @return event in bytes or an empty byte array if nothing is available
+     */
+    byte[] read();
+
+    /**
+     * Discard all events so that the store can be reused
+     */
+    void clear();
+
+    /**
+     * Release all resources when the associated route is no longer in service
+     */
+    void destroy();
+}
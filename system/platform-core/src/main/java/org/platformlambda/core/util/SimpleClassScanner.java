@@ -18,34 +18,144 @@
 
 package org.platformlambda.core.util;
 
+import io.github.classgraph.AnnotationInfo;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
+import org.platformlambda.core.processor.AnnotationIndexProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 /**
  * This is reserved for system use.
  * DO NOT use this directly in your application code.
+ * <p>
+ * Annotated classes are read from the build-time index written by AnnotationIndexProcessor.
+ * A package is served from the index only when no classpath location without an index contains
+ * the package. The content of a jar is read from its entries so that a jar built without directory
+ * entries is recognized. Otherwise, the packages that are not indexed are resolved with a single
+ * classpath scan and the result is cached.
  */
 public class SimpleClassScanner {
+    private static final Logger log = LoggerFactory.getLogger(SimpleClassScanner.class);
     private static final String WEB_COMPONENT_SCAN = "web.component.scan";
+    private static final String ANNOTATION_INDEX_ENABLED = "annotation.index";
+    private static final String ANNOTATION_INDEX = AnnotationIndexProcessor.ANNOTATION_INDEX;
     private static final String PLATFORM_LAMBDA = "org.platformlambda.";
     private static final String ACCENTURE_COM = "com.accenture.";
     private static final String[] BASE_PACKAGE = {PLATFORM_LAMBDA, ACCENTURE_COM};
     private static final String EX_START = "Invalid package path (";
     private static final String EX_END = ")";
+    private static final String COMMENT = "#";
+    private static final String FILE_PROTOCOL = "file:";
+    private static final String JAR_PROTOCOL = "jar:";
+    private static final String JRT_PROTOCOL = "jrt:";
+    private static final String CLASS_EXT = ".class";
+    // marker for a classpath location whose content cannot be listed
+    private static final Set<String> UNKNOWN_CONTENT = Set.of("");
     private static final SimpleClassScanner INSTANCE = new SimpleClassScanner();
+    // annotation name to class names from the build-time index
+    private final Map<String, Set<String>> indexedClasses = new HashMap<>();
+    private final Set<String> indexRoots = new HashSet<>();
+    // annotation name to class names from classpath scanning
+    private final Map<String, Set<String>> scannedClasses = new HashMap<>();
+    private final Set<String> scannedPackages = new HashSet<>();
+    private final Map<String, Boolean> indexedPackages = new HashMap<>();
+    // package names of the jar files on the classpath that do not have an index
+    private final Map<String, Set<String>> jarPackages = new HashMap<>();
+    private final ClassLoader loader;
+    private List<String> unindexedLocations = null;
+    private boolean indexLoaded = false;
 
     private SimpleClassScanner() {
         // singleton
+        this.loader = null;
+    }
+
+    /**
+     * Create a scanner for a specific class loader
+     *
+     * @param loader for the index, classpath locations and scanning
+     */
+    SimpleClassScanner(ClassLoader loader) {
+        this.loader = loader;
     }
 
     public static SimpleClassScanner getInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Find classes with the given annotation in the base packages and the "web.component.scan" packages
+     *
+     * @param type of annotation
+     * @param includeBasePackage if true, include the platform's base packages
+     * @return list of class names
+     */
+    public List<String> getAnnotatedClassNames(Class<? extends Annotation> type, boolean includeBasePackage) {
+        List<String> result = new ArrayList<>();
+        Set<String> packages = getPackages(includeBasePackage);
+        for (String p : packages) {
+            result.addAll(getAnnotatedClassNames(p, type));
+        }
+        return result;
+    }
+
+    /**
+     * Find classes with the given annotation in a package
+     *
+     * @param scanPath package path
+     * @param type of annotation
+     * @return list of class names
+     */
+    public synchronized List<String> getAnnotatedClassNames(String scanPath, Class<? extends Annotation> type) {
+        if (!scanPath.contains(".")) {
+            throw new IllegalArgumentException(EX_START + scanPath + EX_END);
+        }
+        String path = normalizePackage(scanPath);
+        loadIndex();
+        List<String> result = new ArrayList<>();
+        if (isIndexed(path)) {
+            for (String cls : indexedClasses.getOrDefault(type.getName(), Collections.emptySet())) {
+                // skip obsolete entries from an incremental build
+                if (inPackage(cls, path) && isAnnotated(cls, type)) {
+                    result.add(cls);
+                }
+            }
+        } else {
+            if (!isScanned(path)) {
+                scanPackages(path);
+            }
+            for (String cls : scannedClasses.getOrDefault(type.getName(), Collections.emptySet())) {
+                if (inPackage(cls, path)) {
+                    result.add(cls);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Legacy API that returns ClassGraph's ClassInfo objects.
+     * This always scans the classpath. Please use getAnnotatedClassNames instead.
+     *
+     * @param type of annotation
+     * @param includeBasePackage if true, include the platform's base packages
+     * @return list of class info
+     */
     public List<ClassInfo> getAnnotatedClasses(Class<? extends Annotation> type, boolean includeBasePackage) {
         List<ClassInfo> result = new ArrayList<>();
         Set<String> packages = getPackages(includeBasePackage);
@@ -55,6 +165,14 @@ public class SimpleClassScanner {
         return result;
     }
 
+    /**
+     * Legacy API that returns ClassGraph's ClassInfo objects.
+     * This always scans the classpath. Please use getAnnotatedClassNames instead.
+     *
+     * @param scanPath package path
+     * @param type of annotation
+     * @return list of class info
+     */
     public List<ClassInfo> getAnnotatedClasses(String scanPath, Class<? extends Annotation> type) {
         if (!scanPath.contains(".")) {
             throw new IllegalArgumentException(EX_START + scanPath + EX_END);
@@ -63,7 +181,6 @@ public class SimpleClassScanner {
             return new ArrayList<>(sr.getClassesWithAnnotation(type));
         }
     }
-
     public Set<String> getPackages(boolean includeBasePackage) {
         Set<String> result = new HashSet<>();
         if (includeBasePackage) {
@@ -90,6 +207,190 @@ public class SimpleClassScanner {
         return result;
     }
 
+    private void loadIndex() {
+        if (!indexLoaded) {
+            indexLoaded = true;
+            String enabled = AppConfigReader.getInstance().getProperty(ANNOTATION_INDEX_ENABLED, "true");
+            if ("true".equals(enabled)) {
+                try {
+                    Enumeration<URL> indexes = getClassLoader().getResources(ANNOTATION_INDEX);
+                    while (indexes.hasMoreElements()) {
+                        URL url = indexes.nextElement();
+                        readIndex(url);
+                        indexRoots.add(normalizeLocation(getRoot(url, ANNOTATION_INDEX)));
+                    }
+                } catch (IOException e) {
+                    log.error("Unable to load {} - {}", ANNOTATION_INDEX, e.getMessage());
+                    indexedClasses.clear();
+                    indexRoots.clear();
+                }
+                if (!indexRoots.isEmpty()) {
+                    log.info("Loaded annotation index from {} location{}",
+                                indexRoots.size(), indexRoots.size() == 1? "" : "s");
+                }
+            }
+        }
+    }
+
+    private void readIndex(URL url) throws IOException {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(url.openStream(),
+                                                                            StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String text = line.trim();
+                int sep = text.indexOf(' ');
+                if (!text.startsWith(COMMENT) && sep > 0) {
+                    indexedClasses.computeIfAbsent(text.substring(0, sep), k -> new HashSet<>())
+                                    .add(text.substring(sep + 1).trim());
+                }
+            }
+        }
+    }
+
+    private boolean isIndexed(String path) {
+        if (indexRoots.isEmpty()) {
+            return false;
+        }
+        return indexedPackages.computeIfAbsent(path, p -> {
+            // the package is indexed when no classpath location without an index contains it
+            for (String location : getUnindexedLocations()) {
+                if (containsPackage(location, p)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private List<String> getUnindexedLocations() {
+        if (unindexedLocations == null) {
+            List<String> result = new ArrayList<>();
+            for (URI uri : getClassGraph().getClasspathURIs()) {
+                String location = normalizeLocation(uri.toString());
+                if (!indexRoots.contains(location)) {
+                    result.add(location);
+                }
+            }
+            unindexedLocations = result;
+        }
+        return unindexedLocations;
+    }
+
+    private boolean containsPackage(String location, String path) {
+        if (location.startsWith(JRT_PROTOCOL)) {
+            return false;
+        }
+        if (location.startsWith(FILE_PROTOCOL) && !location.contains("!")) {
+            final File f;
+            try {
+                f = new File(new URI(location));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return true;
+            }
+            if (f.isDirectory()) {
+                return new File(f, path.replace('.', '/')).isDirectory();
+            }
+            Set<String> packages = jarPackages.computeIfAbsent(location, k -> listPackages(f));
+            if (packages != UNKNOWN_CONTENT) {
+                for (String p : packages) {
+                    if (p.startsWith(path)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+        // assume that a location that cannot be listed contains the package
+        return true;
+    }
+
+    private Set<String> listPackages(File f) {
+        Set<String> result = new HashSet<>();
+        try (JarFile jar = new JarFile(f)) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                int slash = name.lastIndexOf('/');
+                if (name.endsWith(CLASS_EXT) && slash > 0) {
+                    result.add(name.substring(0, slash + 1).replace('/', '.'));
+                }
+            }
+        } catch (IOException e) {
+            return UNKNOWN_CONTENT;
+        }
+        return result;
+    }
+
+    private void scanPackages(String path) {
+        // scan all pending packages together to avoid repeated classpath scanning
+        Set<String> pending = new HashSet<>();
+        pending.add(path);
+        for (String p : getPackages(true)) {
+            if (!isScanned(p) && !isIndexed(p)) {
+                pending.add(p);
+            }
+        }
+        try (ScanResult sr = getClassGraph().enableClassInfo().enableAnnotationInfo()
+                                .acceptPackages(pending.toArray(new String[0])).scan()) {
+            for (ClassInfo info : sr.getAllClasses()) {
+                for (AnnotationInfo annotation : info.getAnnotationInfo()) {
+                    scannedClasses.computeIfAbsent(annotation.getName(), k -> new HashSet<>())
+                                    .add(info.getName());
+                }
+            }
+        }
+        scannedPackages.addAll(pending);
+    }
+
+    private boolean isScanned(String path) {
+        for (String p : scannedPackages) {
+            if (inPackage(path, p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAnnotated(String cls, Class<? extends Annotation> type) {
+        try {
+            return Class.forName(cls, false, getClassLoader()).isAnnotationPresent(type);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        if (loader != null) {
+            return loader;
+        }
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return context == null? SimpleClassScanner.class.getClassLoader() : context;
+    }
+
+    private ClassGraph getClassGraph() {
+        ClassGraph graph = new ClassGraph();
+        return loader == null? graph : graph.overrideClassLoaders(loader);
+    }
+
+    private boolean inPackage(String name, String path) {
+        // compare with the package boundary so that "com.foo" does not match "com.foobar"
+        return name.startsWith(path.endsWith(".")? path : path + ".");
+    }
+
+    private String getRoot(URL url, String path) {
+        String location = url.toString();
+        return location.endsWith(path)? location.substring(0, location.length() - path.length()) : location;
+    }
+
+    private String normalizeLocation(String location) {
+        // "jar:file:/a.jar!/" and "file:/a.jar" refer to the same classpath location
+        String result = location.startsWith(JAR_PROTOCOL)? location.substring(JAR_PROTOCOL.length()) : location;
+        if (result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result.endsWith("!")? result.substring(0, result.length() - 1) : result;
+    }
+
     private String normalizePackage(String text) {
         List<String> parts = Utility.getInstance().split(text, ".");
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,82 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-ordered ID generator
+ * <p>
+ * An ID has 32 hex characters, the same length as a UUID without hyphens:
+ * <ul>
+ *     <li>16 characters of instance prefix that is randomly selected when the application starts</li>
+ *     <li>11 characters of the current time in milliseconds</li>
+ *     <li>1 character of stripe number and 4 characters of sequence number</li>
+ * </ul>
+ * IDs from the same application instance are therefore grouped together and sorted by time.
+ * <p>
+ * The 64-bit random prefix keeps IDs from different application instances apart, like the random
+ * bits of a UUID. The striped counters also start from random values so that two instances would
+ * have to share the prefix, the time and the counter values to produce the same ID.
+ * <p>
+ * The sequence numbers are kept in a set of striped counters selected by thread ID so that
+ * concurrent threads rarely update the same counter. There is no lock and the random
+ * number generator is used only when the generator is created.
+ * <p>
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final int STRIPES = 16;
+    // each counter is placed in its own cache line of 64 bytes to avoid false sharing
+    private static final int PADDING = 8;
+    private static final int PREFIX = 16;
+    private static final long SEQUENCE_MASK = 0xffffL;
+    private final char[] prefix = new char[PREFIX];
+    private final AtomicLongArray counters = new AtomicLongArray(STRIPES * PADDING);
+
+    public TimeOrderedIdGenerator() {
+        SecureRandom random = new SecureRandom();
+        fill(prefix, 0, random.nextLong(), PREFIX);
+        for (int i=0; i < STRIPES; i++) {
+            counters.set(i * PADDING, random.nextLong() & SEQUENCE_MASK);
+        }
+    }
+
+    @Override
+    public String getId() {
+        int stripe = (int) (Thread.currentThread().threadId() & (STRIPES - 1));
+        long seq = counters.incrementAndGet(stripe * PADDING) & SEQUENCE_MASK;
+        char[] result = new char[32];
+        System.arraycopy(prefix, 0, result, 0, PREFIX);
+        fill(result, 16, System.currentTimeMillis(), 11);
+        result[27] = HEX_DIGITS[stripe];
+        fill(result, 28, seq, 4);
+        return new String(result);
+    }
+
+    private void fill(char[] result, int start, long value, int len) {
+        for (int i = start + len - 1; i >= start; i--) {
+            result[i] = HEX_DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel for coarse-grained timeouts
+ * <p>
+ * Schedule and cancel are O(1) and lock-free for the caller. A single ticker thread moves new timeouts
+ * into the buckets of the wheel, unlinks cancelled ones and runs the expired tasks. A timeout expires
+ * within one tick after its deadline.
+ * <p>
+ * Expiry tasks run in the ticker thread. They must be short and hand off any real work to another thread.
+ */
+public class TimingWheel {
+    private static final Logger log = LoggerFactory.getLogger(TimingWheel.class);
+    private static final long ONE_MILLISECOND = 1000000L;
+    private static final long DEFAULT_TICK = 10;
+    private static final long MAX_TICK = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger(0);
+    private final Thread ticker;
+    private volatile boolean running = true;
+    private long ticks = 0;
+
+    private static class SingletonHolder {
+        private static final TimingWheel INSTANCE;
+
+        static {
+            Utility util = Utility.getInstance();
+            AppConfigReader config = AppConfigReader.getInstance();
+            long tick = util.str2long(config.getProperty("inbox.timer.tick.ms", String.valueOf(DEFAULT_TICK)));
+            if (tick < 1 || tick > MAX_TICK) {
+                log.error("Invalid inbox.timer.tick.ms '{}' - default to {}", tick, DEFAULT_TICK);
+                tick = DEFAULT_TICK;
+            }
+            INSTANCE = new TimingWheel("inbox.timer", tick, WHEEL_SIZE);
+        }
+    }
+
+    /**
+     * Shared timing wheel for RPC inbox expiry
+     *
+     * @return timing wheel
+     */
+    public static TimingWheel getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Create a timing wheel with its own ticker thread
+     *
+     * @param name of the ticker thread
+     * @param tickMs precision in milliseconds
+     * @param wheelSize number of buckets, rounded up to a power of two
+     */
+    public TimingWheel(String name, long tickMs, int wheelSize) {
+        if (tickMs < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 ms");
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 20) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and " + (1 << 20));
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.name = name;
+        this.tickNanos = tickMs * ONE_MILLISECOND;
+        this.wheel = new Bucket[size];
+        this.mask = size - 1;
+        for (int i=0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.ticker = Thread.ofPlatform().name(name).daemon(true).start(this::run);
+        log.info("{} started with tick of {} ms", name, tickMs);
+    }
+
+    /**
+     * Schedule a task to run once after a delay
+     *
+     * @param delayMs in milliseconds
+     * @param task to run when the timeout expires
+     * @return timeout handle that can be cancelled
+     */
+    public Timeout schedule(long delayMs, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Missing task");
+        }
+        if (!running) {
+            throw new IllegalStateException(name + " already stopped");
+        }
+        long deadline = System.nanoTime() - startTime + Math.max(0, delayMs) * ONE_MILLISECOND;
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.incrementAndGet();
+        added.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Number of timeouts that are neither expired nor cancelled
+     *
+     * @return pending timeouts
+     */
+    public int size() {
+        return pending.get();
+    }
+
+    /**
+     * Stop the ticker thread. Pending timeouts are discarded.
+     */
+    public void stop() {
+        if (running) {
+            running = false;
+            ticker.interrupt();
+            log.info("{} stopped", name);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = tickNanos * (ticks + 1);
+            long wait = deadline - (System.nanoTime() - startTime);
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                // spurious or early wakeup
+                continue;
+            }
+            removeCancelled();
+            transferAdded();
+            expire(wheel[(int) (ticks & mask)], deadline);
+            ticks++;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.ACTIVE) {
+                long target = timeout.deadline / tickNanos;
+                timeout.rounds = (target - ticks) / wheel.length;
+                // a timeout that is already due goes to the current bucket
+                wheel[(int) (Math.max(target, ticks) & mask)].add(timeout);
+            }
+        }
+    }
+
+    private void expire(Bucket bucket, long deadline) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.rounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.deadline <= deadline) {
+                    timeout.expire();
+                }
+            } else if (timeout.state.get() != Timeout.ACTIVE) {
+                bucket.remove(timeout);
+            } else {
+                timeout.rounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of a scheduled task
+     */
+    public static class Timeout {
+        private static final int ACTIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        private final TimingWheel parent;
+        private final Runnable task;
+        private final long deadline;
+        // the following fields are accessed by the ticker thread only
+        private long rounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(TimingWheel parent, Runnable task, long deadline) {
+            this.parent = parent;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel this timeout
+         *
+         * @return true if cancelled, false if it has already expired or cancelled
+         */
+        public boolean cancel() {
+            if (state.compareAndSet(ACTIVE, CANCELLED)) {
+                parent.pending.decrementAndGet();
+                parent.cancelled.offer(this);
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (state.compareAndSet(ACTIVE, EXPIRED)) {
+                parent.pending.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Unable to run timeout task in {} - {}", parent.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
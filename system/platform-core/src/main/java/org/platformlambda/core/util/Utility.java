@@ -239,6 +239,19 @@ public class Utility {
         return UUID.randomUUID().toString().replace("-", "");
     }
 
+    /**
+     * Get a unique ID for an event, a correlation ID, a flow instance or a stream
+     * <p>
+     * By default, the ID is time-ordered and prefixed with a random instance ID so that
+     * it can be generated from many threads without contention.
+     * Set "id.generator=uuid" in application.properties to use random UUID instead.
+     *
+     * @return unique ID of 32 hex characters
+     */
+    public String getId() {
+        return IdGeneratorHolder.GENERATOR.getId();
+    }
+
     /**
      * Get a UUID with current day as the prefix (YYYYMMDD format)
      *
@@ -1289,4 +1302,22 @@ public class Utility {
         }
         return sb.substring(0, sb.length()-1);
     }
+
+    private static class IdGeneratorHolder {
+        private static final String TIME_ORDERED = "time";
+        private static final String RANDOM_UUID = "uuid";
+        // the generator is selected when it is first used because configuration is loaded with this utility
+        private static final IdGenerator GENERATOR = getGenerator();
+
+        private static IdGenerator getGenerator() {
+            String type = AppConfigReader.getInstance().getProperty("id.generator", TIME_ORDERED);
+            if (RANDOM_UUID.equals(type)) {
+                return new RandomIdGenerator();
+            }
+            if (!TIME_ORDERED.equals(type)) {
+                log.error("Invalid id.generator '{}' - default to {}", type, TIME_ORDERED);
+            }
+            return new TimeOrderedIdGenerator();
+        }
+    }
 }
@@ -44,6 +44,8 @@ public class MultipartPayload {
     public static final String TOTAL = "_max_";
     public static final String TO = "to";
     public static final String BROADCAST = "broadcast";
+    public static final String CID = "cid";
+    public static final String RPC = "rpc";
     public static final int OVERHEAD = 256;
     private static final String TO_MONITOR = "@monitor";
     private static final SimpleCache cache = SimpleCache.createCache("payload.segmentation", 60000);
@@ -148,6 +150,8 @@ public class MultipartPayload {
                     if (event.getBroadcastLevel() > 1) {
                         // tell a cloud connector that this event should be broadcast
                         out.setHeader(BROADCAST, "1");
+                    } else if (count == 1) {
+                        setRpcHeaders(out, event);
                     }
                     system.send(target.getRoute(), out.toBytes());
                     log.debug("Sending block {} of {} to {} as {} - {} bytes", i + 1, total, event.getTo(),
@@ -159,10 +163,23 @@ public class MultipartPayload {
                 if (event.getBroadcastLevel() > 1) {
                     // tell a cloud connector that this event should be broadcast
                     out.setHeader(BROADCAST, "1");
+                } else {
+                    setRpcHeaders(out, event);
                 }
                 system.send(target.getRoute(), out.toBytes());
             }
         }
     }
 
+    private void setRpcHeaders(EventEnvelope out, EventEnvelope event) {
+        /*
+         * For a RPC request, pass the correlation ID and timeout to the cloud connector
+         * so that it can measure response time of the selected application instance
+         */
+        String timeout = event.getTag(RPC);
+        if (timeout != null && event.getCorrelationId() != null) {
+            out.setHeader(CID, event.getCorrelationId()).setHeader(RPC, timeout);
+        }
+    }
+
 }
@@ -40,7 +40,7 @@ import java.util.*;
  * This is reserved for system use.
  * DO NOT use this directly in your application code.
  * <p>
- * HTTP admin endpoints for info, health, env, shutdown, suspend and resume
+ * HTTP admin endpoints for info, metrics, health, env, shutdown, suspend and resume
  * to be available with the same port when websocket server is deployed.
  * i.e. when user defined websocket server using WebSocketService is found.
  */
@@ -68,8 +68,9 @@ public class MinimalistHttpHandler implements Handler<HttpServerRequest> {
     private static final String[] HEALTH_SERVICE = {"/health", "health"};
     private static final String[] ENV_SERVICE = {"/env", "env"};
     private static final String[] LIVENESSPROBE = {"/livenessprobe", "livenessprobe"};
+    private static final String[] INFO_METRICS = {"/info/metrics", "metrics"};
     private static final String[][] ADMIN_ENDPOINTS = {INFO_SERVICE, INFO_LIB, INFO_ROUTES,
-            HEALTH_SERVICE, ENV_SERVICE, LIVENESSPROBE};
+            HEALTH_SERVICE, ENV_SERVICE, LIVENESSPROBE, INFO_METRICS};
 
     @Override
     public void handle(HttpServerRequest request) {
@@ -18,8 +18,12 @@
 
 package org.platformlambda.core.websocket.server;
 
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.ServerWebSocket;
 
+import java.util.Map;
+
 /**
  * This is reserved for system use.
  * DO NOT use this directly in your application code.
@@ -42,13 +46,33 @@ public class WsEnvelope {
     private final String rxPath;
     private final String txPath;
     private final ServerWebSocket ws;
+    private final String dispatcher;
+    private final WsServerTransmitter transmitter;
+    private final Context context;
     private long lastAccess = System.currentTimeMillis();
 
     public WsEnvelope(ServerWebSocket ws, String uriPath, String rxPath, String txPath) {
+        this(ws, uriPath, rxPath, txPath, null);
+    }
+
+    /**
+     * Create a websocket session
+     *
+     * @param ws server websocket
+     * @param uriPath of the websocket endpoint
+     * @param rxPath of the session
+     * @param txPath of the session
+     * @param dispatcher route of a multiplexed session or null if the session has its own routes
+     */
+    public WsEnvelope(ServerWebSocket ws, String uriPath, String rxPath, String txPath, String dispatcher) {
         this.ws = ws;
         this.uriPath = uriPath;
         this.rxPath = rxPath;
         this.txPath = txPath;
+        this.dispatcher = dispatcher;
+        this.transmitter = dispatcher == null? null : new WsServerTransmitter(ws);
+        // the session is created in the event loop of the websocket
+        this.context = Vertx.currentContext();
     }
 
     public void touch() {
@@ -75,4 +99,33 @@ public class WsEnvelope {
         return ws;
     }
 
+    public String getDispatcher() {
+        return dispatcher;
+    }
+
+    public boolean isMultiplexed() {
+        return dispatcher != null;
+    }
+
+    /**
+     * Write an outgoing message of a multiplexed session to the websocket.
+     * <p>
+     * The write is dispatched to the event loop of the websocket so that
+     * messages from different caller threads are written in order.
+     *
+     * @param headers of the message
+     * @param body of the message
+     * @return true if the websocket is connected
+     */
+    public boolean transmit(Map<String, String> headers, Object body) {
+        if (transmitter == null || ws.isClosed()) {
+            return false;
+        }
+        if (context == null) {
+            return transmitter.transmit(headers, body);
+        }
+        context.runOnContext(v -> transmitter.transmit(headers, body));
+        return true;
+    }
+
 }
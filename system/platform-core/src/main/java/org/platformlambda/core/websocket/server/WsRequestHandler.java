@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -43,6 +44,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * DO NOT use this directly in your application code.
  * <p>
  * Websocket request handler
+ * <p>
+ * By default, each connection registers its own rxPath and txPath routes. When "websocket.server.multiplex"
+ * is true, the connections of a websocket path share a small number of dispatcher routes and the txPath
+ * of a session is resolved to its websocket directly. Each dispatcher route has a single worker so that
+ * the messages of a session are delivered in order.
  */
 public class WsRequestHandler implements Handler<ServerWebSocket> {
     private static final Logger log = LoggerFactory.getLogger(WsRequestHandler.class);
@@ -50,24 +56,69 @@ public class WsRequestHandler implements Handler<ServerWebSocket> {
     private static final String HOUSEKEEPER = "system.ws.server.cleanup";
     private static final String IN = ".in";
     private static final String OUT = ".out";
+    private static final String DISPATCHER = "ws.dispatcher.";
+    private static final int DEFAULT_DISPATCHERS = 8;
+    private static final int MAX_DISPATCHERS = 256;
     private static final long HOUSEKEEPING_INTERVAL = 10 * 1000L;      // 10 seconds
     private static final ConcurrentMap<String, WsEnvelope> connections = new ConcurrentHashMap<>();
     private static final AtomicInteger counter = new AtomicInteger(0);
+    private static final AtomicBoolean housekeeping = new AtomicBoolean(false);
     private final ConcurrentMap<String, LambdaFunction> lambdas;
     private final List<String> wsPaths;
+    private final int dispatchers;
 
     public WsRequestHandler(ConcurrentMap<String, LambdaFunction> lambdas, List<String> wsPaths) {
+        this(lambdas, wsPaths, "true".equals(AppConfigReader.getInstance()
+                                    .getProperty("websocket.server.multiplex", "false")));
+    }
+
+    public WsRequestHandler(ConcurrentMap<String, LambdaFunction> lambdas, List<String> wsPaths, boolean multiplex) {
         this.lambdas = lambdas;
         this.wsPaths = new ArrayList<>(wsPaths);
+        this.dispatchers = multiplex? getDispatcherCount() : 0;
         Platform platform = Platform.getInstance();
-        IdleCheck idle = new IdleCheck();
-        platform.getVertx().setPeriodic(HOUSEKEEPING_INTERVAL, t -> idle.removeExpiredConnections());
-        log.info("Housekeeper started");
-        try {
-            platform.registerPrivate(HOUSEKEEPER, new WsHousekeeper(), 1);
-        } catch (IOException e) {
-            log.error("Unable to register {} - {}", HOUSEKEEPER, e.getMessage());
+        if (housekeeping.compareAndSet(false, true)) {
+            IdleCheck idle = new IdleCheck();
+            platform.getVertx().setPeriodic(HOUSEKEEPING_INTERVAL, t -> idle.removeExpiredConnections());
+            log.info("Housekeeper started");
+            try {
+                platform.registerPrivate(HOUSEKEEPER, new WsHousekeeper(), 1);
+            } catch (IOException e) {
+                log.error("Unable to register {} - {}", HOUSEKEEPER, e.getMessage());
+            }
+        }
+        if (multiplex) {
+            for (int i=0; i < this.wsPaths.size(); i++) {
+                String path = this.wsPaths.get(i);
+                for (int j=0; j < dispatchers; j++) {
+                    String route = getDispatcher(i, j);
+                    try {
+                        platform.registerPrivate(route, lambdas.get(path), 1);
+                    } catch (IOException e) {
+                        log.error("Unable to register {} - {}", route, e.getMessage());
+                    }
+                }
+                log.info("Websocket {} multiplexed with {} dispatcher{}", path, dispatchers,
+                            dispatchers == 1? "" : "s");
+            }
+        }
+    }
+
+    private int getDispatcherCount() {
+        Utility util = Utility.getInstance();
+        AppConfigReader config = AppConfigReader.getInstance();
+        int n = util.str2int(config.getProperty("websocket.server.multiplex.routes",
+                                String.valueOf(DEFAULT_DISPATCHERS)));
+        if (n < 1 || n > MAX_DISPATCHERS) {
+            log.error("Invalid websocket.server.multiplex.routes {} - must be 1 to {}, default to {}",
+                        n, MAX_DISPATCHERS, DEFAULT_DISPATCHERS);
+            return DEFAULT_DISPATCHERS;
         }
+        return n;
+    }
+
+    private String getDispatcher(int pathIndex, int n) {
+        return DISPATCHER + (pathIndex + 1) + "." + (n + 1);
     }
 
     @Override
@@ -87,17 +138,23 @@ public class WsRequestHandler implements Handler<ServerWebSocket> {
             final String session = "ws."+r+"."+n;
             final String rxPath = session+IN;
             final String txPath = session+OUT;
-            WsEnvelope md = new WsEnvelope(ws, path, rxPath, txPath);
+            // a multiplexed session is assigned to a dispatcher route in a round-robin manner
+            final String target = dispatchers > 0? getDispatcher(wsPaths.indexOf(path), Math.floorMod(n, dispatchers)) : rxPath;
+            final WsEnvelope md = new WsEnvelope(ws, path, rxPath, txPath, dispatchers > 0? target : null);
             connections.put(session, md);
             log.info("Session {} connected", session);
-            try {
-                platform.registerPrivate(rxPath, lambdas.get(path), 1);
-                platform.registerPrivate(txPath, new WsServerTransmitter(ws), 1);
-            } catch (IOException e) {
-                log.error("Unable to register websocket session", e);
+            if (md.isMultiplexed()) {
+                WsSessionRegistry.getInstance().register(md);
+            } else {
+                try {
+                    platform.registerPrivate(rxPath, lambdas.get(path), 1);
+                    platform.registerPrivate(txPath, new WsServerTransmitter(ws), 1);
+                } catch (IOException e) {
+                    log.error("Unable to register websocket session", e);
+                }
             }
             try {
-                po.send(rxPath, new Kv(WsEnvelope.TYPE, WsEnvelope.OPEN),
+                po.send(target, new Kv(WsEnvelope.TYPE, WsEnvelope.OPEN),
                         new Kv(WsEnvelope.ROUTE, rxPath), new Kv(WsEnvelope.TX_PATH, txPath),
                         new Kv(WsEnvelope.IP, ip), new Kv(WsEnvelope.PATH, path),
                         new Kv(WsEnvelope.QUERY, query),
@@ -108,7 +165,7 @@ public class WsRequestHandler implements Handler<ServerWebSocket> {
             ws.binaryMessageHandler(b -> {
                 md.touch();
                 try {
-                    po.send(rxPath, b.getBytes(), new Kv(WsEnvelope.TYPE, WsEnvelope.BYTES),
+                    po.send(target, b.getBytes(), new Kv(WsEnvelope.TYPE, WsEnvelope.BYTES),
                             new Kv(WsEnvelope.ROUTE, rxPath), new Kv(WsEnvelope.TX_PATH, txPath));
                 } catch (IOException e) {
                     log.warn("Unable to send binary message to {} - {}", rxPath, e.getMessage());
@@ -117,7 +174,7 @@ public class WsRequestHandler implements Handler<ServerWebSocket> {
             ws.textMessageHandler(text -> {
                 md.touch();
                 try {
-                    po.send(rxPath, text, new Kv(WsEnvelope.TYPE, WsEnvelope.STRING),
+                    po.send(target, text, new Kv(WsEnvelope.TYPE, WsEnvelope.STRING),
                             new Kv(WsEnvelope.ROUTE, rxPath), new Kv(WsEnvelope.TX_PATH, txPath));
                 } catch (IOException e) {
                     log.warn("Unable to send text message to {} - {}", rxPath, e.getMessage());
@@ -128,18 +185,25 @@ public class WsRequestHandler implements Handler<ServerWebSocket> {
                 log.info("Session {} closed ({}, {})", session, ws.closeStatusCode(), reason);
                 connections.remove(session);
                 // send the close signal to the websocket listener function and then tell housekeeper to clean up
-                EventEnvelope closeSignal = new EventEnvelope().setTo(rxPath);
+                EventEnvelope closeSignal = new EventEnvelope().setTo(target);
                 closeSignal.setHeader(WsEnvelope.ROUTE, rxPath)
                             .setHeader(WsEnvelope.TOKEN, token)
                             .setHeader(WsEnvelope.CLOSE_CODE, ws.closeStatusCode())
                             .setHeader(WsEnvelope.CLOSE_REASON, reason)
-                            .setHeader(WsEnvelope.TYPE, WsEnvelope.CLOSE)
-                            .setReplyTo(HOUSEKEEPER).setCorrelationId(session);
+                            .setHeader(WsEnvelope.TYPE, WsEnvelope.CLOSE);
+                if (md.isMultiplexed()) {
+                    // a multiplexed session has no routes to release
+                    WsSessionRegistry.getInstance().remove(md);
+                } else {
+                    closeSignal.setReplyTo(HOUSEKEEPER).setCorrelationId(session);
+                }
                 try {
                     po.send(closeSignal);
                 } catch (IOException e) {
-                    platform.release(rxPath);
-                    platform.release(txPath);
+                    if (!md.isMultiplexed()) {
+                        platform.release(rxPath);
+                        platform.release(txPath);
+                    }
                     log.error("Unable to send close signal to {} - {}", rxPath, e.getMessage());
                 }
             });
@@ -37,14 +37,25 @@ public class WsServerTransmitter implements LambdaFunction {
     private final ServerWebSocket ws;
     private static final String STATUS = "status";
     private static final String MESSAGE = "message";
-    private boolean connected = true;
+    private volatile boolean connected = true;
 
     public WsServerTransmitter(ServerWebSocket ws) {
         this.ws = ws;
     }
 
     @Override
-    public Object handleEvent(Map<String, String> headers, Object input, int instance) throws Exception {
+    public Object handleEvent(Map<String, String> headers, Object input, int instance) {
+        return transmit(headers, input);
+    }
+
+    /**
+     * Write a message to the websocket or close it
+     *
+     * @param headers of the message
+     * @param input is text, bytes or map
+     * @return true if the websocket is connected
+     */
+    public boolean transmit(Map<String, String> headers, Object input) {
         if (connected && !ws.isClosed()) {
             if (WsEnvelope.CLOSE.equals(headers.get(WsEnvelope.TYPE))) {
                 connected = false;
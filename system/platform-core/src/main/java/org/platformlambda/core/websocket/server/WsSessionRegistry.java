@@ -0,0 +1,72 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.websocket.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is reserved for system use.
+ * DO NOT use this directly in your application code.
+ * <p>
+ * Registry of multiplexed websocket sessions
+ * <p>
+ * A multiplexed session does not register its own routes. Its rxPath and txPath are resolved
+ * by the event system using this registry so that the websocket API is the same in both modes.
+ */
+public class WsSessionRegistry {
+    private static final ConcurrentMap<String, WsEnvelope> sessions = new ConcurrentHashMap<>();
+    private static final WsSessionRegistry instance = new WsSessionRegistry();
+
+    private WsSessionRegistry() {
+        // singleton
+    }
+
+    public static WsSessionRegistry getInstance() {
+        return instance;
+    }
+
+    public void register(WsEnvelope session) {
+        sessions.put(session.getRxPath(), session);
+        sessions.put(session.getTxPath(), session);
+    }
+
+    public void remove(WsEnvelope session) {
+        sessions.remove(session.getRxPath());
+        sessions.remove(session.getTxPath());
+    }
+
+    /**
+     * Find a multiplexed session
+     *
+     * @param route is the rxPath or txPath of a session
+     * @return session or null if not found
+     */
+    public WsEnvelope get(String route) {
+        return sessions.isEmpty()? null : sessions.get(route);
+    }
+
+    public boolean exists(String route) {
+        return get(route) != null;
+    }
+
+    public int size() {
+        return sessions.size() / 2;
+    }
+}
@@ -18,8 +18,7 @@
 
 package org.platformlambda.core.system
 
-import io.vertx.core.Handler
-import io.vertx.core.eventbus.Message
+import io.vertx.core.Context
 import io.vertx.kotlin.coroutines.dispatcher
 import kotlinx.coroutines.DelicateCoroutinesApi
 import kotlinx.coroutines.GlobalScope
@@ -30,7 +29,6 @@ import org.platformlambda.core.models.EventEnvelope
 import org.platformlambda.core.models.MappingExceptionHandler
 import org.platformlambda.core.models.ProcessStatus
 import org.platformlambda.core.serializers.SimpleMapper
-import org.platformlambda.core.services.DistributedTrace
 import org.platformlambda.core.services.TemporaryInbox
 import org.platformlambda.core.util.Utility
 import org.slf4j.LoggerFactory
@@ -50,60 +48,80 @@ import kotlin.math.max
  * This is reserved for system use.
  * DO NOT use this directly in your application code.
  */
-class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : WorkerQueues(def, route) {
-    private val myOrigin: String
+class WorkerQueue(def: ServiceDef, route: String, private val instance: Int, manager: ServiceQueue) :
+    WorkerQueues(def, route, manager) {
     private val useEnvelope: Boolean
     private var interceptor = false
     private var tracing = false
+    // suspend functions of this worker run in this event loop context
+    private val context: Context = Platform.getInstance().vertx.orCreateContext
+    private val handler = WorkerHandler()
 
     init {
-        val system = Platform.getInstance().eventSystem
-        consumer = system.localConsumer(route, WorkerHandler())
-        myOrigin = Platform.getInstance().origin
         useEnvelope = def.inputIsEnvelope()
         interceptor = def.isInterceptor
         tracing = def.isTrackable
-        // tell manager that this worker is ready to process a new event
-        system.send(def.route, READY + route)
         started()
     }
 
-    private inner class WorkerHandler : Handler<Message<ByteArray?>> {
-        @OptIn(DelicateCoroutinesApi::class)
-        override fun handle(message: Message<ByteArray?>) {
-            if (!stopped) {
-                val event = EventEnvelope()
-                try {
-                    event.load(message.body())
-                    event.headers.remove(MY_ROUTE)
-                    event.headers.remove(MY_TRACE_ID)
-                    event.headers.remove(MY_TRACE_PATH)
-                } catch (e: IOException) {
-                    log.error("Unable to decode event - {}", e.message)
-                    return
-                }
-                if (def.isKotlin) {
-                    // execute function as a coroutine
-                    GlobalScope.launch(Platform.getInstance().vertx.dispatcher()) {
-                        executeFunction(event)
+    /**
+     * The service manager hands over an event from its event loop.
+     * Decoding is done in the thread or coroutine that executes the function.
+     */
+    @OptIn(DelicateCoroutinesApi::class)
+    override fun deliver(body: Any?) {
+        if (!stopped) {
+            if (def.isKotlin) {
+                // execute function as a coroutine
+                GlobalScope.launch(context.dispatcher()) {
+                    val event = handler.decode(body)
+                    if (event != null) {
+                        handler.executeFunction(event)
                     }
-                } else if (def.isVirtualThread) {
-                    // execute function as a virtual thread
-                    vThreadExecutor.submit {
-                        val worker = WorkerHandler(def, route, instance, tracing, interceptor, useEnvelope)
+                }
+            } else if (def.isVirtualThread) {
+                // execute function as a virtual thread
+                vThreadExecutor.submit {
+                    val event = handler.decode(body)
+                    if (event != null) {
+                        val worker = WorkerHandler(this, def, route, instance, tracing, interceptor, useEnvelope)
                         worker.executeFunction(event)
                     }
-                } else {
-                    // execute function as a runnable using kernel thread
-                    kernelExecutor.submit {
-                        val worker = WorkerHandler(def, route, instance, tracing, interceptor, useEnvelope)
+                }
+            } else {
+                // execute function as a runnable using kernel thread
+                kernelExecutor.submit {
+                    val event = handler.decode(body)
+                    if (event != null) {
+                        val worker = WorkerHandler(this, def, route, instance, tracing, interceptor, useEnvelope)
                         worker.executeFunction(event)
                     }
                 }
             }
         }
+    }
+
+    private inner class WorkerHandler {
 
-        private suspend fun executeFunction(event: EventEnvelope) {
+        fun decode(body: Any?): EventEnvelope? {
+            try {
+                val event = when (body) {
+                    // zero-copy local delivery hands over an isolated copy of the event
+                    is EventEnvelope -> body
+                    is ByteArray -> EventEnvelope(body)
+                    else -> return null
+                }
+                event.headers.remove(MY_ROUTE)
+                event.headers.remove(MY_TRACE_ID)
+                event.headers.remove(MY_TRACE_PATH)
+                return event
+            } catch (e: IOException) {
+                log.error("Unable to decode event - {}", e.message)
+                return null
+            }
+        }
+
+        suspend fun executeFunction(event: EventEnvelope) {
             if (TemporaryInbox.TEMPORARY_INBOX != def.route) {
                 event.clearAnnotations()
             }
@@ -111,42 +129,26 @@ class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : W
             val po = EventEmitter.getInstance()
             val ref = if (tracing) po.startTracing(parentRoute, event.traceId, event.tracePath, instance) else "?"
             val ps = processEvent(event, rpc)
+            manager.metrics.recordExecution(ps.executionTime, ps.isSuccess)
             val trace = po.stopTracing(ref)
             if (tracing && trace != null && trace.id != null && trace.path != null) {
-                try {
-                    val journaled = po.isJournaled(def.route)
-                    if (journaled || rpc == null || !ps.isDelivered) {
-                        // Send tracing information to distributed trace logger
-                        val dt = EventEnvelope().setTo(DistributedTrace.DISTRIBUTED_TRACING)
-                        val payload: MutableMap<String, Any> = HashMap()
-                        payload[ANNOTATIONS] = trace.annotations
-                        // send input/output dataset to journal if configured in journal.yaml
-                        if (journaled) {
-                            payload[JOURNAL] = ps.inputOutput
-                        }
-                        val metrics: MutableMap<String, Any> = HashMap()
-                        metrics[ORIGIN] = myOrigin
-                        metrics[ID] = trace.id
-                        metrics[PATH] = trace.path
-                        metrics[SERVICE] = def.route
-                        metrics[START] = trace.startTime
-                        metrics[SUCCESS] = ps.isSuccess
-                        metrics[FROM] = if (event.from == null) UNKNOWN else event.from
-                        metrics[EXEC_TIME] = ps.executionTime
-                        metrics[STATUS] = ps.status
-                        if (!ps.isSuccess) {
-                            metrics[EXCEPTION] = ps.exception
-                        }
-                        if (!ps.isDelivered) {
-                            metrics[STATUS] = 500
-                            metrics[SUCCESS] = false
-                            metrics[EXCEPTION] = "Response not delivered - " + ps.deliveryError
+                val journaled = po.isJournaled(def.route)
+                if (journaled || rpc == null || !ps.isDelivered) {
+                    val success = ps.isSuccess && ps.isDelivered
+                    // a span that is not sampled is dropped before any tracing dataset is created
+                    if (journaled || collector.isSampled(def.route, trace.id, !success, ps.executionTime)) {
+                        val status = if (ps.isDelivered) ps.status else 500
+                        val exception = if (ps.isDelivered) {
+                            if (ps.isSuccess) null else ps.exception
+                        } else {
+                            "Response not delivered - " + ps.deliveryError
                         }
-                        payload[TRACE] = metrics
-                        po.send(dt.setBody(payload))
+                        // send input/output dataset to journal if configured in journal.yaml
+                        collector.record(trace.id, trace.path, def.route,
+                            if (event.from == null) UNKNOWN else event.from, trace.startTime,
+                            status, success, exception, ps.executionTime, -1f,
+                            trace.annotations, if (journaled) ps.inputOutput else null)
                     }
-                } catch (e: Exception) {
-                    log.error("Unable to send to {}", DistributedTrace.DISTRIBUTED_TRACING, e)
                 }
             } else {
                 // print delivery warning if tracing is not enabled
@@ -162,13 +164,13 @@ class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : W
             }
 
             /*
-         * If this response is not a Mono reactive object, send a ready signal to inform the system this worker
+         * If this response is not a Mono reactive object, inform the system this worker
          * is ready for next event. Otherwise, defer it until the Mono result is realized.
          *
          * This guarantee that this future task is executed orderly.
          */
             if (!ps.isReactive) {
-                Platform.getInstance().eventSystem.send(def.route, READY + route)
+                ready()
             }
         }
 
@@ -287,7 +289,7 @@ class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : W
                                 platform.vertx.cancelTimer(t1)
                             }
                             // finally, send service acknowledgement
-                            platform.eventSystem.send(def.route, READY + route)
+                            ready()
                         }).subscribeOn(Schedulers.fromExecutor(platform.virtualThreadExecutor))
                             .subscribe({ data: Any? ->
                                 completed.set(true)
@@ -533,16 +535,8 @@ class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : W
     companion object {
         private val log = LoggerFactory.getLogger(WorkerQueue::class.java)
         private val util: Utility = Utility.getInstance()
-        private const val ID = "id"
-        private const val PATH = "path"
-        private const val START = "start"
+        private val collector: TraceCollector = TraceCollector.getInstance()
         private const val UNKNOWN = "unknown"
-        private const val TRACE = "trace"
-        private const val SUCCESS = "success"
-        private const val FROM = "from"
-        private const val EXEC_TIME = "exec_time"
-        private const val ORIGIN = "origin"
-        private const val SERVICE = "service"
         private const val INPUT = "input"
         private const val OUTPUT = "output"
         private const val HEADERS = "headers"
@@ -550,8 +544,6 @@ class WorkerQueue(def: ServiceDef, route: String, private val instance: Int) : W
         private const val STATUS = "status"
         private const val EXCEPTION = "exception"
         private const val ASYNC = "async"
-        private const val ANNOTATIONS = "annotations"
-        private const val JOURNAL = "journal"
         private const val MY_ROUTE = "my_route"
         private const val MY_TRACE_ID = "my_trace_id"
         private const val MY_TRACE_PATH = "my_trace_path"
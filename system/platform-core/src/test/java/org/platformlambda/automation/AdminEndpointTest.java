@@ -94,6 +94,42 @@ class AdminEndpointTest extends TestBase {
         assertTrue(publicRoutes.containsKey("hello.mock"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void metricsEndpointTest() throws IOException, InterruptedException {
+        // make sure the library actuator has processed at least one event
+        httpGet(localHost, "/info/lib", null);
+        EventEnvelope response = httpGet(localHost, "/info/metrics", null);
+        assert response != null;
+        assertInstanceOf(Map.class, response.getBody());
+        Map<String, Object> result = (Map<String, Object>) response.getBody();
+        assertEquals(Platform.getInstance().getOrigin(), result.get("origin"));
+        assertInstanceOf(Map.class, result.get("routes"));
+        Map<String, Object> routes = (Map<String, Object>) result.get("routes");
+        assertInstanceOf(Map.class, routes.get("lib.actuator.service"));
+        MultiLevelMap metrics = new MultiLevelMap((Map<String, Object>) routes.get("lib.actuator.service"));
+        assertTrue(Utility.getInstance().str2long(String.valueOf(metrics.getElement("events"))) > 0);
+        assertTrue(metrics.exists("exec_time.p99"));
+        assertTrue(metrics.exists("queue_wait.p99"));
+        assertEquals("0", String.valueOf(metrics.getElement("backlog.disk")));
+        assertTrue(metrics.exists("workers.idle"));
+    }
+
+    @Test
+    void metricsPrometheusTest() throws IOException, InterruptedException {
+        httpGet(localHost, "/info/lib", null);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("accept", "text/plain;version=0.0.4");
+        EventEnvelope response = httpGet(localHost, "/info/metrics", headers);
+        assert response != null;
+        assertInstanceOf(String.class, response.getBody());
+        String text = (String) response.getBody();
+        assertTrue(text.contains("# TYPE mercury_events_total counter"));
+        assertTrue(text.contains("mercury_events_total{route=\"lib.actuator.service\"}"));
+        assertTrue(text.contains("mercury_exec_time_seconds{route=\"lib.actuator.service\",quantile=\"0.99\"}"));
+        assertTrue(text.contains("mercury_workers{route=\"lib.actuator.service\",state=\"idle\"}"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void healthEndpointTest() throws IOException, InterruptedException {
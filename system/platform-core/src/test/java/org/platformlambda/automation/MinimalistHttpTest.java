@@ -40,8 +40,9 @@ class MinimalistHttpTest extends TestBase {
     private static final String[] HEALTH_SERVICE = {"/health", "health"};
     private static final String[] ENV_SERVICE = {"/env", "env"};
     private static final String[] LIVENESSPROBE = {"/livenessprobe", "livenessprobe"};
+    private static final String[] INFO_METRICS = {"/info/metrics", "metrics"};
     private static final String[][] ADMIN_ENDPOINTS = {INFO_SERVICE, INFO_LIB, INFO_ROUTES,
-            HEALTH_SERVICE, ENV_SERVICE, LIVENESSPROBE};
+            HEALTH_SERVICE, ENV_SERVICE, LIVENESSPROBE, INFO_METRICS};
 
     @SuppressWarnings("unchecked")
     @Test
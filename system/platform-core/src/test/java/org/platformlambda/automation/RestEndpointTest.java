@@ -19,9 +19,13 @@
 package org.platformlambda.automation;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.platformlambda.automation.config.RoutingEntry;
 import org.platformlambda.automation.http.AsyncHttpClient;
+import org.platformlambda.automation.models.AssignedRoute;
+import org.platformlambda.automation.models.StreamHolder;
 import org.platformlambda.common.TestBase;
 import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
@@ -71,6 +75,33 @@ class RestEndpointTest extends TestBase {
         }
     }
 
+    @Test
+    void routeMatchingTest() {
+        RoutingEntry re = RoutingEntry.getInstance();
+        // exact match is case-insensitive
+        AssignedRoute exact = re.getRouteInfo("GET", "/API/Hello/World");
+        assertNotNull(exact);
+        assertNotNull(exact.info);
+        assertEquals("/api/hello/world", exact.info.url);
+        // path parameter and wildcard
+        AssignedRoute route = re.getRouteInfo("GET", "/api/simple/MyTask/a/b");
+        assertNotNull(route);
+        assertNotNull(route.info);
+        assertEquals("/api/simple/{task}/*", route.info.url);
+        assertEquals("MyTask", route.arguments.get("task"));
+        // path found but method not allowed
+        AssignedRoute notAllowed = re.getRouteInfo("DELETE", "/api/simple/MyTask/a");
+        assertNotNull(notAllowed);
+        assertNull(notAllowed.info);
+        assertEquals("MyTask", notAllowed.arguments.get("task"));
+        notAllowed = re.getRouteInfo("DELETE", "/api/hello/bytes");
+        assertNotNull(notAllowed);
+        assertNull(notAllowed.info);
+        // wildcard requires the same number of segments or more
+        assertNull(re.getRouteInfo("GET", "/api/simple/MyTask"));
+        assertNull(re.getRouteInfo("GET", "/api/no/such/path"));
+    }
+
     @Test
     void optionsMethodTest() throws IOException, InterruptedException {
         final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
@@ -391,6 +422,40 @@ class RestEndpointTest extends TestBase {
         assertArrayEquals(bytes.toByteArray(), result.toByteArray());
     }
 
+    @Test
+    void streamHolderCoalescesBlocks() throws IOException, InterruptedException {
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        Utility util = Utility.getInstance();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StreamHolder stream = new StreamHolder(10, 8 * 1024);
+        for (int i=0; i < 600; i++) {
+            byte[] d = util.getUTF("hello world "+i+"\n");
+            stream.write(Buffer.buffer(d));
+            bytes.write(d);
+        }
+        // a large block is sliced into chunks of not more than 1 MB
+        byte[] large = new byte[StreamHolder.MAX_CHUNK_SIZE * 2 + 100];
+        Arrays.fill(large, (byte) 'x');
+        stream.write(Buffer.buffer(large));
+        bytes.write(large);
+        stream.close();
+        List<Integer> blocks = new ArrayList<>();
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        FluxConsumer<byte[]> flux = new FluxConsumer<>(stream.getInputStreamId(), RPC_TIMEOUT);
+        flux.consume(data -> {
+            blocks.add(data.length);
+            result.write(data, 0, data.length);
+        }, null, () -> bench.add(true));
+        Boolean done = bench.poll(10, TimeUnit.SECONDS);
+        assertEquals(true, done);
+        assertArrayEquals(bytes.toByteArray(), result.toByteArray());
+        // 600 small blocks are coalesced into 2 chunks and the large block becomes 3 chunks
+        assertTrue(blocks.size() <= 5);
+        for (int n: blocks) {
+            assertTrue(n <= StreamHolder.MAX_CHUNK_SIZE);
+        }
+    }
+
     @Test
     void uploadMultipartWithPost() throws IOException, InterruptedException {
         final BlockingQueue<EventEnvelope> bench1 = new ArrayBlockingQueue<>(1);
@@ -1006,6 +1071,40 @@ class RestEndpointTest extends TestBase {
         assertEquals("demo", response.getHeader("x-filter"));
     }
 
+    @Test
+    void getPrecompressedAsset() throws IOException, InterruptedException {
+        Utility util = Utility.getInstance();
+        EventEmitter po = EventEmitter.getInstance();
+        byte[] original = util.stream2bytes(this.getClass().getResourceAsStream("/public/assets/sample.bin"));
+        byte[] compressed = util.stream2bytes(this.getClass().getResourceAsStream("/public/assets/sample.bin.gz"));
+        // "br" is not available so the gzip variant is selected
+        AsyncHttpRequest req = new AsyncHttpRequest();
+        req.setMethod("GET");
+        req.setUrl("/assets/sample.bin").setHeader("Accept-Encoding", "br, gzip");
+        req.setTargetHost("http://127.0.0.1:"+port);
+        EventEnvelope request = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
+        final BlockingQueue<EventEnvelope> bench1 = new ArrayBlockingQueue<>(1);
+        po.asyncRequest(request, RPC_TIMEOUT).onSuccess(bench1::add);
+        EventEnvelope response = bench1.poll(10, TimeUnit.SECONDS);
+        assert response != null;
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertArrayEquals(compressed, (byte[]) response.getBody());
+        String eTag = response.getHeader("ETag");
+        assertNotNull(eTag);
+        // gzip is not acceptable
+        req.setHeader("Accept-Encoding", "gzip;q=0");
+        request = new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST).setBody(req);
+        final BlockingQueue<EventEnvelope> bench2 = new ArrayBlockingQueue<>(1);
+        po.asyncRequest(request, RPC_TIMEOUT).onSuccess(bench2::add);
+        response = bench2.poll(10, TimeUnit.SECONDS);
+        assert response != null;
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(original, (byte[]) response.getBody());
+        // each variant has its own ETag
+        assertNotEquals(eTag, response.getHeader("ETag"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void getAssetJSON() throws IOException, InterruptedException {
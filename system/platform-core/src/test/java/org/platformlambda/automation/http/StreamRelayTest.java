@@ -0,0 +1,155 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.http;
+
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.automation.models.OutputStreamRelay;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.EventPublisher;
+import org.platformlambda.core.system.FluxConsumer;
+import org.platformlambda.core.system.Platform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamRelayTest extends TestBase {
+    private static final String STREAM_RELAY_CLIENT = "async.http.relay.test";
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final long RPC_TIMEOUT = 10000;
+    private static final int BLOCK_SIZE = 16 * 1024;
+    private static final BlockingQueue<HttpServerRequest> pending = new ArrayBlockingQueue<>(1);
+    private static final byte[] payload = new byte[BLOCK_SIZE * 8];
+    private static int upstreamPort;
+
+    @BeforeAll
+    static void startUpstream() throws IOException, InterruptedException {
+        // binary content so that the response is not rendered as text
+        new Random(100).nextBytes(payload);
+        Platform platform = Platform.getInstance();
+        platform.registerPrivate(STREAM_RELAY_CLIENT, new AsyncHttpClient(true, 2), 10);
+        /*
+         * The upstream service sends the first half of the payload as a chunked response
+         * and holds the rest until the test releases or breaks the connection.
+         */
+        final BlockingQueue<HttpServer> bench = new ArrayBlockingQueue<>(1);
+        HttpServer server = platform.getVertx().createHttpServer();
+        server.requestHandler(request -> {
+            request.response().setChunked(true).putHeader("Content-Type", APPLICATION_OCTET_STREAM);
+            request.response().write(Buffer.buffer(Arrays.copyOfRange(payload, 0, payload.length / 2)));
+            pending.add(request);
+        });
+        server.listen(0).onSuccess(bench::add);
+        HttpServer started = bench.poll(5, TimeUnit.SECONDS);
+        assertNotNull(started);
+        upstreamPort = started.actualPort();
+    }
+
+    private EventEnvelope relayRequest(String path) throws IOException, InterruptedException {
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
+        EventEmitter po = EventEmitter.getInstance();
+        AsyncHttpRequest req = new AsyncHttpRequest().setMethod("GET")
+                                    .setTargetHost("http://127.0.0.1:"+upstreamPort).setUrl(path);
+        EventEnvelope request = new EventEnvelope().setTo(STREAM_RELAY_CLIENT).setBody(req);
+        Future<EventEnvelope> res = po.asyncRequest(request, RPC_TIMEOUT);
+        res.onSuccess(bench::add);
+        return bench.poll(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void relayChunkedResponse() throws IOException, InterruptedException {
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        EventEnvelope response = relayRequest("/relay");
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getBody());
+        String streamId = response.getHeader("X-Stream-Id");
+        assertNotNull(streamId);
+        // the stream ID arrives while the upstream service is still holding the rest of the response
+        HttpServerRequest upstream = pending.poll(5, TimeUnit.SECONDS);
+        assertNotNull(upstream);
+        assertFalse(upstream.response().ended());
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        FluxConsumer<byte[]> flux = new FluxConsumer<>(streamId, RPC_TIMEOUT);
+        flux.consume(data -> result.write(data, 0, data.length), null, () -> bench.add(true));
+        upstream.response().end(Buffer.buffer(Arrays.copyOfRange(payload, payload.length / 2, payload.length)));
+        Boolean done = bench.poll(10, TimeUnit.SECONDS);
+        assertEquals(true, done);
+        assertArrayEquals(payload, result.toByteArray());
+    }
+
+    @Test
+    void brokenUpstreamEndsWithException() throws IOException, InterruptedException {
+        final BlockingQueue<Throwable> bench = new ArrayBlockingQueue<>(1);
+        final AtomicBoolean completed = new AtomicBoolean(false);
+        EventEnvelope response = relayRequest("/broken");
+        assertNotNull(response);
+        String streamId = response.getHeader("X-Stream-Id");
+        assertNotNull(streamId);
+        HttpServerRequest upstream = pending.poll(5, TimeUnit.SECONDS);
+        assertNotNull(upstream);
+        FluxConsumer<byte[]> flux = new FluxConsumer<>(streamId, RPC_TIMEOUT);
+        flux.consume(data -> {}, bench::add, () -> completed.set(true));
+        // drop the connection before the response is complete
+        upstream.connection().close();
+        Throwable ex = bench.poll(10, TimeUnit.SECONDS);
+        assertNotNull(ex);
+        assertFalse(completed.get());
+    }
+
+    @Test
+    void relayPausesWithoutCredits() throws IOException, InterruptedException {
+        final BlockingQueue<Boolean> drained = new ArrayBlockingQueue<>(1);
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        EventPublisher publisher = new EventPublisher(RPC_TIMEOUT);
+        OutputStreamRelay relay = new OutputStreamRelay(publisher, 2);
+        relay.drainHandler(v -> drained.add(true));
+        assertFalse(relay.writeQueueFull());
+        relay.write(Buffer.buffer(Arrays.copyOfRange(payload, 0, BLOCK_SIZE)));
+        relay.write(Buffer.buffer(Arrays.copyOfRange(payload, BLOCK_SIZE, BLOCK_SIZE * 2)));
+        // the window is used up and nothing resumes the response until the consumer grants credits
+        assertTrue(relay.writeQueueFull());
+        assertNull(drained.poll(500, TimeUnit.MILLISECONDS));
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        FluxConsumer<byte[]> flux = new FluxConsumer<>(publisher.getStreamId(), RPC_TIMEOUT);
+        flux.setPrefetch(4);
+        flux.consume(data -> result.write(data, 0, data.length), null, () -> bench.add(true));
+        assertEquals(true, drained.poll(5, TimeUnit.SECONDS));
+        assertFalse(relay.writeQueueFull());
+        relay.end();
+        assertEquals(true, bench.poll(10, TimeUnit.SECONDS));
+        assertEquals(BLOCK_SIZE * 2L, relay.getLength());
+        assertArrayEquals(Arrays.copyOfRange(payload, 0, BLOCK_SIZE * 2), result.toByteArray());
+    }
+}
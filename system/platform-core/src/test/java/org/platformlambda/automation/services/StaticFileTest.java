@@ -0,0 +1,140 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.services;
+
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Static files in a local folder.
+ * <p>
+ * Files larger than the default "static.content.send.file.threshold" of 256 KB are sent
+ * from the file system. Smaller files and their pre-compressed variants are cached in memory.
+ */
+class StaticFileTest extends TestBase {
+    private static final String ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String ETAG = "ETag";
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+    private static final int LARGE_FILE = 300 * 1024;
+    private static File folder;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void setupFolder() throws IOException {
+        folder = Files.createTempDirectory("static").toFile();
+        HttpRouter.setStaticFolder(folder.getPath());
+        client = Platform.getInstance().getVertx().createHttpClient();
+    }
+
+    @AfterAll
+    static void restoreFolder() {
+        HttpRouter.setStaticFolder(null);
+        Utility.getInstance().cleanupDir(folder);
+    }
+
+    @Test
+    void largeFileIsSentFromDisk() throws IOException, InterruptedException {
+        File file = new File(folder, "large.bin");
+        byte[] content = getBytes(LARGE_FILE);
+        Files.write(file.toPath(), content);
+        EventEnvelope response = get("/large.bin", new HashMap<>());
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(content, (byte[]) response.getBody());
+        // the ETag of a large file is made of its last modified time and size
+        String eTag = "\"" + Long.toHexString(file.lastModified()) + "-" + Long.toHexString(LARGE_FILE) + "\"";
+        assertEquals(eTag, response.getHeader(ETAG));
+        assertEquals(String.valueOf(LARGE_FILE), response.getHeader("Content-Length"));
+        // the browser has the same copy
+        response = get("/large.bin", Map.of(IF_NONE_MATCH, eTag));
+        assertNotNull(response);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, ((byte[]) response.getBody()).length);
+    }
+
+    @Test
+    void changedVariantIsReloaded() throws IOException, InterruptedException {
+        File file = new File(folder, "page.txt");
+        File gzipFile = new File(folder, "page.txt.gz");
+        File brotliFile = new File(folder, "page.txt.br");
+        Files.write(file.toPath(), getBytes(1000));
+        byte[] gzip1 = getBytes(100);
+        Files.write(gzipFile.toPath(), gzip1);
+        EventEnvelope response = get("/page.txt", Map.of(ACCEPT_ENCODING, GZIP));
+        assertNotNull(response);
+        assertEquals(GZIP, response.getHeader(CONTENT_ENCODING));
+        assertArrayEquals(gzip1, (byte[]) response.getBody());
+        // update the gzip variant without changing the original file
+        byte[] gzip2 = getBytes(120);
+        Files.write(gzipFile.toPath(), gzip2);
+        assertTrue(gzipFile.setLastModified(gzipFile.lastModified() + 2000));
+        response = get("/page.txt", Map.of(ACCEPT_ENCODING, GZIP));
+        assertNotNull(response);
+        assertEquals(GZIP, response.getHeader(CONTENT_ENCODING));
+        assertArrayEquals(gzip2, (byte[]) response.getBody());
+        // a variant that is added later is also picked up
+        byte[] brotli = getBytes(80);
+        Files.write(brotliFile.toPath(), brotli);
+        response = get("/page.txt", Map.of(ACCEPT_ENCODING, BROTLI + ", " + GZIP));
+        assertNotNull(response);
+        assertEquals(BROTLI, response.getHeader(CONTENT_ENCODING));
+        assertArrayEquals(brotli, (byte[]) response.getBody());
+    }
+
+    private EventEnvelope get(String path, Map<String, String> headers) throws InterruptedException {
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
+        client.request(HttpMethod.GET, port, "127.0.0.1", path).compose(request -> {
+            headers.forEach(request::putHeader);
+            return request.send();
+        }).compose(res -> res.body().map(b -> {
+            EventEnvelope result = new EventEnvelope().setStatus(res.statusCode()).setBody(b.getBytes());
+            res.headers().forEach(kv -> result.setHeader(kv.getKey(), kv.getValue()));
+            return result;
+        })).onSuccess(bench::add);
+        return bench.poll(10, TimeUnit.SECONDS);
+    }
+
+    private byte[] getBytes(int size) {
+        byte[] b = new byte[size];
+        new Random(size).nextBytes(b);
+        return b;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.automation.services;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.AsyncHttpRequest;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.TypedLambdaFunction;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.util.Utility;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UploadSpoolTest extends TestBase {
+    private static final String HELLO_SPOOL = "hello.spool";
+    private static final String SPOOL_PATH = "/api/hello/spool";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final String BOUNDARY = "spool-test-boundary";
+    private static final String X_SPOOL = "x-spool";
+    private static final String X_STREAM = "x-stream";
+    private static final long THRESHOLD = 10000;
+    private static File spoolFolder;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void setupSpooling() throws IOException {
+        spoolFolder = Files.createTempDirectory("spool").toFile();
+        Platform platform = Platform.getInstance();
+        platform.registerPrivate(HELLO_SPOOL, new SpoolReader(), 5);
+        client = platform.getVertx().createHttpClient();
+    }
+
+    @AfterEach
+    void disableSpooling() {
+        HttpRouter.setSpooling(null, -1);
+    }
+
+    @Test
+    void smallMultipartIsStreamed() throws InterruptedException {
+        HttpRouter.setSpooling(spoolFolder, THRESHOLD);
+        byte[] content = getBytes(1000);
+        EventEnvelope response = send(HttpMethod.POST, "multipart/form-data; boundary=" + BOUNDARY,
+                                        multipart("small.bin", content), false);
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        // the upload is smaller than the spool threshold
+        assertNull(response.getHeader(X_SPOOL));
+        assertEquals("true", response.getHeader(X_STREAM));
+    }
+
+    @Test
+    void largeMultipartIsSpooled() throws InterruptedException {
+        HttpRouter.setSpooling(spoolFolder, THRESHOLD);
+        byte[] content = getBytes(200000);
+        EventEnvelope response = send(HttpMethod.POST, "multipart/form-data; boundary=" + BOUNDARY,
+                                        multipart("large.bin", content), false);
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        String path = response.getHeader(X_SPOOL);
+        assertNotNull(path);
+        File file = new File(path);
+        assertEquals(spoolFolder, file.getParentFile());
+        assertArrayEquals(content, (byte[]) response.getBody());
+        assertTrue(isDeleted(file));
+    }
+
+    @Test
+    void chunkedRawBodyIsSpooled() throws InterruptedException {
+        // a raw body of unknown size is spooled regardless of the threshold
+        HttpRouter.setSpooling(spoolFolder, THRESHOLD);
+        byte[] content = getBytes(300000);
+        EventEnvelope response = send(HttpMethod.PUT, APPLICATION_OCTET_STREAM, Buffer.buffer(content), true);
+        assertNotNull(response);
+        assertEquals(200, response.getStatus());
+        String path = response.getHeader(X_SPOOL);
+        assertNotNull(path);
+        File file = new File(path);
+        assertEquals(spoolFolder, file.getParentFile());
+        assertArrayEquals(content, (byte[]) response.getBody());
+        assertTrue(isDeleted(file));
+    }
+
+    @Test
+    void spoolFailureIsRejected() throws IOException, InterruptedException {
+        // a regular file cannot be used as a spool folder
+        File notFolder = new File(spoolFolder, "not-a-folder");
+        Files.write(notFolder.toPath(), new byte[1]);
+        HttpRouter.setSpooling(notFolder, 0);
+        EventEnvelope response = send(HttpMethod.PUT, APPLICATION_OCTET_STREAM, Buffer.buffer(getBytes(1000)), true);
+        assertNotNull(response);
+        assertEquals(500, response.getStatus());
+        assertNull(response.getHeader(X_SPOOL));
+    }
+
+    private EventEnvelope send(HttpMethod method, String contentType, Buffer body, boolean chunked)
+            throws InterruptedException {
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(1);
+        client.request(method, port, "127.0.0.1", SPOOL_PATH).compose(request -> {
+            request.putHeader(CONTENT_TYPE, contentType);
+            if (chunked) {
+                // send the body in two chunks without a content length
+                int half = body.length() / 2;
+                request.setChunked(true);
+                request.write(body.getBuffer(0, half));
+                request.end(body.getBuffer(half, body.length()));
+                return request.response();
+            } else {
+                return request.send(body);
+            }
+        }).compose(res -> res.body().map(b -> {
+            EventEnvelope result = new EventEnvelope().setStatus(res.statusCode()).setBody(b.getBytes());
+            res.headers().forEach(kv -> result.setHeader(kv.getKey(), kv.getValue()));
+            return result;
+        })).onSuccess(bench::add);
+        return bench.poll(10, TimeUnit.SECONDS);
+    }
+
+    private boolean isDeleted(File file) throws InterruptedException {
+        // the file is deleted asynchronously when the HTTP context is closed
+        for (int i=0; i < 50; i++) {
+            if (!file.exists()) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private Buffer multipart(String filename, byte[] content) {
+        Utility util = Utility.getInstance();
+        return Buffer.buffer()
+                .appendBytes(util.getUTF("--" + BOUNDARY + "\r\n" +
+                        "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n" +
+                        "Content-Type: " + APPLICATION_OCTET_STREAM + "\r\n\r\n"))
+                .appendBytes(content)
+                .appendBytes(util.getUTF("\r\n--" + BOUNDARY + "--\r\n"));
+    }
+
+    private byte[] getBytes(int size) {
+        byte[] b = new byte[size];
+        new Random(size).nextBytes(b);
+        return b;
+    }
+
+    private static class SpoolReader implements TypedLambdaFunction<AsyncHttpRequest, EventEnvelope> {
+
+        @Override
+        public EventEnvelope handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance)
+                throws IOException {
+            EventEnvelope result = new EventEnvelope().setHeader(CONTENT_TYPE, APPLICATION_OCTET_STREAM);
+            if (input.isSpooled()) {
+                File file = new File(input.getSpoolFile());
+                // the file is available until the HTTP response is sent
+                return result.setHeader(X_SPOOL, file.getPath()).setBody(Files.readAllBytes(file.toPath()));
+            } else {
+                return result.setHeader(X_STREAM, input.getStreamRoute() != null).setBody(new byte[0]);
+            }
+        }
+    }
+}
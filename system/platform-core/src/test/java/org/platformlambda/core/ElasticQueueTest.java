@@ -70,11 +70,42 @@ class ElasticQueueTest {
         readWrite("large.payload.test", 90000);
     }
 
+    @Test
+    void berkeleyStore() throws IOException {
+        readWrite(new ElasticQueue("berkeley.store.test", ElasticQueue.BERKELEY_STORE), 10);
+        readWrite(new ElasticQueue("large.berkeley.store.test", ElasticQueue.BERKELEY_STORE), 90000);
+    }
+
+    @Test
+    void segmentRecycling() throws IOException {
+        // each event is about 1 MB so that the segments will be rolled over and recycled
+        String baseText = "0123456789".repeat(100000) + ": ";
+        ElasticQueue spooler = new ElasticQueue("segment.recycle.test", ElasticQueue.MAPPED_STORE);
+        int total = ElasticQueue.getMemoryBuffer() + 20;
+        for (int cycle = 0; cycle < 3; cycle++) {
+            for (int i = 0; i < total; i++) {
+                spooler.write(new EventEnvelope().setBody(baseText + i).toBytes());
+            }
+            for (int i = 0; i < total; i++) {
+                byte[] b = spooler.read();
+                EventEnvelope data = new EventEnvelope();
+                data.load(b);
+                assertEquals(baseText + i, data.getBody());
+            }
+            assertEquals(0, spooler.read().length);
+            assertTrue(spooler.isClosed());
+        }
+        spooler.destroy();
+    }
+
     private void readWrite(String path, int size) throws IOException {
+        readWrite(new ElasticQueue(path), size);
+    }
+
+    private void readWrite(ElasticQueue spooler, int size) throws IOException {
         String target = "hello.world";
         // create input
         String baseText = "0123456789".repeat(Math.max(0, size)) + ": ";
-        ElasticQueue spooler = new ElasticQueue(path);
         // immediate read after write
         for (int i = 0; i < ElasticQueue.MEMORY_BUFFER * 3; i++) {
             String input = baseText + i;
@@ -20,9 +20,12 @@ package org.platformlambda.core;
 
 import io.vertx.core.Future;
 import org.junit.jupiter.api.Test;
+import org.platformlambda.automation.http.AsyncHttpClient;
 import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.AsyncHttpRequest;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.system.EventEmitter;
 import org.platformlambda.core.system.Platform;
 import org.platformlambda.core.system.PostOffice;
@@ -30,7 +33,9 @@ import org.platformlambda.core.util.AppConfigReader;
 import org.platformlambda.core.util.MultiLevelMap;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -396,4 +401,47 @@ class EventHttpTest extends TestBase {
         assertEquals(NUMBER_THREE, map.getElement("body"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void remoteEventApiBatchTest() throws IOException, ExecutionException, InterruptedException {
+        long TIMEOUT = 3000;
+        MsgPack msgPack = new MsgPack();
+        EventEnvelope rpc = new EventEnvelope().setTo("hello.world").setBody("rpc").setHeader("hello", "world");
+        EventEnvelope async = new EventEnvelope().setTo("hello.world").setBody("async");
+        EventEnvelope missing = new EventEnvelope().setTo("some.dummy.route").setBody("none");
+        List<Map<String, Object>> items = new ArrayList<>();
+        items.add(Map.of("event", rpc.toBytes(), "timeout", TIMEOUT));
+        items.add(Map.of("event", async.toBytes(), "async", true));
+        items.add(Map.of("event", missing.toBytes()));
+        AsyncHttpRequest req = new AsyncHttpRequest().setMethod("POST").setUrl("/api/event")
+                .setTargetHost("http://127.0.0.1:"+port)
+                .setHeader("Content-Type", "application/octet-stream")
+                .setHeader("X-Small-Payload-As-Bytes", "true")
+                .setHeader("X-Event-Batch", "true")
+                .setHeader("Authorization", "demo")
+                .setBody(msgPack.pack(items));
+        EventEmitter po = EventEmitter.getInstance();
+        EventEnvelope response = po.request(new EventEnvelope().setTo(AsyncHttpClient.ASYNC_HTTP_REQUEST)
+                                    .setBody(req), TIMEOUT + 500).get();
+        assertEquals(200, response.getStatus());
+        assertInstanceOf(byte[].class, response.getBody());
+        Object o = msgPack.unpack((byte[]) response.getBody());
+        assertInstanceOf(List.class, o);
+        List<Object> results = (List<Object>) o;
+        assertEquals(3, results.size());
+        // each event in the batch has its own status
+        EventEnvelope result1 = new EventEnvelope((byte[]) results.get(0));
+        assertEquals(200, result1.getStatus());
+        MultiLevelMap map = new MultiLevelMap((Map<String, Object>) result1.getBody());
+        assertEquals("world", map.getElement("headers.hello"));
+        // session information from the authentication service applies to every event in the batch
+        assertEquals("demo", map.getElement("headers.user"));
+        assertEquals("rpc", map.getElement("body"));
+        EventEnvelope result2 = new EventEnvelope((byte[]) results.get(1));
+        assertEquals(202, result2.getStatus());
+        EventEnvelope result3 = new EventEnvelope((byte[]) results.get(2));
+        assertEquals(404, result3.getStatus());
+        assertEquals("Route some.dummy.route not found", result3.getError());
+    }
+
 }
@@ -0,0 +1,84 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.logging.LogRingBuffer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingBufferTest {
+
+    @Test
+    void dropOldestTest() {
+        LogRingBuffer buffer = new LogRingBuffer(4, LogRingBuffer.DROP_OLDEST, 1);
+        assertTrue(buffer.offer(false, Map.of("n", 0)));
+        for (int i=1; i < 10; i++) {
+            assertFalse(buffer.offer(i % 2 == 0, Map.of("n", i)));
+        }
+        assertEquals(4, buffer.size());
+        assertEquals(6, buffer.getDropped());
+        boolean[] pretty = new boolean[10];
+        Map<?, ?>[] batch = new Map<?, ?>[10];
+        assertEquals(4, buffer.drainTo(pretty, batch));
+        // the most recent records are kept in order
+        for (int i=0; i < 4; i++) {
+            assertEquals(i + 6, batch[i].get("n"));
+            assertEquals((i + 6) % 2 == 0, pretty[i]);
+        }
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.drainTo(pretty, batch));
+    }
+
+    @Test
+    void sampleTest() {
+        LogRingBuffer buffer = new LogRingBuffer(2, LogRingBuffer.SAMPLE, 5);
+        for (int i=0; i < 12; i++) {
+            buffer.offer(false, Map.of("n", i));
+        }
+        // 10 overflowing records are dropped and every 5th of them replaces the oldest record
+        assertEquals(10, buffer.getDropped());
+        Map<?, ?>[] batch = new Map<?, ?>[2];
+        assertEquals(2, buffer.drainTo(new boolean[2], batch));
+        assertEquals(6, batch[0].get("n"));
+        assertEquals(11, batch[1].get("n"));
+    }
+
+    @Test
+    void blockTest() throws ExecutionException, InterruptedException, TimeoutException {
+        LogRingBuffer buffer = new LogRingBuffer(2, LogRingBuffer.BLOCK, 1);
+        buffer.offer(false, Map.of("n", 0));
+        buffer.offer(false, Map.of("n", 1));
+        CompletableFuture<Boolean> producer = CompletableFuture.supplyAsync(() -> buffer.offer(false, Map.of("n", 2)));
+        Thread.sleep(100);
+        // the producer waits for free space
+        assertFalse(producer.isDone());
+        Map<?, ?>[] batch = new Map<?, ?>[1];
+        assertEquals(1, buffer.drainTo(new boolean[1], batch));
+        producer.get(5, TimeUnit.SECONDS);
+        assertEquals(0, buffer.getDropped());
+        assertEquals(2, buffer.size());
+    }
+}
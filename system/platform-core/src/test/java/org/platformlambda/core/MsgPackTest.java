@@ -301,4 +301,39 @@ class MsgPackTest {
         assertEquals(input.getAddress(), result.getAddress());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void copyIsEquivalentToRoundTrip() throws IOException {
+        PoJo pojo = new PoJo();
+        pojo.setName("hello world");
+        pojo.setNumber(100);
+        Map<String, Object> input = new HashMap<>();
+        input.put("hello", "world");
+        input.put("boolean", true);
+        input.put("array", new String[]{"hello", "world"});
+        input.put("list", Arrays.asList(1, null, "x"));
+        input.put("short", (short) 12);
+        input.put("long", 12345L);
+        input.put("big_long", Long.MAX_VALUE);
+        input.put("float", 12.345f);
+        input.put("double", 12.345d);
+        input.put("big_decimal", new BigDecimal("0.00000012345"));
+        input.put("atomic", new AtomicInteger(10));
+        input.put("date", new Date());
+        input.put("pojo", pojo);
+        input.put(PayloadMapper.NOTHING, null);
+        Object restored = msgPack.unpack(msgPack.pack(input));
+        Object copy = msgPack.copy(input);
+        assertEquals(restored, copy);
+        // the copy must be isolated from the original
+        Map<String, Object> map = (Map<String, Object>) copy;
+        ((List<Object>) map.get("list")).add("y");
+        assertEquals(3, ((List<Object>) input.get("list")).size());
+        byte[] b = {1, 2, 3};
+        Map<String, Object> binary = new HashMap<>();
+        binary.put("b", b);
+        Map<String, Object> binaryCopy = (Map<String, Object>) msgPack.copy(binary);
+        assertArrayEquals(b, (byte[]) binaryCopy.get("b"));
+        assertNotSame(b, binaryCopy.get("b"));
+    }
 }
@@ -187,6 +187,63 @@ class ObjectStreamTest extends TestBase {
         assertEquals(DEMO_EXCEPTION, ex.getMessage());
     }
 
+    @Test
+    void fluxPrefetchTest() throws IOException, InterruptedException {
+        final long TIME_TO_LIVE = 5000;
+        final int TOTAL = 500;
+        Flux<Map<String, Object>> source = Flux.range(0, TOTAL).map(i -> Map.of(DATA, i));
+        FluxPublisher<Map<String, Object>> fluxRelay = new FluxPublisher<>(source, TIME_TO_LIVE);
+        // request messages from the Flux according to consumer demand
+        fluxRelay.setPrefetch(20);
+        String streamId = fluxRelay.publish();
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        final List<Object> messages = new ArrayList<>();
+        FluxConsumer<Map<String, Object>> fc = new FluxConsumer<>(streamId, TIME_TO_LIVE);
+        // receive up to 50 messages in a batch
+        fc.setPrefetch(50);
+        fc.consume(messages::add, e -> {
+            messages.add(e);
+            bench.add(false);
+        }, () -> bench.add(true));
+        Object signal = bench.poll(10, TimeUnit.SECONDS);
+        assertEquals(true, signal);
+        assertEquals(TOTAL, messages.size());
+        for (int i=0; i < TOTAL; i++) {
+            assertInstanceOf(Map.class, messages.get(i));
+            assertEquals(i, ((Map<?, ?>) messages.get(i)).get(DATA));
+        }
+    }
+
+    @Test
+    void batchedExceptionTest() throws IOException, InterruptedException {
+        final long TIME_TO_LIVE = 3000;
+        final int TOTAL = 10;
+        final String DEMO_EXCEPTION = "demo exception";
+        EventPublisher publisher = new EventPublisher(TIME_TO_LIVE);
+        for (int i=0; i < TOTAL; i++) {
+            publisher.publish("message " + i);
+        }
+        publisher.publishException(new AppException(400, DEMO_EXCEPTION));
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        final List<Object> messages = new ArrayList<>();
+        FluxConsumer<String> fc = new FluxConsumer<>(publisher.getStreamId(), TIME_TO_LIVE);
+        fc.setPrefetch(4);
+        fc.consume(messages::add, e -> {
+            messages.add(e);
+            bench.add(false);
+        }, () -> bench.add(true));
+        Object signal = bench.poll(5, TimeUnit.SECONDS);
+        assertEquals(false, signal);
+        // messages are delivered in order before the exception
+        assertEquals(TOTAL + 1, messages.size());
+        for (int i=0; i < TOTAL; i++) {
+            assertEquals("message " + i, messages.get(i));
+        }
+        AppException ex = (AppException) messages.get(TOTAL);
+        assertEquals(400, ex.getStatus());
+        assertEquals(DEMO_EXCEPTION, ex.getMessage());
+    }
+
     @Test
     void eventPublisherFluxConsumerCompatibilityTest() throws IOException, InterruptedException {
         final long TIME_TO_LIVE = 3000;
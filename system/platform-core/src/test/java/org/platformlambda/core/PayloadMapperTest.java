@@ -21,12 +21,17 @@ package org.platformlambda.core;
 import org.junit.jupiter.api.Test;
 import org.platformlambda.core.models.EventEnvelope;
 import org.platformlambda.core.models.TypedPayload;
+import org.platformlambda.core.serializers.MsgPack;
 import org.platformlambda.core.serializers.PayloadMapper;
+import org.platformlambda.core.serializers.PoJoCodec;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.models.PoJo;
 import org.platformlambda.core.util.Utility;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -272,4 +277,41 @@ class PayloadMapperTest {
         assertEquals(Arrays.asList(input), converted);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void pojoCodecIsSameAsGson() throws IOException {
+        PoJo pojo = new PoJo();
+        pojo.setName("hello world");
+        pojo.setFullName("Hello World");
+        pojo.setNumber(12345);
+        pojo.setLongNumber(10000000000L);
+        pojo.setBigInteger(new BigInteger("123456789012345678901234567890"));
+        pojo.setBigDecimal(new BigDecimal("0.00001234"));
+        pojo.setDate(new Date());
+        Map<String, Object> expected = SimpleMapper.getInstance().getMapper().readValue(pojo, Map.class);
+        Map<String, Object> map = PoJoCodec.getInstance().toMap(pojo);
+        assertEquals(expected, map);
+        // the PoJo is written directly as a map when it is inside a data structure
+        MsgPack msgPack = new MsgPack();
+        Map<String, Object> data = new HashMap<>();
+        data.put("pojo", pojo);
+        data.put("list", List.of(pojo, "text"));
+        Map<String, Object> restored = (Map<String, Object>) msgPack.unpack(msgPack.pack(data));
+        assertEquals(msgPack.copy(expected), restored.get("pojo"));
+        assertEquals(List.of(msgPack.copy(expected), "text"), restored.get("list"));
+    }
+
+    @Test
+    void pojoCodecFallback() {
+        PoJo pojo = new PoJo();
+        pojo.setName("hello");
+        // LocalDate has its own serializer in the Gson engine
+        pojo.setLocalDate(LocalDate.now());
+        assertNull(PoJoCodec.getInstance().toMap(pojo));
+        TypedPayload typed = converter.encode(pojo, true);
+        assertEquals(PoJo.class.getName(), typed.getType());
+        PoJo restored = SimpleMapper.getInstance().getMapper().readValue(typed.getPayload(), PoJo.class);
+        assertEquals(pojo.getName(), restored.getName());
+        assertEquals(pojo.getLocalDate(), restored.getLocalDate());
+    }
 }
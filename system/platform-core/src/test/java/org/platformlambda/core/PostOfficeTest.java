@@ -544,6 +544,57 @@ class PostOfficeTest extends TestBase {
         assertEquals(BODY, result.get("body"));
     }
 
+    @Test
+    void serviceQueueBackpressureTest() throws IOException, InterruptedException {
+        final Platform platform = Platform.getInstance();
+        final EventEmitter po = EventEmitter.getInstance();
+        final String SLOW_FUNCTION = "slow.backpressure.test";
+        final int TOTAL = 1200;
+        final Semaphore gate = new Semaphore(0);
+        final CountDownLatch done = new CountDownLatch(TOTAL);
+        LambdaFunction f = (headers, input, instance) -> {
+            gate.acquire();
+            done.countDown();
+            return null;
+        };
+        platform.registerPrivate(SLOW_FUNCTION, f, 1);
+        ServiceQueue manager = platform.getManager(SLOW_FUNCTION);
+        assertFalse(manager.isCongested());
+        for (int i=0; i < TOTAL; i++) {
+            po.send(SLOW_FUNCTION, i);
+        }
+        // the backlog reaches the default high watermark of 1000 events
+        long end = System.currentTimeMillis() + 5000;
+        while (!manager.isCongested() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(manager.isCongested());
+        // congestion is cleared when the backlog falls to the low watermark
+        gate.release(TOTAL);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertFalse(manager.isCongested());
+        platform.release(SLOW_FUNCTION);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void localReplyTest() throws IOException, ExecutionException, InterruptedException {
+        final Platform platform = Platform.getInstance();
+        final PostOffice po = new PostOffice("unit.test", "8013", "TEST /rpc/local/reply");
+        final String LOCAL_REPLY = "local.reply.test";
+        final Map<String, Object> shared = new HashMap<>();
+        shared.put("hello", "world");
+        LambdaFunction f = (headers, input, instance) -> shared;
+        platform.registerPrivate(LOCAL_REPLY, f, 1);
+        EventEnvelope response = po.request(new EventEnvelope().setTo(LOCAL_REPLY), 5000).get();
+        assertEquals(200, response.getStatus());
+        assertEquals(shared, response.getBody());
+        assertTrue(response.getRoundTrip() > 0);
+        // the reply is an isolated copy so that the caller cannot change the function's data
+        ((Map<String, Object>) response.getBody()).put("hello", "changed");
+        assertEquals("world", shared.get("hello"));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     void parallelRpcTagTest() throws IOException, InterruptedException {
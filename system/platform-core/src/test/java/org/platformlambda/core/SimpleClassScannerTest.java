@@ -0,0 +1,59 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.annotations.WebSocketService;
+import org.platformlambda.core.mock.SaveAndGet;
+import org.platformlambda.core.mock.WsEcho;
+import org.platformlambda.core.services.EventApiService;
+import org.platformlambda.core.util.SimpleClassScanner;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimpleClassScannerTest {
+
+    @Test
+    void annotatedClassNamesTest() {
+        SimpleClassScanner scanner = SimpleClassScanner.getInstance();
+        List<String> preload = scanner.getAnnotatedClassNames(PreLoad.class, true);
+        // system function, Java and Kotlin user functions
+        assertTrue(preload.contains(EventApiService.class.getName()));
+        assertTrue(preload.contains(SaveAndGet.class.getName()));
+        assertTrue(preload.contains("org.platformlambda.core.mock.HelloWorld"));
+        // the result of a sub-package is a subset of the parent package
+        List<String> mock = scanner.getAnnotatedClassNames("org.platformlambda.core.mock", PreLoad.class);
+        assertTrue(mock.contains(SaveAndGet.class.getName()));
+        assertFalse(mock.contains(EventApiService.class.getName()));
+        List<String> ws = scanner.getAnnotatedClassNames(WebSocketService.class, true);
+        assertTrue(ws.contains(WsEcho.class.getName()));
+        assertFalse(ws.contains(SaveAndGet.class.getName()));
+    }
+
+    @Test
+    void invalidPackageTest() {
+        SimpleClassScanner scanner = SimpleClassScanner.getInstance();
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                                        () -> scanner.getAnnotatedClassNames("invalid", PreLoad.class));
+        assertEquals("Invalid package path (invalid)", ex.getMessage());
+    }
+}
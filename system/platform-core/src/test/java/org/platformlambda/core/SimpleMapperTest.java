@@ -24,17 +24,23 @@ import org.platformlambda.core.models.nested.ChildPoJo;
 import org.platformlambda.core.models.nested.ParentPoJo;
 import org.platformlambda.core.serializers.SimpleMapper;
 import org.platformlambda.core.serializers.SimpleObjectMapper;
+import org.platformlambda.core.util.ByteChunkInputStream;
 import org.platformlambda.core.util.MultiLevelMap;
 import org.platformlambda.core.util.Utility;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +79,49 @@ class SimpleMapperTest {
         assertEquals(pojo, o);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void decodeJsonFromChunks() {
+        Utility util = Utility.getInstance();
+        SimpleObjectMapper mapper = SimpleMapper.getInstance().getMapper();
+        PoJo pojo = new PoJo();
+        pojo.setName("hello \u4e16\u754c");
+        pojo.setNumber(123);
+        byte[] b = mapper.writeValueAsBytes(pojo);
+        // split a multibyte character across two chunks
+        int split = 0;
+        while (b[split] >= 0) {
+            split++;
+        }
+        split++;
+        List<byte[]> chunks = List.of(Arrays.copyOfRange(b, 0, split), Arrays.copyOfRange(b, split, b.length));
+        ByteChunkInputStream in = new ByteChunkInputStream(chunks);
+        assertEquals('{', in.firstNonWhitespace());
+        assertEquals(b.length, in.getLength());
+        assertArrayEquals(b, in.toByteArray());
+        // decode into a PoJo
+        PoJo restored = mapper.readValue(in, PoJo.class);
+        assertEquals(pojo.getName(), restored.getName());
+        assertEquals(pojo.getNumber(), restored.getNumber());
+        // decode into a map
+        Map<String, Object> map = mapper.readValue(new ByteChunkInputStream(chunks), Map.class);
+        assertEquals(pojo.getName(), map.get("name"));
+        assertEquals(123L, map.get("number"));
+        // the input stream is closed after decoding
+        AtomicBoolean closed = new AtomicBoolean(false);
+        InputStream stream = new ByteArrayInputStream(b) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertEquals(pojo.getName(), mapper.readValue(stream, PoJo.class).getName());
+        assertTrue(closed.get());
+        // byte array is decoded in the same way as a string
+        assertEquals(mapper.readValue(util.getUTF(b), Map.class), mapper.readValue(b, Map.class));
+        assertEquals(-1, new ByteChunkInputStream(List.of(util.getUTF(" \r\n"))).firstNonWhitespace());
+    }
+
     @Test
     void primitiveDataTest() {
         final boolean bol = true;
@@ -0,0 +1,84 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.util.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void expiryAfterDeadline() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("unit.test.timer", 10, 8);
+        // a small wheel ensures that some timeouts need more than one round
+        int n = 200;
+        CountDownLatch done = new CountDownLatch(n);
+        AtomicInteger early = new AtomicInteger(0);
+        for (int i=0; i < n; i++) {
+            long delay = i * 2L;
+            long due = System.nanoTime() + delay * 1000000L;
+            wheel.schedule(delay, () -> {
+                if (System.nanoTime() < due) {
+                    early.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, early.get());
+        assertEquals(0, wheel.size());
+        wheel.stop();
+    }
+
+    @Test
+    void cancellation() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("unit.test.cancel", 10, 64);
+        AtomicInteger fired = new AtomicInteger(0);
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        for (int i=0; i < 100; i++) {
+            timeouts.add(wheel.schedule(100, fired::incrementAndGet));
+        }
+        assertEquals(100, wheel.size());
+        for (int i=0; i < 100; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+            // cancel is idempotent
+            assertFalse(timeouts.get(i).cancel());
+        }
+        assertEquals(50, wheel.size());
+        Thread.sleep(500);
+        assertEquals(50, fired.get());
+        assertEquals(0, wheel.size());
+        for (int i=0; i < 100; i++) {
+            TimingWheel.Timeout t = timeouts.get(i);
+            assertEquals(i % 2 == 0, t.isCancelled());
+            assertEquals(i % 2 != 0, t.isExpired());
+            // an expired timeout cannot be cancelled
+            assertFalse(t.cancel());
+        }
+        wheel.stop();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.core.system.TraceCollector;
+import org.platformlambda.core.util.Utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceSamplingTest {
+    private static final TraceCollector collector = TraceCollector.getInstance();
+
+    @Test
+    void headSampling() {
+        Utility util = Utility.getInstance();
+        int kept = 0;
+        for (int i=0; i < 10000; i++) {
+            String traceId = util.getUuid();
+            assertTrue(collector.isSampled("sampling.other", traceId, false, 1));
+            assertFalse(collector.isSampled("sampling.none", traceId, false, 1));
+            boolean sampled = collector.isSampled("sampling.half", traceId, false, 1);
+            // the decision is consistent for all spans of the same trace
+            assertEquals(sampled, collector.isSampled("sampling.half", traceId, false, 5));
+            if (sampled) {
+                kept++;
+            }
+        }
+        assertTrue(kept > 4500 && kept < 5500, "Expect about half of the traces, actual "+kept);
+    }
+
+    @Test
+    void tailRules() {
+        String traceId = Utility.getInstance().getUuid();
+        assertFalse(collector.isSampled("sampling.none", traceId, false, 999));
+        // exceptions and slow spans are always kept
+        assertTrue(collector.isSampled("sampling.none", traceId, true, 1));
+        assertTrue(collector.isSampled("sampling.none", traceId, false, 1000));
+        assertFalse(collector.isSampled("sampling.none", null, false, 1));
+    }
+}
@@ -27,7 +27,10 @@ import org.platformlambda.core.models.LambdaFunction;
 import org.platformlambda.core.models.MockPubSub;
 import org.platformlambda.core.system.PubSub;
 import org.platformlambda.core.system.ServerPersonality;
+import org.platformlambda.core.util.IdGenerator;
+import org.platformlambda.core.util.MapPath;
 import org.platformlambda.core.util.MultiLevelMap;
+import org.platformlambda.core.util.TimeOrderedIdGenerator;
 import org.platformlambda.core.util.Utility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +39,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -293,6 +297,31 @@ class UtilityTests {
         assertFalse(mm.keyExists(HELLO_WORLD));
     }
 
+    @Test
+    void compiledPathTest() {
+        MapPath path = new MapPath("hello.world[1].items[0][2]");
+        MultiLevelMap mm = new MultiLevelMap();
+        mm.setElement(path, "test");
+        assertTrue(mm.exists(path));
+        assertEquals("test", mm.getElement(path));
+        // compiled path and composite path are interchangeable
+        assertEquals("test", mm.getElement("hello.world[1].items[0][2]"));
+        assertNull(mm.getElement(new MapPath("hello.world[0]")));
+        assertEquals(2, ((List<?>) mm.getElement(new MapPath("hello.world"))).size());
+        mm.removeElement(path);
+        assertTrue(mm.keyExists(path));
+        assertNull(mm.getElement(path));
+        mm.removeElement(new MapPath("hello.world"));
+        assertFalse(mm.keyExists(new MapPath("hello.world")));
+        // invalid path can be used for retrieval but it is rejected when setting a value
+        MapPath invalid = new MapPath("hello.world[x]");
+        assertFalse(invalid.isValid());
+        assertNull(mm.getElement(invalid));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> mm.setElement(invalid, "test"));
+        assertEquals("Invalid composite path - indexes must be digits", ex.getMessage());
+    }
+
     @Test
     void defaultValueTest() {
         String HELLO = "hello";
@@ -460,4 +489,35 @@ class UtilityTests {
             log.info("Test folder {} removed", dir);
         }
     }
+
+    @Test
+    void timeOrderedIdTest() throws InterruptedException {
+        IdGenerator generator = new TimeOrderedIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int count = 10000;
+        List<Thread> workers = new ArrayList<>();
+        for (int i=0; i < threads; i++) {
+            workers.add(Thread.startVirtualThread(() -> {
+                for (int j=0; j < count; j++) {
+                    ids.add(generator.getId());
+                }
+            }));
+        }
+        for (Thread t : workers) {
+            t.join();
+        }
+        assertEquals(threads * count, ids.size());
+        String first = generator.getId();
+        Thread.sleep(2);
+        String second = generator.getId();
+        assertEquals(32, first.length());
+        assertTrue(first.matches("[0-9a-f]+"));
+        // same instance prefix and the IDs are sorted by time
+        assertEquals(first.substring(0, 16), second.substring(0, 16));
+        assertTrue(first.substring(0, 27).compareTo(second.substring(0, 27)) < 0);
+        // two generators have different instance prefixes
+        assertNotEquals(first.substring(0, 16), new TimeOrderedIdGenerator().getId().substring(0, 16));
+        assertTrue(Utility.getInstance().validServiceName("stream." + Utility.getInstance().getId()));
+    }
 }
@@ -0,0 +1,118 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.WebSocket;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.websocket.server.WsEnvelope;
+import org.platformlambda.core.websocket.server.WsRequestHandler;
+import org.platformlambda.core.websocket.server.WsSessionRegistry;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WsMultiplexTest extends TestBase {
+    private static final String WS_PATH = "/ws/multiplex";
+    private static final BlockingQueue<Map<String, String>> opened = new ArrayBlockingQueue<>(1);
+    private static final BlockingQueue<String> received = new ArrayBlockingQueue<>(1);
+    private static final BlockingQueue<Map<String, String>> closed = new ArrayBlockingQueue<>(1);
+    private static int wsPort;
+
+    @BeforeAll
+    static void startMultiplexServer() throws InterruptedException {
+        LambdaFunction listener = (headers, input, instance) -> {
+            String type = headers.get(WsEnvelope.TYPE);
+            if (WsEnvelope.OPEN.equals(type)) {
+                opened.add(new HashMap<>(headers));
+            }
+            if (WsEnvelope.STRING.equals(type)) {
+                received.add(headers.get(WsEnvelope.ROUTE) + " " + input);
+            }
+            if (WsEnvelope.CLOSE.equals(type)) {
+                closed.add(new HashMap<>(headers));
+            }
+            return null;
+        };
+        ConcurrentMap<String, LambdaFunction> lambdas = new ConcurrentHashMap<>();
+        lambdas.put(WS_PATH, listener);
+        final BlockingQueue<HttpServer> bench = new ArrayBlockingQueue<>(1);
+        HttpServer server = Platform.getInstance().getVertx().createHttpServer();
+        server.webSocketHandler(new WsRequestHandler(lambdas, List.of(WS_PATH), true));
+        server.listen(0).onSuccess(bench::add);
+        HttpServer started = bench.poll(5, TimeUnit.SECONDS);
+        assertNotNull(started);
+        wsPort = started.actualPort();
+    }
+
+    @Test
+    void multiplexedSession() throws IOException, InterruptedException {
+        final BlockingQueue<WebSocket> connected = new ArrayBlockingQueue<>(1);
+        final BlockingQueue<String> messages = new ArrayBlockingQueue<>(1);
+        Platform platform = Platform.getInstance();
+        EventEmitter po = EventEmitter.getInstance();
+        platform.getVertx().createHttpClient().webSocket(wsPort, "127.0.0.1", WS_PATH+"/token")
+                .onSuccess(ws -> {
+                    ws.textMessageHandler(messages::add);
+                    connected.add(ws);
+                });
+        WebSocket ws = connected.poll(5, TimeUnit.SECONDS);
+        assertNotNull(ws);
+        // the open signal reaches the websocket function through a dispatcher route
+        Map<String, String> open = opened.poll(5, TimeUnit.SECONDS);
+        assertNotNull(open);
+        assertEquals(WS_PATH, open.get(WsEnvelope.PATH));
+        assertEquals("token", open.get(WsEnvelope.TOKEN));
+        String rxPath = open.get(WsEnvelope.ROUTE);
+        String txPath = open.get(WsEnvelope.TX_PATH);
+        // a multiplexed session has no routes of its own
+        assertFalse(platform.hasRoute(rxPath));
+        assertFalse(platform.hasRoute(txPath));
+        assertTrue(WsSessionRegistry.getInstance().exists(txPath));
+        // a session path is private so that it cannot be reached with Event-over-HTTP
+        assertTrue(po.exists(txPath));
+        assertTrue(platform.isPrivate(txPath));
+        assertTrue(platform.isPrivate(rxPath));
+        // a message to the txPath is written to the websocket directly
+        po.send(txPath, "hello world");
+        assertEquals("hello world", messages.poll(5, TimeUnit.SECONDS));
+        // an incoming message carries the rxPath of the session
+        ws.writeTextMessage("ping");
+        assertEquals(rxPath + " ping", received.poll(5, TimeUnit.SECONDS));
+        ws.close();
+        Map<String, String> close = closed.poll(5, TimeUnit.SECONDS);
+        assertNotNull(close);
+        assertEquals(rxPath, close.get(WsEnvelope.ROUTE));
+        assertFalse(WsSessionRegistry.getInstance().exists(txPath));
+    }
+}
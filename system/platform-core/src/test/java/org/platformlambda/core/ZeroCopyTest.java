@@ -0,0 +1,72 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.system.EventEmitter;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.ServiceDef;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZeroCopyTest extends TestBase {
+    private static final String ZERO_COPY_ECHO = "zero.copy.echo";
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void zeroCopyRpcTest() throws IOException, ExecutionException, InterruptedException {
+        Platform platform = Platform.getInstance();
+        final BlockingQueue<Boolean> bench = new ArrayBlockingQueue<>(1);
+        platform.waitForProvider(ZERO_COPY_ECHO, 5).onSuccess(bench::add);
+        assertEquals(true, bench.poll(5, TimeUnit.SECONDS));
+        ServiceDef def = platform.getManager(ZERO_COPY_ECHO).getService();
+        assertTrue(def.isZeroCopy());
+        EventEmitter po = EventEmitter.getInstance();
+        Map<String, Object> data = new HashMap<>();
+        data.put("hello", "world");
+        data.put("number", 100L);
+        EventEnvelope request = new EventEnvelope().setTo(ZERO_COPY_ECHO).setBody(data).setHeader("origin", "test");
+        Future<EventEnvelope> future = po.request(request, 5000);
+        EventEnvelope response = future.get();
+        assertEquals(200, response.getStatus());
+        assertInstanceOf(Map.class, response.getBody());
+        Map<String, Object> result = (Map<String, Object>) response.getBody();
+        assertEquals("world", result.get("hello"));
+        // numbers are normalized as if the event has been serialized
+        assertEquals(100, result.get("number"));
+        assertEquals("test", result.get("origin"));
+        assertTrue(result.containsKey("instance"));
+        // the original payload is not touched by the target function
+        assertFalse(data.containsKey("instance"));
+        assertEquals(2, data.size());
+    }
+
+    @Test
+    void regularFunctionIsNotZeroCopy() {
+        Platform platform = Platform.getInstance();
+        assertFalse(platform.getManager(HELLO_WORLD).getService().isZeroCopy());
+    }
+}
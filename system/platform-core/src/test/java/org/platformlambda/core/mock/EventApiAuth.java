@@ -26,12 +26,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @PreLoad(route="event.api.auth")
 public class EventApiAuth implements TypedLambdaFunction<AsyncHttpRequest, Object> {
     private static final Logger log = LoggerFactory.getLogger(EventApiAuth.class);
+    // number of batch requests received for each trace ID
+    private static final ConcurrentMap<String, AtomicInteger> batches = new ConcurrentHashMap<>();
+
+    public static int getBatchCount(String traceId) {
+        AtomicInteger n = batches.get(traceId);
+        return n == null? 0 : n.get();
+    }
+
     @Override
     public Object handleEvent(Map<String, String> headers, AsyncHttpRequest input, int instance) throws Exception {
+        String traceId = input.getHeader("x-trace-id");
+        if (traceId != null && "true".equals(input.getHeader("x-event-batch"))) {
+            batches.computeIfAbsent(traceId, k -> new AtomicInteger()).incrementAndGet();
+        }
         boolean authorized = "demo".equals(input.getHeader("authorization"));
         log.info("Event API authorization {} {} = {}", input.getMethod(), input.getUrl(), authorized? "PASS" : "FAIL");
         return new EventEnvelope().setBody(authorized).setHeader("user", "demo");
@@ -0,0 +1,38 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.mock;
+
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.annotations.ZeroCopy;
+import org.platformlambda.core.models.TypedLambdaFunction;
+
+import java.util.Map;
+
+@ZeroCopy
+@PreLoad(route="zero.copy.echo", instances=5)
+public class ZeroCopyEcho implements TypedLambdaFunction<Map<String, Object>, Map<String, Object>> {
+
+    @Override
+    public Map<String, Object> handleEvent(Map<String, String> headers, Map<String, Object> input, int instance) {
+        // the function receives an isolated copy so changing the input must not affect the caller
+        input.put("instance", instance);
+        input.put("origin", headers.get("origin"));
+        return input;
+    }
+}
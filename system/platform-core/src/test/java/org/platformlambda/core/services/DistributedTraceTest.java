@@ -0,0 +1,143 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.services;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.system.Platform;
+import org.platformlambda.core.system.TraceCollector;
+import org.platformlambda.core.util.MultiLevelMap;
+import org.platformlambda.core.util.Utility;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistributedTraceTest extends TestBase {
+    private static final String DISTRIBUTED_TRACE_FORWARDER = "distributed.trace.forwarder";
+    private static final String TRANSACTION_JOURNAL_RECORDER = "transaction.journal.recorder";
+
+    @SuppressWarnings("unchecked")
+    private LambdaFunction getRecorder(String traceId, BlockingQueue<Object> bench) {
+        return (headers, input, instance) -> {
+            // a batch is a list of datasets
+            Object first = input instanceof List<?> list && !list.isEmpty()? list.getFirst() : input;
+            if (first instanceof Map && traceId.equals(
+                    new MultiLevelMap((Map<String, Object>) first).getElement("trace.id"))) {
+                bench.add(input);
+            }
+            return null;
+        };
+    }
+
+    private Map<String, Object> getSpans(String traceId) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (int i=0; i < 2; i++) {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("id", traceId);
+            metrics.put("path", "GET /api/trace/batch");
+            metrics.put("service", "trace.batch." + i);
+            metrics.put("from", "unit.test@" + Platform.getInstance().getOrigin());
+            metrics.put("success", true);
+            metrics.put("exec_time", 1.0f);
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("trace", metrics);
+            if (i == 1) {
+                payload.put("journal", Map.of("input", Map.of("body", "hello")));
+            }
+            spans.add(payload);
+        }
+        Map<String, Object> dataset = new HashMap<>();
+        dataset.put(TraceCollector.SPANS, spans);
+        return dataset;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void relayEachDataset() throws IOException, InterruptedException {
+        final BlockingQueue<Object> traces = new ArrayBlockingQueue<>(10);
+        final BlockingQueue<Object> journals = new ArrayBlockingQueue<>(10);
+        Platform platform = Platform.getInstance();
+        String traceId = Utility.getInstance().getUuid();
+        platform.registerPrivate(DISTRIBUTED_TRACE_FORWARDER, getRecorder(traceId, traces), 1);
+        platform.registerPrivate(TRANSACTION_JOURNAL_RECORDER, getRecorder(traceId, journals), 1);
+        try {
+            new DistributedTrace(false).handleEvent(new HashMap<>(),
+                                                    new EventEnvelope().setBody(getSpans(traceId)), 1);
+            // each span of the batch is relayed as its own event
+            for (int i=0; i < 2; i++) {
+                Object trace = traces.poll(5, TimeUnit.SECONDS);
+                assertInstanceOf(Map.class, trace);
+                MultiLevelMap map = new MultiLevelMap((Map<String, Object>) trace);
+                assertEquals("trace.batch." + i, map.getElement("trace.service"));
+                // the origin of a local caller is removed
+                assertEquals("unit.test", map.getElement("trace.from"));
+            }
+            Object journal = journals.poll(5, TimeUnit.SECONDS);
+            assertInstanceOf(Map.class, journal);
+            MultiLevelMap map = new MultiLevelMap((Map<String, Object>) journal);
+            assertEquals("trace.batch.1", map.getElement("trace.service"));
+            assertEquals("hello", map.getElement("journal.input.body"));
+            assertNull(traces.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            platform.release(DISTRIBUTED_TRACE_FORWARDER);
+            platform.release(TRANSACTION_JOURNAL_RECORDER);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void relayBatch() throws IOException, InterruptedException {
+        final BlockingQueue<Object> traces = new ArrayBlockingQueue<>(10);
+        final BlockingQueue<Object> journals = new ArrayBlockingQueue<>(10);
+        Platform platform = Platform.getInstance();
+        String traceId = Utility.getInstance().getUuid();
+        platform.registerPrivate(DISTRIBUTED_TRACE_FORWARDER, getRecorder(traceId, traces), 1);
+        platform.registerPrivate(TRANSACTION_JOURNAL_RECORDER, getRecorder(traceId, journals), 1);
+        try {
+            new DistributedTrace(true).handleEvent(new HashMap<>(),
+                                                    new EventEnvelope().setBody(getSpans(traceId)), 1);
+            // the spans of the batch are relayed as a list in a single event
+            Object trace = traces.poll(5, TimeUnit.SECONDS);
+            assertInstanceOf(List.class, trace);
+            List<Object> list = (List<Object>) trace;
+            assertEquals(2, list.size());
+            for (int i=0; i < 2; i++) {
+                MultiLevelMap map = new MultiLevelMap((Map<String, Object>) list.get(i));
+                assertEquals("trace.batch." + i, map.getElement("trace.service"));
+            }
+            Object journal = journals.poll(5, TimeUnit.SECONDS);
+            assertInstanceOf(List.class, journal);
+            List<Object> journalList = (List<Object>) journal;
+            assertEquals(1, journalList.size());
+            MultiLevelMap map = new MultiLevelMap((Map<String, Object>) journalList.getFirst());
+            assertEquals("hello", map.getElement("journal.input.body"));
+            assertNull(traces.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            platform.release(DISTRIBUTED_TRACE_FORWARDER);
+            platform.release(TRANSACTION_JOURNAL_RECORDER);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import io.vertx.core.Future;
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.mock.EventApiAuth;
+import org.platformlambda.core.models.EventEnvelope;
+import org.platformlambda.core.util.Utility;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Event-over-HTTP batching is disabled in application.properties.
+ * This test uses its own batcher so that the regular event-over-HTTP path is tested elsewhere.
+ */
+class EventHttpBatcherTest extends TestBase {
+
+    @Test
+    void coalescedEventOverHttpTest() throws InterruptedException {
+        int CYCLES = 20;
+        String ROUTE = "event.save.get";
+        String traceId = Utility.getInstance().getUuid();
+        EventEmitter po = EventEmitter.getInstance();
+        String target = po.getEventHttpTarget(ROUTE);
+        assertNotNull(target);
+        EventHttpBatcher batcher = new EventHttpBatcher(200, 100);
+        final BlockingQueue<EventEnvelope> bench = new ArrayBlockingQueue<>(CYCLES);
+        for (int i=0; i < CYCLES; i++) {
+            EventEnvelope get = new EventEnvelope().setTo(ROUTE).setHeader("type", "get")
+                                    .setFrom("unit.test").setTrace(traceId, "EVENT /batch/get");
+            Future<EventEnvelope> response = batcher.submit(get, 5000, po.getEventHttpHeaders(ROUTE), target, true);
+            response.onSuccess(bench::add);
+        }
+        for (int i=0; i < CYCLES; i++) {
+            EventEnvelope result = bench.poll(5, TimeUnit.SECONDS);
+            assertNotNull(result);
+            assertEquals(200, result.getStatus());
+        }
+        // the server has received the events in a single batch request with the trace ID of the transaction
+        assertEquals(1, EventApiAuth.getBatchCount(traceId));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void timeoutOfLocalRoute() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String route = "metrics.local.test";
+        RouteMetrics metrics = registry.getMetrics(route);
+        registry.recordTimeout(route + "@origin");
+        assertEquals(1, metrics.getTimeouts());
+        registry.remove(route);
+        assertFalse(registry.toMap().containsKey(route));
+    }
+
+    @Test
+    void timeoutOfRemoteRouteIsIgnored() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String route = "metrics.remote.test";
+        registry.recordTimeout(route + "@remote");
+        registry.recordTimeout(route);
+        assertFalse(registry.toMap().containsKey(route));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.system;
+
+import org.junit.jupiter.api.Test;
+import org.platformlambda.common.TestBase;
+import org.platformlambda.core.models.LambdaFunction;
+import org.platformlambda.core.util.MultiLevelMap;
+import org.platformlambda.core.util.Utility;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This test uses its own collector with a small buffer and a long export interval
+ * so that the buffers are exported only when the test says so.
+ */
+class TraceCollectorTest extends TestBase {
+    private static final String DISTRIBUTED_TRACE_FORWARDER = "distributed.trace.forwarder";
+    private static final String TRANSACTION_JOURNAL_RECORDER = "transaction.journal.recorder";
+    private static final String TRACE_PATH = "GET /api/trace/collector";
+    private static final String FROM = "unit.test";
+
+    @SuppressWarnings("unchecked")
+    private LambdaFunction getRecorder(String traceId, BlockingQueue<Map<String, Object>> bench) {
+        return (headers, input, instance) -> {
+            Map<String, Object> dataset = (Map<String, Object>) input;
+            if (traceId.equals(new MultiLevelMap(dataset).getElement("trace.id"))) {
+                bench.add(dataset);
+            }
+            return null;
+        };
+    }
+
+    private void record(TraceCollector collector, String traceId, String service, Map<String, Object> journal) {
+        String start = Utility.getInstance().date2str(new Date());
+        collector.record(traceId, TRACE_PATH, service, FROM, start, 200, true, null, 1.5f, -1,
+                            null, journal);
+    }
+
+    @Test
+    void recordAndExport() throws IOException, InterruptedException {
+        final BlockingQueue<Map<String, Object>> traces = new ArrayBlockingQueue<>(10);
+        final BlockingQueue<Map<String, Object>> journals = new ArrayBlockingQueue<>(10);
+        Platform platform = Platform.getInstance();
+        String traceId = Utility.getInstance().getUuid();
+        platform.registerPrivate(DISTRIBUTED_TRACE_FORWARDER, getRecorder(traceId, traces), 1);
+        platform.registerPrivate(TRANSACTION_JOURNAL_RECORDER, getRecorder(traceId, journals), 1);
+        try {
+            TraceCollector collector = new TraceCollector(4, 60000);
+            for (int i=0; i < 6; i++) {
+                record(collector, traceId, "trace.span."+i, null);
+            }
+            // the buffer holds 4 spans and the rest are counted as dropped
+            assertEquals(4, collector.getCount());
+            assertEquals(2, collector.getDropped());
+            // a journaled span is not dropped when the buffer is full
+            record(collector, traceId, "trace.journal", Map.of("input", Map.of("body", "hello")));
+            assertEquals(4, collector.getCount());
+            assertEquals(2, collector.getDropped());
+            Map<String, Object> journal = journals.poll(5, TimeUnit.SECONDS);
+            assertNotNull(journal);
+            MultiLevelMap multi = new MultiLevelMap(journal);
+            assertEquals("trace.journal", multi.getElement("trace.service"));
+            assertEquals("hello", multi.getElement("journal.input.body"));
+            Map<String, Object> direct = traces.poll(5, TimeUnit.SECONDS);
+            assertNotNull(direct);
+            assertEquals("trace.journal", new MultiLevelMap(direct).getElement("trace.service"));
+            // export swaps the buffers and resets the counters
+            collector.export();
+            assertEquals(0, collector.getCount());
+            assertEquals(0, collector.getDropped());
+            // recording continues in the other buffer
+            record(collector, traceId, "trace.span.next", null);
+            assertEquals(1, collector.getCount());
+            Set<String> services = new HashSet<>();
+            for (int i=0; i < 4; i++) {
+                Map<String, Object> trace = traces.poll(5, TimeUnit.SECONDS);
+                assertNotNull(trace);
+                MultiLevelMap map = new MultiLevelMap(trace);
+                assertEquals(TRACE_PATH, map.getElement("trace.path"));
+                assertEquals(FROM, map.getElement("trace.from"));
+                assertEquals(true, map.getElement("trace.success"));
+                // round trip is not given for this span
+                assertFalse(map.exists("trace.round_trip"));
+                services.add(String.valueOf(map.getElement("trace.service")));
+            }
+            assertEquals(Set.of("trace.span.0", "trace.span.1", "trace.span.2", "trace.span.3"), services);
+            // the span recorded after the swap is exported with the next batch
+            collector.export();
+            Map<String, Object> next = traces.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next);
+            assertEquals("trace.span.next", new MultiLevelMap(next).getElement("trace.service"));
+            assertEquals(0, collector.getCount());
+            assertNull(traces.poll(500, TimeUnit.MILLISECONDS));
+        } finally {
+            platform.release(DISTRIBUTED_TRACE_FORWARDER);
+            platform.release(TRANSACTION_JOURNAL_RECORDER);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.platformlambda.core.annotations.PreLoad;
+import org.platformlambda.core.processor.AnnotationIndexProcessor;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnnotationIndexTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void readGeneratedIndex() throws IOException, URISyntaxException {
+        Path src = Files.createDirectories(folder.resolve("src"));
+        Path classes = Files.createDirectories(folder.resolve("classes")).toRealPath();
+        Path indexed = writeSource(src, "demo.indexed", "IndexedFunction");
+        Path similar = writeSource(src, "demo.indexedmore", "SimilarFunction");
+        // compile with the annotation processor to generate the index
+        String processor = AnnotationIndexProcessor.class.getName();
+        assertEquals(0, compile(classes, "-processor", processor, indexed.toString(), similar.toString()));
+        assertTrue(Files.exists(classes.resolve(AnnotationIndexProcessor.ANNOTATION_INDEX)));
+        // a class added without the processor is not in the index
+        Path notIndexed = writeSource(src, "demo.indexed", "NotIndexedFunction");
+        assertEquals(0, compile(classes, "-proc:none", notIndexed.toString()));
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()},
+                                                        getClass().getClassLoader())) {
+            SimpleClassScanner scanner = new SimpleClassScanner(loader);
+            // the package is served from the index without classpath scanning
+            List<String> result = scanner.getAnnotatedClassNames("demo.indexed", PreLoad.class);
+            assertEquals(List.of("demo.indexed.IndexedFunction"), result);
+            List<String> more = scanner.getAnnotatedClassNames("demo.indexedmore", PreLoad.class);
+            assertEquals(List.of("demo.indexedmore.SimilarFunction"), more);
+        }
+    }
+
+    private Path writeSource(Path src, String pkg, String name) throws IOException {
+        Path dir = Files.createDirectories(src.resolve(pkg.replace('.', '/')));
+        Path file = dir.resolve(name + ".java");
+        Files.writeString(file, "package " + pkg + ";\n\n" +
+                "@org.platformlambda.core.annotations.PreLoad(route=\"" + pkg + "\")\n" +
+                "public class " + name + " { }\n");
+        return file;
+    }
+
+    private int compile(Path classes, String... args) throws URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler);
+        String classpath = Path.of(PreLoad.class.getProtectionDomain().getCodeSource().getLocation().toURI()) +
+                            System.getProperty("path.separator") + classes;
+        List<String> options = new ArrayList<>(List.of("-d", classes.toString(), "-cp", classpath,
+                                                        "-processorpath", classpath));
+        options.addAll(List.of(args));
+        return compiler.run(null, null, null, options.toArray(new String[0]));
+    }
+}
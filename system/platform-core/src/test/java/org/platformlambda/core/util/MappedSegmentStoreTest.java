@@ -0,0 +1,56 @@
+/*
+
+    Copyright 2018-2025 Accenture Technology
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+
+ */
+
+package org.platformlambda.core.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSegmentStoreTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void writeAndRead() {
+        MappedSegmentStore store = new MappedSegmentStore(folder.toFile(), "segment.test", 64 * 1024);
+        assertTrue(store.write("hello".getBytes()));
+        assertTrue(store.write("world".getBytes()));
+        assertEquals("hello", new String(store.read()));
+        assertEquals("world", new String(store.read()));
+        assertEquals(0, store.read().length);
+        store.destroy();
+    }
+
+    @Test
+    void unavailableSegmentIsReported() throws IOException {
+        // the holding area is a regular file so that no segment can be created
+        File holdingArea = Files.createFile(folder.resolve("not-a-folder")).toFile();
+        MappedSegmentStore store = new MappedSegmentStore(holdingArea, "segment.test", 64 * 1024);
+        assertFalse(store.write("hello".getBytes()));
+        assertEquals(0, store.read().length);
+        store.destroy();
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.platformlambda.spring.system;
 
-import io.github.classgraph.ClassInfo;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterRegistration;
 import jakarta.servlet.ServletContext;
@@ -52,13 +51,13 @@ public class WebLoader implements ServletContextInitializer {
         int totalFilters = 0;
         int totalListeners = 0;
         for (String p : packages) {
-            List<ClassInfo> servletEndpoints = scanner.getAnnotatedClasses(p, WebServlet.class);
-            for (ClassInfo info : servletEndpoints) {
+            List<String> servletEndpoints = scanner.getAnnotatedClassNames(p, WebServlet.class);
+            for (String className : servletEndpoints) {
                 final Class<?> cls;
                 try {
-                    cls = Class.forName(info.getName());
+                    cls = Class.forName(className);
                 } catch (ClassNotFoundException e) {
-                    log.error("Unable to deploy WebServlet {} - {}", info.getName(), e.getMessage());
+                    log.error("Unable to deploy WebServlet {} - {}", className, e.getMessage());
                     continue;
                 }
                 WebServlet servlet = cls.getAnnotation(WebServlet.class);
@@ -85,13 +84,13 @@ public class WebLoader implements ServletContextInitializer {
                     log.error("WebServlet {} is missing value or urlPatterns", cls.getName());
                 }
             }
-            List<ClassInfo> webFilterEndpoints = scanner.getAnnotatedClasses(p, WebFilter.class);
-            for (ClassInfo info : webFilterEndpoints) {
+            List<String> webFilterEndpoints = scanner.getAnnotatedClassNames(p, WebFilter.class);
+            for (String className : webFilterEndpoints) {
                 final Class<?> cls;
                 try {
-                    cls = Class.forName(info.getName());
+                    cls = Class.forName(className);
                 } catch (ClassNotFoundException e) {
-                    log.error("Unable to deploy WebFilter {} - {}", info.getName(), e.getMessage());
+                    log.error("Unable to deploy WebFilter {} - {}", className, e.getMessage());
                     continue;
                 }
                 WebFilter filter = cls.getAnnotation(WebFilter.class);
@@ -109,13 +108,13 @@ public class WebLoader implements ServletContextInitializer {
                     log.error("WebFilter {} is missing value or urlPatterns", cls.getName());
                 }
             }
-            List<ClassInfo> webListenerEndpoints = scanner.getAnnotatedClasses(p, WebListener.class);
-            for (ClassInfo info : webListenerEndpoints) {
+            List<String> webListenerEndpoints = scanner.getAnnotatedClassNames(p, WebListener.class);
+            for (String className : webListenerEndpoints) {
                 final Class<?> cls;
                 try {
-                    cls = Class.forName(info.getName());
+                    cls = Class.forName(className);
                 } catch (ClassNotFoundException e) {
-                    log.error("Unable to deploy WebListener {} - {}", info.getName(), e.getMessage());
+                    log.error("Unable to deploy WebListener {} - {}", className, e.getMessage());
                     continue;
                 }
                 if (!Feature.isRequired(cls)) {